@@ -0,0 +1,294 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.aop.aspectj;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Cheap pre-filter for pointcut expressions that require annotations, applied
+ * before handing a class or method to the AspectJ weaver.
+ *
+ * <p>Only {@code @annotation}, {@code @within} and {@code @target} designators
+ * that are part of a top-level conjunction are taken into account: a class (or
+ * method) that does not carry the required annotation types anywhere can never
+ * match, whatever the rest of the expression says. Disjunctions, negations and
+ * references to named pointcuts are left to AspectJ.
+ *
+ * <p>Annotation types are compared by name, since the pointcut and the target
+ * may have been loaded by different ClassLoaders. The annotations present in a
+ * class hierarchy are indexed once per class and shared by all pointcuts.
+ *
+ * @see AspectJExpressionPointcut
+ */
+final class AnnotationPrefilter {
+
+	private static final Pattern ANNOTATION_DESIGNATOR =
+			Pattern.compile("(@annotation|@within|@target)\\s*\\(\\s*([\\w.$]+)\\s*\\)");
+
+	private static final Map<Class<?>, ClassAnnotations> classAnnotationsCache =
+			new ConcurrentReferenceHashMap<Class<?>, ClassAnnotations>(256);
+
+
+	private final String[] methodAnnotationNames;
+
+	private final String[] typeAnnotationNames;
+
+
+	private AnnotationPrefilter(Set<String> methodAnnotationNames, Set<String> typeAnnotationNames) {
+		this.methodAnnotationNames = methodAnnotationNames.toArray(new String[methodAnnotationNames.size()]);
+		this.typeAnnotationNames = typeAnnotationNames.toArray(new String[typeAnnotationNames.size()]);
+	}
+
+
+	/**
+	 * Determine whether the given class could possibly match: that is, whether its
+	 * hierarchy carries all required annotation types at type or method level.
+	 */
+	public boolean couldMatch(Class<?> targetClass) {
+		ClassAnnotations classAnnotations = getClassAnnotations(targetClass);
+		if (!classAnnotations.complete) {
+			return true;
+		}
+		for (String name : this.typeAnnotationNames) {
+			if (!classAnnotations.typeAnnotations.contains(name)) {
+				return false;
+			}
+		}
+		for (String name : this.methodAnnotationNames) {
+			if (!classAnnotations.methodAnnotations.contains(name)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Determine whether the given method could possibly match, checking the
+	 * required {@code @annotation} types against both the most specific target
+	 * method and the originally invoked method.
+	 */
+	public boolean couldMatch(Method targetMethod, Method originalMethod) {
+		if (this.methodAnnotationNames.length == 0) {
+			return true;
+		}
+		Set<String> present = getAnnotationNames(targetMethod.getDeclaredAnnotations(), null);
+		if (originalMethod != targetMethod) {
+			present = getAnnotationNames(originalMethod.getDeclaredAnnotations(), present);
+		}
+		for (String name : this.methodAnnotationNames) {
+			if (!present.contains(name)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	/**
+	 * Build a pre-filter for the given pointcut expression.
+	 * @param expression the pointcut expression, with boolean operators in AspectJ syntax
+	 * @param parameterNames the pointcut parameter names
+	 * @param parameterTypes the pointcut parameter types
+	 * @return the pre-filter, or {@code null} if the expression does not
+	 * unconditionally require any annotations
+	 */
+	public static AnnotationPrefilter forExpression(String expression, String[] parameterNames, Class<?>[] parameterTypes) {
+		Set<String> methodAnnotationNames = new LinkedHashSet<String>();
+		Set<String> typeAnnotationNames = new LinkedHashSet<String>();
+		collectRequiredAnnotations(expression, parameterNames, parameterTypes, methodAnnotationNames, typeAnnotationNames);
+		if (methodAnnotationNames.isEmpty() && typeAnnotationNames.isEmpty()) {
+			return null;
+		}
+		return new AnnotationPrefilter(methodAnnotationNames, typeAnnotationNames);
+	}
+
+	private static void collectRequiredAnnotations(String expression, String[] parameterNames, Class<?>[] parameterTypes,
+			Set<String> methodAnnotationNames, Set<String> typeAnnotationNames) {
+
+		String expr = stripEnclosingParentheses(expression.trim());
+		List<String> terms = splitConjunction(expr);
+		if (terms == null) {
+			return;
+		}
+		for (String term : terms) {
+			if (terms.size() > 1 && term.startsWith("(")) {
+				collectRequiredAnnotations(term, parameterNames, parameterTypes, methodAnnotationNames, typeAnnotationNames);
+				continue;
+			}
+			Matcher matcher = ANNOTATION_DESIGNATOR.matcher(term);
+			if (!matcher.matches()) {
+				continue;
+			}
+			String typeName = resolveAnnotationTypeName(matcher.group(2), parameterNames, parameterTypes);
+			if (typeName != null) {
+				if ("@annotation".equals(matcher.group(1))) {
+					methodAnnotationNames.add(typeName);
+				}
+				else {
+					typeAnnotationNames.add(typeName);
+				}
+			}
+		}
+	}
+
+	private static String stripEnclosingParentheses(String expr) {
+		while (expr.startsWith("(") && findClosingParenthesis(expr) == expr.length() - 1) {
+			expr = expr.substring(1, expr.length() - 1).trim();
+		}
+		return expr;
+	}
+
+	private static int findClosingParenthesis(String expr) {
+		int depth = 0;
+		for (int i = 0; i < expr.length(); i++) {
+			char c = expr.charAt(i);
+			if (c == '(') {
+				depth++;
+			}
+			else if (c == ')' && --depth == 0) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Split the given expression at its top-level {@code &&} operators.
+	 * @return the terms, or {@code null} if the expression is a top-level disjunction
+	 * (or too irregular to be analyzed)
+	 */
+	private static List<String> splitConjunction(String expr) {
+		List<String> terms = new ArrayList<String>();
+		int depth = 0;
+		int start = 0;
+		for (int i = 0; i < expr.length(); i++) {
+			char c = expr.charAt(i);
+			if (c == '(') {
+				depth++;
+			}
+			else if (c == ')') {
+				if (--depth < 0) {
+					return null;
+				}
+			}
+			else if (depth == 0 && i + 1 < expr.length() && expr.charAt(i + 1) == c) {
+				if (c == '|') {
+					return null;
+				}
+				if (c == '&') {
+					terms.add(expr.substring(start, i).trim());
+					start = i + 2;
+					i++;
+				}
+			}
+		}
+		if (depth != 0) {
+			return null;
+		}
+		terms.add(expr.substring(start).trim());
+		return terms;
+	}
+
+	private static String resolveAnnotationTypeName(String token, String[] parameterNames, Class<?>[] parameterTypes) {
+		for (int i = 0; i < parameterNames.length && i < parameterTypes.length; i++) {
+			if (token.equals(parameterNames[i])) {
+				return (parameterTypes[i].isAnnotation() ? normalizeTypeName(parameterTypes[i].getName()) : null);
+			}
+		}
+		// Simple names would need AspectJ's import rules: leave those to the weaver.
+		if (token.indexOf('.') == -1 || token.contains("..")) {
+			return null;
+		}
+		return normalizeTypeName(token);
+	}
+
+	private static String normalizeTypeName(String typeName) {
+		return typeName.replace('$', '.');
+	}
+
+	private static Set<String> getAnnotationNames(Annotation[] annotations, Set<String> names) {
+		if (names == null) {
+			names = new HashSet<String>(annotations.length * 2);
+		}
+		for (Annotation annotation : annotations) {
+			names.add(normalizeTypeName(annotation.annotationType().getName()));
+		}
+		return names;
+	}
+
+	private static ClassAnnotations getClassAnnotations(Class<?> clazz) {
+		ClassAnnotations classAnnotations = classAnnotationsCache.get(clazz);
+		if (classAnnotations == null) {
+			classAnnotations = new ClassAnnotations(clazz);
+			classAnnotationsCache.put(clazz, classAnnotations);
+		}
+		return classAnnotations;
+	}
+
+
+	/**
+	 * Names of the annotation types declared anywhere in a class hierarchy,
+	 * on the types themselves and on their methods.
+	 */
+	private static final class ClassAnnotations {
+
+		final Set<String> typeAnnotations = new HashSet<String>();
+
+		final Set<String> methodAnnotations = new HashSet<String>();
+
+		final boolean complete;
+
+		ClassAnnotations(Class<?> clazz) {
+			boolean complete = true;
+			try {
+				for (Class<?> current = clazz; current != null && current != Object.class;
+						current = current.getSuperclass()) {
+					addAnnotations(current);
+				}
+				for (Class<?> ifc : ClassUtils.getAllInterfacesForClassAsSet(clazz)) {
+					addAnnotations(ifc);
+				}
+			}
+			catch (Throwable ex) {
+				// Unresolvable annotation or method signature: no pre-filtering for this class.
+				complete = false;
+			}
+			this.complete = complete;
+		}
+
+		private void addAnnotations(Class<?> type) {
+			getAnnotationNames(type.getDeclaredAnnotations(), this.typeAnnotations);
+			for (Method method : type.getDeclaredMethods()) {
+				getAnnotationNames(method.getDeclaredAnnotations(), this.methodAnnotations);
+			}
+		}
+	}
+
+}
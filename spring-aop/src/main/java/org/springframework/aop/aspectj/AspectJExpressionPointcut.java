@@ -112,6 +112,8 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 
 	private transient PointcutExpression pointcutExpression;
 
+	private transient AnnotationPrefilter annotationPrefilter;
+
 	private transient Map<Method, ShadowMatch> shadowMatchCache = new ConcurrentHashMap<Method, ShadowMatch>(32);
 
 
@@ -190,6 +192,8 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 			this.pointcutClassLoader = (this.beanFactory instanceof ConfigurableBeanFactory ?
 					((ConfigurableBeanFactory) this.beanFactory).getBeanClassLoader() :
 					ClassUtils.getDefaultClassLoader());
+			this.annotationPrefilter = AnnotationPrefilter.forExpression(
+					replaceBooleanOperators(getExpression()), this.pointcutParameterNames, this.pointcutParameterTypes);
 			this.pointcutExpression = buildPointcutExpression(this.pointcutClassLoader);
 		}
 	}
@@ -245,6 +249,10 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 	@Override
 	public boolean matches(Class<?> targetClass) {
 		checkReadyToMatch();
+		if (this.annotationPrefilter != null && !this.annotationPrefilter.couldMatch(targetClass)) {
+			// Required annotations not present anywhere in the class hierarchy
+			return false;
+		}
 		try {
 			try {
 				return this.pointcutExpression.couldMatchJoinPointsInType(targetClass);
@@ -268,6 +276,10 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 	public boolean matches(Method method, Class<?> targetClass, boolean beanHasIntroductions) {
 		checkReadyToMatch();
 		Method targetMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+		if (this.annotationPrefilter != null && !this.annotationPrefilter.couldMatch(targetMethod, method)) {
+			// No need to compute (and cache) a shadow match for a method lacking required annotations
+			return false;
+		}
 		ShadowMatch shadowMatch = getShadowMatch(targetMethod, method);
 
 		// Special handling for this, target, @this, @target, @annotation
@@ -21,6 +21,7 @@ public class AdvisedSupport extends ProxyConfig implements Advised{
     TargetSource targetSource = EMPTY_TARGET_SOURCE;
     private boolean preFiltered = false;
     private transient Map<MethodCacheKey, List<Object>> methodCache;
+    private transient volatile Map<Method, PrelinkedAdviceChain> prelinkedChainCache;
     AdvisorChainFactory advisorChainFactory = new DefaultAdvisorChainFactory();
     private List<Class<?>> interfaces = new ArrayList<Class<?>>();
     private List<Advisor> advisors = new LinkedList<Advisor>();
@@ -52,6 +53,7 @@ public class AdvisedSupport extends ProxyConfig implements Advised{
     @Override
     public void setTargetSource(TargetSource targetSource) {
         this.targetSource = (targetSource != null ? targetSource : EMPTY_TARGET_SOURCE);
+        this.prelinkedChainCache = null;
     }
 
     @Override
@@ -61,6 +63,7 @@ public class AdvisedSupport extends ProxyConfig implements Advised{
 
     public void setTargetClass(Class<?> targetClass) {
         this.targetSource = EmptyTargetSource.forClass(targetClass);
+        this.prelinkedChainCache = null;
     }
 
     @Override
@@ -265,8 +268,32 @@ public class AdvisedSupport extends ProxyConfig implements Advised{
         return cached;
     }
 
+    /**
+     * Return the pre-linked advice chain for the given method, building it on first use.
+     * <p>Only to be used for a {@link #isFrozen() frozen} configuration with a
+     * {@link TargetSource#isStatic() static} TargetSource, since the chain holds
+     * on to both the interceptors and the target instance.
+     * @param method the proxied method
+     * @return the pre-linked chain (never {@code null})
+     * @see JdkDynamicAopProxy
+     */
+    PrelinkedAdviceChain getPrelinkedAdviceChain(Method method) throws Exception {
+        Map<Method, PrelinkedAdviceChain> cache = this.prelinkedChainCache;
+        if (cache == null) {
+            cache = new ConcurrentHashMap<Method, PrelinkedAdviceChain>(32);
+            this.prelinkedChainCache = cache;
+        }
+        PrelinkedAdviceChain chain = cache.get(method);
+        if (chain == null) {
+            chain = new PrelinkedAdviceChain(this, method);
+            cache.put(method, chain);
+        }
+        return chain;
+    }
+
     protected void adviceChanged() {
         this.methodCache.clear();
+        this.prelinkedChainCache = null;
     }
 
     /**
@@ -45,6 +45,15 @@ public abstract class AopProxyUtils {
         return result;
     }
 
+    /**
+     * Return statistics on CGLIB proxy class generation: the number of generated
+     * classes, the time spent generating them, and how often a previously generated
+     * class was reused for a new proxy instance.
+     */
+    public static CglibProxyStatistics getCglibProxyStatistics() {
+        return CglibAopProxy.getStatistics();
+    }
+
     /**
      * Determine the complete set of interfaces to proxy for the given AOP configuration.
      * <p>This will always add the {@link Advised} interface unless the AdvisedSupport's
@@ -13,16 +13,19 @@ import org.springframework.cglib.transform.impl.UndeclaredThrowableStrategy;
 import org.springframework.core.SmartClassLoader;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ObjectUtils;
 
 import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 class CglibAopProxy implements AopProxy, Serializable {
 
@@ -39,6 +42,12 @@ class CglibAopProxy implements AopProxy, Serializable {
     protected final static Log logger = LogFactory.getLog(CglibAopProxy.class);
     // Keeps track of the Classes that we have validated for final methods
     private static final Map<Class<?>, Boolean> validatedClasses = new WeakHashMap<Class<?>, Boolean>();
+    // Generated proxy classes, keyed by superclass, interfaces and advisor chain shape
+    private static final Map<ProxyClassKey, Class<?>> proxyClassCache =
+            new ConcurrentReferenceHashMap<ProxyClassKey, Class<?>>(64);
+    private static final AtomicLong generatedClassCount = new AtomicLong();
+    private static final AtomicLong generationNanos = new AtomicLong();
+    private static final AtomicLong proxyClassCacheHits = new AtomicLong();
     protected final AdvisedSupport advised;
     protected Object[] constructorArgs;
     protected Class<?>[] constructorArgTypes;
@@ -82,34 +91,56 @@ class CglibAopProxy implements AopProxy, Serializable {
             // Validate the class, writing log messages as necessary.
             validateClassIfNecessary(proxySuperClass, classLoader);
 
-            // Configure CGLIB Enhancer...
-            Enhancer enhancer = createEnhancer();
-            if (classLoader != null) {
-                enhancer.setClassLoader(classLoader);
-                if (classLoader instanceof SmartClassLoader &&
-                        ((SmartClassLoader) classLoader).isClassReloadable(proxySuperClass)) {
-                    enhancer.setUseCache(false);
-                }
-            }
-            enhancer.setSuperclass(proxySuperClass);
-            enhancer.setInterfaces(AopProxyUtils.completeProxiedInterfaces(this.advised));
-            enhancer.setNamingPolicy(SpringNamingPolicy.INSTANCE);
-            enhancer.setStrategy(new UndeclaredThrowableStrategy(UndeclaredThrowableException.class));
-
             // 设置拦截器
             Callback[] callbacks = getCallbacks(rootClass);
             Class<?>[] types = new Class<?>[callbacks.length];
             for (int x = 0; x < types.length; x++) {
                 types[x] = callbacks[x].getClass();
             }
-            // fixedInterceptorMap only populated at this point, after getCallbacks call above
-            enhancer.setCallbackFilter(new ProxyCallbackFilter(
-                    this.advised.getConfigurationOnlyCopy(), this.fixedInterceptorMap, this.fixedInterceptorOffset));
-            enhancer.setCallbackTypes(types);
+            Class<?>[] proxiedInterfaces = AopProxyUtils.completeProxiedInterfaces(this.advised);
+
+            // Reuse a proxy class generated for an advisor chain of the same shape, if any:
+            // configuring an Enhancer is expensive in itself, even if CGLIB finds the class in its cache.
+            boolean useCache = !(classLoader instanceof SmartClassLoader &&
+                    ((SmartClassLoader) classLoader).isClassReloadable(proxySuperClass));
+            boolean interceptDuringConstruction = isInterceptDuringConstruction();
+            Class<?> proxyClass = null;
+            if (useCache) {
+                // fixedInterceptorMap only populated at this point, after getCallbacks call above
+                proxyClass = proxyClassCache.get(new ProxyClassKey(classLoader, proxySuperClass, proxiedInterfaces,
+                        types, new ProxyCallbackFilter(this.advised, this.fixedInterceptorMap, this.fixedInterceptorOffset),
+                        interceptDuringConstruction));
+            }
+            if (proxyClass != null) {
+                proxyClassCacheHits.incrementAndGet();
+            } else {
+                ProxyCallbackFilter callbackFilter = new ProxyCallbackFilter(
+                        this.advised.getConfigurationOnlyCopy(), this.fixedInterceptorMap, this.fixedInterceptorOffset);
 
-            // Generate the proxy class and create a proxy instance.
-            // 生成代理类以及创建代理
-            return createProxyClassAndInstance(enhancer, callbacks);
+                // Configure CGLIB Enhancer...
+                Enhancer enhancer = createEnhancer();
+                if (classLoader != null) {
+                    enhancer.setClassLoader(classLoader);
+                }
+                enhancer.setUseCache(useCache);
+                enhancer.setSuperclass(proxySuperClass);
+                enhancer.setInterfaces(proxiedInterfaces);
+                enhancer.setNamingPolicy(SpringNamingPolicy.INSTANCE);
+                enhancer.setStrategy(new UndeclaredThrowableStrategy(UndeclaredThrowableException.class));
+                enhancer.setInterceptDuringConstruction(interceptDuringConstruction);
+                enhancer.setCallbackFilter(callbackFilter);
+                enhancer.setCallbackTypes(types);
+
+                // Generate the proxy class.
+                // 生成代理类
+                proxyClass = generateProxyClass(enhancer);
+                if (useCache) {
+                    proxyClassCache.put(new ProxyClassKey(classLoader, proxySuperClass, proxiedInterfaces,
+                            types, callbackFilter, interceptDuringConstruction), proxyClass);
+                }
+            }
+            // 创建代理
+            return createProxyInstance(proxyClass, callbacks);
         } catch (CodeGenerationException ex) {
             throw new AopConfigException("Could not generate CGLIB subclass of class [" +
                     this.advised.getTargetClass() + "]: " +
@@ -126,12 +157,57 @@ class CglibAopProxy implements AopProxy, Serializable {
         }
     }
 
-    protected Object createProxyClassAndInstance(Enhancer enhancer, Callback[] callbacks) {
-        enhancer.setInterceptDuringConstruction(false);
-        enhancer.setCallbacks(callbacks);
-        return (this.constructorArgs != null ?
-                enhancer.create(this.constructorArgTypes, this.constructorArgs) :
-                enhancer.create());
+    private Class<?> generateProxyClass(Enhancer enhancer) {
+        long start = System.nanoTime();
+        Class<?> proxyClass = enhancer.createClass();
+        long duration = System.nanoTime() - start;
+        generatedClassCount.incrementAndGet();
+        generationNanos.addAndGet(duration);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Generated CGLIB proxy class [" + proxyClass.getName() + "] in " +
+                    (duration / 1000) + " microseconds");
+        }
+        return proxyClass;
+    }
+
+    /**
+     * Return whether generated proxy classes should intercept calls made from within
+     * the constructor. Default is {@code false}, since {@link #createProxyInstance}
+     * invokes the constructor; subclasses that create instances without invoking
+     * the constructor need to return {@code true}, since CGLIB otherwise only starts
+     * to intercept once the constructor has completed.
+     */
+    protected boolean isInterceptDuringConstruction() {
+        return false;
+    }
+
+    /**
+     * Create a proxy instance of the given (possibly shared) proxy class,
+     * bound to the given callbacks.
+     * <p>The default implementation calls the constructor matching the
+     * constructor arguments, if any, or the default constructor otherwise.
+     * @param proxyClass the generated proxy class
+     * @param callbacks the callbacks for this proxy instance
+     * @return the new proxy instance
+     */
+    protected Object createProxyInstance(Class<?> proxyClass, Callback[] callbacks) throws Exception {
+        Enhancer.registerCallbacks(proxyClass, callbacks);
+        try {
+            return (this.constructorArgs != null ?
+                    proxyClass.getConstructor(this.constructorArgTypes).newInstance(this.constructorArgs) :
+                    proxyClass.newInstance());
+        } finally {
+            // The callbacks are bound by the constructor: no need to keep them around
+            Enhancer.registerCallbacks(proxyClass, null);
+        }
+    }
+
+    /**
+     * Return statistics on CGLIB proxy class generation across all proxies.
+     */
+    static CglibProxyStatistics getStatistics() {
+        return new CglibProxyStatistics(generatedClassCount.get(), generationNanos.get(),
+                proxyClassCacheHits.get(), proxyClassCache.size());
     }
 
     /**
@@ -813,6 +889,9 @@ class CglibAopProxy implements AopProxy, Serializable {
             if (this.advised.isExposeProxy() != otherAdvised.isExposeProxy()) {
                 return false;
             }
+            if (this.advised.isOpaque() != otherAdvised.isOpaque()) {
+                return false;
+            }
             if (this.advised.getTargetSource().isStatic() != otherAdvised.getTargetSource().isStatic()) {
                 return false;
             }
@@ -873,4 +952,65 @@ class CglibAopProxy implements AopProxy, Serializable {
             return hashCode;
         }
     }
+
+
+    /**
+     * Cache key for generated proxy classes. Two proxies can share a proxy class if
+     * they have the same superclass, interfaces and callback types, and if their
+     * {@link ProxyCallbackFilter filters} are equal, i.e. their advisor chains
+     * have the same shape: only the callbacks differ per proxy instance.
+     */
+    private static final class ProxyClassKey {
+
+        private final ClassLoader classLoader;
+
+        private final Class<?> superclass;
+
+        private final Class<?>[] interfaces;
+
+        private final Class<?>[] callbackTypes;
+
+        private final ProxyCallbackFilter callbackFilter;
+
+        private final boolean interceptDuringConstruction;
+
+        private final int hashCode;
+
+        public ProxyClassKey(ClassLoader classLoader, Class<?> superclass, Class<?>[] interfaces,
+                Class<?>[] callbackTypes, ProxyCallbackFilter callbackFilter, boolean interceptDuringConstruction) {
+            this.classLoader = classLoader;
+            this.superclass = superclass;
+            this.interfaces = interfaces;
+            this.callbackTypes = callbackTypes;
+            this.callbackFilter = callbackFilter;
+            this.interceptDuringConstruction = interceptDuringConstruction;
+            int hashCode = superclass.hashCode();
+            hashCode = 31 * hashCode + Arrays.hashCode(interfaces);
+            hashCode = 31 * hashCode + callbackTypes.length;
+            hashCode = 31 * hashCode + callbackFilter.hashCode();
+            this.hashCode = hashCode;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof ProxyClassKey)) {
+                return false;
+            }
+            ProxyClassKey otherKey = (ProxyClassKey) other;
+            return (this.hashCode == otherKey.hashCode && this.classLoader == otherKey.classLoader &&
+                    this.interceptDuringConstruction == otherKey.interceptDuringConstruction &&
+                    this.superclass == otherKey.superclass &&
+                    Arrays.equals(this.interfaces, otherKey.interfaces) &&
+                    Arrays.equals(this.callbackTypes, otherKey.callbackTypes) &&
+                    this.callbackFilter.equals(otherKey.callbackFilter));
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
 }
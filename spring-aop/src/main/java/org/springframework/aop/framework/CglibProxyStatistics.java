@@ -0,0 +1,86 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.framework;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot of CGLIB proxy class generation statistics, covering all CGLIB-based
+ * AOP proxies created in the current class loader.
+ *
+ * <p>Every generated class occupies metaspace (or permgen) until its class loader
+ * is collected, so a generated class count that keeps growing at runtime typically
+ * indicates proxies whose advisor chains cannot share a proxy class, e.g. because
+ * their pointcuts do not implement {@code equals}.
+ *
+ * @see AopProxyUtils#getCglibProxyStatistics()
+ */
+public final class CglibProxyStatistics {
+
+    private final long generatedClassCount;
+
+    private final long generationTimeNanos;
+
+    private final long cacheHitCount;
+
+    private final int cachedClassCount;
+
+
+    CglibProxyStatistics(long generatedClassCount, long generationTimeNanos, long cacheHitCount, int cachedClassCount) {
+        this.generatedClassCount = generatedClassCount;
+        this.generationTimeNanos = generationTimeNanos;
+        this.cacheHitCount = cacheHitCount;
+        this.cachedClassCount = cachedClassCount;
+    }
+
+
+    /**
+     * Return the number of proxy classes generated so far.
+     */
+    public long getGeneratedClassCount() {
+        return this.generatedClassCount;
+    }
+
+    /**
+     * Return the total time spent generating proxy classes, in milliseconds.
+     */
+    public long getGenerationTime() {
+        return TimeUnit.NANOSECONDS.toMillis(this.generationTimeNanos);
+    }
+
+    /**
+     * Return the number of proxies that reused a previously generated proxy class.
+     */
+    public long getCacheHitCount() {
+        return this.cacheHitCount;
+    }
+
+    /**
+     * Return the number of proxy classes currently held for reuse.
+     */
+    public int getCachedClassCount() {
+        return this.cachedClassCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CglibProxyStatistics: generated classes=" + this.generatedClassCount + ", generation time=" +
+                getGenerationTime() + "ms, cache hits=" + this.cacheHitCount + ", cached classes=" +
+                this.cachedClassCount;
+    }
+
+}
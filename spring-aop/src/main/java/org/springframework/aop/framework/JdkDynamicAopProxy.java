@@ -91,6 +91,13 @@ public class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializ
                 // The target does not implement the hashCode() method itself.
                 return hashCode();
             }
+            if (this.advised.isFrozen() && targetSource.isStatic()) {
+                // Neither the advice nor the target can change: use the chain linked for this method.
+                PrelinkedAdviceChain prelinkedChain = this.advised.getPrelinkedAdviceChain(method);
+                if (this.advised.opaque || !prelinkedChain.isProxyConfigMethod()) {
+                    return invokePrelinked(proxy, method, args, prelinkedChain);
+                }
+            }
             if (!this.advised.opaque && method.getDeclaringClass().isInterface() &&
                     method.getDeclaringClass().isAssignableFrom(Advised.class)) {
                 // Service invocations on ProxyConfig with the proxy config...
@@ -134,18 +141,7 @@ public class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializ
             }
 
             // Massage return value if necessary. 返回结果
-            Class<?> returnType = method.getReturnType();
-            if (retVal != null && retVal == target && returnType.isInstance(proxy) &&
-                    !RawTargetAccess.class.isAssignableFrom(method.getDeclaringClass())) {
-                // Special case: it returned "this" and the return type of the method
-                // is type-compatible. Note that we can't help if the target sets
-                // a reference to itself in another returned object.
-                retVal = proxy;
-            } else if (retVal == null && returnType != Void.TYPE && returnType.isPrimitive()) {
-                throw new AopInvocationException(
-                        "Null return value from advice does not match primitive return type for: " + method);
-            }
-            return retVal;
+            return processReturnValue(proxy, target, method, retVal);
         } finally {
             if (target != null && !targetSource.isStatic()) {
                 // Must have come from TargetSource.
@@ -158,6 +154,48 @@ public class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializ
         }
     }
 
+    /**
+     * Invoke the given method through its {@link PrelinkedAdviceChain},
+     * skipping the per-call chain lookup and target retrieval.
+     */
+    private Object invokePrelinked(Object proxy, Method method, Object[] args, PrelinkedAdviceChain chain)
+            throws Throwable {
+
+        Object oldProxy = null;
+        boolean setProxyContext = false;
+        try {
+            if (this.advised.exposeProxy) {
+                oldProxy = AopContext.setCurrentProxy(proxy);
+                setProxyContext = true;
+            }
+            Object retVal = chain.invoke(proxy, args);
+            return processReturnValue(proxy, chain.getTarget(), method, retVal);
+        } finally {
+            if (setProxyContext) {
+                AopContext.setCurrentProxy(oldProxy);
+            }
+        }
+    }
+
+    /**
+     * Replace a returned target with the proxy where type-compatible, and verify
+     * that {@code null} is not returned for a primitive return type.
+     */
+    private static Object processReturnValue(Object proxy, Object target, Method method, Object retVal) {
+        Class<?> returnType = method.getReturnType();
+        if (retVal != null && retVal == target && returnType.isInstance(proxy) &&
+                !RawTargetAccess.class.isAssignableFrom(method.getDeclaringClass())) {
+            // Special case: it returned "this" and the return type of the method
+            // is type-compatible. Note that we can't help if the target sets
+            // a reference to itself in another returned object.
+            return proxy;
+        } else if (retVal == null && returnType != Void.TYPE && returnType.isPrimitive()) {
+            throw new AopInvocationException(
+                    "Null return value from advice does not match primitive return type for: " + method);
+        }
+        return retVal;
+    }
+
     /**
      * Equality means interfaces, advisors and TargetSource are equal.
      * <p>The compared object may be a JdkDynamicAopProxy instance itself
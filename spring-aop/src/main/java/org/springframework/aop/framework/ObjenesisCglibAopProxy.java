@@ -1,14 +1,49 @@
 package org.springframework.aop.framework;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.cglib.proxy.Callback;
+import org.springframework.cglib.proxy.Factory;
+import org.springframework.objenesis.SpringObjenesis;
+
+/**
+ * Objenesis-based extension of {@link CglibAopProxy} to create proxy instances
+ * without invoking the constructor of the class.
+ */
 public class ObjenesisCglibAopProxy extends CglibAopProxy{
 
     private static final long serialVersionUID = 1227139454465040612L;
 
-    // private static final Log logger = LogFactory.getLog(ObjenesisCglibAopProxy.class);
-    // private static final SpringObjenesis objenesis = new SpringObjenesis();
+    private static final Log logger = LogFactory.getLog(ObjenesisCglibAopProxy.class);
+
+    private static final SpringObjenesis objenesis = new SpringObjenesis();
 
     public ObjenesisCglibAopProxy(AdvisedSupport config) {
         super(config);
     }
 
+    @Override
+    protected boolean isInterceptDuringConstruction() {
+        // Without a constructor call, CGLIB would never consider the instance constructed
+        return objenesis.isWorthTrying();
+    }
+
+    @Override
+    protected Object createProxyInstance(Class<?> proxyClass, Callback[] callbacks) throws Exception {
+        Object proxyInstance = null;
+        if (objenesis.isWorthTrying()) {
+            try {
+                proxyInstance = objenesis.newInstance(proxyClass);
+            } catch (Throwable ex) {
+                logger.debug("Unable to instantiate proxy using Objenesis, " +
+                        "falling back to regular proxy construction", ex);
+            }
+        }
+        if (proxyInstance == null) {
+            return super.createProxyInstance(proxyClass, callbacks);
+        }
+        ((Factory) proxyInstance).setCallbacks(callbacks);
+        return proxyInstance;
+    }
+
 }
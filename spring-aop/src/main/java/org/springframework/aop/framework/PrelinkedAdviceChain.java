@@ -0,0 +1,155 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.aop.framework;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.aop.AopInvocationException;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.cglib.reflect.FastClass;
+import org.springframework.core.BridgeMethodResolver;
+
+/**
+ * Advice chain for a single method of a frozen proxy with a static target,
+ * linked once and reused for every invocation of that method.
+ *
+ * <p>The interceptor chain, the target and the joinpoint invoker are all
+ * resolved up front: an unadvised method turns into a direct call of the
+ * target, and the target method is invoked through a CGLIB {@link FastClass}
+ * instead of {@link Method#invoke} wherever the target class and method are
+ * public. Other methods fall back to reflection.
+ *
+ * @see AdvisedSupport#getPrelinkedAdviceChain
+ * @see JdkDynamicAopProxy
+ */
+final class PrelinkedAdviceChain {
+
+    private final Method method;
+
+    private final Object target;
+
+    private final Class<?> targetClass;
+
+    private final List<Object> chain;
+
+    private final FastClass fastClass;
+
+    private final int fastClassIndex;
+
+    private final boolean proxyConfigMethod;
+
+
+    PrelinkedAdviceChain(AdvisedSupport advised, Method method) throws Exception {
+        this.method = method;
+        this.target = advised.getTargetSource().getTarget();
+        this.targetClass = (this.target != null ? this.target.getClass() : null);
+        this.chain = Collections.unmodifiableList(new ArrayList<Object>(
+                advised.getInterceptorsAndDynamicInterceptionAdvice(method, this.targetClass)));
+        FastClass fastClass = createFastClass(this.targetClass, method);
+        int fastClassIndex = -1;
+        if (fastClass != null) {
+            fastClassIndex = fastClass.getIndex(method.getName(), method.getParameterTypes());
+        }
+        this.fastClass = (fastClassIndex >= 0 ? fastClass : null);
+        this.fastClassIndex = fastClassIndex;
+        this.proxyConfigMethod = (method.getDeclaringClass().isInterface() &&
+                method.getDeclaringClass().isAssignableFrom(Advised.class));
+    }
+
+    private static FastClass createFastClass(Class<?> targetClass, Method method) {
+        if (targetClass == null || !Modifier.isPublic(targetClass.getModifiers()) ||
+                !Modifier.isPublic(method.getModifiers()) || BridgeMethodResolver.findBridgedMethod(method) != method) {
+            return null;
+        }
+        try {
+            return FastClass.create(targetClass.getClassLoader(), targetClass);
+        } catch (Throwable ex) {
+            // Class not accessible for generated code: stick to reflection.
+            return null;
+        }
+    }
+
+
+    /**
+     * Return the target that this chain has been linked against (may be {@code null}).
+     */
+    public Object getTarget() {
+        return this.target;
+    }
+
+    /**
+     * Return whether the method is declared on the proxy configuration interfaces
+     * ({@link Advised} and its superinterfaces) rather than on the target.
+     * <p>Determined once, since {@link Class#isAssignableFrom} is comparatively
+     * expensive to evaluate on every call.
+     */
+    public boolean isProxyConfigMethod() {
+        return this.proxyConfigMethod;
+    }
+
+    /**
+     * Invoke the linked method on the given proxy.
+     * @param proxy the proxy the method has been invoked on
+     * @param args the invocation arguments
+     * @return the raw return value of the advice chain
+     */
+    public Object invoke(Object proxy, Object[] args) throws Throwable {
+        if (this.chain.isEmpty()) {
+            return invokeJoinpoint(AopProxyUtils.adaptArgumentsIfNecessary(this.method, args));
+        }
+        return new PrelinkedMethodInvocation(proxy, args).proceed();
+    }
+
+    private Object invokeJoinpoint(Object[] args) throws Throwable {
+        if (this.fastClass == null) {
+            return AopUtils.invokeJoinpointUsingReflection(this.target, this.method, args);
+        }
+        try {
+            return this.fastClass.invoke(this.fastClassIndex, this.target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        } catch (ClassCastException ex) {
+            throw new AopInvocationException("AOP configuration seems to be invalid: tried calling method [" +
+                    this.method + "] on target [" + this.target + "]", ex);
+        }
+    }
+
+
+    /**
+     * MethodInvocation walking the pre-linked chain, with the target
+     * invoked through the chain's joinpoint invoker.
+     */
+    private class PrelinkedMethodInvocation extends ReflectiveMethodInvocation {
+
+        public PrelinkedMethodInvocation(Object proxy, Object[] arguments) {
+            super(proxy, PrelinkedAdviceChain.this.target, PrelinkedAdviceChain.this.method, arguments,
+                    PrelinkedAdviceChain.this.targetClass, PrelinkedAdviceChain.this.chain);
+        }
+
+        @Override
+        protected Object invokeJoinpoint() throws Throwable {
+            return PrelinkedAdviceChain.this.invokeJoinpoint(this.arguments);
+        }
+    }
+
+}
@@ -1,19 +1,58 @@
 package org.springframework.aop.framework.autoproxy;
 
 import org.springframework.aop.Advisor;
+import org.springframework.aop.IntroductionAdvisor;
 import org.springframework.aop.TargetSource;
+import org.springframework.aop.framework.AopConfigException;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.util.Assert;
 
+import java.util.ArrayList;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 public abstract class AbstractAdvisorAutoProxyCreator extends AbstractAutoProxyCreator {
 
+    /** Number of candidate Advisors evaluated per task when matching in parallel */
+    private static final int ADVISOR_MATCHING_BATCH_SIZE = 32;
+
     private BeanFactoryAdvisorRetrievalHelper advisorRetrievalHelper;
 
+    private AsyncTaskExecutor advisorMatchingExecutor;
+
+    private int parallelMatchingThreshold = 64;
+
+
+    /**
+     * Set an executor for evaluating the candidate Advisors against a bean class
+     * in parallel, in batches of candidates.
+     * <p>Default is none, evaluating all candidates on the thread creating the bean.
+     * Only worth it with a large number of Advisors; their pointcuts need to be
+     * safe for concurrent matching, as AspectJ expression pointcuts are.
+     * @see #setParallelMatchingThreshold
+     */
+    public void setAdvisorMatchingExecutor(AsyncTaskExecutor advisorMatchingExecutor) {
+        this.advisorMatchingExecutor = advisorMatchingExecutor;
+    }
+
+    /**
+     * Set the minimum number of candidate Advisors for parallel matching to kick in.
+     * Default is 64.
+     * @see #setAdvisorMatchingExecutor
+     */
+    public void setParallelMatchingThreshold(int parallelMatchingThreshold) {
+        Assert.isTrue(parallelMatchingThreshold > 0, "'parallelMatchingThreshold' must be positive");
+        this.parallelMatchingThreshold = parallelMatchingThreshold;
+    }
+
     @Override
     public void setBeanFactory(BeanFactory beanFactory) {
         super.setBeanFactory(beanFactory);
@@ -89,12 +128,76 @@ public abstract class AbstractAdvisorAutoProxyCreator extends AbstractAutoProxyC
         ProxyCreationContext.setCurrentProxiedBeanName(beanName);
         try {
             // 过滤已经得到的advisors
+            if (this.advisorMatchingExecutor != null && candidateAdvisors.size() >= this.parallelMatchingThreshold) {
+                return findAdvisorsThatCanApplyInParallel(candidateAdvisors, beanClass, beanName);
+            }
             return AopUtils.findAdvisorsThatCanApply(candidateAdvisors, beanClass);
         } finally {
             ProxyCreationContext.setCurrentProxiedBeanName(null);
         }
     }
 
+    /**
+     * Parallel variant of {@link AopUtils#findAdvisorsThatCanApply}, evaluating
+     * batches of candidates on the {@link #setAdvisorMatchingExecutor advisor
+     * matching executor} while keeping the order of the candidate list.
+     */
+    private List<Advisor> findAdvisorsThatCanApplyInParallel(
+            List<Advisor> candidateAdvisors, Class<?> beanClass, String beanName) {
+
+        List<Advisor> eligibleAdvisors = new LinkedList<Advisor>();
+        List<Advisor> pointcutAdvisors = new ArrayList<Advisor>(candidateAdvisors.size());
+        for (Advisor candidate : candidateAdvisors) {
+            if (candidate instanceof IntroductionAdvisor) {
+                if (AopUtils.canApply(candidate, beanClass)) {
+                    eligibleAdvisors.add(candidate);
+                }
+            } else {
+                pointcutAdvisors.add(candidate);
+            }
+        }
+        boolean hasIntroductions = !eligibleAdvisors.isEmpty();
+        boolean[] applicable = new boolean[pointcutAdvisors.size()];
+
+        List<Future<?>> futures = new ArrayList<Future<?>>();
+        for (int start = ADVISOR_MATCHING_BATCH_SIZE; start < pointcutAdvisors.size();
+             start += ADVISOR_MATCHING_BATCH_SIZE) {
+            AdvisorMatchingTask task = new AdvisorMatchingTask(
+                    pointcutAdvisors, start, beanClass, beanName, hasIntroductions, applicable);
+            try {
+                futures.add(this.advisorMatchingExecutor.submit(task));
+            } catch (TaskRejectedException ex) {
+                task.run();
+            }
+        }
+        // The first batch is evaluated on the calling thread.
+        new AdvisorMatchingTask(pointcutAdvisors, 0, beanClass, beanName, hasIntroductions, applicable).run();
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new AopConfigException("Failed to match advisors against bean '" + beanName + "'", cause);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new AopConfigException("Interrupted while matching advisors against bean '" + beanName + "'", ex);
+            }
+        }
+
+        for (int i = 0; i < applicable.length; i++) {
+            if (applicable[i]) {
+                eligibleAdvisors.add(pointcutAdvisors.get(i));
+            }
+        }
+        return eligibleAdvisors;
+    }
+
     /**
      * Return whether the Advisor bean with the given name is eligible
      * for proxying in the first place.
@@ -135,6 +238,49 @@ public abstract class AbstractAdvisorAutoProxyCreator extends AbstractAutoProxyC
         // 该方法被子类重写
     }
 
+    /**
+     * Evaluates one batch of candidate Advisors, exposing the bean name
+     * to {@code bean()} pointcuts on whatever thread it runs on.
+     */
+    private static class AdvisorMatchingTask implements Runnable {
+
+        private final List<Advisor> advisors;
+
+        private final int start;
+
+        private final Class<?> beanClass;
+
+        private final String beanName;
+
+        private final boolean hasIntroductions;
+
+        private final boolean[] applicable;
+
+        public AdvisorMatchingTask(List<Advisor> advisors, int start, Class<?> beanClass, String beanName,
+                                   boolean hasIntroductions, boolean[] applicable) {
+            this.advisors = advisors;
+            this.start = start;
+            this.beanClass = beanClass;
+            this.beanName = beanName;
+            this.hasIntroductions = hasIntroductions;
+            this.applicable = applicable;
+        }
+
+        @Override
+        public void run() {
+            String previousBeanName = ProxyCreationContext.getCurrentProxiedBeanName();
+            ProxyCreationContext.setCurrentProxiedBeanName(this.beanName);
+            try {
+                int end = Math.min(this.start + ADVISOR_MATCHING_BATCH_SIZE, this.advisors.size());
+                for (int i = this.start; i < end; i++) {
+                    this.applicable[i] = AopUtils.canApply(this.advisors.get(i), this.beanClass, this.hasIntroductions);
+                }
+            } finally {
+                ProxyCreationContext.setCurrentProxiedBeanName(previousBeanName);
+            }
+        }
+    }
+
     /**
      * Subclass of BeanFactoryAdvisorRetrievalHelper that delegates to
      * surrounding AbstractAdvisorAutoProxyCreator facilities.
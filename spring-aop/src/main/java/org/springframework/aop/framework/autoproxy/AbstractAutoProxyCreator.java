@@ -15,6 +15,7 @@ import org.springframework.beans.BeansException;
 import org.springframework.beans.PropertyValues;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.config.SmartInstantiationAwareBeanPostProcessor;
@@ -25,7 +26,7 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class AbstractAutoProxyCreator extends ProxyProcessorSupport
-        implements SmartInstantiationAwareBeanPostProcessor, BeanFactoryAware {
+        implements SmartInstantiationAwareBeanPostProcessor, BeanFactoryAware, DisposableBean {
 
     protected static final Object[] DO_NOT_PROXY = null;
     /**
@@ -45,11 +46,53 @@ public abstract class AbstractAutoProxyCreator extends ProxyProcessorSupport
             Collections.newSetFromMap(new ConcurrentHashMap<Object, Boolean>(16));
     private final Map<Object, Class<?>> proxyTypes = new ConcurrentHashMap<Object, Class<?>>(16);
 
+    /**
+     * Set custom TargetSourceCreators to be applied in this order.
+     * If the list is empty, or they all return null, a SingletonTargetSource
+     * will be created for each bean.
+     * <p>Note that TargetSourceCreators will kick in even for target beans
+     * where no advices or advisors have been found. If a TargetSourceCreator
+     * returns a TargetSource for a specific bean, that bean will be proxied
+     * in any case.
+     * <p>TargetSourceCreators can only be invoked if this post processor is used
+     * in a BeanFactory and its BeanFactoryAware callback is triggered.
+     * @param targetSourceCreators list of TargetSourceCreators.
+     * Ordering is significant: The TargetSource returned from the first matching
+     * TargetSourceCreator (that is, the first that returns non-null) will be used.
+     * <p>Creators that implement {@link DisposableBean} are destroyed along with
+     * this post processor, releasing the TargetSources they created, even if
+     * they have not been defined as beans themselves.
+     * @see #destroy()
+     */
+    public void setCustomTargetSourceCreators(TargetSourceCreator... targetSourceCreators) {
+        this.customTargetSourceCreators = targetSourceCreators;
+    }
+
     @Override
     public void setBeanFactory(BeanFactory beanFactory) {
         this.beanFactory = beanFactory;
     }
 
+    /**
+     * Destroy the {@link #setCustomTargetSourceCreators custom TargetSourceCreators}
+     * on shutdown, closing the pooled and thread-bound targets they handed out.
+     */
+    @Override
+    public void destroy() {
+        if (this.customTargetSourceCreators != null) {
+            for (TargetSourceCreator tsc : this.customTargetSourceCreators) {
+                if (tsc instanceof DisposableBean) {
+                    try {
+                        ((DisposableBean) tsc).destroy();
+                    }
+                    catch (Throwable ex) {
+                        logger.warn("Failed to destroy TargetSourceCreator [" + tsc + "]", ex);
+                    }
+                }
+            }
+        }
+    }
+
     @Override
     public Class<?> predictBeanType(Class<?> beanClass, String beanName) {
         Object cacheKey = getCacheKey(beanClass, beanName);
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.aop.interceptor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.util.Assert;
+
+/**
+ * Interceptor implementing a circuit breaker: once the failure rate over the
+ * last {@link #setWindowSize windowSize} invocations reaches the configured
+ * {@link #setFailureRateThreshold threshold}, the circuit opens and further
+ * invocations fail fast with a {@link CircuitBreakerOpenException}, without
+ * reaching the target. After the {@link #setOpenDuration open duration}, a single
+ * trial invocation is let through: the circuit closes again if it succeeds,
+ * and stays open for another period if it fails.
+ *
+ * <p>The sliding window is a lock-free ring buffer of invocation outcomes;
+ * in the closed state, the overhead per invocation is a few atomic updates.
+ * All methods advised by one instance of this interceptor share its circuit.
+ */
+public class CircuitBreakerInterceptor implements MethodInterceptor {
+
+	private static final int CLOSED = 0;
+
+	private static final int OPEN = 1;
+
+	private static final int HALF_OPEN = 2;
+
+	private static final int NO_OUTCOME = 0;
+
+	private static final int SUCCESS = 1;
+
+	private static final int FAILURE = 2;
+
+
+	protected final Log logger = LogFactory.getLog(getClass());
+
+	private int windowSize = 20;
+
+	private int minimumCalls = 10;
+
+	private int failureRateThreshold = 50;
+
+	private long openDurationNanos = TimeUnit.SECONDS.toNanos(5);
+
+	private Class<?>[] failureExceptionTypes = new Class<?>[] {Throwable.class};
+
+	private volatile Window window = new Window(this.windowSize);
+
+	private final AtomicInteger state = new AtomicInteger(CLOSED);
+
+	private volatile long openedAt;
+
+	private final AtomicLong rejectedCount = new AtomicLong();
+
+
+	/**
+	 * Set the number of most recent invocations that the failure rate is
+	 * calculated over. Default is 20.
+	 */
+	public void setWindowSize(int windowSize) {
+		Assert.isTrue(windowSize > 0, "Window size must be greater than 0");
+		this.windowSize = windowSize;
+		reset();
+	}
+
+	/**
+	 * Set the minimum number of invocations in the window before the failure
+	 * rate is evaluated at all. Default is 10.
+	 */
+	public void setMinimumCalls(int minimumCalls) {
+		Assert.isTrue(minimumCalls > 0, "Minimum calls must be greater than 0");
+		this.minimumCalls = minimumCalls;
+	}
+
+	/**
+	 * Set the failure rate in percent at which the circuit opens. Default is 50.
+	 */
+	public void setFailureRateThreshold(int failureRateThreshold) {
+		Assert.isTrue(failureRateThreshold > 0 && failureRateThreshold <= 100,
+				"Failure rate threshold must be between 1 and 100");
+		this.failureRateThreshold = failureRateThreshold;
+	}
+
+	/**
+	 * Set the time in milliseconds that the circuit stays open before a trial
+	 * invocation is let through. Default is 5000.
+	 */
+	public void setOpenDuration(long openDuration) {
+		Assert.isTrue(openDuration >= 0, "Open duration must not be negative");
+		this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(openDuration);
+	}
+
+	/**
+	 * Set the exception types that count as failures. Other exceptions are
+	 * propagated but count as successful invocations.
+	 * <p>Default is any {@link Throwable}.
+	 */
+	public void setFailureExceptionTypes(Class<?>... failureExceptionTypes) {
+		Assert.notEmpty(failureExceptionTypes, "At least one failure exception type required");
+		this.failureExceptionTypes = failureExceptionTypes;
+	}
+
+	/**
+	 * Return whether the circuit is currently open (or half-open, i.e.
+	 * awaiting the outcome of a trial invocation).
+	 */
+	public boolean isOpen() {
+		return (this.state.get() != CLOSED);
+	}
+
+	/**
+	 * Return the failure rate in percent over the current window.
+	 */
+	public int getFailureRate() {
+		Window window = this.window;
+		int calls = window.callCount.get();
+		return (calls > 0 ? window.failureCount.get() * 100 / calls : 0);
+	}
+
+	/**
+	 * Return the number of invocations rejected so far.
+	 */
+	public long getRejectedCount() {
+		return this.rejectedCount.get();
+	}
+
+	/**
+	 * Close the circuit and clear the sliding window.
+	 */
+	public void reset() {
+		this.window = new Window(this.windowSize);
+		this.state.set(CLOSED);
+	}
+
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		int currentState = this.state.get();
+		if (currentState == CLOSED) {
+			boolean failed = false;
+			try {
+				return invocation.proceed();
+			}
+			catch (Throwable ex) {
+				failed = isFailure(ex);
+				throw ex;
+			}
+			finally {
+				recordOutcome(failed);
+			}
+		}
+		if (currentState == OPEN && System.nanoTime() - this.openedAt >= this.openDurationNanos &&
+				this.state.compareAndSet(OPEN, HALF_OPEN)) {
+			return invokeTrial(invocation);
+		}
+		this.rejectedCount.incrementAndGet();
+		throw new CircuitBreakerOpenException("Circuit breaker open for method [" + invocation.getMethod() + "]");
+	}
+
+	private Object invokeTrial(MethodInvocation invocation) throws Throwable {
+		boolean failed = true;
+		try {
+			Object result = invocation.proceed();
+			failed = false;
+			return result;
+		}
+		catch (Throwable ex) {
+			failed = isFailure(ex);
+			throw ex;
+		}
+		finally {
+			if (failed) {
+				this.openedAt = System.nanoTime();
+				this.state.set(OPEN);
+			}
+			else {
+				reset();
+				if (logger.isInfoEnabled()) {
+					logger.info("Circuit breaker closed after successful trial invocation of [" +
+							invocation.getMethod() + "]");
+				}
+			}
+		}
+	}
+
+	private boolean isFailure(Throwable ex) {
+		for (Class<?> failureType : this.failureExceptionTypes) {
+			if (failureType.isInstance(ex)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void recordOutcome(boolean failed) {
+		Window window = this.window;
+		int previous = window.record(failed ? FAILURE : SUCCESS);
+		int calls = (previous == NO_OUTCOME ? window.callCount.incrementAndGet() : window.callCount.get());
+		if (!failed) {
+			if (previous == FAILURE) {
+				window.failureCount.decrementAndGet();
+			}
+			return;
+		}
+		int failures = (previous == FAILURE ? window.failureCount.get() : window.failureCount.incrementAndGet());
+		if (calls >= this.minimumCalls && failures * 100 >= this.failureRateThreshold * calls &&
+				this.state.compareAndSet(CLOSED, HALF_OPEN)) {
+			// Only the caller that opens the circuit sets the opening time; callers are
+			// rejected meanwhile, so none of them can see the time of a previous opening.
+			this.openedAt = System.nanoTime();
+			this.state.set(OPEN);
+			if (logger.isWarnEnabled()) {
+				logger.warn("Circuit breaker opened at failure rate of " + (failures * 100 / calls) + "% over " +
+						calls + " invocations");
+			}
+		}
+	}
+
+
+	/**
+	 * Ring buffer of the most recent invocation outcomes, with running counts.
+	 * Replaced as a whole on reset, so that late updates cannot skew a new window.
+	 */
+	private static class Window {
+
+		private final AtomicIntegerArray outcomes;
+
+		private final AtomicLong position = new AtomicLong();
+
+		final AtomicInteger callCount = new AtomicInteger();
+
+		final AtomicInteger failureCount = new AtomicInteger();
+
+		Window(int size) {
+			this.outcomes = new AtomicIntegerArray(size);
+		}
+
+		int record(int outcome) {
+			int index = (int) (this.position.getAndIncrement() % this.outcomes.length());
+			return this.outcomes.getAndSet(index, outcome);
+		}
+	}
+
+}
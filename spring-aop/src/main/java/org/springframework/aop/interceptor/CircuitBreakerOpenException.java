@@ -0,0 +1,37 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.aop.interceptor;
+
+import org.springframework.aop.AopInvocationException;
+
+/**
+ * Exception thrown by {@link CircuitBreakerInterceptor} when an invocation
+ * is rejected because the circuit is open.
+ */
+@SuppressWarnings("serial")
+public class CircuitBreakerOpenException extends AopInvocationException {
+
+	/**
+	 * Constructor for CircuitBreakerOpenException.
+	 * @param msg the detail message
+	 */
+	public CircuitBreakerOpenException(String msg) {
+		super(msg);
+	}
+
+}
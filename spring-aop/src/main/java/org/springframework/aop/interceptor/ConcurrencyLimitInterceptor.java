@@ -0,0 +1,177 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.aop.interceptor;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import org.springframework.util.Assert;
+
+/**
+ * Interceptor that limits the number of concurrent invocations ("bulkhead"),
+ * so that a slow dependency cannot tie up all threads of the caller.
+ *
+ * <p>Invocations beyond the limit wait for a permit, but at most
+ * {@link #setMaxQueueSize maxQueueSize} of them at a time and for at most
+ * {@link #setMaxWait maxWait} milliseconds; any further invocation fails fast
+ * with a {@link ConcurrencyLimitExceededException}. With the default queue size
+ * of 0, invocations beyond the limit are rejected right away.
+ *
+ * <p>All methods advised by one instance of this interceptor share its limit.
+ * In contrast to {@link org.springframework.util.ConcurrencyThrottleSupport},
+ * acquiring a permit does not involve a monitor lock.
+ */
+public class ConcurrencyLimitInterceptor implements MethodInterceptor {
+
+	private final Semaphore permits;
+
+	private final int maxConcurrency;
+
+	private int maxQueueSize = 0;
+
+	private long maxWait = -1;
+
+	private final AtomicInteger waitingCount = new AtomicInteger();
+
+	private final AtomicLong rejectedCount = new AtomicLong();
+
+
+	/**
+	 * Create a new ConcurrencyLimitInterceptor.
+	 * @param maxConcurrency the maximum number of concurrent invocations
+	 */
+	public ConcurrencyLimitInterceptor(int maxConcurrency) {
+		Assert.isTrue(maxConcurrency > 0, "Max concurrency must be greater than 0");
+		this.maxConcurrency = maxConcurrency;
+		this.permits = new Semaphore(maxConcurrency);
+	}
+
+
+	/**
+	 * Return the maximum number of concurrent invocations.
+	 */
+	public int getMaxConcurrency() {
+		return this.maxConcurrency;
+	}
+
+	/**
+	 * Set the maximum number of invocations that may wait for a permit
+	 * at the same time. Further invocations are rejected immediately.
+	 * <p>Default is 0: no waiting, i.e. fail fast once the limit is reached.
+	 */
+	public void setMaxQueueSize(int maxQueueSize) {
+		Assert.isTrue(maxQueueSize >= 0, "Max queue size must not be negative");
+		this.maxQueueSize = maxQueueSize;
+	}
+
+	/**
+	 * Return the maximum number of invocations waiting for a permit.
+	 */
+	public int getMaxQueueSize() {
+		return this.maxQueueSize;
+	}
+
+	/**
+	 * Set the maximum time in milliseconds that a queued invocation waits
+	 * for a permit before it is rejected.
+	 * <p>Default is -1: wait indefinitely.
+	 */
+	public void setMaxWait(long maxWait) {
+		this.maxWait = maxWait;
+	}
+
+	/**
+	 * Return the maximum time in milliseconds to wait for a permit.
+	 */
+	public long getMaxWait() {
+		return this.maxWait;
+	}
+
+	/**
+	 * Return the current number of active invocations.
+	 */
+	public int getActiveCount() {
+		return this.maxConcurrency - this.permits.availablePermits();
+	}
+
+	/**
+	 * Return the current number of invocations waiting for a permit.
+	 */
+	public int getWaitingCount() {
+		return this.waitingCount.get();
+	}
+
+	/**
+	 * Return the number of invocations rejected so far.
+	 */
+	public long getRejectedCount() {
+		return this.rejectedCount.get();
+	}
+
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		if (!this.permits.tryAcquire()) {
+			acquirePermit(invocation);
+		}
+		try {
+			return invocation.proceed();
+		}
+		finally {
+			this.permits.release();
+		}
+	}
+
+	private void acquirePermit(MethodInvocation invocation) {
+		if (this.waitingCount.incrementAndGet() > this.maxQueueSize) {
+			this.waitingCount.decrementAndGet();
+			throw rejected(invocation, null);
+		}
+		try {
+			if (this.maxWait < 0) {
+				this.permits.acquire();
+			}
+			else if (!this.permits.tryAcquire(this.maxWait, TimeUnit.MILLISECONDS)) {
+				throw rejected(invocation, null);
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw rejected(invocation, ex);
+		}
+		finally {
+			this.waitingCount.decrementAndGet();
+		}
+	}
+
+	private ConcurrencyLimitExceededException rejected(MethodInvocation invocation, Throwable cause) {
+		this.rejectedCount.incrementAndGet();
+		String msg = "Concurrency limit of " + this.maxConcurrency + " reached for method [" +
+				invocation.getMethod() + "]";
+		if (cause != null) {
+			return new ConcurrencyLimitExceededException(msg + ": interrupted while waiting", cause);
+		}
+		return new ConcurrencyLimitExceededException(msg);
+	}
+
+}
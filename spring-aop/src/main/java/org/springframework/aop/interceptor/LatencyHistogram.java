@@ -0,0 +1,187 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.aop.interceptor;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free {@link LatencyRecorder} that keeps a log-linear histogram of
+ * invocation durations: each power-of-two range is divided into eight
+ * equally sized buckets, which bounds the relative error of reported
+ * percentiles to 12.5% across the whole {@code long} range, with a fixed
+ * footprint of a few kilobytes.
+ *
+ * <p>Recording an invocation is a handful of atomic increments; no
+ * objects are allocated.
+ *
+ * @see SimpleLatencyRegistry
+ */
+public class LatencyHistogram implements LatencyRecorder {
+
+	private static final int SUB_BUCKET_BITS = 3;
+
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+	private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+
+	private final String name;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+	private final AtomicLong count = new AtomicLong();
+
+	private final AtomicLong failureCount = new AtomicLong();
+
+	private final AtomicLong totalNanos = new AtomicLong();
+
+	private final AtomicLong maxNanos = new AtomicLong();
+
+
+	/**
+	 * Create a new LatencyHistogram.
+	 * @param name the name of the monitored method(s)
+	 */
+	public LatencyHistogram(String name) {
+		this.name = name;
+	}
+
+
+	/**
+	 * Return the name of the monitored method(s).
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	@Override
+	public void record(long durationNanos, boolean failed) {
+		if (durationNanos < 0) {
+			durationNanos = 0;
+		}
+		this.buckets.incrementAndGet(bucketIndex(durationNanos));
+		this.count.incrementAndGet();
+		this.totalNanos.addAndGet(durationNanos);
+		if (failed) {
+			this.failureCount.incrementAndGet();
+		}
+		long max = this.maxNanos.get();
+		while (durationNanos > max && !this.maxNanos.compareAndSet(max, durationNanos)) {
+			max = this.maxNanos.get();
+		}
+	}
+
+	/**
+	 * Return the number of recorded invocations.
+	 */
+	public long getCount() {
+		return this.count.get();
+	}
+
+	/**
+	 * Return the number of recorded invocations that completed with an exception.
+	 */
+	public long getFailureCount() {
+		return this.failureCount.get();
+	}
+
+	/**
+	 * Return the mean duration in nanoseconds (0 if nothing has been recorded).
+	 */
+	public long getMean() {
+		long count = this.count.get();
+		return (count > 0 ? this.totalNanos.get() / count : 0);
+	}
+
+	/**
+	 * Return the maximum duration in nanoseconds.
+	 */
+	public long getMax() {
+		return this.maxNanos.get();
+	}
+
+	/**
+	 * Return the duration in nanoseconds that the given percentage of
+	 * recorded invocations did not exceed, e.g. {@code getPercentile(99.0)}.
+	 * <p>The result is the upper bound of the matching histogram bucket.
+	 * @param percentile the percentile between 0 and 100
+	 * @return the duration in nanoseconds (0 if nothing has been recorded)
+	 */
+	public long getPercentile(double percentile) {
+		long[] snapshot = new long[BUCKET_COUNT];
+		long total = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			snapshot[i] = this.buckets.get(i);
+			total += snapshot[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long rank = (long) Math.ceil(total * Math.max(0.0, Math.min(percentile, 100.0)) / 100.0);
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += snapshot[i];
+			if (seen >= Math.max(rank, 1)) {
+				return Math.min(bucketUpperBound(i), getMax());
+			}
+		}
+		return getMax();
+	}
+
+	/**
+	 * Reset all recorded values.
+	 * <p>Invocations recorded concurrently with a reset may be partially retained.
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			this.buckets.set(i, 0);
+		}
+		this.count.set(0);
+		this.failureCount.set(0);
+		this.totalNanos.set(0);
+		this.maxNanos.set(0);
+	}
+
+	@Override
+	public String toString() {
+		return this.name + ": count=" + getCount() + ", failures=" + getFailureCount() +
+				", mean=" + getMean() + "ns, p50=" + getPercentile(50) + "ns, p99=" + getPercentile(99) +
+				"ns, max=" + getMax() + "ns";
+	}
+
+
+	static int bucketIndex(long value) {
+		if (value < SUB_BUCKET_COUNT) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int shift = exponent - SUB_BUCKET_BITS;
+		return (shift + 1) * SUB_BUCKET_COUNT + (int) ((value >>> shift) & (SUB_BUCKET_COUNT - 1));
+	}
+
+	static long bucketUpperBound(int index) {
+		if (index < SUB_BUCKET_COUNT) {
+			return index;
+		}
+		int shift = index / SUB_BUCKET_COUNT - 1;
+		long lowerBound = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+		return lowerBound + ((1L << shift) - 1);
+	}
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.aop.interceptor;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Interceptor that records the duration of every invocation in a
+ * {@link LatencyRegistry}, by default a {@link SimpleLatencyRegistry}
+ * keeping a {@link LatencyHistogram} per method.
+ *
+ * <p>The recorder for a method is resolved once and cached, so that the
+ * per-invocation overhead is limited to two {@link System#nanoTime()} calls
+ * and the histogram update. Typically applied to a set of methods through an
+ * {@link org.springframework.aop.aspectj.AspectJExpressionPointcutAdvisor}.
+ *
+ * @see #setLatencyRegistry
+ * @see #getMonitorName
+ */
+@SuppressWarnings("serial")
+public class LatencyMonitoringInterceptor implements MethodInterceptor, Serializable {
+
+	private LatencyRegistry latencyRegistry = new SimpleLatencyRegistry();
+
+	private String prefix;
+
+	private transient ConcurrentMap<Method, LatencyRecorder> recorderCache =
+			new ConcurrentHashMap<Method, LatencyRecorder>(64);
+
+
+	/**
+	 * Set the registry to record invocation durations in.
+	 * <p>Default is a {@link SimpleLatencyRegistry} local to this interceptor.
+	 */
+	public void setLatencyRegistry(LatencyRegistry latencyRegistry) {
+		Assert.notNull(latencyRegistry, "LatencyRegistry must not be null");
+		this.latencyRegistry = latencyRegistry;
+		this.recorderCache.clear();
+	}
+
+	/**
+	 * Return the registry that invocation durations are recorded in.
+	 */
+	public LatencyRegistry getLatencyRegistry() {
+		return this.latencyRegistry;
+	}
+
+	/**
+	 * Set a prefix for all monitor names, e.g. the name of the application.
+	 */
+	public void setPrefix(String prefix) {
+		this.prefix = prefix;
+		this.recorderCache.clear();
+	}
+
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		LatencyRecorder recorder = getRecorder(invocation.getMethod());
+		boolean failed = true;
+		long start = System.nanoTime();
+		try {
+			Object result = invocation.proceed();
+			failed = false;
+			return result;
+		}
+		finally {
+			recorder.record(System.nanoTime() - start, failed);
+		}
+	}
+
+	private LatencyRecorder getRecorder(Method method) {
+		LatencyRecorder recorder = this.recorderCache.get(method);
+		if (recorder == null) {
+			String name = getMonitorName(method);
+			if (this.prefix != null) {
+				name = this.prefix + name;
+			}
+			recorder = this.latencyRegistry.getRecorder(name);
+			this.recorderCache.put(method, recorder);
+		}
+		return recorder;
+	}
+
+	/**
+	 * Determine the monitor name for the given method.
+	 * <p>Default is the short class name of the declaring class plus the
+	 * method name, e.g. "OrderService.placeOrder". Can be overridden to
+	 * distinguish overloaded methods, or to aggregate several methods.
+	 * @param method the invoked method (as seen by the proxy)
+	 * @return the monitor name (never {@code null})
+	 */
+	protected String getMonitorName(Method method) {
+		return ClassUtils.getShortName(method.getDeclaringClass()) + "." + method.getName();
+	}
+
+
+	//---------------------------------------------------------------------
+	// Serialization support
+	//---------------------------------------------------------------------
+
+	private void readObject(java.io.ObjectInputStream ois) throws java.io.IOException, ClassNotFoundException {
+		ois.defaultReadObject();
+		this.recorderCache = new ConcurrentHashMap<Method, LatencyRecorder>(64);
+	}
+
+}
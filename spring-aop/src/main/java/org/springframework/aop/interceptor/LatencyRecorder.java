@@ -0,0 +1,38 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.aop.interceptor;
+
+/**
+ * Callback for recording the latency of individual method invocations.
+ *
+ * <p>Implementations are called on the invoking thread, for every invocation
+ * of the monitored method, so they need to be thread-safe and cheap.
+ *
+ * @see LatencyRegistry
+ * @see LatencyHistogram
+ */
+public interface LatencyRecorder {
+
+	/**
+	 * Record a completed invocation.
+	 * @param durationNanos the duration of the invocation in nanoseconds
+	 * @param failed whether the invocation completed with an exception
+	 */
+	void record(long durationNanos, boolean failed);
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.aop.interceptor;
+
+/**
+ * Strategy for resolving the {@link LatencyRecorder} for a monitored method,
+ * allowing {@link LatencyMonitoringInterceptor} to feed an existing metrics
+ * system instead of the built-in {@link SimpleLatencyRegistry}.
+ *
+ * @see LatencyMonitoringInterceptor#setLatencyRegistry
+ */
+public interface LatencyRegistry {
+
+	/**
+	 * Return the recorder for the given monitor name, creating it if necessary.
+	 * <p>Called once per monitored method; the returned recorder is cached
+	 * by the interceptor.
+	 * @param name the monitor name (never {@code null})
+	 * @return the recorder to use (never {@code null})
+	 */
+	LatencyRecorder getRecorder(String name);
+
+}
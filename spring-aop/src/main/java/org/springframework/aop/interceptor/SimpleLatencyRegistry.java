@@ -0,0 +1,84 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.aop.interceptor;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Default {@link LatencyRegistry}, keeping a {@link LatencyHistogram}
+ * per monitor name in memory.
+ *
+ * <p>A single registry may be shared between several interceptors;
+ * methods with the same monitor name are aggregated.
+ */
+public class SimpleLatencyRegistry implements LatencyRegistry {
+
+	private final ConcurrentMap<String, LatencyHistogram> histograms =
+			new ConcurrentHashMap<String, LatencyHistogram>(64);
+
+
+	@Override
+	public LatencyRecorder getRecorder(String name) {
+		return getHistogram(name);
+	}
+
+	/**
+	 * Return the histogram for the given monitor name, creating it if necessary.
+	 */
+	public LatencyHistogram getHistogram(String name) {
+		LatencyHistogram histogram = this.histograms.get(name);
+		if (histogram == null) {
+			histogram = new LatencyHistogram(name);
+			LatencyHistogram existing = this.histograms.putIfAbsent(name, histogram);
+			if (existing != null) {
+				histogram = existing;
+			}
+		}
+		return histogram;
+	}
+
+	/**
+	 * Return all histograms of this registry, sorted by monitor name.
+	 */
+	public Collection<LatencyHistogram> getHistograms() {
+		return Collections.unmodifiableCollection(new TreeMap<String, LatencyHistogram>(this.histograms).values());
+	}
+
+	/**
+	 * Reset all histograms of this registry.
+	 */
+	public void reset() {
+		for (LatencyHistogram histogram : this.histograms.values()) {
+			histogram.reset();
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder(getClass().getSimpleName());
+		for (LatencyHistogram histogram : getHistograms()) {
+			sb.append("\n  ").append(histogram);
+		}
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.aop.target;
+
+import java.util.Deque;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link org.springframework.aop.TargetSource} that keeps a bounded pool of
+ * target instances in a lock-free deque, without any external pooling library.
+ *
+ * <p>Idle instances are handed out most-recently-returned first. Borrowing only
+ * blocks when {@link #setMaxSize "maxSize"} instances are in use at the same time,
+ * waiting for at most {@link #setMaxWait "maxWait"} milliseconds. A number of
+ * instances can be created eagerly through {@link #setMinIdle "minIdle"}, so
+ * that the first calls do not pay for creating them.
+ *
+ * <p>Besides the {@link PoolingConfig} counts, this TargetSource keeps usage
+ * statistics: the number of borrowed, created and destroyed instances, as well
+ * as the number of borrowers that had to wait or gave up waiting.
+ *
+ * <p>The target bean must be a prototype. Remaining idle instances are destroyed
+ * along with this TargetSource, and instances returned afterwards right away.
+ *
+ * @see #setMaxSize
+ * @see #setMaxIdle
+ * @see #setMinIdle
+ * @see #setMaxWait
+ */
+@SuppressWarnings("serial")
+public class ConcurrentPoolTargetSource extends AbstractPoolingTargetSource {
+
+	private int maxIdle = -1;
+
+	private int minIdle = 0;
+
+	private long maxWait = -1;
+
+	private final Deque<Object> idleObjects = new ConcurrentLinkedDeque<Object>();
+
+	private final AtomicInteger idleCount = new AtomicInteger();
+
+	private final AtomicInteger activeCount = new AtomicInteger();
+
+	private final AtomicLong borrowCount = new AtomicLong();
+
+	private final AtomicLong createCount = new AtomicLong();
+
+	private final AtomicLong destroyCount = new AtomicLong();
+
+	private final AtomicLong waitCount = new AtomicLong();
+
+	private final AtomicLong timeoutCount = new AtomicLong();
+
+	private Semaphore permits;
+
+	private volatile boolean closed;
+
+
+	/**
+	 * Create a ConcurrentPoolTargetSource with a default maximum size of 8.
+	 * @see #setMaxSize
+	 */
+	public ConcurrentPoolTargetSource() {
+		setMaxSize(8);
+	}
+
+
+	/**
+	 * Set the maximum number of idle instances to keep in the pool.
+	 * <p>Default is -1, keeping every instance returned to the pool.
+	 * Instances returned beyond this limit will be destroyed.
+	 */
+	public void setMaxIdle(int maxIdle) {
+		this.maxIdle = maxIdle;
+	}
+
+	/**
+	 * Return the maximum number of idle instances in the pool.
+	 */
+	public int getMaxIdle() {
+		return this.maxIdle;
+	}
+
+	/**
+	 * Set the number of instances to create when the pool is initialized.
+	 * <p>Default is 0, creating instances on demand only.
+	 */
+	public void setMinIdle(int minIdle) {
+		this.minIdle = minIdle;
+	}
+
+	/**
+	 * Return the number of instances created when the pool is initialized.
+	 */
+	public int getMinIdle() {
+		return this.minIdle;
+	}
+
+	/**
+	 * Set the maximum waiting time in milliseconds for an instance to become
+	 * available once all {@link #setMaxSize "maxSize"} instances are in use.
+	 * <p>Default is -1, waiting indefinitely. On timeout, {@link #getTarget()}
+	 * throws a {@link NoSuchElementException}.
+	 */
+	public void setMaxWait(long maxWait) {
+		this.maxWait = maxWait;
+	}
+
+	/**
+	 * Return the maximum waiting time in milliseconds for an instance.
+	 */
+	public long getMaxWait() {
+		return this.maxWait;
+	}
+
+
+	@Override
+	protected void createPool() {
+		Assert.isTrue(getMaxSize() <= 0 || this.minIdle <= getMaxSize(), "'minIdle' must not exceed 'maxSize'");
+		logger.debug("Creating pool for bean '" + getTargetBeanName() + "'");
+		this.permits = (getMaxSize() > 0 ? new Semaphore(getMaxSize()) : null);
+		for (int i = 0; i < this.minIdle; i++) {
+			this.idleObjects.offerLast(createTarget());
+			this.idleCount.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Borrow an idle instance from the pool, creating a new one if none is idle.
+	 * @throws NoSuchElementException if no instance became available within the
+	 * {@link #setMaxWait maximum waiting time}
+	 * @throws InterruptedException if interrupted while waiting for an instance
+	 */
+	@Override
+	public Object getTarget() throws Exception {
+		if (this.closed) {
+			throw new IllegalStateException("Pool for bean '" + getTargetBeanName() + "' has been closed");
+		}
+		acquirePermit();
+		boolean borrowed = false;
+		try {
+			Object target = this.idleObjects.pollFirst();
+			if (target != null) {
+				this.idleCount.decrementAndGet();
+			}
+			else {
+				target = createTarget();
+			}
+			this.activeCount.incrementAndGet();
+			this.borrowCount.incrementAndGet();
+			borrowed = true;
+			return target;
+		}
+		finally {
+			if (!borrowed) {
+				releasePermit();
+			}
+		}
+	}
+
+	/**
+	 * Return the given instance to the pool, or destroy it if the pool
+	 * has been closed or holds the maximum number of idle instances already.
+	 */
+	@Override
+	public void releaseTarget(Object target) {
+		this.activeCount.decrementAndGet();
+		try {
+			if (!this.closed && offerIdle(target)) {
+				if (this.closed) {
+					// Closed concurrently: make sure nothing stays behind.
+					destroyIdleObjects();
+				}
+			}
+			else {
+				destroyTarget(target);
+			}
+		}
+		finally {
+			releasePermit();
+		}
+	}
+
+	/**
+	 * Close the pool, destroying all idle instances.
+	 */
+	@Override
+	public void destroy() {
+		logger.debug("Closing pool for bean '" + getTargetBeanName() + "'");
+		this.closed = true;
+		destroyIdleObjects();
+	}
+
+
+	private void acquirePermit() throws InterruptedException {
+		if (this.permits == null || this.permits.tryAcquire()) {
+			return;
+		}
+		this.waitCount.incrementAndGet();
+		if (this.maxWait < 0) {
+			this.permits.acquire();
+		}
+		else if (!this.permits.tryAcquire(this.maxWait, TimeUnit.MILLISECONDS)) {
+			this.timeoutCount.incrementAndGet();
+			throw new NoSuchElementException("Timeout waiting for a pooled instance of bean '" +
+					getTargetBeanName() + "' after " + this.maxWait + " ms: all " + getMaxSize() + " in use");
+		}
+	}
+
+	private void releasePermit() {
+		if (this.permits != null) {
+			this.permits.release();
+		}
+	}
+
+	private boolean offerIdle(Object target) {
+		int idle = this.idleCount.incrementAndGet();
+		if (this.maxIdle >= 0 && idle > this.maxIdle) {
+			this.idleCount.decrementAndGet();
+			return false;
+		}
+		this.idleObjects.offerFirst(target);
+		return true;
+	}
+
+	private void destroyIdleObjects() {
+		Object target;
+		while ((target = this.idleObjects.pollFirst()) != null) {
+			this.idleCount.decrementAndGet();
+			destroyTarget(target);
+		}
+	}
+
+	private Object createTarget() {
+		Object target = newPrototypeInstance();
+		this.createCount.incrementAndGet();
+		return target;
+	}
+
+	private void destroyTarget(Object target) {
+		destroyPrototypeInstance(target);
+		this.destroyCount.incrementAndGet();
+	}
+
+
+	@Override
+	public int getActiveCount() {
+		return this.activeCount.get();
+	}
+
+	@Override
+	public int getIdleCount() {
+		return this.idleCount.get();
+	}
+
+	/**
+	 * Return the number of instances handed out by {@link #getTarget()} so far.
+	 */
+	public long getBorrowCount() {
+		return this.borrowCount.get();
+	}
+
+	/**
+	 * Return the number of instances created so far.
+	 */
+	public long getCreateCount() {
+		return this.createCount.get();
+	}
+
+	/**
+	 * Return the number of instances destroyed so far.
+	 */
+	public long getDestroyCount() {
+		return this.destroyCount.get();
+	}
+
+	/**
+	 * Return the number of borrowers that had to wait for an instance.
+	 */
+	public long getWaitCount() {
+		return this.waitCount.get();
+	}
+
+	/**
+	 * Return the number of borrowers that gave up waiting for an instance.
+	 */
+	public long getTimeoutCount() {
+		return this.timeoutCount.get();
+	}
+
+	@Override
+	public String toString() {
+		return "ConcurrentPoolTargetSource for target bean '" + getTargetBeanName() + "': active=" +
+				getActiveCount() + ", idle=" + getIdleCount() + ", borrowed=" + getBorrowCount() +
+				", created=" + getCreateCount() + ", destroyed=" + getDestroyCount() +
+				", waited=" + getWaitCount() + ", timed out=" + getTimeoutCount();
+	}
+
+}
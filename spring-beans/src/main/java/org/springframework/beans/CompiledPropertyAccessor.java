@@ -0,0 +1,511 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyDescriptor;
+import java.beans.PropertyEditor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.ConverterNotFoundException;
+import org.springframework.core.convert.Property;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@link ConfigurablePropertyAccessor} implementation that compiles dotted property
+ * paths (e.g. "address.city") into pre-resolved getter/setter chains, shared per
+ * (bean class, property path) across all accessor instances.
+ *
+ * <p>In contrast to {@link BeanWrapperImpl}, no nested accessors or property tokens
+ * are created per binding, and values are converted through a shared, stateless
+ * {@link DefaultConversionService} before falling back to the default
+ * {@code PropertyEditor}s. The default editors are only needed for types the
+ * ConversionService cannot handle (e.g. {@code Class} or {@code Resource}), and are
+ * created once per thread rather than per accessor.
+ * As in BeanWrapperImpl, a comma-delimited String is not split into an array or
+ * collection (except for enum arrays).
+ * Custom editors registered on this accessor still take precedence. Note that
+ * values convertible by both mechanisms follow the ConversionService semantics:
+ * a failed conversion is reported as a {@link TypeMismatchException} with a nested
+ * {@link ConversionException}, even where BeanWrapperImpl's PropertyEditor would
+ * lead to a {@link ConversionNotSupportedException} (e.g. for an unknown enum constant).
+ *
+ * <p>Indexed and mapped paths (e.g. "items[0].name") are not compiled; they are
+ * transparently delegated to a {@link BeanWrapperImpl} with the same configuration.
+ * Since chains are compiled against the declared property types, a property that
+ * only exists on a runtime subclass of a nested value is delegated as well.
+ *
+ * @see BeanWrapperImpl
+ * @see PropertyAccessorFactory#forCompiledPropertyAccess
+ */
+public class CompiledPropertyAccessor extends AbstractPropertyAccessor {
+
+	/** Compiled paths per bean class, with a marker entry for non-compilable paths */
+	private static final Map<Class<?>, Map<String, CompiledPropertyPath>> compiledPathCache =
+			new ConcurrentReferenceHashMap<Class<?>, Map<String, CompiledPropertyPath>>(64);
+
+	private static final CompiledPropertyPath NOT_COMPILABLE = new CompiledPropertyPath("", new PathSegment[0]);
+
+	private static volatile ConversionService sharedConversionService;
+
+	/**
+	 * Default editors per thread, without and with config value editors:
+	 * PropertyEditors are stateful and must not be used by two threads at once
+	 */
+	private static final ThreadLocal<PropertyEditorRegistrySupport[]> defaultEditorRegistries =
+			new NamedThreadLocal<PropertyEditorRegistrySupport[]>("Default PropertyEditors") {
+				@Override
+				protected PropertyEditorRegistrySupport[] initialValue() {
+					return new PropertyEditorRegistrySupport[2];
+				}
+			};
+
+
+	private final Object object;
+
+
+	/**
+	 * Create a new CompiledPropertyAccessor for the given object.
+	 * @param object object wrapped by this CompiledPropertyAccessor
+	 */
+	public CompiledPropertyAccessor(Object object) {
+		Assert.notNull(object, "Target object must not be null");
+		this.object = object;
+		this.typeConverterDelegate = new TypeConverterDelegate(this, object);
+		registerDefaultEditors();
+		setConversionService(getSharedConversionService());
+	}
+
+
+	/**
+	 * Return the object wrapped by this accessor.
+	 */
+	public final Object getWrappedInstance() {
+		return this.object;
+	}
+
+	/**
+	 * Return the type of the wrapped object.
+	 */
+	public final Class<?> getWrappedClass() {
+		return this.object.getClass();
+	}
+
+
+	@Override
+	public boolean isReadableProperty(String propertyName) {
+		CompiledPropertyPath path = getCompiledPath(propertyName);
+		if (path == null) {
+			return createFallbackAccessor().isReadableProperty(propertyName);
+		}
+		return path.isReadable();
+	}
+
+	@Override
+	public boolean isWritableProperty(String propertyName) {
+		CompiledPropertyPath path = getCompiledPath(propertyName);
+		if (path == null) {
+			return createFallbackAccessor().isWritableProperty(propertyName);
+		}
+		return path.isWritable();
+	}
+
+	@Override
+	public Class<?> getPropertyType(String propertyName) throws BeansException {
+		CompiledPropertyPath path = getCompiledPath(propertyName);
+		if (path == null) {
+			return createFallbackAccessor().getPropertyType(propertyName);
+		}
+		return path.getLastSegment().propertyType;
+	}
+
+	@Override
+	public TypeDescriptor getPropertyTypeDescriptor(String propertyName) throws BeansException {
+		CompiledPropertyPath path = getCompiledPath(propertyName);
+		if (path == null) {
+			return createFallbackAccessor().getPropertyTypeDescriptor(propertyName);
+		}
+		return path.getLastSegment().typeDescriptor;
+	}
+
+	@Override
+	public Object getPropertyValue(String propertyName) throws BeansException {
+		CompiledPropertyPath path = getCompiledPath(propertyName);
+		if (path == null) {
+			return createFallbackAccessor().getPropertyValue(propertyName);
+		}
+		PathSegment last = path.getLastSegment();
+		if (last.readMethod == null) {
+			throw new NotReadablePropertyException(getWrappedClass(), propertyName);
+		}
+		Object owner = getOwner(path);
+		try {
+			return invoke(last.readMethod, owner);
+		}
+		catch (InvocationTargetException ex) {
+			throw new InvalidPropertyException(getWrappedClass(), propertyName,
+					"Getter for property '" + propertyName + "' threw exception", ex.getTargetException());
+		}
+		catch (IllegalAccessException ex) {
+			throw new InvalidPropertyException(getWrappedClass(), propertyName,
+					"Illegal attempt to get property '" + propertyName + "'", ex);
+		}
+	}
+
+	@Override
+	public void setPropertyValue(String propertyName, Object value) throws BeansException {
+		CompiledPropertyPath path = getCompiledPath(propertyName);
+		if (path == null) {
+			createFallbackAccessor().setPropertyValue(propertyName, value);
+			return;
+		}
+		PathSegment last = path.getLastSegment();
+		if (last.writeMethod == null) {
+			PropertyMatches matches = PropertyMatches.forProperty(last.name, path.getOwnerType());
+			throw new NotWritablePropertyException(getWrappedClass(), propertyName,
+					matches.buildErrorMessage(), matches.getPossibleMatches());
+		}
+		Object owner = getOwner(path);
+		Object oldValue = null;
+		try {
+			if (isExtractOldValueForEditor() && last.readMethod != null) {
+				try {
+					oldValue = invoke(last.readMethod, owner);
+				}
+				catch (Exception ex) {
+					// Old value is only used as a hint for custom editors - ignore.
+				}
+			}
+			Object convertedValue = convertForProperty(propertyName, oldValue, value, last.typeDescriptor);
+			invoke(last.writeMethod, owner, convertedValue);
+		}
+		catch (TypeMismatchException ex) {
+			throw ex;
+		}
+		catch (InvocationTargetException ex) {
+			PropertyChangeEvent pce = new PropertyChangeEvent(this.object, propertyName, oldValue, value);
+			if (ex.getTargetException() instanceof ClassCastException) {
+				throw new TypeMismatchException(pce, last.propertyType, ex.getTargetException());
+			}
+			else {
+				Throwable cause = ex.getTargetException();
+				if (cause instanceof UndeclaredThrowableException) {
+					// May happen e.g. with Groovy-generated methods
+					cause = cause.getCause();
+				}
+				throw new MethodInvocationException(pce, cause);
+			}
+		}
+		catch (IllegalArgumentException ex) {
+			// Setter rejected the converted value, e.g. null for a primitive parameter
+			PropertyChangeEvent pce = new PropertyChangeEvent(this.object, propertyName, oldValue, value);
+			throw new TypeMismatchException(pce, last.propertyType, ex);
+		}
+		catch (Exception ex) {
+			PropertyChangeEvent pce = new PropertyChangeEvent(this.object, propertyName, oldValue, value);
+			throw new MethodInvocationException(pce, ex);
+		}
+	}
+
+
+	/**
+	 * Walk the compiled chain up to the object holding the last property,
+	 * auto-growing null values along the way if configured to do so.
+	 */
+	private Object getOwner(CompiledPropertyPath path) {
+		Object current = this.object;
+		PathSegment[] segments = path.segments;
+		for (int i = 0; i < segments.length - 1; i++) {
+			PathSegment segment = segments[i];
+			if (segment.readMethod == null) {
+				throw new NotReadablePropertyException(getWrappedClass(), segment.canonicalPath);
+			}
+			Object value;
+			try {
+				value = invoke(segment.readMethod, current);
+			}
+			catch (InvocationTargetException ex) {
+				throw new InvalidPropertyException(getWrappedClass(), segment.canonicalPath,
+						"Getter for property '" + segment.canonicalPath + "' threw exception", ex.getTargetException());
+			}
+			catch (IllegalAccessException ex) {
+				throw new InvalidPropertyException(getWrappedClass(), segment.canonicalPath,
+						"Illegal attempt to get property '" + segment.canonicalPath + "'", ex);
+			}
+			if (value == null) {
+				value = growSegment(current, segment);
+			}
+			current = value;
+		}
+		return current;
+	}
+
+	private Object growSegment(Object owner, PathSegment segment) {
+		if (!isAutoGrowNestedPaths() || segment.writeMethod == null) {
+			throw new NullValueInNestedPathException(getWrappedClass(), segment.canonicalPath);
+		}
+		Object value;
+		try {
+			value = BeanUtils.instantiate(segment.propertyType);
+		}
+		catch (BeansException ex) {
+			throw new NullValueInNestedPathException(getWrappedClass(), segment.canonicalPath,
+					"Could not instantiate property type [" + segment.propertyType.getName() +
+					"] to auto-grow nested property path: " + ex);
+		}
+		try {
+			invoke(segment.writeMethod, owner, value);
+		}
+		catch (Exception ex) {
+			throw new NullValueInNestedPathException(getWrappedClass(), segment.canonicalPath,
+					"Could not set auto-grown value for nested property path: " + ex);
+		}
+		return value;
+	}
+
+	private Object convertForProperty(String propertyName, Object oldValue, Object newValue, TypeDescriptor td)
+			throws TypeMismatchException {
+		try {
+			return this.typeConverterDelegate.convertIfNecessary(propertyName, oldValue, newValue, td.getType(), td);
+		}
+		catch (ConverterNotFoundException ex) {
+			PropertyChangeEvent pce = new PropertyChangeEvent(this.object, propertyName, oldValue, newValue);
+			throw new ConversionNotSupportedException(pce, td.getType(), ex);
+		}
+		catch (ConversionException ex) {
+			PropertyChangeEvent pce = new PropertyChangeEvent(this.object, propertyName, oldValue, newValue);
+			throw new TypeMismatchException(pce, td.getType(), ex);
+		}
+		catch (IllegalStateException ex) {
+			PropertyChangeEvent pce = new PropertyChangeEvent(this.object, propertyName, oldValue, newValue);
+			throw new ConversionNotSupportedException(pce, td.getType(), ex);
+		}
+		catch (IllegalArgumentException ex) {
+			PropertyChangeEvent pce = new PropertyChangeEvent(this.object, propertyName, oldValue, newValue);
+			throw new TypeMismatchException(pce, td.getType(), ex);
+		}
+	}
+
+	private static Object invoke(Method method, Object target, Object... args)
+			throws InvocationTargetException, IllegalAccessException {
+
+		return method.invoke(target, args);
+	}
+
+	/**
+	 * Look up the default editor in the default editors of the current thread,
+	 * instead of creating a full set of default editors for every accessor.
+	 */
+	@Override
+	protected PropertyEditor lookupDefaultEditor(Class<?> requiredType, boolean configValueEditors) {
+		PropertyEditorRegistrySupport[] registries = defaultEditorRegistries.get();
+		int index = (configValueEditors ? 1 : 0);
+		PropertyEditorRegistrySupport registry = registries[index];
+		if (registry == null) {
+			registry = new PropertyEditorRegistrySupport();
+			registry.registerDefaultEditors();
+			if (configValueEditors) {
+				registry.useConfigValueEditors();
+			}
+			registries[index] = registry;
+		}
+		return registry.getDefaultEditor(requiredType);
+	}
+
+	/**
+	 * Create a {@link BeanWrapperImpl} for paths that cannot be compiled,
+	 * sharing this accessor's conversion and auto-grow configuration.
+	 */
+	protected BeanWrapper createFallbackAccessor() {
+		BeanWrapperImpl bw = new BeanWrapperImpl(this.object);
+		bw.setConversionService(getConversionService());
+		bw.setExtractOldValueForEditor(isExtractOldValueForEditor());
+		bw.setAutoGrowNestedPaths(isAutoGrowNestedPaths());
+		copyCustomEditorsTo(bw, null);
+		return bw;
+	}
+
+	/**
+	 * Obtain the compiled chain for the given path on the wrapped class.
+	 * @return the compiled path, or {@code null} if the path needs to be
+	 * handled by the fallback accessor
+	 */
+	private CompiledPropertyPath getCompiledPath(String propertyPath) {
+		Class<?> beanClass = getWrappedClass();
+		Map<String, CompiledPropertyPath> paths = compiledPathCache.get(beanClass);
+		if (paths == null) {
+			paths = new ConcurrentReferenceHashMap<String, CompiledPropertyPath>(16);
+			compiledPathCache.put(beanClass, paths);
+		}
+		CompiledPropertyPath path = paths.get(propertyPath);
+		if (path == null) {
+			path = compile(beanClass, propertyPath);
+			paths.put(propertyPath, path);
+		}
+		return (path != NOT_COMPILABLE ? path : null);
+	}
+
+	private static CompiledPropertyPath compile(Class<?> beanClass, String propertyPath) {
+		if (!StringUtils.hasLength(propertyPath) || propertyPath.indexOf(PROPERTY_KEY_PREFIX_CHAR) != -1) {
+			return NOT_COMPILABLE;
+		}
+		String[] names = StringUtils.delimitedListToStringArray(propertyPath, NESTED_PROPERTY_SEPARATOR);
+		List<PathSegment> segments = new ArrayList<PathSegment>(names.length);
+		Class<?> ownerType = beanClass;
+		StringBuilder canonicalPath = new StringBuilder(propertyPath.length());
+		for (String name : names) {
+			if (name.length() == 0) {
+				return NOT_COMPILABLE;
+			}
+			PropertyDescriptor pd = CachedIntrospectionResults.forClass(ownerType).getPropertyDescriptor(name);
+			if (pd == null) {
+				return NOT_COMPILABLE;
+			}
+			if (canonicalPath.length() > 0) {
+				canonicalPath.append(NESTED_PROPERTY_SEPARATOR_CHAR);
+			}
+			canonicalPath.append(name);
+			PathSegment segment = new PathSegment(ownerType, name, canonicalPath.toString(), pd);
+			segments.add(segment);
+			ownerType = segment.propertyType;
+		}
+		return new CompiledPropertyPath(propertyPath, segments.toArray(new PathSegment[segments.size()]));
+	}
+
+	private static ConversionService getSharedConversionService() {
+		ConversionService cs = sharedConversionService;
+		if (cs == null) {
+			synchronized (CompiledPropertyAccessor.class) {
+				cs = sharedConversionService;
+				if (cs == null) {
+					DefaultConversionService dcs = new DefaultConversionService();
+					// Leave comma-delimited Strings to TypeConverterDelegate, as in BeanWrapperImpl
+					dcs.removeConvertible(String.class, Object[].class);
+					dcs.removeConvertible(String.class, Collection.class);
+					cs = dcs;
+					sharedConversionService = cs;
+				}
+			}
+		}
+		return cs;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getName() + ": wrapping object [" + this.object + "]";
+	}
+
+
+	/**
+	 * Immutable getter/setter chain for a dotted property path on a given bean class.
+	 */
+	private static final class CompiledPropertyPath {
+
+		private final String path;
+
+		private final PathSegment[] segments;
+
+		public CompiledPropertyPath(String path, PathSegment[] segments) {
+			this.path = path;
+			this.segments = segments;
+		}
+
+		public PathSegment getLastSegment() {
+			return this.segments[this.segments.length - 1];
+		}
+
+		public Class<?> getOwnerType() {
+			return getLastSegment().ownerType;
+		}
+
+		public boolean isReadable() {
+			for (PathSegment segment : this.segments) {
+				if (segment.readMethod == null) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		public boolean isWritable() {
+			for (int i = 0; i < this.segments.length - 1; i++) {
+				if (this.segments[i].readMethod == null) {
+					return false;
+				}
+			}
+			return (getLastSegment().writeMethod != null);
+		}
+
+		@Override
+		public String toString() {
+			return "CompiledPropertyPath [" + this.path + "]";
+		}
+	}
+
+
+	/**
+	 * A single resolved property within a {@link CompiledPropertyPath}.
+	 */
+	private static final class PathSegment {
+
+		private final Class<?> ownerType;
+
+		private final String name;
+
+		private final String canonicalPath;
+
+		private final Class<?> propertyType;
+
+		private final Method readMethod;
+
+		private final Method writeMethod;
+
+		private final TypeDescriptor typeDescriptor;
+
+		public PathSegment(Class<?> ownerType, String name, String canonicalPath, PropertyDescriptor pd) {
+			this.ownerType = ownerType;
+			this.name = name;
+			this.canonicalPath = canonicalPath;
+			this.readMethod = pd.getReadMethod();
+			this.writeMethod = pd.getWriteMethod();
+			if (this.readMethod != null) {
+				ReflectionUtils.makeAccessible(this.readMethod);
+			}
+			if (this.writeMethod != null) {
+				ReflectionUtils.makeAccessible(this.writeMethod);
+			}
+			this.typeDescriptor = new TypeDescriptor(
+					new Property(ownerType, this.readMethod, this.writeMethod, name));
+			this.propertyType = this.typeDescriptor.getType();
+		}
+	}
+
+}
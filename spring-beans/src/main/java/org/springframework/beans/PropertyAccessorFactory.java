@@ -48,4 +48,16 @@ public abstract class PropertyAccessorFactory {
 		return new DirectFieldAccessor(target);
 	}
 
+	/**
+	 * Obtain a PropertyAccessor for the given target object,
+	 * accessing properties in JavaBeans style through compiled
+	 * getter/setter chains that are shared per bean class and path.
+	 * @param target the target object to wrap
+	 * @return the property accessor
+	 * @see CompiledPropertyAccessor
+	 */
+	public static ConfigurablePropertyAccessor forCompiledPropertyAccess(Object target) {
+		return new CompiledPropertyAccessor(target);
+	}
+
 }
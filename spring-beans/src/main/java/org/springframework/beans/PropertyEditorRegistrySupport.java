@@ -189,6 +189,20 @@ public class PropertyEditorRegistrySupport implements PropertyEditorRegistry {
 				return editor;
 			}
 		}
+		return lookupDefaultEditor(requiredType, this.configValueEditorsActive);
+	}
+
+	/**
+	 * Look up the built-in default editor for the given property type.
+	 * <p>The default implementation creates the default editors of this registry
+	 * instance on first access. Subclasses may share default editors across
+	 * registries instead, as long as an editor is never used by two threads at once.
+	 * @param requiredType type of the property
+	 * @param configValueEditors whether config value editors are active
+	 * @return the default editor, or {@code null} if none found
+	 * @see #useConfigValueEditors
+	 */
+	protected PropertyEditor lookupDefaultEditor(Class<?> requiredType, boolean configValueEditors) {
 		if (this.defaultEditors == null) {
 			createDefaultEditors();
 		}
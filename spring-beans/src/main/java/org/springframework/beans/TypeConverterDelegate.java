@@ -106,7 +106,7 @@ class TypeConverterDelegate {
 			throws IllegalArgumentException {
 
 		return convertIfNecessary(null, null, newValue, requiredType,
-				(methodParam != null ? new TypeDescriptor(methodParam) : TypeDescriptor.valueOf(requiredType)));
+				(methodParam != null ? TypeDescriptor.forMethodParameter(methodParam) : TypeDescriptor.valueOf(requiredType)));
 	}
 
 	/**
@@ -123,7 +123,7 @@ class TypeConverterDelegate {
 			throws IllegalArgumentException {
 
 		return convertIfNecessary(null, null, newValue, requiredType,
-				(field != null ? new TypeDescriptor(field) : TypeDescriptor.valueOf(requiredType)));
+				(field != null ? TypeDescriptor.forField(field) : TypeDescriptor.valueOf(requiredType)));
 	}
 
 	/**
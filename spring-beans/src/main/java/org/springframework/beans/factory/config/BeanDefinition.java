@@ -200,6 +200,15 @@ public interface BeanDefinition extends AttributeAccessor, BeanMetadataElement {
 	 */
 	ConstructorArgumentValues getConstructorArgumentValues();
 
+	/**
+	 * Return if there are constructor argument values defined for this bean.
+	 * <p>Allows read-only callers to skip {@link #getConstructorArgumentValues()},
+	 * which may create an empty holder on first access.
+	 */
+	default boolean hasConstructorArgumentValues() {
+		return !getConstructorArgumentValues().isEmpty();
+	}
+
 	/**
 	 * Return the property values to be applied to a new instance of the bean.
 	 * <p>The returned instance can be modified during bean factory post-processing.
@@ -207,6 +216,15 @@ public interface BeanDefinition extends AttributeAccessor, BeanMetadataElement {
 	 */
 	MutablePropertyValues getPropertyValues();
 
+	/**
+	 * Return if there are property values defined for this bean.
+	 * <p>Allows read-only callers to skip {@link #getPropertyValues()},
+	 * which may create an empty holder on first access.
+	 */
+	default boolean hasPropertyValues() {
+		return !getPropertyValues().isEmpty();
+	}
+
 
 	/**
 	 * Return whether this a <b>Singleton</b>, with a single, shared instance
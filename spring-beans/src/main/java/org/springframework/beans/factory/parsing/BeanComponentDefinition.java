@@ -19,6 +19,7 @@ package org.springframework.beans.factory.parsing;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.springframework.beans.MutablePropertyValues;
 import org.springframework.beans.PropertyValue;
 import org.springframework.beans.PropertyValues;
 import org.springframework.beans.factory.config.BeanDefinition;
@@ -75,7 +76,8 @@ public class BeanComponentDefinition extends BeanDefinitionHolder implements Com
 	private void findInnerBeanDefinitionsAndBeanReferences(BeanDefinition beanDefinition) {
 		List<BeanDefinition> innerBeans = new ArrayList<BeanDefinition>();
 		List<BeanReference> references = new ArrayList<BeanReference>();
-		PropertyValues propertyValues = beanDefinition.getPropertyValues();
+		PropertyValues propertyValues =
+				(beanDefinition.hasPropertyValues() ? beanDefinition.getPropertyValues() : new MutablePropertyValues());
 		for (int i = 0; i < propertyValues.getPropertyValues().length; i++) {
 			PropertyValue propertyValue = propertyValues.getPropertyValues()[i];
 			Object value = propertyValue.getValue();
@@ -376,7 +376,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 		BeanDefinition bd = getMergedBeanDefinition(beanName);
 		BeanWrapper bw = new BeanWrapperImpl(existingBean);
 		initBeanWrapper(bw);
-		applyPropertyValues(beanName, bd, bw, bd.getPropertyValues());
+		applyPropertyValues(beanName, bd, bw, (bd.hasPropertyValues() ? bd.getPropertyValues() : null));
 	}
 
 	@Override
@@ -388,9 +388,19 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	public Object applyBeanPostProcessorsBeforeInitialization(Object existingBean, String beanName)
 			throws BeansException {
 
+		StartupTimeline timeline = getStartupTimeline();
 		Object result = existingBean;
 		for (BeanPostProcessor beanProcessor : getBeanPostProcessors()) {
-			result = beanProcessor.postProcessBeforeInitialization(result, beanName);
+			StartupTimeline.Step step = (timeline != null ?
+					timeline.start(StartupTimeline.BEAN_POST_PROCESSOR, beanProcessor) : null);
+			try {
+				result = beanProcessor.postProcessBeforeInitialization(result, beanName);
+			}
+			finally {
+				if (step != null) {
+					step.end();
+				}
+			}
 			if (result == null) {
 				return result;
 			}
@@ -402,9 +412,19 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	public Object applyBeanPostProcessorsAfterInitialization(Object existingBean, String beanName)
 			throws BeansException {
 
+        StartupTimeline timeline = getStartupTimeline();
         Object result = existingBean;
         for (BeanPostProcessor beanProcessor : getBeanPostProcessors()) {
-            result = beanProcessor.postProcessAfterInitialization(result, beanName);
+            StartupTimeline.Step step = (timeline != null ?
+                    timeline.start(StartupTimeline.BEAN_POST_PROCESSOR, beanProcessor) : null);
+            try {
+                result = beanProcessor.postProcessAfterInitialization(result, beanName);
+            }
+            finally {
+                if (step != null) {
+                    step.end();
+                }
+            }
             if (result == null) {
                 return result;
             }
@@ -429,46 +449,55 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	 */
 	@Override
 	protected Object createBean(String beanName, RootBeanDefinition mbd, Object[] args) throws BeanCreationException {
-		if (logger.isDebugEnabled()) {
-			logger.debug("Creating instance of bean '" + beanName + "'");
-		}
-		RootBeanDefinition mbdToUse = mbd;
+		StartupTimeline timeline = getStartupTimeline();
+		StartupTimeline.Step step = (timeline != null ? timeline.start(StartupTimeline.BEAN, beanName) : null);
+		try {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Creating instance of bean '" + beanName + "'");
+			}
+			RootBeanDefinition mbdToUse = mbd;
+
+			// Make sure bean class is actually resolved at this point, and
+			// clone the bean definition in case of a dynamically resolved Class
+			// which cannot be stored in the shared merged bean definition.
+			Class<?> resolvedClass = resolveBeanClass(mbd, beanName);
+			if (resolvedClass != null && !mbd.hasBeanClass() && mbd.getBeanClassName() != null) {
+				mbdToUse = new RootBeanDefinition(mbd);
+				mbdToUse.setBeanClass(resolvedClass);
+			}
 
-		// Make sure bean class is actually resolved at this point, and
-		// clone the bean definition in case of a dynamically resolved Class
-		// which cannot be stored in the shared merged bean definition.
-		Class<?> resolvedClass = resolveBeanClass(mbd, beanName);
-		if (resolvedClass != null && !mbd.hasBeanClass() && mbd.getBeanClassName() != null) {
-			mbdToUse = new RootBeanDefinition(mbd);
-			mbdToUse.setBeanClass(resolvedClass);
-		}
+			// Prepare method overrides.
+			try {
+				mbdToUse.prepareMethodOverrides();
+			}
+			catch (BeanDefinitionValidationException ex) {
+				throw new BeanDefinitionStoreException(mbdToUse.getResourceDescription(),
+						beanName, "Validation of method overrides failed", ex);
+			}
 
-		// Prepare method overrides.
-		try {
-			mbdToUse.prepareMethodOverrides();
-		}
-		catch (BeanDefinitionValidationException ex) {
-			throw new BeanDefinitionStoreException(mbdToUse.getResourceDescription(),
-					beanName, "Validation of method overrides failed", ex);
-		}
+			try {
+				// Give BeanPostProcessors a chance to return a proxy instead of the target bean instance.
+				Object bean = resolveBeforeInstantiation(beanName, mbdToUse);
+				if (bean != null) {
+					return bean;
+				}
+			}
+			catch (Throwable ex) {
+				throw new BeanCreationException(mbdToUse.getResourceDescription(), beanName,
+						"BeanPostProcessor before instantiation of bean failed", ex);
+			}
 
-		try {
-			// Give BeanPostProcessors a chance to return a proxy instead of the target bean instance.
-			Object bean = resolveBeforeInstantiation(beanName, mbdToUse);
-			if (bean != null) {
-				return bean;
+			Object beanInstance = doCreateBean(beanName, mbdToUse, args);
+			if (logger.isDebugEnabled()) {
+				logger.debug("Finished creating instance of bean '" + beanName + "'");
 			}
+			return beanInstance;
 		}
-		catch (Throwable ex) {
-			throw new BeanCreationException(mbdToUse.getResourceDescription(), beanName,
-					"BeanPostProcessor before instantiation of bean failed", ex);
-		}
-
-		Object beanInstance = doCreateBean(beanName, mbdToUse, args);
-		if (logger.isDebugEnabled()) {
-			logger.debug("Finished creating instance of bean '" + beanName + "'");
+		finally {
+			if (step != null) {
+				step.end();
+			}
 		}
-		return beanInstance;
 	}
 
     /**
@@ -650,7 +679,8 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 		// Can't clearly figure out exact method due to type converting / autowiring!
 		Class<?> commonType = null;
 		boolean cache = false;
-		int minNrOfArgs = mbd.getConstructorArgumentValues().getArgumentCount();
+		int minNrOfArgs =
+				(mbd.hasConstructorArgumentValues() ? mbd.getConstructorArgumentValues().getArgumentCount() : 0);
 		Method[] candidates = ReflectionUtils.getUniqueDeclaredMethods(factoryClass);
 		for (Method factoryMethod : candidates) {
 			if (Modifier.isStatic(factoryMethod.getModifiers()) == isStatic &&
@@ -666,11 +696,12 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 						if (pnd != null) {
 							paramNames = pnd.getParameterNames(factoryMethod);
 						}
-						ConstructorArgumentValues cav = mbd.getConstructorArgumentValues();
+						ConstructorArgumentValues cav =
+								(mbd.hasConstructorArgumentValues() ? mbd.getConstructorArgumentValues() : null);
 						Set<ConstructorArgumentValues.ValueHolder> usedValueHolders =
 								new HashSet<ConstructorArgumentValues.ValueHolder>(paramTypes.length);
 						Object[] args = new Object[paramTypes.length];
-						for (int i = 0; i < args.length; i++) {
+						for (int i = 0; cav != null && i < args.length; i++) {
 							ConstructorArgumentValues.ValueHolder valueHolder = cav.getArgumentValue(
 									i, paramTypes[i], (paramNames != null ? paramNames[i] : null), usedValueHolders);
 							if (valueHolder == null) {
@@ -900,10 +931,20 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 			throws BeansException {
 
 		try {
+			StartupTimeline timeline = getStartupTimeline();
 			for (BeanPostProcessor bp : getBeanPostProcessors()) {
 				if (bp instanceof MergedBeanDefinitionPostProcessor) {
 					MergedBeanDefinitionPostProcessor bdp = (MergedBeanDefinitionPostProcessor) bp;
-					bdp.postProcessMergedBeanDefinition(mbd, beanType, beanName);
+					StartupTimeline.Step step = (timeline != null ?
+							timeline.start(StartupTimeline.BEAN_POST_PROCESSOR, bp) : null);
+					try {
+						bdp.postProcessMergedBeanDefinition(mbd, beanType, beanName);
+					}
+					finally {
+						if (step != null) {
+							step.end();
+						}
+					}
 				}
 			}
 		}
@@ -953,10 +994,21 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	protected Object applyBeanPostProcessorsBeforeInstantiation(Class<?> beanClass, String beanName)
 			throws BeansException {
 
+		StartupTimeline timeline = getStartupTimeline();
 		for (BeanPostProcessor bp : getBeanPostProcessors()) {
             if (bp instanceof InstantiationAwareBeanPostProcessor) {
                 InstantiationAwareBeanPostProcessor ibp = (InstantiationAwareBeanPostProcessor) bp;
-                Object result = ibp.postProcessBeforeInstantiation(beanClass, beanName);
+                StartupTimeline.Step step = (timeline != null ?
+                        timeline.start(StartupTimeline.BEAN_POST_PROCESSOR, bp) : null);
+                Object result;
+                try {
+                    result = ibp.postProcessBeforeInstantiation(beanClass, beanName);
+                }
+                finally {
+                    if (step != null) {
+                        step.end();
+                    }
+                }
                 if (result != null) {
                     return result;
                 }
@@ -1122,7 +1174,9 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	 * @param bw BeanWrapper with bean instance
 	 */
 	protected void populateBean(String beanName, RootBeanDefinition mbd, BeanWrapper bw) {
-		PropertyValues pvs = mbd.getPropertyValues();
+		// Post-processors may register processed properties on the PropertyValues:
+		// use a fresh instance per bean rather than creating a holder in the definition.
+		PropertyValues pvs = (mbd.hasPropertyValues() ? mbd.getPropertyValues() : new MutablePropertyValues());
 
 		if (bw == null) {
 			if (!pvs.isEmpty()) {
@@ -1181,10 +1235,20 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 		if (hasInstAwareBpps || needsDepCheck) {
 			PropertyDescriptor[] filteredPds = filterPropertyDescriptorsForDependencyCheck(bw, mbd.allowCaching);
 			if (hasInstAwareBpps) {
+				StartupTimeline timeline = getStartupTimeline();
 				for (BeanPostProcessor bp : getBeanPostProcessors()) {
 					if (bp instanceof InstantiationAwareBeanPostProcessor) {
 						InstantiationAwareBeanPostProcessor ibp = (InstantiationAwareBeanPostProcessor) bp;
-						pvs = ibp.postProcessPropertyValues(pvs, filteredPds, bw.getWrappedInstance(), beanName);
+						StartupTimeline.Step step = (timeline != null ?
+								timeline.start(StartupTimeline.BEAN_POST_PROCESSOR, bp) : null);
+						try {
+							pvs = ibp.postProcessPropertyValues(pvs, filteredPds, bw.getWrappedInstance(), beanName);
+						}
+						finally {
+							if (step != null) {
+								step.end();
+							}
+						}
 						if (pvs == null) {
 							return;
 						}
@@ -1300,10 +1364,11 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	 */
 	protected String[] unsatisfiedNonSimpleProperties(AbstractBeanDefinition mbd, BeanWrapper bw) {
 		Set<String> result = new TreeSet<String>();
-		PropertyValues pvs = mbd.getPropertyValues();
+		PropertyValues pvs = (mbd.hasPropertyValues() ? mbd.getPropertyValues() : null);
 		PropertyDescriptor[] pds = bw.getPropertyDescriptors();
 		for (PropertyDescriptor pd : pds) {
-			if (pd.getWriteMethod() != null && !isExcludedFromDependencyCheck(pd) && !pvs.contains(pd.getName()) &&
+			if (pd.getWriteMethod() != null && !isExcludedFromDependencyCheck(pd) &&
+					(pvs == null || !pvs.contains(pd.getName())) &&
 					!BeanUtils.isSimpleProperty(pd.getPropertyType())) {
 				result.add(pd.getName());
 			}
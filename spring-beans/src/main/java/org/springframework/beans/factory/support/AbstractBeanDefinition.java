@@ -32,6 +32,7 @@ import org.springframework.core.io.DescriptiveResource;
 import org.springframework.core.io.Resource;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.CollectionUtils;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
@@ -152,18 +153,17 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
 
 	private boolean primary = false;
 
-	private final Map<String, AutowireCandidateQualifier> qualifiers =
-			new LinkedHashMap<String, AutowireCandidateQualifier>(0);
+	private Map<String, AutowireCandidateQualifier> qualifiers;
 
 	private boolean nonPublicAccessAllowed = true;
 
 	private boolean lenientConstructorResolution = true;
 
-	private ConstructorArgumentValues constructorArgumentValues;
+	private volatile ConstructorArgumentValues constructorArgumentValues;
 
-	private MutablePropertyValues propertyValues;
+	private volatile MutablePropertyValues propertyValues;
 
-	private MethodOverrides methodOverrides = new MethodOverrides();
+	private MethodOverrides methodOverrides;
 
 	private String factoryBeanName;
 
@@ -216,13 +216,18 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
 		setAbstract(original.isAbstract());
 		setLazyInit(original.isLazyInit());
 		setRole(original.getRole());
-		setConstructorArgumentValues(new ConstructorArgumentValues(original.getConstructorArgumentValues()));
-		setPropertyValues(new MutablePropertyValues(original.getPropertyValues()));
 		setSource(original.getSource());
 		copyAttributesFrom(original);
 
 		if (original instanceof AbstractBeanDefinition) {
 			AbstractBeanDefinition originalAbd = (AbstractBeanDefinition) original;
+			// Only copy non-empty collections; empty ones get created on demand.
+			if (originalAbd.hasConstructorArgumentValues()) {
+				setConstructorArgumentValues(new ConstructorArgumentValues(originalAbd.getConstructorArgumentValues()));
+			}
+			if (originalAbd.hasPropertyValues()) {
+				setPropertyValues(new MutablePropertyValues(originalAbd.getPropertyValues()));
+			}
 			if (originalAbd.hasBeanClass()) {
 				setBeanClass(originalAbd.getBeanClass());
 			}
@@ -238,11 +243,15 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
 			setEnforceInitMethod(originalAbd.isEnforceInitMethod());
 			setDestroyMethodName(originalAbd.getDestroyMethodName());
 			setEnforceDestroyMethod(originalAbd.isEnforceDestroyMethod());
-			setMethodOverrides(new MethodOverrides(originalAbd.getMethodOverrides()));
+			if (originalAbd.hasMethodOverrides()) {
+				setMethodOverrides(new MethodOverrides(originalAbd.getMethodOverrides()));
+			}
 			setSynthetic(originalAbd.isSynthetic());
 			setResource(originalAbd.getResource());
 		}
 		else {
+			setConstructorArgumentValues(new ConstructorArgumentValues(original.getConstructorArgumentValues()));
+			setPropertyValues(new MutablePropertyValues(original.getPropertyValues()));
 			setResourceDescription(original.getResourceDescription());
 		}
 	}
@@ -280,13 +289,17 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
 		setAbstract(other.isAbstract());
 		setLazyInit(other.isLazyInit());
 		setRole(other.getRole());
-		getConstructorArgumentValues().addArgumentValues(other.getConstructorArgumentValues());
-		getPropertyValues().addPropertyValues(other.getPropertyValues());
 		setSource(other.getSource());
 		copyAttributesFrom(other);
 
 		if (other instanceof AbstractBeanDefinition) {
 			AbstractBeanDefinition otherAbd = (AbstractBeanDefinition) other;
+			if (otherAbd.hasConstructorArgumentValues()) {
+				getConstructorArgumentValues().addArgumentValues(otherAbd.getConstructorArgumentValues());
+			}
+			if (otherAbd.hasPropertyValues()) {
+				getPropertyValues().addPropertyValues(otherAbd.getPropertyValues());
+			}
 			if (otherAbd.hasBeanClass()) {
 				setBeanClass(otherAbd.getBeanClass());
 			}
@@ -306,11 +319,15 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
 				setDestroyMethodName(otherAbd.getDestroyMethodName());
 				setEnforceDestroyMethod(otherAbd.isEnforceDestroyMethod());
 			}
-			getMethodOverrides().addOverrides(otherAbd.getMethodOverrides());
+			if (otherAbd.hasMethodOverrides()) {
+				getMethodOverrides().addOverrides(otherAbd.getMethodOverrides());
+			}
 			setSynthetic(otherAbd.isSynthetic());
 			setResource(otherAbd.getResource());
 		}
 		else {
+			getConstructorArgumentValues().addArgumentValues(other.getConstructorArgumentValues());
+			getPropertyValues().addPropertyValues(other.getPropertyValues());
 			setResourceDescription(other.getResourceDescription());
 		}
 	}
@@ -362,9 +379,14 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
 		return (Class<?>) beanClassObject;
 	}
 
+	/**
+	 * Specify the bean class name of this bean definition.
+	 * <p>The name gets interned, since large numbers of definitions
+	 * typically share a comparatively small set of class names.
+	 */
 	@Override
 	public void setBeanClassName(String beanClassName) {
-		this.beanClass = beanClassName;
+		this.beanClass = (beanClassName != null ? beanClassName.intern() : null);
 	}
 
 	@Override
@@ -404,12 +426,14 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
 	 * definition may eventually inherit its scope from a parent bean definition.
 	 * For this reason, the default scope name is an empty string (i.e., {@code ""}),
 	 * with singleton status being assumed until a resolved scope is set.
+	 * <p>The given name gets interned, so that definitions share the
+	 * scope name instances instead of holding parser-created copies.
 	 * @see #SCOPE_SINGLETON
 	 * @see #SCOPE_PROTOTYPE
 	 */
 	@Override
 	public void setScope(String scope) {
-		this.scope = scope;
+		this.scope = (scope != null ? scope.intern() : null);
 	}
 
 	/**
@@ -609,6 +633,9 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
 	 * @see AutowireCandidateQualifier#getTypeName()
 	 */
 	public void addQualifier(AutowireCandidateQualifier qualifier) {
+		if (this.qualifiers == null) {
+			this.qualifiers = new LinkedHashMap<String, AutowireCandidateQualifier>(4);
+		}
 		this.qualifiers.put(qualifier.getTypeName(), qualifier);
 	}
 
@@ -616,14 +643,14 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
 	 * Return whether this bean has the specified qualifier.
 	 */
 	public boolean hasQualifier(String typeName) {
-		return this.qualifiers.keySet().contains(typeName);
+		return (this.qualifiers != null && this.qualifiers.containsKey(typeName));
 	}
 
 	/**
 	 * Return the qualifier mapped to the provided type name.
 	 */
 	public AutowireCandidateQualifier getQualifier(String typeName) {
-		return this.qualifiers.get(typeName);
+		return (this.qualifiers != null ? this.qualifiers.get(typeName) : null);
 	}
 
 	/**
@@ -631,6 +658,9 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
 	 * @return the Set of {@link AutowireCandidateQualifier} objects.
 	 */
 	public Set<AutowireCandidateQualifier> getQualifiers() {
+		if (this.qualifiers == null) {
+			return new LinkedHashSet<AutowireCandidateQualifier>(0);
+		}
 		return new LinkedHashSet<AutowireCandidateQualifier>(this.qualifiers.values());
 	}
 
@@ -640,7 +670,14 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
 	 */
 	public void copyQualifiersFrom(AbstractBeanDefinition source) {
 		Assert.notNull(source, "Source must not be null");
-		this.qualifiers.putAll(source.qualifiers);
+		if (source.qualifiers != null && !source.qualifiers.isEmpty()) {
+			if (this.qualifiers == null) {
+				this.qualifiers = new LinkedHashMap<String, AutowireCandidateQualifier>(source.qualifiers);
+			}
+			else {
+				this.qualifiers.putAll(source.qualifiers);
+			}
+		}
 	}
 
 
@@ -685,47 +722,73 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
 
 	/**
 	 * Specify constructor argument values for this bean.
+	 * <p>A {@code null} value leaves the holder to be created on first access.
 	 */
 	public void setConstructorArgumentValues(ConstructorArgumentValues constructorArgumentValues) {
-		this.constructorArgumentValues =
-				(constructorArgumentValues != null ? constructorArgumentValues : new ConstructorArgumentValues());
+		this.constructorArgumentValues = constructorArgumentValues;
 	}
 
 	/**
 	 * Return constructor argument values for this bean (never {@code null}).
+	 * <p>The holder is created lazily, so definitions without constructor
+	 * arguments do not carry an empty instance around. Read-only callers
+	 * should check {@link #hasConstructorArgumentValues()} first.
 	 */
 	@Override
 	public ConstructorArgumentValues getConstructorArgumentValues() {
-		return this.constructorArgumentValues;
+		ConstructorArgumentValues cav = this.constructorArgumentValues;
+		if (cav == null) {
+			cav = new ConstructorArgumentValues();
+			this.constructorArgumentValues = cav;
+		}
+		return cav;
 	}
 
 	/**
 	 * Return if there are constructor argument values defined for this bean.
 	 */
+	@Override
 	public boolean hasConstructorArgumentValues() {
-		return !this.constructorArgumentValues.isEmpty();
+		return (this.constructorArgumentValues != null && !this.constructorArgumentValues.isEmpty());
 	}
 
 	/**
 	 * Specify property values for this bean, if any.
+	 * <p>A {@code null} value leaves the holder to be created on first access.
 	 */
 	public void setPropertyValues(MutablePropertyValues propertyValues) {
-		this.propertyValues = (propertyValues != null ? propertyValues : new MutablePropertyValues());
+		this.propertyValues = propertyValues;
 	}
 
 	/**
 	 * Return property values for this bean (never {@code null}).
+	 * <p>The holder is created lazily, on first access. Read-only callers
+	 * should check {@link #hasPropertyValues()} first.
 	 */
 	@Override
 	public MutablePropertyValues getPropertyValues() {
-		return this.propertyValues;
+		MutablePropertyValues pvs = this.propertyValues;
+		if (pvs == null) {
+			pvs = new MutablePropertyValues();
+			this.propertyValues = pvs;
+		}
+		return pvs;
+	}
+
+	/**
+	 * Return if there are property values defined for this bean.
+	 */
+	@Override
+	public boolean hasPropertyValues() {
+		return (this.propertyValues != null && !this.propertyValues.isEmpty());
 	}
 
 	/**
 	 * Specify method overrides for the bean, if any.
+	 * <p>A {@code null} value leaves the holder to be created on first access.
 	 */
 	public void setMethodOverrides(MethodOverrides methodOverrides) {
-		this.methodOverrides = (methodOverrides != null ? methodOverrides : new MethodOverrides());
+		this.methodOverrides = methodOverrides;
 	}
 
 	/**
@@ -734,9 +797,19 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
 	 * Never returns null.
 	 */
 	public MethodOverrides getMethodOverrides() {
+		if (this.methodOverrides == null) {
+			this.methodOverrides = new MethodOverrides();
+		}
 		return this.methodOverrides;
 	}
 
+	/**
+	 * Return if there are method overrides defined for this bean.
+	 */
+	public boolean hasMethodOverrides() {
+		return (this.methodOverrides != null && !this.methodOverrides.isEmpty());
+	}
+
 
 	@Override
 	public void setFactoryBeanName(String factoryBeanName) {
@@ -932,9 +1005,8 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
 	 */
 	public void prepareMethodOverrides() throws BeanDefinitionValidationException {
 		// Check that lookup methods exists.
-		MethodOverrides methodOverrides = getMethodOverrides();
-		if (!methodOverrides.isEmpty()) {
-			for (MethodOverride mo : methodOverrides.getOverrides()) {
+		if (hasMethodOverrides()) {
+			for (MethodOverride mo : getMethodOverrides().getOverrides()) {
 				prepareMethodOverride(mo);
 			}
 		}
@@ -999,14 +1071,22 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
 		if (this.dependencyCheck != that.dependencyCheck) return false;
 		if (!Arrays.equals(this.dependsOn, that.dependsOn)) return false;
 		if (this.autowireCandidate != that.autowireCandidate) return false;
-		if (!ObjectUtils.nullSafeEquals(this.qualifiers, that.qualifiers)) return false;
+		if (!CollectionUtils.isEmpty(this.qualifiers) || !CollectionUtils.isEmpty(that.qualifiers)) {
+			if (!ObjectUtils.nullSafeEquals(this.qualifiers, that.qualifiers)) return false;
+		}
 		if (this.primary != that.primary) return false;
 
 		if (this.nonPublicAccessAllowed != that.nonPublicAccessAllowed) return false;
 		if (this.lenientConstructorResolution != that.lenientConstructorResolution) return false;
-		if (!ObjectUtils.nullSafeEquals(this.constructorArgumentValues, that.constructorArgumentValues)) return false;
-		if (!ObjectUtils.nullSafeEquals(this.propertyValues, that.propertyValues)) return false;
-		if (!ObjectUtils.nullSafeEquals(this.methodOverrides, that.methodOverrides)) return false;
+		if (hasConstructorArgumentValues() || that.hasConstructorArgumentValues()) {
+			if (!ObjectUtils.nullSafeEquals(this.constructorArgumentValues, that.constructorArgumentValues)) return false;
+		}
+		if (hasPropertyValues() || that.hasPropertyValues()) {
+			if (!ObjectUtils.nullSafeEquals(this.propertyValues, that.propertyValues)) return false;
+		}
+		if (hasMethodOverrides() || that.hasMethodOverrides()) {
+			if (!ObjectUtils.nullSafeEquals(this.methodOverrides, that.methodOverrides)) return false;
+		}
 
 		if (!ObjectUtils.nullSafeEquals(this.factoryBeanName, that.factoryBeanName)) return false;
 		if (!ObjectUtils.nullSafeEquals(this.factoryMethodName, that.factoryMethodName)) return false;
@@ -1025,8 +1105,8 @@ public abstract class AbstractBeanDefinition extends BeanMetadataAttributeAccess
 	public int hashCode() {
 		int hashCode = ObjectUtils.nullSafeHashCode(getBeanClassName());
 		hashCode = 29 * hashCode + ObjectUtils.nullSafeHashCode(this.scope);
-		hashCode = 29 * hashCode + ObjectUtils.nullSafeHashCode(this.constructorArgumentValues);
-		hashCode = 29 * hashCode + ObjectUtils.nullSafeHashCode(this.propertyValues);
+		hashCode = 29 * hashCode + (hasConstructorArgumentValues() ? this.constructorArgumentValues.hashCode() : 0);
+		hashCode = 29 * hashCode + (hasPropertyValues() ? this.propertyValues.hashCode() : 0);
 		hashCode = 29 * hashCode + ObjectUtils.nullSafeHashCode(this.factoryBeanName);
 		hashCode = 29 * hashCode + ObjectUtils.nullSafeHashCode(this.factoryMethodName);
 		hashCode = 29 * hashCode + super.hashCode();
@@ -159,6 +159,9 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 	/** Security context used when running with a SecurityManager */
 	private SecurityContextProvider securityContextProvider;
 
+	/** Timeline to record bean creation and post-processing times in, if any */
+	private StartupTimeline startupTimeline;
+
 	/** Map from bean name to merged RootBeanDefinition */
 	private final Map<String, RootBeanDefinition> mergedBeanDefinitions =
 			new ConcurrentHashMap<String, RootBeanDefinition>(64);
@@ -723,6 +726,22 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 		return this.cacheBeanMetadata;
 	}
 
+	/**
+	 * Set a timeline to record the time spent creating each bean and
+	 * invoking each post-processor in.
+	 * <p>Default is none, in which case no times are taken at all.
+	 */
+	public void setStartupTimeline(StartupTimeline startupTimeline) {
+		this.startupTimeline = startupTimeline;
+	}
+
+	/**
+	 * Return the timeline to record startup times in, if any.
+	 */
+	public StartupTimeline getStartupTimeline() {
+		return this.startupTimeline;
+	}
+
 	@Override
 	public void setBeanExpressionResolver(BeanExpressionResolver resolver) {
 		this.beanExpressionResolver = resolver;
@@ -1326,6 +1345,25 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 		}
 	}
 
+	/**
+	 * Remove the merged bean definitions of singleton beans which have
+	 * already been instantiated, recreating them on next access.
+	 * <p>Once a singleton exists, its merged definition is only needed for
+	 * metadata introspection, so large factories may release these copies
+	 * after startup in order to reduce their footprint.
+	 * @see #clearMergedBeanDefinition
+	 */
+	protected void releaseMergedBeanDefinitionsOfCreatedSingletons() {
+		Iterator<Map.Entry<String, RootBeanDefinition>> mergedBeans =
+				this.mergedBeanDefinitions.entrySet().iterator();
+		while (mergedBeans.hasNext()) {
+			Map.Entry<String, RootBeanDefinition> entry = mergedBeans.next();
+			if (entry.getValue().isSingleton() && containsSingleton(entry.getKey())) {
+				mergedBeans.remove();
+			}
+		}
+	}
+
 	/**
 	 * Resolve the bean class for the specified bean definition,
 	 * resolving a bean class name into a Class reference (if necessary)
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index from types to the names of the bean definitions which may match them,
+ * as used by {@link DefaultListableBeanFactory} for by-type lookups.
+ *
+ * <p>Each indexed bean is registered under every superclass and interface of its
+ * known types (the predicted bean type plus the classes of created instances).
+ * Beans whose type cannot be determined upfront, such as FactoryBeans or beans
+ * created through factory methods with unresolvable return types, are kept as
+ * "opaque" candidates for every type.
+ *
+ * <p>Updates are synchronized, while lookups are served without locking from
+ * immutable snapshots of the sorted candidates per type, which are discarded
+ * whenever an update affects them. Recording the class of a created instance
+ * only takes the lock if that class has not been recorded for the bean yet.
+ *
+ * <p>The index only narrows down the candidates: callers still need to perform
+ * the actual type match, including generics, for each returned name.
+ */
+class BeanTypeIndex {
+
+	private final Map<Class<?>, Set<String>> beanNamesByType = new HashMap<Class<?>, Set<String>>(256);
+
+	private final Map<String, Set<Class<?>>> typesByBeanName = new ConcurrentHashMap<String, Set<Class<?>>>(256);
+
+	private final Set<String> opaqueBeanNames = new LinkedHashSet<String>();
+
+	private final Map<String, Integer> registrationOrder = new HashMap<String, Integer>(256);
+
+	private final Map<Class<?>, Set<Class<?>>> hierarchyCache = new HashMap<Class<?>, Set<Class<?>>>(64);
+
+	private final Map<Class<?>, List<String>> candidateSnapshots = new ConcurrentHashMap<Class<?>, List<String>>(64);
+
+	private int registrationCount = 0;
+
+	private final Comparator<String> registrationComparator = new Comparator<String>() {
+		@Override
+		public int compare(String name1, String name2) {
+			return registrationOrder.get(name1).compareTo(registrationOrder.get(name2));
+		}
+	};
+
+
+	/**
+	 * Register the given bean under the given type, replacing any previous
+	 * registration but keeping its position in registration order.
+	 * @param beanName the name of the bean
+	 * @param beanType the predicted type of the bean, or {@code null}
+	 * if the bean has to be considered a candidate for every type
+	 */
+	public synchronized void register(String beanName, Class<?> beanType) {
+		removeTypes(beanName);
+		if (!this.registrationOrder.containsKey(beanName)) {
+			this.registrationOrder.put(beanName, this.registrationCount++);
+		}
+		if (beanType != null) {
+			this.typesByBeanName.put(beanName,
+					Collections.newSetFromMap(new ConcurrentHashMap<Class<?>, Boolean>(4)));
+			addTypeHierarchy(beanName, beanType);
+		}
+		else {
+			this.opaqueBeanNames.add(beanName);
+			this.candidateSnapshots.clear();
+		}
+	}
+
+	/**
+	 * Additionally register the given bean under the given type, e.g. the class
+	 * of a created instance which differs from the predicted bean type.
+	 * Ignored for beans that are unknown to this index or opaque anyway.
+	 * @param beanName the name of the bean
+	 * @param type the additional type of the bean
+	 */
+	public void addType(String beanName, Class<?> type) {
+		Set<Class<?>> types = this.typesByBeanName.get(beanName);
+		if (types == null || types.contains(type)) {
+			// Usual case for every further instance of a bean, e.g. a prototype
+			return;
+		}
+		synchronized (this) {
+			types = this.typesByBeanName.get(beanName);
+			if (types != null && !types.contains(type)) {
+				addTypeHierarchy(beanName, type);
+			}
+		}
+	}
+
+	/**
+	 * Remove the given bean from this index.
+	 * @param beanName the name of the bean
+	 */
+	public synchronized void remove(String beanName) {
+		removeTypes(beanName);
+		this.registrationOrder.remove(beanName);
+	}
+
+	/**
+	 * Return the names of all beans which may match the given type,
+	 * in registration order.
+	 * @param type the raw type to look for
+	 * @return the candidate bean names, or {@code null} if the given type
+	 * cannot be answered from this index (primitives and arrays)
+	 */
+	public List<String> getCandidateNames(Class<?> type) {
+		if (type.isPrimitive() || type.isArray()) {
+			return null;
+		}
+		List<String> candidates = this.candidateSnapshots.get(type);
+		if (candidates != null) {
+			return candidates;
+		}
+		synchronized (this) {
+			candidates = this.candidateSnapshots.get(type);
+			if (candidates == null) {
+				// Stored under the lock, so that no update can invalidate it unnoticed
+				candidates = buildCandidateNames(type);
+				this.candidateSnapshots.put(type, candidates);
+			}
+			return candidates;
+		}
+	}
+
+
+	private List<String> buildCandidateNames(Class<?> type) {
+		Set<String> beanNames = this.beanNamesByType.get(type);
+		int size = (beanNames != null ? beanNames.size() : 0) + this.opaqueBeanNames.size();
+		List<String> candidates = new ArrayList<String>(size);
+		if (beanNames != null) {
+			candidates.addAll(beanNames);
+		}
+		candidates.addAll(this.opaqueBeanNames);
+		Collections.sort(candidates, this.registrationComparator);
+		return Collections.unmodifiableList(candidates);
+	}
+
+	private void addTypeHierarchy(String beanName, Class<?> type) {
+		Set<Class<?>> hierarchy = this.hierarchyCache.get(type);
+		if (hierarchy == null) {
+			hierarchy = new LinkedHashSet<Class<?>>();
+			collectTypeHierarchy(type, hierarchy);
+			hierarchy.add(Object.class);
+			this.hierarchyCache.put(type, hierarchy);
+		}
+		for (Class<?> supertype : hierarchy) {
+			Set<String> beanNames = this.beanNamesByType.get(supertype);
+			if (beanNames == null) {
+				beanNames = new LinkedHashSet<String>(4);
+				this.beanNamesByType.put(supertype, beanNames);
+			}
+			beanNames.add(beanName);
+			this.candidateSnapshots.remove(supertype);
+		}
+		// Recorded last, since addType skips the lock for recorded types
+		this.typesByBeanName.get(beanName).add(type);
+	}
+
+	private static void collectTypeHierarchy(Class<?> type, Set<Class<?>> hierarchy) {
+		if (type == null || !hierarchy.add(type)) {
+			return;
+		}
+		collectTypeHierarchy(type.getSuperclass(), hierarchy);
+		for (Class<?> ifc : type.getInterfaces()) {
+			collectTypeHierarchy(ifc, hierarchy);
+		}
+	}
+
+	private void removeTypes(String beanName) {
+		if (this.opaqueBeanNames.remove(beanName)) {
+			this.candidateSnapshots.clear();
+		}
+		Set<Class<?>> types = this.typesByBeanName.remove(beanName);
+		if (types != null) {
+			for (Class<?> type : types) {
+				for (Class<?> supertype : this.hierarchyCache.get(type)) {
+					Set<String> beanNames = this.beanNamesByType.get(supertype);
+					this.candidateSnapshots.remove(supertype);
+					if (beanNames != null) {
+						beanNames.remove(beanName);
+						if (beanNames.isEmpty()) {
+							this.beanNamesByType.remove(supertype);
+						}
+					}
+				}
+			}
+		}
+	}
+
+}
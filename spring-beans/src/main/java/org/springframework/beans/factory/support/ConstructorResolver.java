@@ -135,9 +135,9 @@ class ConstructorResolver {
 				minNrOfArgs = explicitArgs.length;
 			}
 			else {
-				ConstructorArgumentValues cargs = mbd.getConstructorArgumentValues();
 				resolvedValues = new ConstructorArgumentValues();
-				minNrOfArgs = resolveConstructorArguments(beanName, mbd, bw, cargs, resolvedValues);
+				minNrOfArgs = (mbd.hasConstructorArgumentValues() ? resolveConstructorArguments(
+						beanName, mbd, bw, mbd.getConstructorArgumentValues(), resolvedValues) : 0);
 			}
 
 			// Take specified constructors, if any.
@@ -439,9 +439,9 @@ class ConstructorResolver {
 			else {
 				// We don't have arguments passed in programmatically, so we need to resolve the
 				// arguments specified in the constructor arguments held in the bean definition.
-				ConstructorArgumentValues cargs = mbd.getConstructorArgumentValues();
 				resolvedValues = new ConstructorArgumentValues();
-				minNrOfArgs = resolveConstructorArguments(beanName, mbd, bw, cargs, resolvedValues);
+				minNrOfArgs = (mbd.hasConstructorArgumentValues() ? resolveConstructorArguments(
+						beanName, mbd, bw, mbd.getConstructorArgumentValues(), resolvedValues) : 0);
 			}
 
 			List<Exception> causes = null;
@@ -132,6 +132,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Whether to allow eager class loading even for lazy-init beans */
 	private boolean allowEagerClassLoading = true;
 
+	/** Whether to release merged bean definitions of created singletons after a frozen startup */
+	private boolean releaseMergedBeanDefinitions = false;
+
 	/** Optional OrderComparator for dependency Lists and arrays */
 	private Comparator<Object> dependencyComparator;
 
@@ -162,6 +165,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Whether bean definition metadata may be cached for all beans */
 	private volatile boolean configurationFrozen = false;
 
+	/** Index of candidate bean names per type, built when the configuration gets frozen */
+	private volatile BeanTypeIndex beanTypeIndex;
+
 
 	/**
 	 * Create a new DefaultListableBeanFactory.
@@ -245,6 +251,28 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return this.allowEagerClassLoading;
 	}
 
+	/**
+	 * Set whether merged bean definitions of singleton beans should be released
+	 * once all non-lazy singletons have been pre-instantiated, provided that the
+	 * configuration has been frozen before.
+	 * <p>Default is "false". Switch this flag on for very large contexts, where
+	 * the merged copy of every bean definition adds noticeably to the heap.
+	 * Released definitions get re-merged on demand, e.g. for type checks.
+	 * @see #freezeConfiguration()
+	 * @see #preInstantiateSingletons()
+	 */
+	public void setReleaseMergedBeanDefinitions(boolean releaseMergedBeanDefinitions) {
+		this.releaseMergedBeanDefinitions = releaseMergedBeanDefinitions;
+	}
+
+	/**
+	 * Return whether merged bean definitions of singleton beans get released
+	 * after pre-instantiation of a frozen configuration.
+	 */
+	public boolean isReleaseMergedBeanDefinitions() {
+		return this.releaseMergedBeanDefinitions;
+	}
+
 	/**
 	 * Set a {@link java.util.Comparator} for dependency Lists and arrays.
 	 * @see org.springframework.core.OrderComparator
@@ -301,6 +329,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			DefaultListableBeanFactory otherListableFactory = (DefaultListableBeanFactory) otherFactory;
 			this.allowBeanDefinitionOverriding = otherListableFactory.allowBeanDefinitionOverriding;
 			this.allowEagerClassLoading = otherListableFactory.allowEagerClassLoading;
+			this.releaseMergedBeanDefinitions = otherListableFactory.releaseMergedBeanDefinitions;
 			this.autowireCandidateResolver = otherListableFactory.autowireCandidateResolver;
 			this.resolvableDependencies.putAll(otherListableFactory.resolvableDependencies);
 		}
@@ -414,8 +443,8 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	private String[] doGetBeanNamesForType(ResolvableType type, boolean includeNonSingletons, boolean allowEagerInit) {
 		List<String> result = new ArrayList<String>();
 
-		// Check all bean definitions.
-		for (String beanName : this.beanDefinitionNames) {
+		// Check all candidate bean definitions.
+		for (String beanName : getCandidateBeanNamesForType(type)) {
 			// Only consider bean as eligible if the bean name
 			// is not defined as alias for some other bean.
 			if (!isAlias(beanName)) {
@@ -491,6 +520,98 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return StringUtils.toStringArray(result);
 	}
 
+	/**
+	 * Determine the bean definition names which need to be checked against the given type:
+	 * the candidates from the type index if available, or all bean definition names otherwise.
+	 * @param type the type to match
+	 * @return the bean definition names to check, in registration order
+	 */
+	private Collection<String> getCandidateBeanNamesForType(ResolvableType type) {
+		BeanTypeIndex index = this.beanTypeIndex;
+		Class<?> rawType = type.resolve();
+		if (index != null && rawType != null) {
+			List<String> candidates = index.getCandidateNames(rawType);
+			if (candidates != null) {
+				return candidates;
+			}
+		}
+		return this.beanDefinitionNames;
+	}
+
+	/**
+	 * Build the type index for all current bean definitions.
+	 * @see #freezeConfiguration()
+	 */
+	private BeanTypeIndex buildBeanTypeIndex() {
+		BeanTypeIndex index = new BeanTypeIndex();
+		for (String beanName : this.beanDefinitionNames) {
+			index.register(beanName, predictIndexableType(beanName));
+			Object singletonInstance = getSingleton(beanName, false);
+			if (singletonInstance != null) {
+				index.addType(beanName, singletonInstance.getClass());
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Update the type index (if any) for the specified bean definition.
+	 * @param beanName the name of the bean
+	 * @return the newly indexed type, or {@code null} if the bean could not be
+	 * indexed by type (or if there is no type index)
+	 */
+	private Class<?> updateBeanTypeIndex(String beanName) {
+		BeanTypeIndex index = this.beanTypeIndex;
+		if (index == null) {
+			return null;
+		}
+		if (!containsBeanDefinition(beanName)) {
+			index.remove(beanName);
+			return null;
+		}
+		Class<?> beanType = predictIndexableType(beanName);
+		index.register(beanName, beanType);
+		return beanType;
+	}
+
+	/**
+	 * Predict the type under which the specified bean can be indexed,
+	 * without eagerly initializing anything.
+	 * @param beanName the name of the bean
+	 * @return the predicted bean type, or {@code null} if the bean needs to be
+	 * considered a candidate for every type (e.g. a FactoryBean, a bean produced
+	 * by a factory method with an ambiguous return type or on a factory bean that
+	 * is not initialized yet, or a bean with unresolvable metadata)
+	 */
+	private Class<?> predictIndexableType(String beanName) {
+		if (isAlias(beanName)) {
+			return null;
+		}
+		try {
+			RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
+			if (mbd.isAbstract() || requiresEagerInitForType(mbd.getFactoryBeanName())) {
+				return null;
+			}
+			if (!mbd.hasBeanClass() && mbd.isLazyInit() && !isAllowEagerClassLoading()) {
+				return null;
+			}
+			// Factory method return types are resolved statically, from the factory class
+			Class<?> beanType = (mbd.getFactoryMethodName() != null ?
+					determineTargetType(beanName, mbd) : predictBeanType(beanName, mbd));
+			if (beanType == null || beanType.isArray() || FactoryBean.class.isAssignableFrom(beanType)) {
+				return null;
+			}
+			return beanType;
+		}
+		catch (BeansException ex) {
+			// Probably contains a placeholder: let the regular type matching handle it.
+			if (this.logger.isTraceEnabled()) {
+				this.logger.trace("Not indexing bean '" + beanName + "' by type", ex);
+			}
+			return null;
+		}
+	}
+
 	/**
 	 * Check whether the specified bean would need to be eagerly initialized
 	 * in order to determine its type.
@@ -702,6 +823,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	public void freezeConfiguration() {
 		this.configurationFrozen = true;
 		this.frozenBeanDefinitionNames = StringUtils.toStringArray(this.beanDefinitionNames);
+		this.beanTypeIndex = buildBeanTypeIndex();
 	}
 
 	@Override
@@ -777,6 +899,10 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 				}
 			}
 		}
+
+		if (this.releaseMergedBeanDefinitions && this.configurationFrozen) {
+			releaseMergedBeanDefinitionsOfCreatedSingletons();
+		}
 	}
 
 
@@ -862,6 +988,16 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		if (oldBeanDefinition != null || containsSingleton(beanName)) {
 			resetBeanDefinition(beanName);
 		}
+		else if (this.beanTypeIndex != null) {
+			// New bean definition after freezing: only forget by-type results it may affect.
+			Class<?> beanType = updateBeanTypeIndex(beanName);
+			if (beanType != null) {
+				clearByTypeCache(beanType);
+			}
+			else {
+				clearByTypeCache();
+			}
+		}
 	}
 
 	@Override
@@ -902,6 +1038,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		// Remove the merged bean definition for the given bean, if already created.
 		clearMergedBeanDefinition(beanName);
 
+		// Re-index the bean by type (or drop it from the index if removed).
+		updateBeanTypeIndex(beanName);
+
 		// Remove corresponding bean from singleton cache, if any. Shouldn't usually
 		// be necessary, rather just meant for overriding a context's default beans
 		// (e.g. the default StaticMessageSource in a StaticApplicationContext).
@@ -914,6 +1053,11 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 				if (beanName.equals(bd.getParentName())) {
 					resetBeanDefinition(bdName);
 				}
+				else if (this.beanTypeIndex != null && beanName.equals(bd.getFactoryBeanName())) {
+					// The factory method return type may have changed along with the factory bean.
+					clearMergedBeanDefinition(bdName);
+					updateBeanTypeIndex(bdName);
+				}
 			}
 		}
 	}
@@ -926,6 +1070,20 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return isAllowBeanDefinitionOverriding();
 	}
 
+	/**
+	 * Records the class of the created instance in the type index, since
+	 * post-processors may have replaced the bean with a differently typed proxy.
+	 */
+	@Override
+	protected Object createBean(String beanName, RootBeanDefinition mbd, Object[] args) throws BeanCreationException {
+		Object bean = super.createBean(beanName, mbd, args);
+		BeanTypeIndex index = this.beanTypeIndex;
+		if (index != null && bean != null) {
+			index.addType(beanName, bean.getClass());
+		}
+		return bean;
+	}
+
 	@Override
 	public void registerSingleton(String beanName, Object singletonObject) throws IllegalStateException {
 		super.registerSingleton(beanName, singletonObject);
@@ -973,6 +1131,22 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		this.singletonBeanNamesByType.clear();
 	}
 
+	/**
+	 * Remove the by-type mappings which a bean of the given type may affect.
+	 */
+	private void clearByTypeCache(Class<?> beanType) {
+		for (Iterator<Class<?>> it = this.allBeanNamesByType.keySet().iterator(); it.hasNext();) {
+			if (it.next().isAssignableFrom(beanType)) {
+				it.remove();
+			}
+		}
+		for (Iterator<Class<?>> it = this.singletonBeanNamesByType.keySet().iterator(); it.hasNext();) {
+			if (it.next().isAssignableFrom(beanType)) {
+				it.remove();
+			}
+		}
+	}
+
 
 	//---------------------------------------------------------------------
 	// Dependency resolution functionality
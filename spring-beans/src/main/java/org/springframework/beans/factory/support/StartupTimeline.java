@@ -0,0 +1,263 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.util.ClassUtils;
+
+/**
+ * Records where the time goes while a bean factory starts up: per bean,
+ * per {@link org.springframework.beans.factory.config.BeanPostProcessor} and
+ * per {@link org.springframework.beans.factory.config.BeanFactoryPostProcessor}.
+ *
+ * <p>Steps nest per thread: creating a bean may apply post-processors, which in
+ * turn may create further beans. Each {@link Record} therefore keeps both the
+ * total time of its steps and their self time, i.e. the total time minus the time
+ * spent in nested steps. The self times of all records add up to the overall time.
+ *
+ * <p>Registered through {@link AbstractBeanFactory#setStartupTimeline}; recording
+ * is skipped entirely if no timeline has been set.
+ *
+ * @see AbstractBeanFactory#setStartupTimeline
+ */
+public class StartupTimeline {
+
+	/** Category for the creation of a bean, named after the bean */
+	public static final String BEAN = "bean";
+
+	/** Category for BeanPostProcessor invocations, named after the processor class */
+	public static final String BEAN_POST_PROCESSOR = "beanPostProcessor";
+
+	/** Category for BeanFactoryPostProcessor invocations, named after the processor class */
+	public static final String BEAN_FACTORY_POST_PROCESSOR = "beanFactoryPostProcessor";
+
+
+	private final ThreadLocal<Step> currentStep = new ThreadLocal<Step>();
+
+	/** Records in the order of their first step */
+	private final Map<String, Record> records = new LinkedHashMap<String, Record>();
+
+
+	/**
+	 * Start a step for the given category and name.
+	 * @param category the category of the step, e.g. {@link #BEAN}
+	 * @param name the name of the step, e.g. the bean name
+	 * @return the step, to be {@link Step#end() ended} by the caller
+	 */
+	public Step start(String category, String name) {
+		Record record;
+		String key = category + ':' + name;
+		synchronized (this.records) {
+			record = this.records.get(key);
+			if (record == null) {
+				record = new Record(category, name);
+				this.records.put(key, record);
+			}
+		}
+		Step step = new Step(record, this.currentStep.get());
+		this.currentStep.set(step);
+		return step;
+	}
+
+	/**
+	 * Start a step for the given post-processor, named after its user-level class.
+	 * @param category the category of the step, e.g. {@link #BEAN_POST_PROCESSOR}
+	 * @param processor the post-processor about to be invoked
+	 * @return the step, to be {@link Step#end() ended} by the caller
+	 */
+	public Step start(String category, Object processor) {
+		return start(category, ClassUtils.getUserClass(processor).getName());
+	}
+
+	/**
+	 * Return all records, in the order in which they were first started.
+	 */
+	public List<Record> getRecords() {
+		synchronized (this.records) {
+			return new ArrayList<Record>(this.records.values());
+		}
+	}
+
+	/**
+	 * Return the records of the given category, in the order in which they
+	 * were first started. For {@link #BEAN}, this is the list of all beans
+	 * that have been created so far.
+	 */
+	public List<Record> getRecords(String category) {
+		List<Record> result = new ArrayList<Record>();
+		for (Record record : getRecords()) {
+			if (record.getCategory().equals(category)) {
+				result.add(record);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Return the records of the given category with the highest self time.
+	 * @param category the category to select
+	 * @param max the maximum number of records to return
+	 */
+	public List<Record> getSlowestRecords(String category, int max) {
+		List<Record> result = getRecords(category);
+		Collections.sort(result, new Comparator<Record>() {
+			@Override
+			public int compare(Record r1, Record r2) {
+				return Long.compare(r2.getSelfTime(TimeUnit.NANOSECONDS), r1.getSelfTime(TimeUnit.NANOSECONDS));
+			}
+		});
+		return (result.size() > max ? result.subList(0, max) : result);
+	}
+
+	/**
+	 * Remove all records.
+	 */
+	public void clear() {
+		synchronized (this.records) {
+			this.records.clear();
+		}
+	}
+
+	/**
+	 * Return a summary with the ten slowest records per category.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("StartupTimeline");
+		for (String category : new String[] {BEAN_FACTORY_POST_PROCESSOR, BEAN_POST_PROCESSOR, BEAN}) {
+			List<Record> records = getRecords(category);
+			long selfNanos = 0;
+			for (Record record : records) {
+				selfNanos += record.getSelfTime(TimeUnit.NANOSECONDS);
+			}
+			sb.append("\n").append(category).append(": ").append(records.size()).append(" entries, ");
+			sb.append(TimeUnit.NANOSECONDS.toMillis(selfNanos)).append(" ms self time");
+			for (Record record : getSlowestRecords(category, 10)) {
+				sb.append("\n    ").append(record);
+			}
+		}
+		return sb.toString();
+	}
+
+
+	/**
+	 * A running step, ended through {@link #end()} on the thread that started it.
+	 */
+	public final class Step {
+
+		private final Record record;
+
+		private final Step parent;
+
+		private final long startTime = System.nanoTime();
+
+		private long nestedNanos;
+
+		private Step(Record record, Step parent) {
+			this.record = record;
+			this.parent = parent;
+		}
+
+		/**
+		 * End this step, adding its time to its record.
+		 * <p>Nested steps which have not been ended, e.g. due to an exception,
+		 * are implicitly ended along with this step.
+		 */
+		public void end() {
+			long duration = System.nanoTime() - this.startTime;
+			this.record.add(duration, duration - this.nestedNanos);
+			if (this.parent != null) {
+				this.parent.nestedNanos += duration;
+				currentStep.set(this.parent);
+			}
+			else {
+				currentStep.remove();
+			}
+		}
+	}
+
+
+	/**
+	 * Accumulated times of all steps with the same category and name.
+	 */
+	public static final class Record {
+
+		private final String category;
+
+		private final String name;
+
+		private int count;
+
+		private long totalNanos;
+
+		private long selfNanos;
+
+		private Record(String category, String name) {
+			this.category = category;
+			this.name = name;
+		}
+
+		private synchronized void add(long totalNanos, long selfNanos) {
+			this.count++;
+			this.totalNanos += totalNanos;
+			this.selfNanos += selfNanos;
+		}
+
+		public String getCategory() {
+			return this.category;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		/**
+		 * Return the number of steps, e.g. the number of invocations of a post-processor.
+		 */
+		public synchronized int getCount() {
+			return this.count;
+		}
+
+		/**
+		 * Return the time of all steps, including nested steps.
+		 */
+		public synchronized long getTotalTime(TimeUnit unit) {
+			return unit.convert(this.totalNanos, TimeUnit.NANOSECONDS);
+		}
+
+		/**
+		 * Return the time of all steps, excluding nested steps.
+		 */
+		public synchronized long getSelfTime(TimeUnit unit) {
+			return unit.convert(this.selfNanos, TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public synchronized String toString() {
+			return String.format("%s: %.3f ms self, %.3f ms total, %d times",
+					this.name, this.selfNanos / 1e6, this.totalNanos / 1e6, this.count);
+		}
+	}
+
+}
@@ -20,6 +20,7 @@ import java.lang.reflect.Method;
 
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.BridgeMethodResolver;
 import org.springframework.util.ReflectionUtils;
 
 /**
@@ -32,6 +33,7 @@ class ClearCachesApplicationListener implements ApplicationListener<ContextRefre
     @Override
     public void onApplicationEvent(ContextRefreshedEvent event) {
         ReflectionUtils.clearCache();
+        BridgeMethodResolver.clearCache();
         clearClassLoaderCaches(Thread.currentThread().getContextClassLoader());
     }
 
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Interface that defines common cache operations.
+ *
+ * <b>Note:</b> Due to the generic use of caching, it is recommended that
+ * implementations allow storage of <tt>null</tt> values (for example to
+ * cache methods that return {@code null}).
+ *
+ * @see CacheManager
+ */
+public interface Cache {
+
+	/**
+	 * Return the cache name.
+	 */
+	String getName();
+
+	/**
+	 * Return the underlying native cache provider.
+	 */
+	Object getNativeCache();
+
+	/**
+	 * Return the value to which this cache maps the specified key.
+	 * <p>Returns {@code null} if the cache contains no mapping for this key;
+	 * otherwise, the cached value (which may be {@code null} itself) will
+	 * be returned in a {@link ValueWrapper}.
+	 * @param key the key whose associated value is to be returned
+	 * @return the value to which this cache maps the specified key,
+	 * contained within a {@link ValueWrapper} which may also hold
+	 * a cached {@code null} value. A straight {@code null} being
+	 * returned means that the cache contains no mapping for this key.
+	 * @see #get(Object, Class)
+	 */
+	ValueWrapper get(Object key);
+
+	/**
+	 * Return the value to which this cache maps the specified key,
+	 * generically specifying a type that return value will be cast to.
+	 * @param key the key whose associated value is to be returned
+	 * @param type the required type of the returned value (may be
+	 * {@code null} to bypass a type check)
+	 * @return the value to which this cache maps the specified key
+	 * (which may be {@code null} itself), or also {@code null} if
+	 * the cache contains no mapping for this key
+	 * @throws IllegalStateException if a cache entry has been found
+	 * but failed to match the specified type
+	 * @see #get(Object)
+	 */
+	<T> T get(Object key, Class<T> type);
+
+	/**
+	 * Return the value to which this cache maps the specified key, obtaining
+	 * that value from {@code valueLoader} if necessary.
+	 * <p>Concurrent calls for the same missing key are coalesced: the loader
+	 * is invoked once while the other callers wait for its result, which
+	 * prevents a stampede of identical computations on a cold key.
+	 * @param key the key whose associated value is to be returned
+	 * @param valueLoader the loader computing the value if necessary
+	 * @return the value to which this cache maps the specified key
+	 * @throws ValueRetrievalException if the {@code valueLoader} throws an exception
+	 */
+	<T> T get(Object key, Callable<T> valueLoader);
+
+	/**
+	 * Associate the specified value with the specified key in this cache.
+	 * <p>If the cache previously contained a mapping for this key, the old
+	 * value is replaced by the specified value.
+	 * @param key the key with which the specified value is to be associated
+	 * @param value the value to be associated with the specified key
+	 */
+	void put(Object key, Object value);
+
+	/**
+	 * Atomically associate the specified value with the specified key in this cache
+	 * if it is not set already.
+	 * @param key the key with which the specified value is to be associated
+	 * @param value the value to be associated with the specified key
+	 * @return the value to which this cache maps the specified key (which may be
+	 * {@code null} itself), or also {@code null} if the cache did not contain any
+	 * mapping for that key prior to this call. Returning {@code null} is therefore
+	 * an indicator that the given {@code value} has been associated with the key.
+	 */
+	ValueWrapper putIfAbsent(Object key, Object value);
+
+	/**
+	 * Evict the mapping for this key from this cache if it is present.
+	 * @param key the key whose mapping is to be removed from the cache
+	 */
+	void evict(Object key);
+
+	/**
+	 * Remove all mappings from the cache.
+	 */
+	void clear();
+
+
+	/**
+	 * A (wrapper) object representing a cache value.
+	 */
+	interface ValueWrapper {
+
+		/**
+		 * Return the actual value in the cache.
+		 */
+		Object get();
+	}
+
+
+	/**
+	 * Wrapper exception to be thrown from {@link #get(Object, Callable)}
+	 * in case of the value loader callback failing with an exception.
+	 */
+	@SuppressWarnings("serial")
+	class ValueRetrievalException extends RuntimeException {
+
+		private final Object key;
+
+		public ValueRetrievalException(Object key, Callable<?> loader, Throwable ex) {
+			super(String.format("Value for key '%s' could not be loaded using '%s'", key, loader), ex);
+			this.key = key;
+		}
+
+		public Object getKey() {
+			return this.key;
+		}
+	}
+
+}
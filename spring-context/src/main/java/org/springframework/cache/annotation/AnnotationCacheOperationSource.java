@@ -0,0 +1,256 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.annotation;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cache.interceptor.CacheEvictOperation;
+import org.springframework.cache.interceptor.CacheOperation;
+import org.springframework.cache.interceptor.CacheOperationSource;
+import org.springframework.cache.interceptor.CachePutOperation;
+import org.springframework.cache.interceptor.CacheableOperation;
+import org.springframework.context.expression.AnnotatedElementKey;
+import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Implementation of the {@link CacheOperationSource} interface for working with
+ * caching metadata in annotation format: {@link Cacheable}, {@link CachePut}
+ * and {@link CacheEvict}.
+ *
+ * <p>Annotations on the most specific method take precedence over annotations
+ * on its declaring class, which in turn apply to all of its public methods.
+ * Parsed operations are cached per method and target class, including the
+ * fact that a method has no cache operations at all.
+ */
+public class AnnotationCacheOperationSource implements CacheOperationSource {
+
+	/**
+	 * Canonical value held in cache to indicate no caching attribute was
+	 * found for this method and we don't need to look again.
+	 */
+	private static final Collection<CacheOperation> NULL_CACHING_ATTRIBUTE = Collections.emptyList();
+
+
+	protected final Log logger = LogFactory.getLog(getClass());
+
+	private final Map<AnnotatedElementKey, Collection<CacheOperation>> attributeCache =
+			new ConcurrentHashMap<AnnotatedElementKey, Collection<CacheOperation>>(1024);
+
+	private final boolean publicMethodsOnly;
+
+
+	/**
+	 * Create a default AnnotationCacheOperationSource, supporting public methods
+	 * that carry the {@code Cacheable} and {@code CacheEvict} annotations.
+	 */
+	public AnnotationCacheOperationSource() {
+		this(true);
+	}
+
+	/**
+	 * Create a default {@code AnnotationCacheOperationSource}, supporting public methods
+	 * that carry the {@code Cacheable} and {@code CacheEvict} annotations.
+	 * @param publicMethodsOnly whether to support only annotated public methods
+	 * typically for use with proxy-based AOP), or protected/private methods as well
+	 * (typically used with AspectJ class weaving)
+	 */
+	public AnnotationCacheOperationSource(boolean publicMethodsOnly) {
+		this.publicMethodsOnly = publicMethodsOnly;
+	}
+
+
+	/**
+	 * Determine the caching attribute for this method invocation.
+	 * <p>Defaults to the class's caching attribute if no method attribute is found.
+	 * @param method the method for the current invocation (never {@code null})
+	 * @param targetClass the target class for this invocation (may be {@code null})
+	 * @return {@link CacheOperation} for this method, or {@code null} if the method
+	 * is not cacheable
+	 */
+	@Override
+	public Collection<CacheOperation> getCacheOperations(Method method, Class<?> targetClass) {
+		if (method.getDeclaringClass() == Object.class) {
+			return null;
+		}
+
+		AnnotatedElementKey cacheKey = new AnnotatedElementKey(method, targetClass);
+		Collection<CacheOperation> cached = this.attributeCache.get(cacheKey);
+		if (cached != null) {
+			return (cached != NULL_CACHING_ATTRIBUTE ? cached : null);
+		}
+
+		Collection<CacheOperation> cacheOps = computeCacheOperations(method, targetClass);
+		if (cacheOps != null) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Adding cacheable method '" + method.getName() + "' with attribute: " + cacheOps);
+			}
+			this.attributeCache.put(cacheKey, cacheOps);
+		}
+		else {
+			this.attributeCache.put(cacheKey, NULL_CACHING_ATTRIBUTE);
+		}
+		return cacheOps;
+	}
+
+	private Collection<CacheOperation> computeCacheOperations(Method method, Class<?> targetClass) {
+		// Don't allow no-public methods as required.
+		if (this.publicMethodsOnly && !Modifier.isPublic(method.getModifiers())) {
+			return null;
+		}
+
+		// The method may be on an interface, but we need attributes from the target class.
+		// If the target class is null, the method will be unchanged.
+		Method specificMethod = ClassUtils.getMostSpecificMethod(method, targetClass);
+		// If we are dealing with method with generic parameters, find the original method.
+		specificMethod = BridgeMethodResolver.findBridgedMethod(specificMethod);
+
+		// First try is the method in the target class.
+		Collection<CacheOperation> opDef = parseCacheAnnotations(specificMethod);
+		if (opDef != null) {
+			return opDef;
+		}
+
+		// Second try is the caching operation on the target class.
+		opDef = parseCacheAnnotations(specificMethod.getDeclaringClass());
+		if (opDef != null) {
+			return opDef;
+		}
+
+		if (specificMethod != method) {
+			// Fallback is to look at the original method.
+			opDef = parseCacheAnnotations(method);
+			if (opDef != null) {
+				return opDef;
+			}
+			// Last fallback is the class of the original method.
+			return parseCacheAnnotations(method.getDeclaringClass());
+		}
+		return null;
+	}
+
+	/**
+	 * Parse the cache annotations declared on the given method or class.
+	 * @param ae the annotated method or class
+	 * @return the cache operations, or {@code null} if none declared
+	 */
+	protected Collection<CacheOperation> parseCacheAnnotations(AnnotatedElement ae) {
+		Collection<CacheOperation> ops = null;
+
+		Cacheable cacheable = AnnotationUtils.getAnnotation(ae, Cacheable.class);
+		if (cacheable != null) {
+			ops = lazyInit(ops);
+			ops.add(parseCacheableAnnotation(ae, cacheable));
+		}
+		CachePut cachePut = AnnotationUtils.getAnnotation(ae, CachePut.class);
+		if (cachePut != null) {
+			ops = lazyInit(ops);
+			ops.add(parseCachePutAnnotation(ae, cachePut));
+		}
+		CacheEvict cacheEvict = AnnotationUtils.getAnnotation(ae, CacheEvict.class);
+		if (cacheEvict != null) {
+			ops = lazyInit(ops);
+			ops.add(parseCacheEvictAnnotation(ae, cacheEvict));
+		}
+
+		if (ops != null) {
+			validateCacheOperations(ae, ops);
+		}
+		return ops;
+	}
+
+	private Collection<CacheOperation> lazyInit(Collection<CacheOperation> ops) {
+		return (ops != null ? ops : new ArrayList<CacheOperation>(1));
+	}
+
+	private CacheableOperation parseCacheableAnnotation(AnnotatedElement ae, Cacheable cacheable) {
+		CacheableOperation op = new CacheableOperation();
+		op.setCacheNames(cacheable.cacheNames());
+		op.setCondition(cacheable.condition());
+		op.setUnless(cacheable.unless());
+		op.setKey(cacheable.key());
+		op.setSync(cacheable.sync());
+		op.setName(ae.toString());
+		return op;
+	}
+
+	private CachePutOperation parseCachePutAnnotation(AnnotatedElement ae, CachePut cachePut) {
+		CachePutOperation op = new CachePutOperation();
+		op.setCacheNames(cachePut.cacheNames());
+		op.setCondition(cachePut.condition());
+		op.setUnless(cachePut.unless());
+		op.setKey(cachePut.key());
+		op.setName(ae.toString());
+		return op;
+	}
+
+	private CacheEvictOperation parseCacheEvictAnnotation(AnnotatedElement ae, CacheEvict cacheEvict) {
+		CacheEvictOperation op = new CacheEvictOperation();
+		op.setCacheNames(cacheEvict.cacheNames());
+		op.setCondition(cacheEvict.condition());
+		op.setKey(cacheEvict.key());
+		op.setCacheWide(cacheEvict.allEntries());
+		op.setBeforeInvocation(cacheEvict.beforeInvocation());
+		op.setName(ae.toString());
+		return op;
+	}
+
+	/**
+	 * Validate the specified {@link CacheOperation} instances.
+	 * @throws IllegalStateException if the declared operations are inconsistent
+	 */
+	private void validateCacheOperations(AnnotatedElement ae, Collection<CacheOperation> ops) {
+		for (CacheOperation op : ops) {
+			if (op.getCacheNames().isEmpty()) {
+				throw new IllegalStateException("No cache names could be detected on '" + ae.toString() +
+						"'. Make sure to set the value parameter on the annotation.");
+			}
+			if (op instanceof CacheEvictOperation && ((CacheEvictOperation) op).isCacheWide() &&
+					StringUtils.hasText(op.getKey())) {
+				throw new IllegalStateException("Invalid cache annotation configuration on '" +
+						ae.toString() + "'. Cannot combine allEntries with a specific key.");
+			}
+			if (op instanceof CacheableOperation && ((CacheableOperation) op).isSync()) {
+				if (ops.size() > 1) {
+					throw new IllegalStateException("@Cacheable(sync=true) cannot be combined with other " +
+							"cache operations on '" + ae.toString() + "'");
+				}
+				if (op.getCacheNames().size() > 1) {
+					throw new IllegalStateException("@Cacheable(sync=true) only allows a single cache on '" +
+							ae.toString() + "'");
+				}
+				if (StringUtils.hasText(((CacheableOperation) op).getUnless())) {
+					throw new IllegalStateException("@Cacheable(sync=true) does not support unless " +
+							"attribute on '" + ae.toString() + "'");
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.annotation;
+
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.CacheInterceptor;
+import org.springframework.cache.interceptor.CacheOperationSourcePointcut;
+import org.springframework.cache.interceptor.KeyGenerator;
+
+/**
+ * Bean post-processor that applies declarative caching to beans carrying the
+ * {@link Cacheable}, {@link CachePut} or {@link CacheEvict} annotation at class
+ * or method level, by adding a {@link CacheInterceptor} advisor to the exposed
+ * proxy (either an existing AOP proxy or a newly generated proxy that
+ * implements all of the target's interfaces).
+ *
+ * <p>Caches are looked up through the configured {@link CacheManager}, or through
+ * the unique {@code CacheManager} bean of the containing bean factory if none has
+ * been set explicitly.
+ *
+ * @see AnnotationCacheOperationSource
+ * @see CacheInterceptor
+ */
+public class CacheAnnotationBeanPostProcessor extends AbstractAdvisingBeanPostProcessor implements BeanFactoryAware {
+
+	private CacheManager cacheManager;
+
+	private KeyGenerator keyGenerator;
+
+
+	public CacheAnnotationBeanPostProcessor() {
+		// Caching should wrap existing advice such as transactions
+		setBeforeExistingAdvisors(true);
+	}
+
+
+	/**
+	 * Set the {@link CacheManager} to resolve caches with.
+	 * <p>Default is the unique CacheManager bean in the containing bean factory.
+	 */
+	public void setCacheManager(CacheManager cacheManager) {
+		this.cacheManager = cacheManager;
+	}
+
+	/**
+	 * Set the {@link KeyGenerator} to use for operations that do not
+	 * specify a key expression.
+	 * <p>Default is a {@link org.springframework.cache.interceptor.SimpleKeyGenerator}.
+	 */
+	public void setKeyGenerator(KeyGenerator keyGenerator) {
+		this.keyGenerator = keyGenerator;
+	}
+
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) {
+		AnnotationCacheOperationSource cacheOperationSource = new AnnotationCacheOperationSource();
+		CacheInterceptor interceptor = new CacheInterceptor();
+		interceptor.setCacheOperationSource(cacheOperationSource);
+		if (this.cacheManager != null) {
+			interceptor.setCacheManager(this.cacheManager);
+		}
+		if (this.keyGenerator != null) {
+			interceptor.setKeyGenerator(this.keyGenerator);
+		}
+		interceptor.setBeanFactory(beanFactory);
+		interceptor.afterPropertiesSet();
+		this.advisor = new DefaultPointcutAdvisor(new CacheOperationSourcePointcut(cacheOperationSource), interceptor);
+	}
+
+}
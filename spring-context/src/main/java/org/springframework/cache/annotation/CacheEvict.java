@@ -0,0 +1,87 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.core.annotation.AliasFor;
+
+/**
+ * Annotation indicating that a method (or all methods on a class) triggers a
+ * {@link org.springframework.cache.Cache#evict(Object) cache evict} operation.
+ *
+ * @see CacheAnnotationBeanPostProcessor
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Documented
+public @interface CacheEvict {
+
+	/**
+	 * Alias for {@link #cacheNames}.
+	 */
+	@AliasFor("cacheNames")
+	String[] value() default {};
+
+	/**
+	 * Names of the caches to use for the cache eviction operation.
+	 */
+	@AliasFor("value")
+	String[] cacheNames() default {};
+
+	/**
+	 * Spring Expression Language (SpEL) expression for computing the key dynamically.
+	 * <p>Default is {@code ""}, meaning all method parameters are considered as a key.
+	 * <p>The SpEL expression evaluates against the same context as
+	 * {@link Cacheable#key}, plus {@code #result} for evictions performed after
+	 * the method invocation.
+	 */
+	String key() default "";
+
+	/**
+	 * Spring Expression Language (SpEL) expression used for making the cache
+	 * eviction operation conditional.
+	 * <p>Default is {@code ""}, meaning the cache eviction is always performed.
+	 */
+	String condition() default "";
+
+	/**
+	 * Whether all the entries inside the cache(s) are removed.
+	 * <p>By default, only the value under the associated key is removed.
+	 * <p>Note that setting this parameter to {@code true} and specifying a
+	 * {@link #key} is not allowed.
+	 */
+	boolean allEntries() default false;
+
+	/**
+	 * Whether the eviction should occur before the method is invoked.
+	 * <p>Setting this attribute to {@code true}, causes the eviction to
+	 * occur irrespective of the method outcome (i.e., whether it threw an
+	 * exception or not).
+	 * <p>Defaults to {@code false}, meaning that the cache eviction operation
+	 * will occur <em>after</em> the advised method is invoked successfully (i.e.,
+	 * only if the invocation did not throw an exception).
+	 */
+	boolean beforeInvocation() default false;
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.core.annotation.AliasFor;
+
+/**
+ * Annotation indicating that the result of invoking a method (or all methods
+ * in a class) can be cached.
+ *
+ * <p>Each time an advised method is invoked, caching behavior will be applied,
+ * checking whether the method has been already invoked for the given arguments.
+ * A sensible default simply uses the method parameters to compute the key, but
+ * a SpEL expression can be provided via the {@link #key} attribute.
+ *
+ * <p>If no value is found in the cache for the computed key, the target method
+ * will be invoked and the returned value stored in the associated cache.
+ *
+ * @see CacheAnnotationBeanPostProcessor
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Documented
+public @interface Cacheable {
+
+	/**
+	 * Alias for {@link #cacheNames}.
+	 */
+	@AliasFor("cacheNames")
+	String[] value() default {};
+
+	/**
+	 * Names of the caches in which method invocation results are stored.
+	 * <p>Names may be used to determine the target cache (or caches), matching
+	 * the qualifier value or bean name of a specific bean definition.
+	 */
+	@AliasFor("value")
+	String[] cacheNames() default {};
+
+	/**
+	 * Spring Expression Language (SpEL) expression for computing the key dynamically.
+	 * <p>Default is {@code ""}, meaning all method parameters are considered as a key.
+	 * <p>The SpEL expression evaluates against a dedicated context that provides the
+	 * following meta-data:
+	 * <ul>
+	 * <li>{@code #root.method}, {@code #root.target}, and {@code #root.caches} for
+	 * references to the {@link java.lang.reflect.Method method}, target object, and
+	 * affected cache(s) respectively.</li>
+	 * <li>Shortcuts for the method name ({@code #root.methodName}) and target class
+	 * ({@code #root.targetClass}) are also available.
+	 * <li>Method arguments can be accessed by index. For instance the second argument
+	 * can be accessed via {@code #root.args[1]}, {@code #p1} or {@code #a1}. Arguments
+	 * can also be accessed by name if that information is available.</li>
+	 * </ul>
+	 * <p>Key expressions are compiled to bytecode once they have been interpreted a
+	 * few times, falling back to interpretation should compilation not be possible.
+	 */
+	String key() default "";
+
+	/**
+	 * Spring Expression Language (SpEL) expression used for making the method
+	 * caching conditional.
+	 * <p>Default is {@code ""}, meaning the method result is always cached.
+	 * <p>The SpEL expression evaluates against a dedicated context that provides the
+	 * same meta-data as {@link #key}.
+	 */
+	String condition() default "";
+
+	/**
+	 * Spring Expression Language (SpEL) expression used to veto method caching.
+	 * <p>Unlike {@link #condition}, this expression is evaluated after the method
+	 * has been called and can therefore refer to the {@code result}.
+	 * <p>Default is {@code ""}, meaning that caching is never vetoed.
+	 * <p>The SpEL expression evaluates against a dedicated context that provides the
+	 * meta-data of {@link #key} plus {@code #result} as a reference to the result of
+	 * the method invocation.
+	 */
+	String unless() default "";
+
+	/**
+	 * Synchronize the invocation of the underlying method if several threads are
+	 * attempting to load a value for the same key. The synchronization leads to
+	 * a couple of limitations:
+	 * <ol>
+	 * <li>{@link #unless()} is not supported</li>
+	 * <li>Only one cache may be specified</li>
+	 * <li>No other cache-related operation can be combined</li>
+	 * </ol>
+	 * This is effectively a hint and the actual cache provider that you are
+	 * using may not support it in a synchronized fashion.
+	 * @see org.springframework.cache.Cache#get(Object, java.util.concurrent.Callable)
+	 */
+	boolean sync() default false;
+
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.CacheStatistics;
+import org.springframework.util.Assert;
+
+/**
+ * Concurrent in-memory {@link org.springframework.cache.Cache} with an optional
+ * maximum size, an optional time-to-live and usage statistics.
+ *
+ * <p>Reads never lock: a hit only marks the entry as recently used. When the
+ * maximum size is exceeded, entries are evicted in approximate least-recently-used
+ * order, following the "clock" (second chance) algorithm: entries are visited in
+ * insertion order, and recently used ones are given another round instead of
+ * being evicted.
+ *
+ * <p>Expired entries are removed when they are looked up or visited for eviction;
+ * {@link #cleanUp()} removes all of them at once, e.g. from a scheduled task.
+ *
+ * @see ConcurrentMapCacheManager#setMaximumSize
+ * @see ConcurrentMapCacheManager#setTimeToLive
+ */
+public class BoundedConcurrentCache extends AbstractValueAdaptingCache {
+
+	private final String name;
+
+	private final int maximumSize;
+
+	private final long timeToLiveNanos;
+
+	private final ConcurrentMap<Object, Entry> store;
+
+	private final Queue<Entry> evictionQueue = new ConcurrentLinkedQueue<Entry>();
+
+	private final AtomicInteger evictionQueueSize = new AtomicInteger();
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+	private final AtomicLong putCount = new AtomicLong();
+
+	private final AtomicLong evictionCount = new AtomicLong();
+
+	private final AtomicLong expirationCount = new AtomicLong();
+
+
+	/**
+	 * Create a new BoundedConcurrentCache with the specified name.
+	 * @param name the name of the cache
+	 * @param maximumSize the maximum number of entries (0 for unbounded)
+	 * @param timeToLive the time-to-live of an entry in milliseconds,
+	 * counted from the last time its value was set (0 for no expiration)
+	 */
+	public BoundedConcurrentCache(String name, int maximumSize, long timeToLive) {
+		this(name, maximumSize, timeToLive, true);
+	}
+
+	/**
+	 * Create a new BoundedConcurrentCache with the specified name.
+	 * @param name the name of the cache
+	 * @param maximumSize the maximum number of entries (0 for unbounded)
+	 * @param timeToLive the time-to-live of an entry in milliseconds,
+	 * counted from the last time its value was set (0 for no expiration)
+	 * @param allowNullValues whether to accept and convert {@code null}
+	 * values for this cache
+	 */
+	public BoundedConcurrentCache(String name, int maximumSize, long timeToLive, boolean allowNullValues) {
+		super(allowNullValues);
+		Assert.notNull(name, "Name must not be null");
+		Assert.isTrue(maximumSize >= 0, "Maximum size must not be negative");
+		Assert.isTrue(timeToLive >= 0, "Time-to-live must not be negative");
+		this.name = name;
+		this.maximumSize = maximumSize;
+		this.timeToLiveNanos = TimeUnit.MILLISECONDS.toNanos(timeToLive);
+		this.store = new ConcurrentHashMap<Object, Entry>(maximumSize > 0 ? Math.min(maximumSize, 1024) : 256);
+	}
+
+
+	@Override
+	public final String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Return the underlying store, mapping keys to internal entry holders.
+	 */
+	@Override
+	public final ConcurrentMap<?, ?> getNativeCache() {
+		return this.store;
+	}
+
+	/**
+	 * Return the maximum number of entries (0 if unbounded).
+	 */
+	public int getMaximumSize() {
+		return this.maximumSize;
+	}
+
+	/**
+	 * Return the time-to-live of an entry in milliseconds (0 if entries do not expire).
+	 */
+	public long getTimeToLive() {
+		return TimeUnit.NANOSECONDS.toMillis(this.timeToLiveNanos);
+	}
+
+	/**
+	 * Return a snapshot of the usage statistics of this cache.
+	 */
+	public CacheStatistics getStatistics() {
+		return new CacheStatistics(this.hitCount.get(), this.missCount.get(), this.putCount.get(),
+				this.evictionCount.get(), this.expirationCount.get(), this.store.size());
+	}
+
+
+	@Override
+	protected Object lookup(Object key) {
+		Object storeValue = peek(key);
+		if (storeValue != null) {
+			this.hitCount.incrementAndGet();
+		}
+		else {
+			this.missCount.incrementAndGet();
+		}
+		return storeValue;
+	}
+
+	@Override
+	protected Object peek(Object key) {
+		Entry entry = this.store.get(key);
+		if (entry != null) {
+			if (!entry.isExpired(System.nanoTime())) {
+				entry.referenced = true;
+				return entry.value;
+			}
+			if (this.store.remove(key, entry)) {
+				this.expirationCount.incrementAndGet();
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void put(Object key, Object value) {
+		Entry entry = new Entry(key, toStoreValue(value), expirationTime());
+		this.putCount.incrementAndGet();
+		while (true) {
+			Entry existing = this.store.putIfAbsent(key, entry);
+			if (existing == null || this.store.replace(key, existing, entry)) {
+				// A replaced entry stays queued until it is found to be stale
+				enqueue(entry);
+				return;
+			}
+		}
+	}
+
+	@Override
+	public ValueWrapper putIfAbsent(Object key, Object value) {
+		Entry entry = new Entry(key, toStoreValue(value), expirationTime());
+		while (true) {
+			Entry existing = this.store.putIfAbsent(key, entry);
+			if (existing == null) {
+				this.putCount.incrementAndGet();
+				enqueue(entry);
+				return null;
+			}
+			if (!existing.isExpired(System.nanoTime())) {
+				existing.referenced = true;
+				return toValueWrapper(existing.value);
+			}
+			if (this.store.remove(key, existing)) {
+				this.expirationCount.incrementAndGet();
+			}
+		}
+	}
+
+	@Override
+	public void evict(Object key) {
+		this.store.remove(key);
+	}
+
+	@Override
+	public void clear() {
+		this.store.clear();
+		this.evictionQueue.clear();
+		this.evictionQueueSize.set(0);
+	}
+
+	/**
+	 * Remove all expired entries from this cache.
+	 */
+	public void cleanUp() {
+		if (this.timeToLiveNanos > 0) {
+			long now = System.nanoTime();
+			for (Iterator<Entry> it = this.store.values().iterator(); it.hasNext();) {
+				if (it.next().isExpired(now)) {
+					it.remove();
+					this.expirationCount.incrementAndGet();
+				}
+			}
+		}
+		purgeStaleQueueEntries();
+	}
+
+
+	private long expirationTime() {
+		return (this.timeToLiveNanos > 0 ? System.nanoTime() + this.timeToLiveNanos : 0);
+	}
+
+	private void enqueue(Entry entry) {
+		this.evictionQueue.offer(entry);
+		int queueSize = this.evictionQueueSize.incrementAndGet();
+		if (this.maximumSize > 0 && this.store.size() > this.maximumSize) {
+			evictEntries();
+		}
+		else if (queueSize > 2 * Math.max(this.store.size(), 64)) {
+			// Entries removed through evict(key) or expiration are still queued
+			purgeStaleQueueEntries();
+		}
+	}
+
+	/**
+	 * Evict entries until the cache is back within its maximum size.
+	 */
+	private void evictEntries() {
+		long now = System.nanoTime();
+		// Recently used entries get a second chance, but only for one round
+		int secondChances = this.evictionQueueSize.get();
+		while (this.store.size() > this.maximumSize) {
+			Entry candidate = this.evictionQueue.poll();
+			if (candidate == null) {
+				return;
+			}
+			this.evictionQueueSize.decrementAndGet();
+			if (this.store.get(candidate.key) != candidate) {
+				// Stale queue entry: already removed or replaced
+				continue;
+			}
+			if (candidate.isExpired(now)) {
+				if (this.store.remove(candidate.key, candidate)) {
+					this.expirationCount.incrementAndGet();
+				}
+			}
+			else if (candidate.referenced && secondChances-- > 0) {
+				candidate.referenced = false;
+				this.evictionQueue.offer(candidate);
+				this.evictionQueueSize.incrementAndGet();
+			}
+			else if (this.store.remove(candidate.key, candidate)) {
+				this.evictionCount.incrementAndGet();
+			}
+		}
+	}
+
+	private void purgeStaleQueueEntries() {
+		for (Iterator<Entry> it = this.evictionQueue.iterator(); it.hasNext();) {
+			Entry entry = it.next();
+			if (this.store.get(entry.key) != entry) {
+				it.remove();
+				this.evictionQueueSize.decrementAndGet();
+			}
+		}
+	}
+
+
+	/**
+	 * Holder for a cached value, tracking its expiration time and recent use.
+	 * Value and expiration time never change: updates replace the entry.
+	 */
+	private static final class Entry {
+
+		final Object key;
+
+		final Object value;
+
+		final long expiresAt;
+
+		volatile boolean referenced;
+
+		Entry(Object key, Object value, long expiresAt) {
+			this.key = key;
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+
+		boolean isExpired(long now) {
+			long expiresAt = this.expiresAt;
+			return (expiresAt != 0 && now - expiresAt >= 0);
+		}
+	}
+
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.util.Assert;
+
+/**
+ * {@link CacheManager} implementation that lazily builds {@link ConcurrentMapCache}
+ * instances for each {@link #getCache} request. Also supports a 'static' mode where
+ * the set of cache names is pre-defined through {@link #setCacheNames}, with no
+ * dynamic creation of further cache regions at runtime.
+ *
+ * <p>If a {@link #setMaximumSize maximum size} or a {@link #setTimeToLive time-to-live}
+ * is configured, {@link BoundedConcurrentCache} instances are built instead.
+ *
+ * @see ConcurrentMapCache
+ * @see BoundedConcurrentCache
+ */
+public class ConcurrentMapCacheManager implements CacheManager {
+
+	private final ConcurrentMap<String, Cache> cacheMap = new ConcurrentHashMap<String, Cache>(16);
+
+	private boolean dynamic = true;
+
+	private boolean allowNullValues = true;
+
+	private int maximumSize = 0;
+
+	private long timeToLive = 0;
+
+
+	/**
+	 * Construct a dynamic ConcurrentMapCacheManager,
+	 * lazily creating cache instances as they are being requested.
+	 */
+	public ConcurrentMapCacheManager() {
+	}
+
+	/**
+	 * Construct a static ConcurrentMapCacheManager,
+	 * managing caches for the specified cache names only.
+	 */
+	public ConcurrentMapCacheManager(String... cacheNames) {
+		setCacheNames(Arrays.asList(cacheNames));
+	}
+
+
+	/**
+	 * Specify the set of cache names for this CacheManager's 'static' mode.
+	 * <p>The number of caches and their names will be fixed after a call to this method,
+	 * with no creation of further cache regions at runtime.
+	 * <p>Calling this with a {@code null} collection argument resets the
+	 * mode to 'dynamic', allowing for further creation of caches again.
+	 */
+	public void setCacheNames(Collection<String> cacheNames) {
+		if (cacheNames != null) {
+			for (String name : cacheNames) {
+				this.cacheMap.put(name, createCache(name));
+			}
+			this.dynamic = false;
+		}
+		else {
+			this.dynamic = true;
+		}
+	}
+
+	/**
+	 * Specify whether to accept and convert {@code null} values for all caches
+	 * in this cache manager.
+	 * <p>Default is "true", despite ConcurrentHashMap itself not supporting {@code null}
+	 * values. An internal holder object will be used to store user-level {@code null}s.
+	 * <p>Note: A change of the null-value setting will reset all existing caches,
+	 * if any, to reconfigure them with the new null-value requirement.
+	 */
+	public void setAllowNullValues(boolean allowNullValues) {
+		if (allowNullValues != this.allowNullValues) {
+			this.allowNullValues = allowNullValues;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return whether this cache manager accepts and converts {@code null} values
+	 * for all of its caches.
+	 */
+	public boolean isAllowNullValues() {
+		return this.allowNullValues;
+	}
+
+	/**
+	 * Specify the maximum number of entries per cache.
+	 * <p>Default is 0, i.e. unbounded caches.
+	 * <p>Note: A change of this setting will reset all existing caches, if any.
+	 * @see BoundedConcurrentCache
+	 */
+	public void setMaximumSize(int maximumSize) {
+		Assert.isTrue(maximumSize >= 0, "Maximum size must not be negative");
+		if (maximumSize != this.maximumSize) {
+			this.maximumSize = maximumSize;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return the maximum number of entries per cache (0 if unbounded).
+	 */
+	public int getMaximumSize() {
+		return this.maximumSize;
+	}
+
+	/**
+	 * Specify the time-to-live of cache entries in milliseconds,
+	 * counted from the last time their value was set.
+	 * <p>Default is 0, i.e. entries do not expire.
+	 * <p>Note: A change of this setting will reset all existing caches, if any.
+	 * @see BoundedConcurrentCache
+	 */
+	public void setTimeToLive(long timeToLive) {
+		Assert.isTrue(timeToLive >= 0, "Time-to-live must not be negative");
+		if (timeToLive != this.timeToLive) {
+			this.timeToLive = timeToLive;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return the time-to-live of cache entries in milliseconds (0 if none).
+	 */
+	public long getTimeToLive() {
+		return this.timeToLive;
+	}
+
+
+	@Override
+	public Collection<String> getCacheNames() {
+		return Collections.unmodifiableSet(this.cacheMap.keySet());
+	}
+
+	@Override
+	public Cache getCache(String name) {
+		Cache cache = this.cacheMap.get(name);
+		if (cache == null && this.dynamic) {
+			synchronized (this.cacheMap) {
+				cache = this.cacheMap.get(name);
+				if (cache == null) {
+					cache = createCache(name);
+					this.cacheMap.put(name, cache);
+				}
+			}
+		}
+		return cache;
+	}
+
+	private void recreateCaches() {
+		for (Map.Entry<String, Cache> entry : this.cacheMap.entrySet()) {
+			entry.setValue(createCache(entry.getKey()));
+		}
+	}
+
+	/**
+	 * Create a new Cache instance for the specified cache name.
+	 * @param name the name of the cache
+	 * @return the cache: a {@link BoundedConcurrentCache} if a maximum size or
+	 * time-to-live has been configured, a {@link ConcurrentMapCache} otherwise
+	 */
+	protected Cache createCache(String name) {
+		if (this.maximumSize > 0 || this.timeToLive > 0) {
+			return new BoundedConcurrentCache(name, this.maximumSize, this.timeToLive, isAllowNullValues());
+		}
+		return new ConcurrentMapCache(name, isAllowNullValues());
+	}
+
+}
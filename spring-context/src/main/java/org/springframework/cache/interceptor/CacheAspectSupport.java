@@ -0,0 +1,416 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.expression.AnnotatedElementKey;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Base class for caching aspects, such as the {@link CacheInterceptor}
+ * or an AspectJ aspect.
+ *
+ * <p>Subclasses are responsible for calling methods in this class in
+ * the correct order.
+ *
+ * <p>Uses the <b>Strategy</b> design pattern. A {@link CacheOperationSource} is
+ * used for determining caching operations, a {@link KeyGenerator} will build the
+ * cache keys, and a {@link CacheManager} provides the actual caches. If no
+ * CacheManager has been set, the unique CacheManager bean of the containing
+ * {@link BeanFactory} is used, as retrieved on first invocation.
+ *
+ * <p>A cache aspect is serializable if its {@code CacheManager} and
+ * {@code CacheOperationSource} are serializable.
+ */
+public abstract class CacheAspectSupport implements BeanFactoryAware, InitializingBean {
+
+	protected final Log logger = LogFactory.getLog(getClass());
+
+	private final Map<CacheOperation, Collection<Cache>> operationCaches =
+			new ConcurrentHashMap<CacheOperation, Collection<Cache>>(64);
+
+	private CacheOperationSource cacheOperationSource;
+
+	private KeyGenerator keyGenerator = new SimpleKeyGenerator();
+
+	private volatile CacheManager cacheManager;
+
+	private CacheOperationExpressionEvaluator evaluator =
+			new CacheOperationExpressionEvaluator(ClassUtils.getDefaultClassLoader());
+
+	private BeanFactory beanFactory;
+
+
+	/**
+	 * Set the CacheOperationSource for this cache aspect.
+	 */
+	public void setCacheOperationSource(CacheOperationSource cacheOperationSource) {
+		this.cacheOperationSource = cacheOperationSource;
+	}
+
+	/**
+	 * Return the CacheOperationSource for this cache aspect.
+	 */
+	public CacheOperationSource getCacheOperationSource() {
+		return this.cacheOperationSource;
+	}
+
+	/**
+	 * Set the default {@link KeyGenerator} that this cache aspect should delegate to
+	 * if no specific key expression has been set for the operation.
+	 * <p>The default is a {@link SimpleKeyGenerator}.
+	 */
+	public void setKeyGenerator(KeyGenerator keyGenerator) {
+		Assert.notNull(keyGenerator, "KeyGenerator must not be null");
+		this.keyGenerator = keyGenerator;
+	}
+
+	/**
+	 * Return the default {@link KeyGenerator} that this cache aspect delegates to.
+	 */
+	public KeyGenerator getKeyGenerator() {
+		return this.keyGenerator;
+	}
+
+	/**
+	 * Set the {@link CacheManager} to use to lookup caches by name.
+	 * <p>If not set, the CacheManager bean of the containing BeanFactory is used.
+	 */
+	public void setCacheManager(CacheManager cacheManager) {
+		this.cacheManager = cacheManager;
+	}
+
+	/**
+	 * Return the CacheManager to use, retrieving it from the BeanFactory if necessary.
+	 */
+	public CacheManager getCacheManager() {
+		CacheManager cacheManager = this.cacheManager;
+		if (cacheManager == null) {
+			Assert.state(this.beanFactory != null,
+					"No CacheManager set and no BeanFactory available to retrieve one from");
+			cacheManager = this.beanFactory.getBean(CacheManager.class);
+			this.cacheManager = cacheManager;
+		}
+		return cacheManager;
+	}
+
+	/**
+	 * Set the containing {@link BeanFactory}, used for retrieving the default
+	 * {@link CacheManager} and for resolving bean references in expressions.
+	 */
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) {
+		this.beanFactory = beanFactory;
+		if (beanFactory instanceof ConfigurableBeanFactory) {
+			this.evaluator = new CacheOperationExpressionEvaluator(
+					((ConfigurableBeanFactory) beanFactory).getBeanClassLoader());
+		}
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		Assert.state(getCacheOperationSource() != null, "The 'cacheOperationSources' property is required: " +
+				"If there are no cacheable methods, then don't use a cache aspect.");
+	}
+
+
+	/**
+	 * Execute the given invocation, applying the cache operations defined for
+	 * the given method (if any).
+	 * @param invoker the invoker for the target method
+	 * @param target the target instance
+	 * @param method the method being invoked
+	 * @param args the method arguments
+	 * @return the (possibly cached) result of the invocation
+	 */
+	protected Object execute(CacheOperationInvoker invoker, Object target, Method method, Object[] args) {
+		Class<?> targetClass = getTargetClass(target);
+		CacheOperationSource source = getCacheOperationSource();
+		if (source != null) {
+			Collection<CacheOperation> operations = source.getCacheOperations(method, targetClass);
+			if (!CollectionUtils.isEmpty(operations)) {
+				return execute(invoker, operations, new AnnotatedElementKey(method, targetClass),
+						target, targetClass, method, args);
+			}
+		}
+		return invoker.invoke();
+	}
+
+	private Object execute(final CacheOperationInvoker invoker, Collection<CacheOperation> operations,
+			AnnotatedElementKey methodKey, Object target, Class<?> targetClass, Method method, Object[] args) {
+
+		List<CacheOperationContext> contexts = new ArrayList<CacheOperationContext>(operations.size());
+		for (CacheOperation operation : operations) {
+			contexts.add(new CacheOperationContext(operation, getCaches(operation), methodKey,
+					target, targetClass, method, args));
+		}
+
+		// Special handling of synchronized invocation
+		CacheOperationContext first = contexts.get(0);
+		if (first.operation instanceof CacheableOperation && ((CacheableOperation) first.operation).isSync()) {
+			if (!first.isConditionPassing(CacheOperationExpressionEvaluator.NO_RESULT)) {
+				return invoker.invoke();
+			}
+			Object key = first.generateKey(CacheOperationExpressionEvaluator.NO_RESULT);
+			Cache cache = first.caches.iterator().next();
+			try {
+				return cache.get(key, new Callable<Object>() {
+					@Override
+					public Object call() {
+						return invoker.invoke();
+					}
+				});
+			}
+			catch (Cache.ValueRetrievalException ex) {
+				if (ex.getCause() instanceof CacheOperationInvoker.ThrowableWrapper) {
+					throw (CacheOperationInvoker.ThrowableWrapper) ex.getCause();
+				}
+				throw ex;
+			}
+		}
+
+		// Process any early evictions
+		processCacheEvicts(contexts, true, CacheOperationExpressionEvaluator.NO_RESULT);
+
+		// Check if we have a cached item matching the conditions
+		Cache.ValueWrapper cacheHit = null;
+		boolean hasCachePut = false;
+		List<CachePutRequest> cachePutRequests = new ArrayList<CachePutRequest>(1);
+		for (CacheOperationContext context : contexts) {
+			if (context.operation instanceof CacheableOperation) {
+				if (context.isConditionPassing(CacheOperationExpressionEvaluator.NO_RESULT)) {
+					Object key = context.generateKey(CacheOperationExpressionEvaluator.NO_RESULT);
+					if (cacheHit == null) {
+						cacheHit = findInCaches(context, key);
+					}
+					cachePutRequests.add(new CachePutRequest(context, key));
+				}
+			}
+			else if (context.operation instanceof CachePutOperation) {
+				hasCachePut = true;
+			}
+		}
+
+		Object returnValue;
+		if (cacheHit != null && !hasCachePut) {
+			// If there are no explicit puts, just use the cache hit
+			returnValue = cacheHit.get();
+		}
+		else {
+			// Invoke the method if we don't have a cache hit
+			returnValue = invoker.invoke();
+		}
+		if (cacheHit != null) {
+			// Only a @Cacheable miss leads to storing the result
+			cachePutRequests.clear();
+		}
+
+		// Collect any explicit @CachePuts
+		for (CacheOperationContext context : contexts) {
+			if (context.operation instanceof CachePutOperation && context.isConditionPassing(returnValue)) {
+				cachePutRequests.add(new CachePutRequest(context, context.generateKey(returnValue)));
+			}
+		}
+
+		// Process any collected put requests, either from @CachePut or a @Cacheable miss
+		for (CachePutRequest cachePutRequest : cachePutRequests) {
+			cachePutRequest.apply(returnValue);
+		}
+
+		// Process any late evictions
+		processCacheEvicts(contexts, false, returnValue);
+
+		return returnValue;
+	}
+
+	private Cache.ValueWrapper findInCaches(CacheOperationContext context, Object key) {
+		for (Cache cache : context.caches) {
+			Cache.ValueWrapper wrapper = cache.get(key);
+			if (wrapper != null) {
+				if (logger.isTraceEnabled()) {
+					logger.trace("Cache entry for key '" + key + "' found in cache '" + cache.getName() + "'");
+				}
+				return wrapper;
+			}
+		}
+		return null;
+	}
+
+	private void processCacheEvicts(List<CacheOperationContext> contexts, boolean beforeInvocation, Object result) {
+		for (CacheOperationContext context : contexts) {
+			if (context.operation instanceof CacheEvictOperation) {
+				CacheEvictOperation operation = (CacheEvictOperation) context.operation;
+				if (beforeInvocation == operation.isBeforeInvocation() && context.isConditionPassing(result)) {
+					Object key = null;
+					for (Cache cache : context.caches) {
+						if (operation.isCacheWide()) {
+							cache.clear();
+						}
+						else {
+							if (key == null) {
+								key = context.generateKey(result);
+							}
+							cache.evict(key);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Resolve the caches of the given operation, caching the result per operation.
+	 */
+	private Collection<Cache> getCaches(CacheOperation operation) {
+		Collection<Cache> caches = this.operationCaches.get(operation);
+		if (caches == null) {
+			CacheManager cacheManager = getCacheManager();
+			caches = new ArrayList<Cache>(operation.getCacheNames().size());
+			for (String cacheName : operation.getCacheNames()) {
+				Cache cache = cacheManager.getCache(cacheName);
+				if (cache == null) {
+					throw new IllegalArgumentException("Cannot find cache named '" +
+							cacheName + "' for " + operation);
+				}
+				caches.add(cache);
+			}
+			this.operationCaches.put(operation, caches);
+		}
+		return caches;
+	}
+
+	private Class<?> getTargetClass(Object target) {
+		Class<?> targetClass = AopProxyUtils.ultimateTargetClass(target);
+		if (targetClass == null && target != null) {
+			targetClass = target.getClass();
+		}
+		return targetClass;
+	}
+
+
+	/**
+	 * Runtime state of a single cache operation for the current invocation.
+	 */
+	private class CacheOperationContext {
+
+		private final CacheOperation operation;
+
+		private final Collection<Cache> caches;
+
+		private final AnnotatedElementKey methodKey;
+
+		private final Object target;
+
+		private final Class<?> targetClass;
+
+		private final Method method;
+
+		private final Object[] args;
+
+		public CacheOperationContext(CacheOperation operation, Collection<Cache> caches,
+				AnnotatedElementKey methodKey, Object target, Class<?> targetClass, Method method, Object[] args) {
+
+			this.operation = operation;
+			this.caches = caches;
+			this.methodKey = methodKey;
+			this.target = target;
+			this.targetClass = targetClass;
+			this.method = method;
+			this.args = args;
+		}
+
+		public boolean isConditionPassing(Object result) {
+			if (!StringUtils.hasText(this.operation.getCondition())) {
+				return true;
+			}
+			return evaluator.condition(this.operation.getCondition(), this.methodKey,
+					createEvaluationContext(result));
+		}
+
+		public boolean canPutToCache(Object value) {
+			String unless = null;
+			if (this.operation instanceof CacheableOperation) {
+				unless = ((CacheableOperation) this.operation).getUnless();
+			}
+			else if (this.operation instanceof CachePutOperation) {
+				unless = ((CachePutOperation) this.operation).getUnless();
+			}
+			if (StringUtils.hasText(unless)) {
+				return !evaluator.unless(unless, this.methodKey, createEvaluationContext(value));
+			}
+			return true;
+		}
+
+		/**
+		 * Compute the key for the given caching operation.
+		 */
+		public Object generateKey(Object result) {
+			if (StringUtils.hasText(this.operation.getKey())) {
+				return evaluator.key(this.operation.getKey(), this.methodKey, createEvaluationContext(result));
+			}
+			return keyGenerator.generate(this.target, this.method, this.args);
+		}
+
+		private EvaluationContext createEvaluationContext(Object result) {
+			return evaluator.createEvaluationContext(this.caches, this.method, this.args,
+					this.target, this.targetClass, result, beanFactory);
+		}
+	}
+
+
+	private static class CachePutRequest {
+
+		private final CacheOperationContext context;
+
+		private final Object key;
+
+		public CachePutRequest(CacheOperationContext context, Object key) {
+			this.context = context;
+			this.key = key;
+		}
+
+		public void apply(Object result) {
+			if (this.context.canPutToCache(result)) {
+				for (Cache cache : this.context.caches) {
+					cache.put(this.key, result);
+				}
+			}
+		}
+	}
+
+}
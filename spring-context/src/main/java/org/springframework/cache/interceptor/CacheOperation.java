@@ -0,0 +1,106 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.springframework.util.Assert;
+
+/**
+ * Base class for cache operations.
+ */
+public abstract class CacheOperation {
+
+	private String name = "";
+
+	private Set<String> cacheNames = Collections.emptySet();
+
+	private String key = "";
+
+	private String condition = "";
+
+
+	public void setName(String name) {
+		Assert.hasText(name, "Name must not be empty");
+		this.name = name;
+	}
+
+	public String getName() {
+		return this.name;
+	}
+
+	public void setCacheName(String cacheName) {
+		Assert.hasText(cacheName, "Cache name must not be empty");
+		this.cacheNames = Collections.singleton(cacheName);
+	}
+
+	public void setCacheNames(String... cacheNames) {
+		this.cacheNames = new LinkedHashSet<String>(cacheNames.length);
+		for (String cacheName : cacheNames) {
+			Assert.hasText(cacheName, "Cache name must be non-null if specified");
+			this.cacheNames.add(cacheName);
+		}
+	}
+
+	public Set<String> getCacheNames() {
+		return this.cacheNames;
+	}
+
+	public void setKey(String key) {
+		Assert.notNull(key, "Key must not be null");
+		this.key = key;
+	}
+
+	public String getKey() {
+		return this.key;
+	}
+
+	public void setCondition(String condition) {
+		Assert.notNull(condition, "Condition must not be null");
+		this.condition = condition;
+	}
+
+	public String getCondition() {
+		return this.condition;
+	}
+
+
+	/**
+	 * Return an identifying description for this cache operation.
+	 * <p>Has to be overridden in subclasses for appropriate content.
+	 */
+	@Override
+	public String toString() {
+		return getOperationDescription().toString();
+	}
+
+	/**
+	 * Return an identifying description for this caching operation.
+	 * <p>Available to subclasses, for inclusion in their {@code toString()} result.
+	 */
+	protected StringBuilder getOperationDescription() {
+		StringBuilder result = new StringBuilder(getClass().getSimpleName());
+		result.append("[").append(this.name);
+		result.append("] caches=").append(this.cacheNames);
+		result.append(" | key='").append(this.key);
+		result.append("' | condition='").append(this.condition).append("'");
+		return result;
+	}
+
+}
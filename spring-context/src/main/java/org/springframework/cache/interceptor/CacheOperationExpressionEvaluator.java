@@ -0,0 +1,135 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.cache.Cache;
+import org.springframework.context.expression.AnnotatedElementKey;
+import org.springframework.context.expression.BeanFactoryResolver;
+import org.springframework.context.expression.CachedExpressionEvaluator;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+/**
+ * Utility class handling the SpEL expression parsing for cache operations.
+ *
+ * <p>Expressions are parsed once per annotated method and parsed in
+ * {@link SpelCompilerMode#MIXED mixed} compiler mode: after a number of
+ * interpreted evaluations they get compiled to bytecode, reverting to
+ * interpretation whenever the compiled form cannot handle the given input.
+ */
+class CacheOperationExpressionEvaluator extends CachedExpressionEvaluator {
+
+	/**
+	 * Indicate that there is no result variable.
+	 */
+	public static final Object NO_RESULT = new Object();
+
+	/**
+	 * The name of the variable holding the result object.
+	 */
+	public static final String RESULT_VARIABLE = "result";
+
+
+	// shared param discoverer since it caches data internally
+	private final ParameterNameDiscoverer paramNameDiscoverer = new DefaultParameterNameDiscoverer();
+
+	private final Map<ExpressionKey, Expression> keyCache = new ConcurrentHashMap<ExpressionKey, Expression>(64);
+
+	private final Map<ExpressionKey, Expression> conditionCache = new ConcurrentHashMap<ExpressionKey, Expression>(64);
+
+	private final Map<ExpressionKey, Expression> unlessCache = new ConcurrentHashMap<ExpressionKey, Expression>(64);
+
+	private final Map<AnnotatedElementKey, Method> targetMethodCache =
+			new ConcurrentHashMap<AnnotatedElementKey, Method>(64);
+
+
+	public CacheOperationExpressionEvaluator(ClassLoader classLoader) {
+		super(new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.MIXED, classLoader)));
+	}
+
+
+	/**
+	 * Create an {@link EvaluationContext}.
+	 * @param caches the current caches
+	 * @param method the method
+	 * @param args the method arguments
+	 * @param target the target object
+	 * @param targetClass the target class
+	 * @param result the return value (can be {@code null}) or
+	 * {@link #NO_RESULT} if there is no return at this time
+	 * @param beanFactory the bean factory to resolve bean references against (may be {@code null})
+	 * @return the evaluation context
+	 */
+	public EvaluationContext createEvaluationContext(Collection<? extends Cache> caches,
+			Method method, Object[] args, Object target, Class<?> targetClass, Object result,
+			BeanFactory beanFactory) {
+
+		CacheExpressionRootObject rootObject = new CacheExpressionRootObject(
+				caches, method, args, target, targetClass);
+		Method targetMethod = getTargetMethod(targetClass, method);
+		MethodBasedEvaluationContext evaluationContext = new MethodBasedEvaluationContext(
+				rootObject, targetMethod, args, this.paramNameDiscoverer);
+		if (result != NO_RESULT) {
+			evaluationContext.setVariable(RESULT_VARIABLE, result);
+		}
+		if (beanFactory != null) {
+			evaluationContext.setBeanResolver(new BeanFactoryResolver(beanFactory));
+		}
+		return evaluationContext;
+	}
+
+	public Object key(String keyExpression, AnnotatedElementKey methodKey, EvaluationContext evalContext) {
+		return getExpression(this.keyCache, methodKey, keyExpression).getValue(evalContext);
+	}
+
+	public boolean condition(String conditionExpression, AnnotatedElementKey methodKey, EvaluationContext evalContext) {
+		return Boolean.TRUE.equals(getExpression(this.conditionCache, methodKey, conditionExpression).getValue(
+				evalContext, Boolean.class));
+	}
+
+	public boolean unless(String unlessExpression, AnnotatedElementKey methodKey, EvaluationContext evalContext) {
+		return Boolean.TRUE.equals(getExpression(this.unlessCache, methodKey, unlessExpression).getValue(
+				evalContext, Boolean.class));
+	}
+
+	private Method getTargetMethod(Class<?> targetClass, Method method) {
+		AnnotatedElementKey methodKey = new AnnotatedElementKey(method, targetClass);
+		Method targetMethod = this.targetMethodCache.get(methodKey);
+		if (targetMethod == null) {
+			targetMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+			if (targetMethod == null) {
+				targetMethod = method;
+			}
+			this.targetMethodCache.put(methodKey, targetMethod);
+		}
+		return targetMethod;
+	}
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+/**
+ * Abstract the invocation of a cache operation.
+ *
+ * <p>Does not provide a way to transmit checked exceptions but
+ * provide a special exception that should be used to wrap any
+ * exception that was thrown by the underlying invocation.
+ * Callers are expected to handle this issue type specifically.
+ */
+public interface CacheOperationInvoker {
+
+	/**
+	 * Invoke the cache operation defined by this instance. Wraps any exception
+	 * that is thrown during the invocation in a {@link ThrowableWrapper}.
+	 * @return the result of the operation
+	 * @throws ThrowableWrapper if an error occurred while invoking the operation
+	 */
+	Object invoke() throws ThrowableWrapper;
+
+
+	/**
+	 * Wrap any exception thrown while invoking {@link #invoke()}.
+	 */
+	@SuppressWarnings("serial")
+	class ThrowableWrapper extends RuntimeException {
+
+		private final Throwable original;
+
+		public ThrowableWrapper(Throwable original) {
+			super(original.getMessage(), original);
+			this.original = original;
+		}
+
+		public Throwable getOriginal() {
+			return this.original;
+		}
+	}
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.lang.reflect.Method;
+
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * A Pointcut that matches if the underlying {@link CacheOperationSource}
+ * has an attribute for a given method.
+ */
+public class CacheOperationSourcePointcut extends StaticMethodMatcherPointcut {
+
+	private final CacheOperationSource cacheOperationSource;
+
+
+	/**
+	 * Create a new pointcut for the given CacheOperationSource.
+	 */
+	public CacheOperationSourcePointcut(CacheOperationSource cacheOperationSource) {
+		Assert.notNull(cacheOperationSource, "CacheOperationSource must not be null");
+		this.cacheOperationSource = cacheOperationSource;
+	}
+
+
+	@Override
+	public boolean matches(Method method, Class<?> targetClass) {
+		return !CollectionUtils.isEmpty(this.cacheOperationSource.getCacheOperations(method, targetClass));
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof CacheOperationSourcePointcut)) {
+			return false;
+		}
+		CacheOperationSourcePointcut otherPc = (CacheOperationSourcePointcut) other;
+		return ObjectUtils.nullSafeEquals(this.cacheOperationSource, otherPc.cacheOperationSource);
+	}
+
+	@Override
+	public int hashCode() {
+		return CacheOperationSourcePointcut.class.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getName() + ": " + this.cacheOperationSource;
+	}
+
+}
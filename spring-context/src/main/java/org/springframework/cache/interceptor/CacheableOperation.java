@@ -0,0 +1,54 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+/**
+ * Class describing a cache 'cacheable' operation.
+ */
+public class CacheableOperation extends CacheOperation {
+
+	private String unless = "";
+
+	private boolean sync;
+
+
+	public void setUnless(String unless) {
+		this.unless = unless;
+	}
+
+	public String getUnless() {
+		return this.unless;
+	}
+
+	public void setSync(boolean sync) {
+		this.sync = sync;
+	}
+
+	public boolean isSync() {
+		return this.sync;
+	}
+
+
+	@Override
+	protected StringBuilder getOperationDescription() {
+		StringBuilder sb = super.getOperationDescription();
+		sb.append(" | unless='").append(this.unless).append("'");
+		sb.append(" | sync='").append(this.sync).append("'");
+		return sb;
+	}
+
+}
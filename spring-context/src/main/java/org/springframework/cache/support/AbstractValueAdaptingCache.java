@@ -0,0 +1,191 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.springframework.cache.Cache;
+
+/**
+ * Common base class for {@link Cache} implementations that need to adapt
+ * {@code null} values (and potentially other such special values) before
+ * passing them on to the underlying store.
+ *
+ * <p>Transparently replaces given {@code null} user values with an internal
+ * {@link NullValue#INSTANCE}, if configured to support {@code null} values
+ * (as indicated by {@link #isAllowNullValues()}.
+ *
+ * <p>Also implements {@link #get(Object, Callable)} on top of {@link #lookup}
+ * and {@link #put}: concurrent misses on the same key share a single
+ * invocation of the value loader.
+ */
+public abstract class AbstractValueAdaptingCache implements Cache {
+
+	private final boolean allowNullValues;
+
+	private final ConcurrentMap<Object, FutureTask<Object>> valueLoads =
+			new ConcurrentHashMap<Object, FutureTask<Object>>(16);
+
+
+	/**
+	 * Create an {@code AbstractValueAdaptingCache} with the given setting.
+	 * @param allowNullValues whether to allow for {@code null} values
+	 */
+	protected AbstractValueAdaptingCache(boolean allowNullValues) {
+		this.allowNullValues = allowNullValues;
+	}
+
+
+	/**
+	 * Return whether {@code null} values are allowed in this cache.
+	 */
+	public final boolean isAllowNullValues() {
+		return this.allowNullValues;
+	}
+
+	@Override
+	public ValueWrapper get(Object key) {
+		Object value = lookup(key);
+		return toValueWrapper(value);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Class<T> type) {
+		Object value = fromStoreValue(lookup(key));
+		if (value != null && type != null && !type.isInstance(value)) {
+			throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+		}
+		return (T) value;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		Object storeValue = lookup(key);
+		if (storeValue != null) {
+			return (T) fromStoreValue(storeValue);
+		}
+		return (T) loadValue(key, valueLoader);
+	}
+
+	/**
+	 * Invoke the given loader for the given key, unless a load for the same key
+	 * is already in progress, in which case its result is awaited instead.
+	 */
+	private Object loadValue(final Object key, final Callable<?> valueLoader) {
+		FutureTask<Object> load = new FutureTask<Object>(new Callable<Object>() {
+			@Override
+			public Object call() throws Exception {
+				// Another load may have completed between our miss and taking over the load
+				Object storeValue = peek(key);
+				if (storeValue != null) {
+					return fromStoreValue(storeValue);
+				}
+				Object value = valueLoader.call();
+				put(key, value);
+				return value;
+			}
+		});
+		FutureTask<Object> existingLoad = this.valueLoads.putIfAbsent(key, load);
+		if (existingLoad == null) {
+			try {
+				load.run();
+			}
+			finally {
+				this.valueLoads.remove(key, load);
+			}
+			existingLoad = load;
+		}
+		try {
+			return existingLoad.get();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new ValueRetrievalException(key, valueLoader, ex);
+		}
+		catch (ExecutionException ex) {
+			throw new ValueRetrievalException(key, valueLoader, ex.getCause());
+		}
+	}
+
+	/**
+	 * Perform an actual lookup in the underlying store.
+	 * @param key the key whose associated value is to be returned
+	 * @return the raw store value for the key, or {@code null} if none
+	 */
+	protected abstract Object lookup(Object key);
+
+	/**
+	 * Perform a lookup in the underlying store like {@link #lookup}, but without
+	 * recording it in any usage statistics: used to re-check for a value after a
+	 * miss that {@code lookup} has already recorded.
+	 * <p>The default implementation delegates to {@link #lookup}.
+	 * @param key the key whose associated value is to be returned
+	 * @return the raw store value for the key, or {@code null} if none
+	 */
+	protected Object peek(Object key) {
+		return lookup(key);
+	}
+
+
+	/**
+	 * Convert the given value from the internal store to a user value
+	 * returned from the get method (adapting {@code null}).
+	 * @param storeValue the store value
+	 * @return the value to return to the user
+	 */
+	protected Object fromStoreValue(Object storeValue) {
+		if (this.allowNullValues && storeValue == NullValue.INSTANCE) {
+			return null;
+		}
+		return storeValue;
+	}
+
+	/**
+	 * Convert the given user value, as passed into the put method,
+	 * to a value in the internal store (adapting {@code null}).
+	 * @param userValue the given user value
+	 * @return the value to store
+	 */
+	protected Object toStoreValue(Object userValue) {
+		if (userValue == null) {
+			if (this.allowNullValues) {
+				return NullValue.INSTANCE;
+			}
+			throw new IllegalArgumentException(
+					"Cache '" + getName() + "' is configured to not allow null values but null was provided");
+		}
+		return userValue;
+	}
+
+	/**
+	 * Wrap the given store value with a {@link SimpleValueWrapper}, also going
+	 * through {@link #fromStoreValue} conversion. Useful for {@link #get(Object)}
+	 * and {@link #putIfAbsent(Object, Object)} implementations.
+	 * @param storeValue the original value
+	 * @return the wrapped value
+	 */
+	protected Cache.ValueWrapper toValueWrapper(Object storeValue) {
+		return (storeValue != null ? new SimpleValueWrapper(fromStoreValue(storeValue)) : null);
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+/**
+ * Immutable snapshot of the usage statistics of a cache.
+ *
+ * @see org.springframework.cache.concurrent.BoundedConcurrentCache#getStatistics()
+ */
+public final class CacheStatistics {
+
+	private final long hitCount;
+
+	private final long missCount;
+
+	private final long putCount;
+
+	private final long evictionCount;
+
+	private final long expirationCount;
+
+	private final int size;
+
+
+	public CacheStatistics(long hitCount, long missCount, long putCount,
+			long evictionCount, long expirationCount, int size) {
+
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.putCount = putCount;
+		this.evictionCount = evictionCount;
+		this.expirationCount = expirationCount;
+		this.size = size;
+	}
+
+
+	/**
+	 * Return the number of lookups which found a live entry.
+	 */
+	public long getHitCount() {
+		return this.hitCount;
+	}
+
+	/**
+	 * Return the number of lookups which found no (or only an expired) entry.
+	 */
+	public long getMissCount() {
+		return this.missCount;
+	}
+
+	/**
+	 * Return the ratio of hits to all lookups, or {@code 1.0} if there were no lookups.
+	 */
+	public double getHitRatio() {
+		long lookups = this.hitCount + this.missCount;
+		return (lookups == 0 ? 1.0 : (double) this.hitCount / lookups);
+	}
+
+	/**
+	 * Return the number of values stored in the cache.
+	 */
+	public long getPutCount() {
+		return this.putCount;
+	}
+
+	/**
+	 * Return the number of entries removed in order to respect the maximum size.
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount;
+	}
+
+	/**
+	 * Return the number of entries removed since their time-to-live had elapsed.
+	 */
+	public long getExpirationCount() {
+		return this.expirationCount;
+	}
+
+	/**
+	 * Return the number of entries in the cache at the time of the snapshot.
+	 */
+	public int getSize() {
+		return this.size;
+	}
+
+
+	@Override
+	public String toString() {
+		return "CacheStatistics [hits=" + this.hitCount + ", misses=" + this.missCount +
+				", puts=" + this.putCount + ", evictions=" + this.evictionCount +
+				", expirations=" + this.expirationCount + ", size=" + this.size + "]";
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2013 the original author or authors.
+ * Copyright 2002-2015 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,10 +18,13 @@ package org.springframework.context.annotation;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
 
 import org.springframework.aop.TargetSource;
 import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.beans.factory.annotation.QualifierAnnotationAutowireCandidateResolver;
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.DependencyDescriptor;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.core.MethodParameter;
@@ -34,14 +37,50 @@ import org.springframework.util.Assert;
  * interface, providing support for qualifier annotations as well as for lazy resolution
  * driven by the {@link Lazy} annotation in the {@code context.annotation} package.
  *
+ * <p>With {@link #setLazyResolutionByDefault "lazyResolutionByDefault"} switched on,
+ * injection points are also resolved lazily without {@code @Lazy} where this avoids
+ * creating a lazy-init bean early: see {@link #isLazyResolutionCandidate}.
+ *
  * @author Juergen Hoeller
  * @since 4.0
  */
 public class ContextAnnotationAutowireCandidateResolver extends QualifierAnnotationAutowireCandidateResolver {
 
+	private boolean lazyResolutionByDefault = false;
+
+
+	/**
+	 * Set whether to inject a lazy resolution proxy for every interface-typed
+	 * dependency on a lazy-init bean which has not been created yet, even without
+	 * a {@link Lazy} annotation. The target bean will then only be created on the
+	 * first invocation of the proxy.
+	 * <p>Default is "false".
+	 * @see LazyInitializationBeanFactoryPostProcessor
+	 */
+	public void setLazyResolutionByDefault(boolean lazyResolutionByDefault) {
+		this.lazyResolutionByDefault = lazyResolutionByDefault;
+	}
+
+	/**
+	 * Return whether dependencies on lazy-init beans are resolved lazily by default.
+	 */
+	public boolean isLazyResolutionByDefault() {
+		return this.lazyResolutionByDefault;
+	}
+
+
 	@Override
 	public Object getLazyResolutionProxyIfNecessary(DependencyDescriptor descriptor, String beanName) {
-		return (isLazy(descriptor) ? buildLazyResolutionProxy(descriptor, beanName) : null);
+		if (isLazy(descriptor)) {
+			return buildLazyResolutionProxy(descriptor, beanName);
+		}
+		if (this.lazyResolutionByDefault) {
+			String candidateName = getLazyResolutionCandidate(descriptor, beanName);
+			if (candidateName != null) {
+				return buildLazyResolutionProxy(descriptor, candidateName, beanName);
+			}
+		}
+		return null;
 	}
 
 	protected boolean isLazy(DependencyDescriptor descriptor) {
@@ -94,4 +133,82 @@ public class ContextAnnotationAutowireCandidateResolver extends QualifierAnnotat
 		return pf.getProxy(beanFactory.getBeanClassLoader());
 	}
 
+	/**
+	 * Determine the bean to resolve the given dependency to lazily by default:
+	 * the single autowire candidate for a required, interface-typed dependency
+	 * without {@code @Value}, provided that it is a lazy-init singleton which has
+	 * not been created yet. Otherwise, the dependency is resolved right away.
+	 * @param descriptor the descriptor for the target method parameter or field
+	 * @param beanName the name of the bean that contains the injection point
+	 * @return the name of the bean to resolve to lazily, or {@code null} if none
+	 */
+	protected String getLazyResolutionCandidate(DependencyDescriptor descriptor, String beanName) {
+		Class<?> dependencyType = descriptor.getDependencyType();
+		if (!descriptor.isRequired() || !dependencyType.isInterface() ||
+				Collection.class.isAssignableFrom(dependencyType) || Map.class.isAssignableFrom(dependencyType) ||
+				!(getBeanFactory() instanceof DefaultListableBeanFactory) || getSuggestedValue(descriptor) != null) {
+			return null;
+		}
+		DefaultListableBeanFactory beanFactory = (DefaultListableBeanFactory) getBeanFactory();
+		String candidateName = null;
+		for (String name : beanFactory.getBeanNamesForType(dependencyType, true, false)) {
+			if (!name.equals(beanName) && beanFactory.isAutowireCandidate(name, descriptor)) {
+				if (candidateName != null) {
+					// Leave the choice among several candidates to regular resolution
+					return null;
+				}
+				candidateName = name;
+			}
+		}
+		if (candidateName == null || beanFactory.containsSingleton(candidateName) ||
+				!beanFactory.containsBeanDefinition(candidateName)) {
+			return null;
+		}
+		BeanDefinition bd = beanFactory.getMergedBeanDefinition(candidateName);
+		return (bd.isSingleton() && bd.isLazyInit() ? candidateName : null);
+	}
+
+	/**
+	 * Build a proxy which obtains the given singleton bean on first invocation
+	 * and keeps using it from then on.
+	 * @param descriptor the descriptor for the target method parameter or field
+	 * @param targetBeanName the name of the bean to resolve to
+	 * @param beanName the name of the bean that contains the injection point
+	 */
+	protected Object buildLazyResolutionProxy(final DependencyDescriptor descriptor, final String targetBeanName,
+			final String beanName) {
+
+		final DefaultListableBeanFactory beanFactory = (DefaultListableBeanFactory) getBeanFactory();
+		TargetSource ts = new TargetSource() {
+			private volatile Object target;
+			@Override
+			public Class<?> getTargetClass() {
+				return descriptor.getDependencyType();
+			}
+			@Override
+			public boolean isStatic() {
+				return false;
+			}
+			@Override
+			public Object getTarget() {
+				Object target = this.target;
+				if (target == null) {
+					target = beanFactory.getBean(targetBeanName, descriptor.getDependencyType());
+					if (beanName != null) {
+						beanFactory.registerDependentBean(targetBeanName, beanName);
+					}
+					this.target = target;
+				}
+				return target;
+			}
+			@Override
+			public void releaseTarget(Object target) {
+			}
+		};
+		ProxyFactory pf = new ProxyFactory();
+		pf.setTargetSource(ts);
+		pf.addInterface(descriptor.getDependencyType());
+		return pf.getProxy(beanFactory.getBeanClassLoader());
+	}
+
 }
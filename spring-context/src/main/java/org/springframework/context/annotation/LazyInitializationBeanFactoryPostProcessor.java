@@ -0,0 +1,147 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.AutowireCandidateResolver;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.Ordered;
+
+/**
+ * {@link BeanFactoryPostProcessor} that switches a bean factory to lazy
+ * initialization: every singleton bean definition is marked as lazy-init,
+ * so that only the beans which are actually requested get created. This can
+ * considerably speed up the startup of command-line tools and test contexts
+ * which only ever use a fraction of their beans.
+ *
+ * <p>Runs after all other post-processors have registered their bean definitions.
+ * Infrastructure beans ({@link BeanDefinition#ROLE_INFRASTRUCTURE}) and
+ * {@link #setExcludedBeanNames excluded beans} keep being initialized eagerly.
+ * Note that an explicit {@code lazy-init="false"} cannot be told apart from
+ * the default; list such beans as excluded.
+ *
+ * <p>Unless {@link #setLazyResolution "lazyResolution"} is switched off, the
+ * {@link ContextAnnotationAutowireCandidateResolver} of the bean factory is
+ * configured to inject lazy resolution proxies for interface-typed dependencies
+ * on beans that have not been created yet, so that creating one bean does not
+ * create its entire dependency graph up front.
+ *
+ * <pre class="code">
+ * AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
+ * ctx.register(AppConfig.class);
+ * ctx.addBeanFactoryPostProcessor(new LazyInitializationBeanFactoryPostProcessor());
+ * ctx.refresh();</pre>
+ *
+ * @see BeanDefinition#setLazyInit
+ * @see ContextAnnotationAutowireCandidateResolver#setLazyResolutionByDefault
+ */
+public class LazyInitializationBeanFactoryPostProcessor implements BeanFactoryPostProcessor, Ordered {
+
+	private static final Log logger = LogFactory.getLog(LazyInitializationBeanFactoryPostProcessor.class);
+
+	private Set<String> excludedBeanNames = Collections.emptySet();
+
+	private boolean lazyResolution = true;
+
+	private ConfigurableListableBeanFactory beanFactory;
+
+	private final List<String> lazyBeanNames = new ArrayList<String>();
+
+
+	/**
+	 * Specify beans to initialize eagerly nevertheless, e.g. beans
+	 * that need to start background work or register themselves somewhere.
+	 */
+	public void setExcludedBeanNames(String... excludedBeanNames) {
+		this.excludedBeanNames = new HashSet<String>(Arrays.asList(excludedBeanNames));
+	}
+
+	/**
+	 * Set whether to resolve dependencies on beans that have not been created yet
+	 * through lazy resolution proxies. Default is "true".
+	 * @see ContextAnnotationAutowireCandidateResolver#setLazyResolutionByDefault
+	 */
+	public void setLazyResolution(boolean lazyResolution) {
+		this.lazyResolution = lazyResolution;
+	}
+
+	@Override
+	public int getOrder() {
+		return Ordered.LOWEST_PRECEDENCE;
+	}
+
+
+	@Override
+	public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+		this.beanFactory = beanFactory;
+		for (String beanName : beanFactory.getBeanDefinitionNames()) {
+			BeanDefinition bd = beanFactory.getBeanDefinition(beanName);
+			if (!bd.isLazyInit() && !bd.isAbstract() && bd.isSingleton() &&
+					bd.getRole() != BeanDefinition.ROLE_INFRASTRUCTURE &&
+					!this.excludedBeanNames.contains(beanName)) {
+				bd.setLazyInit(true);
+				this.lazyBeanNames.add(beanName);
+			}
+		}
+		if (this.lazyResolution && beanFactory instanceof DefaultListableBeanFactory) {
+			AutowireCandidateResolver resolver = ((DefaultListableBeanFactory) beanFactory).getAutowireCandidateResolver();
+			if (resolver instanceof ContextAnnotationAutowireCandidateResolver) {
+				((ContextAnnotationAutowireCandidateResolver) resolver).setLazyResolutionByDefault(true);
+			}
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Switched " + this.lazyBeanNames.size() + " bean definitions to lazy initialization");
+		}
+	}
+
+	/**
+	 * Return the names of the beans which have been switched to lazy initialization.
+	 */
+	public List<String> getLazyBeanNames() {
+		return Collections.unmodifiableList(this.lazyBeanNames);
+	}
+
+	/**
+	 * Return the names of the beans which have been switched to lazy initialization
+	 * and have actually been created since.
+	 */
+	public List<String> getInitializedBeanNames() {
+		List<String> result = new ArrayList<String>();
+		if (this.beanFactory != null) {
+			for (String beanName : this.lazyBeanNames) {
+				if (this.beanFactory.containsSingleton(beanName)) {
+					result.add(beanName);
+				}
+			}
+		}
+		return result;
+	}
+
+}
@@ -14,6 +14,8 @@ import org.springframework.util.ObjectUtils;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public abstract class AbstractApplicationEventMulticaster
         implements ApplicationEventMulticaster, /*BeanClassLoaderAware,*/ BeanFactoryAware {
@@ -26,6 +28,12 @@ public abstract class AbstractApplicationEventMulticaster
     private BeanFactory beanFactory;
     private Object retrievalMutex = this.defaultRetriever;
 
+    /**
+     * Incremented on every listener registration change, allowing a concurrently
+     * built ListenerRetriever to detect that it may be stale.
+     */
+    private final AtomicInteger listenerVersion = new AtomicInteger();
+
     @Override
     public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
         this.beanFactory = beanFactory;
@@ -46,43 +54,44 @@ public abstract class AbstractApplicationEventMulticaster
     }
     @Override
     public void addApplicationListener(ApplicationListener<?> listener) {
-        synchronized (this.retrievalMutex) {
-            this.defaultRetriever.applicationListeners.add(listener);
-            this.retrieverCache.clear();
-        }
+        this.defaultRetriever.applicationListeners.add(listener);
+        invalidateRetrieverCache();
     }
 
     @Override
     public void addApplicationListenerBean(String listenerBeanName) {
-        synchronized (this.retrievalMutex) {
-            this.defaultRetriever.applicationListenerBeans.add(listenerBeanName);
-            this.retrieverCache.clear();
-        }
+        this.defaultRetriever.applicationListenerBeans.add(listenerBeanName);
+        invalidateRetrieverCache();
     }
 
     @Override
     public void removeApplicationListener(ApplicationListener<?> listener) {
-        synchronized (this.retrievalMutex) {
-            this.defaultRetriever.applicationListeners.remove(listener);
-            this.retrieverCache.clear();
-        }
+        this.defaultRetriever.applicationListeners.remove(listener);
+        invalidateRetrieverCache();
     }
 
     @Override
     public void removeApplicationListenerBean(String listenerBeanName) {
-        synchronized (this.retrievalMutex) {
-            this.defaultRetriever.applicationListenerBeans.remove(listenerBeanName);
-            this.retrieverCache.clear();
-        }
+        this.defaultRetriever.applicationListenerBeans.remove(listenerBeanName);
+        invalidateRetrieverCache();
     }
 
     @Override
     public void removeAllListeners() {
-        synchronized (this.retrievalMutex) {
-            this.defaultRetriever.applicationListeners.clear();
-            this.defaultRetriever.applicationListenerBeans.clear();
-            this.retrieverCache.clear();
-        }
+        this.defaultRetriever.applicationListeners.clear();
+        this.defaultRetriever.applicationListenerBeans.clear();
+        invalidateRetrieverCache();
+    }
+
+    /**
+     * Drop all cached ListenerRetrievers after a registration change.
+     * <p>Registration itself is lock-free: the default retriever holds
+     * copy-on-write sets, and retrievers built concurrently with a change
+     * get discarded again through the listener version check.
+     */
+    private void invalidateRetrieverCache() {
+        this.listenerVersion.incrementAndGet();
+        this.retrieverCache.clear();
     }
 
     /**
@@ -116,10 +125,15 @@ public abstract class AbstractApplicationEventMulticaster
                 if (retriever != null) {
                     return retriever.getApplicationListeners();
                 }
+                int version = this.listenerVersion.get();
                 retriever = new ListenerRetriever(true);
                 Collection<ApplicationListener<?>> listeners =
                         retrieveApplicationListeners(eventType, sourceType, retriever);
                 this.retrieverCache.put(cacheKey, retriever);
+                if (this.listenerVersion.get() != version) {
+                    // Listeners changed while building - don't keep a potentially stale retriever
+                    this.retrieverCache.remove(cacheKey);
+                }
                 return listeners;
             }
         }
@@ -140,12 +154,9 @@ public abstract class AbstractApplicationEventMulticaster
             ResolvableType eventType, Class<?> sourceType, ListenerRetriever retriever) {
 
         LinkedList<ApplicationListener<?>> allListeners = new LinkedList<ApplicationListener<?>>();
-        Set<ApplicationListener<?>> listeners;
-        Set<String> listenerBeans;
-        synchronized (this.retrievalMutex) {
-            listeners = new LinkedHashSet<ApplicationListener<?>>(this.defaultRetriever.applicationListeners);
-            listenerBeans = new LinkedHashSet<String>(this.defaultRetriever.applicationListenerBeans);
-        }
+        // Copy-on-write sets: iteration works on a stable snapshot without locking
+        Set<ApplicationListener<?>> listeners = this.defaultRetriever.applicationListeners;
+        Set<String> listenerBeans = this.defaultRetriever.applicationListenerBeans;
         for (ApplicationListener<?> listener : listeners) {
             if (supportsEvent(listener, eventType, sourceType)) {
                 if (retriever != null) {
@@ -264,8 +275,16 @@ public abstract class AbstractApplicationEventMulticaster
         private final boolean preFiltered;
 
         public ListenerRetriever(boolean preFiltered) {
-            this.applicationListeners = new LinkedHashSet<ApplicationListener<?>>();
-            this.applicationListenerBeans = new LinkedHashSet<String>();
+            if (preFiltered) {
+                // Populated once before getting cached, read-only afterwards
+                this.applicationListeners = new LinkedHashSet<ApplicationListener<?>>();
+                this.applicationListenerBeans = new LinkedHashSet<String>();
+            }
+            else {
+                // The default retriever, mutated through listener registration
+                this.applicationListeners = new CopyOnWriteArraySet<ApplicationListener<?>>();
+                this.applicationListenerBeans = new CopyOnWriteArraySet<String>();
+            }
             this.preFiltered = preFiltered;
         }
 
@@ -0,0 +1,567 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.ResolvableType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.ErrorHandler;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Asynchronous {@link ApplicationEventMulticaster} that hands events to a bounded
+ * queue per listener, drained by at most one task at a time. Each listener thus
+ * sees its events in publication order, while slow listeners do not hold up the
+ * publisher or other listeners.
+ *
+ * <p>In contrast to {@link SimpleApplicationEventMulticaster} with a task executor,
+ * no executor task is submitted per listener invocation: a drain task is only
+ * scheduled when a listener queue turns non-empty, and then processes up to
+ * {@link #setMaxBatchSize maxBatchSize} events in one go. Listeners implementing
+ * {@link BatchApplicationListener} receive those events as a single batch.
+ *
+ * <p>High-rate events may be coalesced through {@link #setCoalescedEventTypes}:
+ * a newly published event of such a type replaces a still pending event of the
+ * same type and source. When a queue is full, the configured
+ * {@link OverflowPolicy} applies.
+ *
+ * <p>Listener exceptions are passed to the {@link #setErrorHandler ErrorHandler},
+ * if any, and logged otherwise; they never stop the draining of a queue.
+ *
+ * <p>Pending events are delivered before the application context shuts down:
+ * publishing a {@link ContextClosedEvent} (as well as {@link #destroy()}) waits
+ * until all listener queues are drained, up to the {@link #setShutdownTimeout
+ * shutdown timeout}. Queues are discarded once drained, so that listener instances
+ * which are not published to anymore (e.g. prototype listener beans) are not retained.
+ *
+ * @see #setTaskExecutor
+ * @see BatchApplicationListener
+ */
+public class QueuingApplicationEventMulticaster extends SimpleApplicationEventMulticaster implements DisposableBean {
+
+    /**
+     * Strategy for publishing into a full listener queue.
+     */
+    public enum OverflowPolicy {
+
+        /** Block the publisher until the listener queue has space again (backpressure) */
+        BLOCK,
+
+        /** Discard the event being published */
+        DROP_NEWEST,
+
+        /** Discard the oldest pending event to make room for the event being published */
+        DROP_OLDEST,
+
+        /** Throw a {@link RejectedExecutionException} to the publisher */
+        FAIL
+    }
+
+
+    /**
+     * Number of batches a drain task processes before yielding its thread.
+     */
+    private static final int DRAIN_RUNS_PER_TASK = 16;
+
+
+    protected final Log logger = LogFactory.getLog(getClass());
+
+    private int queueCapacity = 1024;
+
+    private int maxBatchSize = 64;
+
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+    private Class<?>[] coalescedEventTypes = new Class<?>[0];
+
+    private long shutdownTimeout = 10000;
+
+    private final ConcurrentMap<ApplicationListener<?>, ListenerQueue> listenerQueues =
+            new ConcurrentHashMap<ApplicationListener<?>, ListenerQueue>(64);
+
+    private final AtomicLong droppedEventCount = new AtomicLong();
+
+    private volatile ThreadPoolExecutor defaultExecutor;
+
+
+    /**
+     * Create a new QueuingApplicationEventMulticaster.
+     */
+    public QueuingApplicationEventMulticaster() {
+    }
+
+    /**
+     * Create a new QueuingApplicationEventMulticaster for the given BeanFactory.
+     */
+    public QueuingApplicationEventMulticaster(BeanFactory beanFactory) {
+        super(beanFactory);
+    }
+
+
+    /**
+     * Set the maximum number of pending events per listener. Default is 1024.
+     * <p>Only affects listener queues created after this call.
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        Assert.isTrue(queueCapacity > 0, "Queue capacity must be greater than 0");
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Return the maximum number of pending events per listener.
+     */
+    public int getQueueCapacity() {
+        return this.queueCapacity;
+    }
+
+    /**
+     * Set the maximum number of events processed per drain run, and therefore the
+     * maximum batch size for {@link BatchApplicationListener}s. Default is 64.
+     */
+    public void setMaxBatchSize(int maxBatchSize) {
+        Assert.isTrue(maxBatchSize > 0, "Max batch size must be greater than 0");
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Return the maximum number of events processed per drain run.
+     */
+    public int getMaxBatchSize() {
+        return this.maxBatchSize;
+    }
+
+    /**
+     * Set the policy for publishing into a full listener queue.
+     * Default is {@link OverflowPolicy#BLOCK}.
+     * <p>Note that blocking a listener that publishes to itself from within its
+     * own callback will deadlock once its queue is full; choose a dropping or
+     * failing policy for such setups.
+     */
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        Assert.notNull(overflowPolicy, "OverflowPolicy must not be null");
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Return the policy for publishing into a full listener queue.
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return this.overflowPolicy;
+    }
+
+    /**
+     * Specify event types whose pending events get coalesced: publishing an event
+     * that is an instance of one of these types replaces a not yet delivered event
+     * of the exact same class and an equal source, so that only the latest state
+     * update reaches the listener.
+     */
+    public void setCoalescedEventTypes(Class<?>... coalescedEventTypes) {
+        this.coalescedEventTypes = (coalescedEventTypes != null ? coalescedEventTypes : new Class<?>[0]);
+    }
+
+    /**
+     * Set the maximum time in milliseconds to wait for pending events to be delivered
+     * when the application context is closed. Default is 10 seconds.
+     */
+    public void setShutdownTimeout(long shutdownTimeout) {
+        Assert.isTrue(shutdownTimeout >= 0, "Shutdown timeout must not be negative");
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    /**
+     * Return the maximum time in milliseconds to wait for pending events on shutdown.
+     */
+    public long getShutdownTimeout() {
+        return this.shutdownTimeout;
+    }
+
+    /**
+     * Return the number of events dropped because of full queues or coalescing.
+     */
+    public long getDroppedEventCount() {
+        return this.droppedEventCount.get();
+    }
+
+    /**
+     * Return the number of events currently pending across all listener queues.
+     */
+    public int getPendingEventCount() {
+        int count = 0;
+        for (ListenerQueue listenerQueue : this.listenerQueues.values()) {
+            count += listenerQueue.queue.size();
+        }
+        return count;
+    }
+
+
+    @Override
+    public void multicastEvent(ApplicationEvent event, ResolvableType eventType) {
+        ResolvableType type = (eventType != null ? eventType : ResolvableType.forInstance(event));
+        for (ApplicationListener<?> listener : getApplicationListeners(event, type)) {
+            while (!getListenerQueue(listener).enqueue(event)) {
+                // Queue discarded after draining: retry with a new one
+            }
+        }
+        if (event instanceof ContextClosedEvent) {
+            flush();
+        }
+    }
+
+    /**
+     * Deliver all pending events and shut down the default drain executor, if any.
+     */
+    @Override
+    public void destroy() {
+        flush();
+        ThreadPoolExecutor executor = this.defaultExecutor;
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Wait until all pending events have been delivered, up to the
+     * {@link #setShutdownTimeout shutdown timeout}. Listener queues whose drain
+     * task is not currently scheduled are drained on the calling thread.
+     * @return {@code true} if all listener queues have been drained,
+     * {@code false} if the timeout expired first
+     */
+    public boolean flush() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.shutdownTimeout);
+        boolean flushed = true;
+        for (ListenerQueue listenerQueue : this.listenerQueues.values()) {
+            if (!listenerQueue.flush(deadline)) {
+                flushed = false;
+            }
+        }
+        if (!flushed && logger.isWarnEnabled()) {
+            logger.warn("Timed out after " + this.shutdownTimeout + " ms waiting for event delivery: " +
+                    getPendingEventCount() + " events still pending");
+        }
+        return flushed;
+    }
+
+    @Override
+    public void removeApplicationListener(ApplicationListener<?> listener) {
+        super.removeApplicationListener(listener);
+        this.listenerQueues.remove(listener);
+    }
+
+    @Override
+    public void removeAllListeners() {
+        super.removeAllListeners();
+        this.listenerQueues.clear();
+    }
+
+    /**
+     * Return the executor to run drain tasks on: the configured
+     * {@link #setTaskExecutor task executor}, or a default pool of daemon threads,
+     * one per available processor, which is shut down on {@link #destroy()}.
+     * <p>The default pool queues drain tasks without limit; there is at most one
+     * such task per listener at any time.
+     */
+    protected Executor getDrainExecutor() {
+        Executor executor = getTaskExecutor();
+        if (executor != null) {
+            return executor;
+        }
+        ThreadPoolExecutor defaultExecutor = this.defaultExecutor;
+        if (defaultExecutor == null) {
+            synchronized (this.listenerQueues) {
+                defaultExecutor = this.defaultExecutor;
+                if (defaultExecutor == null) {
+                    int poolSize = Runtime.getRuntime().availableProcessors();
+                    CustomizableThreadFactory threadFactory =
+                            new CustomizableThreadFactory(ObjectUtils.identityToString(this) + "-");
+                    threadFactory.setDaemon(true);
+                    defaultExecutor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                            new LinkedBlockingQueue<Runnable>(), threadFactory);
+                    defaultExecutor.allowCoreThreadTimeOut(true);
+                    this.defaultExecutor = defaultExecutor;
+                }
+            }
+        }
+        return defaultExecutor;
+    }
+
+    /**
+     * Invoke the given batch listener with the given events.
+     * @param listener the BatchApplicationListener to invoke
+     * @param events the drained events, in publication order
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected void invokeBatchListener(BatchApplicationListener listener, List<ApplicationEvent> events) {
+        ErrorHandler errorHandler = getErrorHandler();
+        if (errorHandler != null) {
+            try {
+                listener.onApplicationEvents(events);
+            }
+            catch (Throwable err) {
+                errorHandler.handleError(err);
+            }
+        }
+        else {
+            listener.onApplicationEvents(events);
+        }
+    }
+
+    private ListenerQueue getListenerQueue(ApplicationListener<?> listener) {
+        ListenerQueue listenerQueue = this.listenerQueues.get(listener);
+        if (listenerQueue == null) {
+            listenerQueue = new ListenerQueue(listener, this.queueCapacity);
+            ListenerQueue existing = this.listenerQueues.putIfAbsent(listener, listenerQueue);
+            if (existing != null) {
+                listenerQueue = existing;
+            }
+        }
+        return listenerQueue;
+    }
+
+    private boolean isCoalesced(ApplicationEvent event) {
+        for (Class<?> coalescedEventType : this.coalescedEventTypes) {
+            if (coalescedEventType.isInstance(event)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    /**
+     * Bounded event queue for a single listener, with at most one drain task
+     * scheduled at any time. Discarded from the listener queues once drained.
+     */
+    private class ListenerQueue implements Runnable {
+
+        private final ApplicationListener<?> listener;
+
+        private final BlockingQueue<ApplicationEvent> queue;
+
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        // Publishers waiting for space outside of the lock; guarded by this
+        private int overflowingPublishers;
+
+        // Whether this queue has been discarded; guarded by this
+        private boolean retired;
+
+        public ListenerQueue(ApplicationListener<?> listener, int capacity) {
+            this.listener = listener;
+            this.queue = new LinkedBlockingQueue<ApplicationEvent>(capacity);
+        }
+
+        /**
+         * Queue the given event for delivery.
+         * @return {@code false} if this queue has been discarded in the meantime
+         */
+        public boolean enqueue(ApplicationEvent event) {
+            boolean offered;
+            synchronized (this) {
+                if (this.retired) {
+                    return false;
+                }
+                // Removing a pending match and offering are atomic among publishers
+                if (isCoalesced(event)) {
+                    removePendingMatch(event);
+                }
+                offered = this.queue.offer(event);
+                if (!offered) {
+                    this.overflowingPublishers++;
+                }
+            }
+            if (!offered) {
+                try {
+                    handleOverflow(event);
+                }
+                finally {
+                    synchronized (this) {
+                        this.overflowingPublishers--;
+                    }
+                }
+            }
+            schedule();
+            return true;
+        }
+
+        private void removePendingMatch(ApplicationEvent event) {
+            for (Iterator<ApplicationEvent> it = this.queue.iterator(); it.hasNext(); ) {
+                ApplicationEvent pending = it.next();
+                if (pending.getClass() == event.getClass() &&
+                        ObjectUtils.nullSafeEquals(pending.getSource(), event.getSource())) {
+                    it.remove();
+                    droppedEventCount.incrementAndGet();
+                    return;
+                }
+            }
+        }
+
+        private void handleOverflow(ApplicationEvent event) {
+            switch (overflowPolicy) {
+                case BLOCK:
+                    // Make sure pending events are being drained while we wait
+                    schedule();
+                    try {
+                        this.queue.put(event);
+                    }
+                    catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        throw new RejectedExecutionException(
+                                "Interrupted while waiting to queue event for listener " + this.listener, ex);
+                    }
+                    break;
+                case DROP_NEWEST:
+                    droppedEventCount.incrementAndGet();
+                    break;
+                case DROP_OLDEST:
+                    while (!this.queue.offer(event)) {
+                        if (this.queue.poll() != null) {
+                            droppedEventCount.incrementAndGet();
+                        }
+                    }
+                    break;
+                default:
+                    throw new RejectedExecutionException("Event queue for listener " + this.listener +
+                            " is full (capacity " + queueCapacity + "): rejecting " + event);
+            }
+        }
+
+        private void schedule() {
+            if (!this.queue.isEmpty() && this.scheduled.compareAndSet(false, true)) {
+                try {
+                    getDrainExecutor().execute(this);
+                }
+                catch (RuntimeException ex) {
+                    this.scheduled.set(false);
+                    throw ex;
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                drain(DRAIN_RUNS_PER_TASK);
+            }
+            finally {
+                this.scheduled.set(false);
+                // Events may have arrived meanwhile: re-schedule rather than keep
+                // looping, giving other listener queues a fair share of the executor
+                if (!retireIfIdle()) {
+                    schedule();
+                }
+            }
+        }
+
+        /**
+         * Drain this queue on the calling thread, or wait for the scheduled
+         * drain task to empty it, until the given deadline.
+         */
+        public boolean flush(long deadline) {
+            while (!this.queue.isEmpty() || this.scheduled.get()) {
+                if (this.scheduled.compareAndSet(false, true)) {
+                    try {
+                        drain(Integer.MAX_VALUE);
+                    }
+                    finally {
+                        this.scheduled.set(false);
+                    }
+                }
+                else if (System.nanoTime() - deadline >= 0) {
+                    return false;
+                }
+                else {
+                    try {
+                        Thread.sleep(1);
+                    }
+                    catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                }
+            }
+            retireIfIdle();
+            return true;
+        }
+
+        private void drain(int maxRuns) {
+            List<ApplicationEvent> batch = new ArrayList<ApplicationEvent>(Math.min(maxBatchSize, 256));
+            for (int i = 0; i < maxRuns; i++) {
+                if (this.queue.drainTo(batch, maxBatchSize) == 0) {
+                    break;
+                }
+                deliver(batch);
+                batch.clear();
+            }
+        }
+
+        /**
+         * Discard this queue if it has no pending events and no publisher or
+         * drain task is working on it, so that its listener is not retained.
+         */
+        private synchronized boolean retireIfIdle() {
+            if (this.queue.isEmpty() && this.overflowingPublishers == 0 && !this.scheduled.get()) {
+                this.retired = true;
+                listenerQueues.remove(this.listener, this);
+                return true;
+            }
+            return false;
+        }
+
+        private void deliver(List<ApplicationEvent> batch) {
+            if (this.listener instanceof BatchApplicationListener) {
+                try {
+                    invokeBatchListener((BatchApplicationListener<?>) this.listener, batch);
+                }
+                catch (Throwable ex) {
+                    logger.error("Unexpected error delivering events to listener " + this.listener, ex);
+                }
+            }
+            else {
+                for (ApplicationEvent event : batch) {
+                    try {
+                        invokeListener(this.listener, event);
+                    }
+                    catch (Throwable ex) {
+                        logger.error("Unexpected error delivering event " + event + " to listener " + this.listener, ex);
+                    }
+                }
+            }
+        }
+    }
+
+}
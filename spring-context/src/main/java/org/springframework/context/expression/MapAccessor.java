@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2014 the original author or authors.
+ * Copyright 2002-2015 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,20 +18,27 @@ package org.springframework.context.expression;
 
 import java.util.Map;
 
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.AccessException;
 import org.springframework.expression.EvaluationContext;
-import org.springframework.expression.PropertyAccessor;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
+import org.springframework.expression.spel.CompilablePropertyAccessor;
 
 /**
  * EL property accessor that knows how to traverse the keys
  * of a standard {@link java.util.Map}.
  *
+ * <p>Supports compilation of SpEL expressions: compiled code calls {@link Map#get}
+ * directly, failing for a missing key just like interpreted access does, so that
+ * navigating through nested maps (e.g. parsed JSON) involves no reflection.
+ *
  * @author Juergen Hoeller
  * @author Andy Clement
  * @since 3.0
  */
-public class MapAccessor implements PropertyAccessor {
+public class MapAccessor implements CompilablePropertyAccessor {
 
 	@Override
 	public Class<?>[] getSpecificTargetClasses() {
@@ -66,6 +73,52 @@ public class MapAccessor implements PropertyAccessor {
 		map.put(name, newValue);
 	}
 
+	@Override
+	public boolean isCompilable() {
+		return true;
+	}
+
+	@Override
+	public Class<?> getPropertyType() {
+		return Object.class;
+	}
+
+	@Override
+	public void generateCode(String propertyName, MethodVisitor mv, CodeFlow cf) {
+		String descriptor = cf.lastDescriptor();
+		if (descriptor == null) {
+			cf.loadTarget(mv);
+		}
+		if (descriptor == null || !descriptor.equals("Ljava/util/Map")) {
+			CodeFlow.insertCheckCast(mv, "Ljava/util/Map");
+		}
+		// Keep the map on the stack in case the key turns out to be missing
+		mv.visitInsn(DUP);
+		mv.visitLdcInsn(propertyName);
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "get", "(Ljava/lang/Object;)Ljava/lang/Object;", true);
+		Label found = new Label();
+		mv.visitInsn(DUP);
+		mv.visitJumpInsn(IFNONNULL, found);
+		mv.visitInsn(POP);
+		mv.visitInsn(DUP);
+		mv.visitLdcInsn(propertyName);
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "containsKey", "(Ljava/lang/Object;)Z", true);
+		Label nullValue = new Label();
+		mv.visitJumpInsn(IFNE, nullValue);
+		// A missing key is not a null value: fail like read does, which falls
+		// back to interpreted evaluation in mixed compiler mode
+		mv.visitTypeInsn(NEW, "java/lang/IllegalStateException");
+		mv.visitInsn(DUP);
+		mv.visitLdcInsn("Map does not contain a value for key '" + propertyName + "'");
+		mv.visitMethodInsn(INVOKESPECIAL, "java/lang/IllegalStateException", "<init>", "(Ljava/lang/String;)V", false);
+		mv.visitInsn(ATHROW);
+		mv.visitLabel(nullValue);
+		mv.visitInsn(ACONST_NULL);
+		mv.visitLabel(found);
+		mv.visitInsn(SWAP);
+		mv.visitInsn(POP);
+	}
+
 
 	/**
 	 * Exception thrown from {@code read} in order to reset a cached
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2014 the original author or authors.
+ * Copyright 2002-2015 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,6 +28,7 @@ import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.ParserContext;
 import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionCache;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.expression.spel.support.StandardTypeConverter;
@@ -86,7 +87,7 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 	 * Create a new {@code StandardBeanExpressionResolver} with default settings.
 	 */
 	public StandardBeanExpressionResolver() {
-		this.expressionParser = new SpelExpressionParser();
+		this.expressionParser = createExpressionParser(new SpelParserConfiguration());
 	}
 
 	/**
@@ -95,7 +96,19 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 	 * @param beanClassLoader the factory's bean class loader
 	 */
 	public StandardBeanExpressionResolver(ClassLoader beanClassLoader) {
-		this.expressionParser = new SpelExpressionParser(new SpelParserConfiguration(null, beanClassLoader));
+		this.expressionParser = createExpressionParser(new SpelParserConfiguration(null, beanClassLoader));
+	}
+
+
+	/**
+	 * Create the default parser, sharing parsed (and compiled) bean expressions
+	 * with all other resolvers for the same class loader: bean expressions are
+	 * always evaluated against a {@link BeanExpressionContext}.
+	 */
+	private static SpelExpressionParser createExpressionParser(SpelParserConfiguration configuration) {
+		SpelExpressionParser parser = new SpelExpressionParser(configuration);
+		parser.setExpressionCache(SpelExpressionCache.forClassLoader(configuration.getCompilerClassLoader()));
+		return parser;
 	}
 
 
@@ -38,6 +38,8 @@ import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.AbstractBeanFactory;
+import org.springframework.beans.factory.support.StartupTimeline;
 import org.springframework.beans.support.ResourceEditorRegistrar;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
@@ -63,6 +65,7 @@ import org.springframework.context.event.ContextStoppedEvent;
 import org.springframework.context.event.SimpleApplicationEventMulticaster;
 import org.springframework.context.weaving.LoadTimeWeaverAware;
 import org.springframework.context.weaving.LoadTimeWeaverAwareProcessor;
+import org.springframework.core.BridgeMethodResolver;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.env.ConfigurableEnvironment;
@@ -75,6 +78,7 @@ import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
+import org.springframework.util.ReflectionUtils;
 
 /**
  * Abstract implementation of the {@link org.springframework.context.ApplicationContext}
@@ -204,6 +208,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 	/** ApplicationEvents published early */
 	private Set<ApplicationEvent> earlyApplicationEvents;
 
+	/** Timeline to record startup times in, if any */
+	private StartupTimeline startupTimeline;
+
 
 	/**
 	 * Create a new AbstractApplicationContext with no parent.
@@ -471,6 +478,24 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		return this.beanFactoryPostProcessors;
 	}
 
+	/**
+	 * Set a timeline to record the time spent per bean, per BeanPostProcessor
+	 * and per BeanFactoryPostProcessor in, for the next refresh.
+	 * <p>Only applies to bean factories derived from {@link AbstractBeanFactory}.
+	 * Default is none.
+	 * @see AbstractBeanFactory#setStartupTimeline
+	 */
+	public void setStartupTimeline(StartupTimeline startupTimeline) {
+		this.startupTimeline = startupTimeline;
+	}
+
+	/**
+	 * Return the timeline to record startup times in, if any.
+	 */
+	public StartupTimeline getStartupTimeline() {
+		return this.startupTimeline;
+	}
+
 	@Override
 	public void addApplicationListener(ApplicationListener<?> listener) {
 		if (this.applicationEventMulticaster != null) {
@@ -608,6 +633,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
     protected void prepareBeanFactory(ConfigurableListableBeanFactory beanFactory) {
         // Tell the internal bean factory to use the context's class loader etc.
         beanFactory.setBeanClassLoader(getClassLoader());
+        if (this.startupTimeline != null && beanFactory instanceof AbstractBeanFactory) {
+            ((AbstractBeanFactory) beanFactory).setStartupTimeline(this.startupTimeline);
+        }
         // 增加属性注册编辑器
         beanFactory.addPropertyEditorRegistrar(new ResourceEditorRegistrar(this, getEnvironment()));
 
@@ -855,13 +883,18 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 	}
 
 	/**
-	 * Reset Spring's common core caches, in particular the {@link ResolvableType}
-	 * and the {@link CachedIntrospectionResults} caches.
+	 * Reset Spring's common core caches, in particular the {@link ReflectionUtils},
+	 * {@link BridgeMethodResolver}, {@link ResolvableType} and
+	 * {@link CachedIntrospectionResults} caches.
 	 * @since 4.2
+	 * @see ReflectionUtils#clearCache()
+	 * @see BridgeMethodResolver#clearCache()
 	 * @see ResolvableType#clearCache()
 	 * @see CachedIntrospectionResults#clearClassLoader(ClassLoader)
 	 */
 	protected void resetCommonCaches() {
+		ReflectionUtils.clearCache();
+		BridgeMethodResolver.clearCache();
 		ResolvableType.clearCache();
 		CachedIntrospectionResults.clearClassLoader(getClassLoader());
 	}
@@ -39,7 +39,7 @@ public class PostProcessorRegistrationDelegate {
                     BeanDefinitionRegistryPostProcessor registryPostProcessor =
                             (BeanDefinitionRegistryPostProcessor) postProcessor;
                     // 对于BeanDefinitionRegistryPostProcessor类型,有自己定义的方法,需要先调用
-                    registryPostProcessor.postProcessBeanDefinitionRegistry(registry);
+                    invokeBeanDefinitionRegistryPostProcessors(Collections.singletonList(registryPostProcessor), registry);
                     registryPostProcessors.add(registryPostProcessor);
                 }
                 else {
@@ -95,7 +95,7 @@ public class PostProcessorRegistrationDelegate {
                         BeanDefinitionRegistryPostProcessor pp = beanFactory.getBean(ppName, BeanDefinitionRegistryPostProcessor.class);
                         registryPostProcessors.add(pp);
                         processedBeans.add(ppName);
-                        pp.postProcessBeanDefinitionRegistry(registry);
+                        invokeBeanDefinitionRegistryPostProcessors(Collections.singletonList(pp), registry);
                         reiterate = true;
                     }
                 }
@@ -252,19 +252,44 @@ public class PostProcessorRegistrationDelegate {
     private static void invokeBeanDefinitionRegistryPostProcessors(
             Collection<? extends BeanDefinitionRegistryPostProcessor> postProcessors, BeanDefinitionRegistry registry) {
 
+        StartupTimeline timeline = getStartupTimeline(registry);
         for (BeanDefinitionRegistryPostProcessor postProcessor : postProcessors) {
-            postProcessor.postProcessBeanDefinitionRegistry(registry);
+            StartupTimeline.Step step = (timeline != null ?
+                    timeline.start(StartupTimeline.BEAN_FACTORY_POST_PROCESSOR, postProcessor) : null);
+            try {
+                postProcessor.postProcessBeanDefinitionRegistry(registry);
+            }
+            finally {
+                if (step != null) {
+                    step.end();
+                }
+            }
         }
     }
 
     private static void invokeBeanFactoryPostProcessors(
             Collection<? extends BeanFactoryPostProcessor> postProcessors, ConfigurableListableBeanFactory beanFactory) {
 
+        StartupTimeline timeline = getStartupTimeline(beanFactory);
         for (BeanFactoryPostProcessor postProcessor : postProcessors) {
-            postProcessor.postProcessBeanFactory(beanFactory);
+            StartupTimeline.Step step = (timeline != null ?
+                    timeline.start(StartupTimeline.BEAN_FACTORY_POST_PROCESSOR, postProcessor) : null);
+            try {
+                postProcessor.postProcessBeanFactory(beanFactory);
+            }
+            finally {
+                if (step != null) {
+                    step.end();
+                }
+            }
         }
     }
 
+    private static StartupTimeline getStartupTimeline(Object beanFactory) {
+        return (beanFactory instanceof AbstractBeanFactory ?
+                ((AbstractBeanFactory) beanFactory).getStartupTimeline() : null);
+    }
+
     /**
      * Register the given BeanPostProcessor beans.
      */
@@ -149,6 +149,14 @@ public class ResourceBundleMessageSource extends AbstractMessageSource implement
 		}
 	}
 
+	/**
+	 * Return the basenames of the resource bundles, in lookup order.
+	 * @see #setBasenames
+	 */
+	protected String[] getBasenames() {
+		return this.basenames;
+	}
+
 	/**
 	 * Set the default charset to use for parsing resource bundle files.
 	 * <p>Default is the {@code java.util.ResourceBundle} default encoding:
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.support;
+
+import java.text.MessageFormat;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * {@link ResourceBundleMessageSource} variant that resolves messages from an
+ * immutable snapshot of all its resource bundles instead of querying the bundles
+ * and synchronized MessageFormat caches on every call.
+ *
+ * <p>For each Locale, the messages of all basenames are flattened into a single
+ * map, with the Locale's fallback chain (e.g. "de_AT" &rarr; "de" &rarr; default
+ * file) already applied: A code resolves through one hash lookup, and unknown
+ * codes are rejected without walking the chain. The Locales specified through
+ * {@link #setLocales} are loaded on initialization; further Locales are added
+ * to the current snapshot on first access.
+ *
+ * <p>Message patterns are parsed once into thread-safe templates. Patterns
+ * without argument placeholders are rendered up front; all others are formatted
+ * with a copy of the precompiled MessageFormat, or with a MessageFormat reused
+ * per thread if {@link #setCacheFormatsPerThread "cacheFormatsPerThread"} is on.
+ * Either way, no lock is held while resolving a message.
+ *
+ * <p>{@link #reload()} builds a fresh snapshot for all Locales seen so far and
+ * replaces the current one in a single step; concurrent callers see either the
+ * old or the new messages, never a mix of both.
+ *
+ * @see #setLocales
+ * @see #reload()
+ */
+public class SnapshotResourceBundleMessageSource extends ResourceBundleMessageSource implements InitializingBean {
+
+	private Locale[] locales = new Locale[0];
+
+	private boolean cacheFormatsPerThread = false;
+
+	private volatile Snapshot snapshot;
+
+
+	/**
+	 * Specify the Locales to load on initialization and on every {@link #reload()}.
+	 * <p>Messages for other Locales are loaded on first access.
+	 */
+	public void setLocales(Locale... locales) {
+		this.locales = (locales != null ? locales : new Locale[0]);
+	}
+
+	/**
+	 * Set whether to keep a MessageFormat per message and thread, instead of
+	 * formatting every message with a fresh copy of its precompiled MessageFormat.
+	 * <p>Default is "false". Switch this on if messages with arguments are rendered
+	 * at high rates from a bounded set of threads; note that each thread retains
+	 * its MessageFormats until the next {@link #reload()}.
+	 */
+	public void setCacheFormatsPerThread(boolean cacheFormatsPerThread) {
+		this.cacheFormatsPerThread = cacheFormatsPerThread;
+	}
+
+
+	@Override
+	public void afterPropertiesSet() {
+		reload();
+	}
+
+	/**
+	 * Load all bundles again and atomically replace the current snapshot.
+	 * <p>Covers the configured Locales plus all Locales accessed so far.
+	 * Clears the JDK's ResourceBundle cache for the bundle ClassLoader,
+	 * so that modified bundle files are picked up.
+	 * @see ResourceBundle#clearCache(ClassLoader)
+	 */
+	public void reload() {
+		Snapshot oldSnapshot = this.snapshot;
+		if (oldSnapshot != null) {
+			ResourceBundle.clearCache(getBundleClassLoader());
+		}
+		Snapshot newSnapshot = new Snapshot(this.cacheFormatsPerThread);
+		for (Locale locale : this.locales) {
+			newSnapshot.messagesPerLocale.put(locale, loadMessages(locale));
+		}
+		if (oldSnapshot != null) {
+			for (Locale locale : oldSnapshot.messagesPerLocale.keySet()) {
+				if (!newSnapshot.messagesPerLocale.containsKey(locale)) {
+					newSnapshot.messagesPerLocale.put(locale, loadMessages(locale));
+				}
+			}
+		}
+		this.snapshot = newSnapshot;
+	}
+
+
+	@Override
+	protected String getMessageInternal(String code, Object[] args, Locale locale) {
+		if (code == null) {
+			return null;
+		}
+		if (locale == null) {
+			locale = Locale.getDefault();
+		}
+		Snapshot snapshot = getSnapshot();
+		MessageTemplate template = snapshot.getMessages(locale).get(code);
+		if (template == null) {
+			// Common messages and parent MessageSource
+			return super.getMessageInternal(code, args, locale);
+		}
+		if (!isAlwaysUseMessageFormat() && ObjectUtils.isEmpty(args)) {
+			return template.pattern;
+		}
+		return template.format(resolveArguments(args, locale), snapshot);
+	}
+
+	@Override
+	protected String resolveCodeWithoutArguments(String code, Locale locale) {
+		MessageTemplate template = getSnapshot().getMessages(locale).get(code);
+		return (template != null ? template.pattern : null);
+	}
+
+	/**
+	 * Returns a MessageFormat owned by the caller, copied from the precompiled one.
+	 */
+	@Override
+	protected MessageFormat resolveCode(String code, Locale locale) {
+		MessageTemplate template = getSnapshot().getMessages(locale).get(code);
+		return (template != null ? template.createFormat() : null);
+	}
+
+	private Snapshot getSnapshot() {
+		Snapshot snapshot = this.snapshot;
+		if (snapshot == null) {
+			synchronized (this) {
+				snapshot = this.snapshot;
+				if (snapshot == null) {
+					reload();
+					snapshot = this.snapshot;
+				}
+			}
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Flatten the messages of all basenames for the given Locale into one map,
+	 * earlier basenames taking precedence over later ones.
+	 * @param locale the Locale to load messages for
+	 * @return an immutable map from message code to precompiled template
+	 */
+	protected Map<String, MessageTemplate> loadMessages(Locale locale) {
+		Map<String, MessageTemplate> messages = new HashMap<String, MessageTemplate>();
+		for (String basename : getBasenames()) {
+			ResourceBundle bundle;
+			try {
+				bundle = doGetBundle(basename, locale);
+			}
+			catch (MissingResourceException ex) {
+				if (logger.isWarnEnabled()) {
+					logger.warn("ResourceBundle [" + basename + "] not found for MessageSource: " + ex.getMessage());
+				}
+				continue;
+			}
+			// Bundle keys include those of its parent bundles along the Locale chain
+			for (Enumeration<String> keys = bundle.getKeys(); keys.hasMoreElements();) {
+				String code = keys.nextElement();
+				if (!messages.containsKey(code)) {
+					String msg = getStringOrNull(bundle, code);
+					if (msg != null) {
+						messages.put(code, new MessageTemplate(msg, locale));
+					}
+				}
+			}
+		}
+		return Collections.unmodifiableMap(messages);
+	}
+
+
+	/**
+	 * Generation of loaded messages, replaced as a whole on reload.
+	 */
+	private class Snapshot {
+
+		final ConcurrentMap<Locale, Map<String, MessageTemplate>> messagesPerLocale =
+				new ConcurrentHashMap<Locale, Map<String, MessageTemplate>>();
+
+		final ThreadLocal<Map<MessageTemplate, MessageFormat>> formatsPerThread;
+
+		Snapshot(boolean cacheFormatsPerThread) {
+			this.formatsPerThread = (cacheFormatsPerThread ? new ThreadLocal<Map<MessageTemplate, MessageFormat>>() {
+				@Override
+				protected Map<MessageTemplate, MessageFormat> initialValue() {
+					return new IdentityHashMap<MessageTemplate, MessageFormat>();
+				}
+			} : null);
+		}
+
+		Map<String, MessageTemplate> getMessages(Locale locale) {
+			Map<String, MessageTemplate> messages = this.messagesPerLocale.get(locale);
+			if (messages == null) {
+				messages = loadMessages(locale);
+				Map<String, MessageTemplate> existing = this.messagesPerLocale.putIfAbsent(locale, messages);
+				if (existing != null) {
+					messages = existing;
+				}
+			}
+			return messages;
+		}
+	}
+
+
+	/**
+	 * Precompiled, thread-safe representation of a message pattern.
+	 */
+	protected final class MessageTemplate {
+
+		private final String pattern;
+
+		private final Locale locale;
+
+		/** Never used for formatting itself, only as source for copies */
+		private final MessageFormat prototype;
+
+		/** The rendered message if the pattern has no argument placeholders */
+		private final String text;
+
+		MessageTemplate(String pattern, Locale locale) {
+			this.pattern = pattern;
+			this.locale = locale;
+			MessageFormat prototype = null;
+			String text = null;
+			try {
+				prototype = createMessageFormat(pattern, locale);
+				if (prototype.getFormats().length == 0) {
+					text = prototype.format(new Object[0]);
+				}
+			}
+			catch (IllegalArgumentException ex) {
+				// Invalid pattern: only fails when actually formatted,
+				// just like for a regular ResourceBundleMessageSource.
+			}
+			this.prototype = prototype;
+			this.text = text;
+		}
+
+		/**
+		 * Return the raw message pattern.
+		 */
+		public String getPattern() {
+			return this.pattern;
+		}
+
+		MessageFormat createFormat() {
+			if (this.prototype == null) {
+				// Throws the IllegalArgumentException for the invalid pattern
+				return createMessageFormat(this.pattern, this.locale);
+			}
+			return (MessageFormat) this.prototype.clone();
+		}
+
+		String format(Object[] args, Snapshot snapshot) {
+			if (this.text != null) {
+				return this.text;
+			}
+			if (snapshot.formatsPerThread == null) {
+				return createFormat().format(args);
+			}
+			Map<MessageTemplate, MessageFormat> formats = snapshot.formatsPerThread.get();
+			MessageFormat messageFormat = formats.get(this);
+			if (messageFormat == null) {
+				messageFormat = createFormat();
+				formats.put(this, messageFormat);
+			}
+			return messageFormat.format(args);
+		}
+	}
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.scheduling;
+
+import java.util.Date;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Task scheduler interface that abstracts the scheduling of
+ * {@link Runnable Runnables} based on different kinds of triggers.
+ *
+ * <p>This interface is separate from {@link org.springframework.core.task.TaskExecutor}
+ * since it usually represents a different kind of backend, i.e. a thread pool with
+ * different characteristics and capabilities.
+ *
+ * <p>Scheduled tasks that throw an exception are not rescheduled by default;
+ * implementations may allow for configuring an
+ * {@link org.springframework.util.ErrorHandler} for such failures.
+ *
+ * @see org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler
+ * @see Trigger
+ */
+public interface TaskScheduler {
+
+	/**
+	 * Schedule the given {@link Runnable}, invoking it whenever the trigger
+	 * indicates a next execution time.
+	 * <p>Execution will end once the scheduler shuts down or the returned
+	 * {@link ScheduledFuture} gets cancelled.
+	 * @param task the Runnable to execute whenever the trigger fires
+	 * @param trigger an implementation of the {@link Trigger} interface,
+	 * e.g. a {@link org.springframework.scheduling.support.CronTrigger} object
+	 * wrapping a cron expression
+	 * @return a {@link ScheduledFuture} representing pending completion of the task,
+	 * or {@code null} if the given Trigger object never fires (i.e. returns
+	 * {@code null} from {@link Trigger#nextExecutionTime})
+	 * @throws org.springframework.core.task.TaskRejectedException if the given task
+	 * was not accepted for internal reasons (e.g. a pool overload handling policy
+	 * or a pool shutdown in progress)
+	 */
+	ScheduledFuture<?> schedule(Runnable task, Trigger trigger);
+
+	/**
+	 * Schedule the given {@link Runnable}, invoking it at the specified execution time.
+	 * @param task the Runnable to execute
+	 * @param startTime the desired execution time for the task
+	 * (if this is in the past, the task will be executed immediately, i.e. as soon as possible)
+	 * @return a {@link ScheduledFuture} representing pending completion of the task
+	 */
+	ScheduledFuture<?> schedule(Runnable task, Date startTime);
+
+	/**
+	 * Schedule the given {@link Runnable}, invoking it at the specified execution time
+	 * and subsequently with the given period.
+	 * @param task the Runnable to execute whenever the trigger fires
+	 * @param startTime the desired first execution time for the task
+	 * (if this is in the past, the task will be executed immediately, i.e. as soon as possible)
+	 * @param period the interval between successive executions of the task (in milliseconds)
+	 * @return a {@link ScheduledFuture} representing pending completion of the task
+	 */
+	ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Date startTime, long period);
+
+	/**
+	 * Schedule the given {@link Runnable}, starting as soon as possible and
+	 * invoking it with the given period.
+	 * @param task the Runnable to execute whenever the trigger fires
+	 * @param period the interval between successive executions of the task (in milliseconds)
+	 * @return a {@link ScheduledFuture} representing pending completion of the task
+	 */
+	ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period);
+
+	/**
+	 * Schedule the given {@link Runnable}, invoking it at the specified execution time
+	 * and subsequently with the given delay between the completion of one execution
+	 * and the start of the next.
+	 * @param task the Runnable to execute whenever the trigger fires
+	 * @param startTime the desired first execution time for the task
+	 * (if this is in the past, the task will be executed immediately, i.e. as soon as possible)
+	 * @param delay the delay between the completion of one execution and the start
+	 * of the next (in milliseconds)
+	 * @return a {@link ScheduledFuture} representing pending completion of the task
+	 */
+	ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Date startTime, long delay);
+
+	/**
+	 * Schedule the given {@link Runnable}, starting as soon as possible and invoking it
+	 * with the given delay between the completion of one execution and the start of the next.
+	 * @param task the Runnable to execute whenever the trigger fires
+	 * @param delay the delay between the completion of one execution and the start
+	 * of the next (in milliseconds)
+	 * @return a {@link ScheduledFuture} representing pending completion of the task
+	 */
+	ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long delay);
+
+}
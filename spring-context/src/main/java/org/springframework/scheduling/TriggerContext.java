@@ -0,0 +1,46 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.scheduling;
+
+import java.util.Date;
+
+/**
+ * Context object encapsulating last execution times and last completion time
+ * of a given task.
+ */
+public interface TriggerContext {
+
+	/**
+	 * Return the last <i>scheduled</i> execution time of the task,
+	 * or {@code null} if not scheduled before.
+	 */
+	Date lastScheduledExecutionTime();
+
+	/**
+	 * Return the last <i>actual</i> execution time of the task,
+	 * or {@code null} if not scheduled before.
+	 */
+	Date lastActualExecutionTime();
+
+	/**
+	 * Return the last completion time of the task,
+	 * or {@code null} if not scheduled before.
+	 */
+	Date lastCompletionTime();
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.scheduling.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation that marks a method as a candidate for <i>asynchronous</i> execution.
+ * Can also be used at the type level, in which case all of the type's methods are
+ * considered as asynchronous.
+ *
+ * <p>In terms of target method signatures, any parameter types are supported.
+ * However, the return type is constrained to either {@code void} or
+ * {@link java.util.concurrent.Future}. In the latter case, you may declare the
+ * more specific {@link org.springframework.util.concurrent.ListenableFuture} type
+ * which allows for richer interaction with the asynchronous task.
+ *
+ * <p>A {@code Future} handle returned from the proxy will be an actual asynchronous
+ * {@code Future} that can be used to track the result of the asynchronous method
+ * execution. However, since the target method needs to implement the same signature,
+ * it will have to return a temporary {@code Future} handle that just passes a value
+ * through: e.g. {@link AsyncResult}.
+ *
+ * @see AsyncAnnotationBeanPostProcessor
+ * @see AsyncExecutionInterceptor
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Async {
+
+	/**
+	 * A qualifier value for the specified asynchronous operation(s).
+	 * <p>May be used to determine the target executor to be used when executing this
+	 * method, matching the bean name of a specific {@link java.util.concurrent.Executor
+	 * Executor} or {@link org.springframework.core.task.TaskExecutor TaskExecutor}
+	 * bean definition.
+	 * <p>When specified on a class level {@code @Async} annotation, indicates that the
+	 * given executor should be used for all methods within the class. Method level use
+	 * of {@code Async#value} always overrides any value set at the class level.
+	 */
+	String value() default "";
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.scheduling.annotation;
+
+import java.util.concurrent.Executor;
+
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+
+/**
+ * Bean post-processor that automatically applies asynchronous invocation
+ * behavior to any bean that carries the {@link Async} annotation at class or
+ * method-level by adding an {@link AsyncExecutionInterceptor} advisor to the
+ * exposed proxy (either an existing AOP proxy or a newly generated proxy that
+ * implements all of the target's interfaces).
+ *
+ * <p>The {@link org.springframework.core.task.TaskExecutor} responsible for the
+ * asynchronous execution may be provided as well as the annotation type that
+ * indicates a method should be invoked asynchronously. If no executor is
+ * specified, the unique {@code TaskExecutor} bean of the containing bean
+ * factory is used, falling back to a
+ * {@link org.springframework.core.task.SimpleAsyncTaskExecutor}.
+ *
+ * @see Async
+ * @see AsyncExecutionInterceptor
+ * @see org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor
+ */
+public class AsyncAnnotationBeanPostProcessor extends AbstractAdvisingBeanPostProcessor implements BeanFactoryAware {
+
+	private Executor executor;
+
+
+	public AsyncAnnotationBeanPostProcessor() {
+		setBeforeExistingAdvisors(true);
+	}
+
+
+	/**
+	 * Set the {@link Executor} to use when invoking methods asynchronously.
+	 * <p>Default is the unique {@code TaskExecutor} bean in the containing bean factory.
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) {
+		AsyncExecutionInterceptor interceptor = new AsyncExecutionInterceptor(this.executor);
+		interceptor.setBeanFactory(beanFactory);
+		this.advisor = new DefaultPointcutAdvisor(buildPointcut(), interceptor);
+	}
+
+	/**
+	 * Match classes carrying {@link Async} as well as individual {@link Async} methods.
+	 */
+	private Pointcut buildPointcut() {
+		Pointcut classPointcut = new AnnotationMatchingPointcut(Async.class, true);
+		Pointcut methodPointcut = AnnotationMatchingPointcut.forMethodAnnotation(Async.class);
+		return new ComposablePointcut(classPointcut).union(methodPointcut);
+	}
+
+}
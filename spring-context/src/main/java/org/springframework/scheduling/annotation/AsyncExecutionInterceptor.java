@@ -0,0 +1,209 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.scheduling.annotation;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureTask;
+
+/**
+ * AOP Alliance {@code MethodInterceptor} that processes method invocations
+ * asynchronously, using a given {@link java.util.concurrent.Executor}.
+ *
+ * <p>The executor is determined per method: an {@link Async#value() executor qualifier}
+ * refers to an {@code Executor} bean by name, otherwise the default executor is used:
+ * the one set explicitly, else the unique {@link TaskExecutor} bean in the containing
+ * bean factory, else a local {@link SimpleAsyncTaskExecutor}.
+ *
+ * <p>In terms of target method signatures, any parameter types are supported.
+ * However, the return type is constrained to either {@code void} or
+ * {@code java.util.concurrent.Future}; exceptions thrown from {@code void}
+ * methods are logged since they cannot be transmitted back to the caller.
+ *
+ * @see Async
+ * @see AsyncAnnotationBeanPostProcessor
+ */
+public class AsyncExecutionInterceptor implements MethodInterceptor, BeanFactoryAware {
+
+	protected final Log logger = LogFactory.getLog(getClass());
+
+	private final Map<Method, Executor> executors = new ConcurrentHashMap<Method, Executor>(16);
+
+	private volatile Executor defaultExecutor;
+
+	private BeanFactory beanFactory;
+
+
+	/**
+	 * Create a new {@code AsyncExecutionInterceptor}.
+	 * @param defaultExecutor the {@link Executor} to delegate to by default,
+	 * or {@code null} for determining it lazily
+	 */
+	public AsyncExecutionInterceptor(Executor defaultExecutor) {
+		this.defaultExecutor = defaultExecutor;
+	}
+
+
+	/**
+	 * Set the {@link BeanFactory} to be used when looking up executors by qualifier
+	 * or when relying on the default executor lookup algorithm.
+	 */
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) {
+		this.beanFactory = beanFactory;
+	}
+
+
+	/**
+	 * Intercept the given method invocation, submit the actual calling of the method to
+	 * the correct task executor and return immediately to the caller.
+	 * @param invocation the method to intercept and make asynchronous
+	 * @return {@link Future} if the original method returns {@code Future}; {@code null}
+	 * otherwise.
+	 */
+	@Override
+	public Object invoke(final MethodInvocation invocation) throws Throwable {
+		Class<?> targetClass = (invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : null);
+		final Method userDeclaredMethod = ClassUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+
+		Executor executor = determineAsyncExecutor(userDeclaredMethod);
+		ListenableFutureTask<Object> task = new ListenableFutureTask<Object>(new Callable<Object>() {
+			@Override
+			public Object call() throws Exception {
+				try {
+					Object result = invocation.proceed();
+					if (result instanceof Future) {
+						return ((Future<?>) result).get();
+					}
+				}
+				catch (ExecutionException ex) {
+					handleError(ex.getCause(), userDeclaredMethod);
+				}
+				catch (Throwable ex) {
+					handleError(ex, userDeclaredMethod);
+				}
+				return null;
+			}
+		});
+		executor.execute(task);
+
+		Class<?> returnType = invocation.getMethod().getReturnType();
+		if (ListenableFuture.class.isAssignableFrom(returnType) || Future.class.isAssignableFrom(returnType)) {
+			return task;
+		}
+		return null;
+	}
+
+	/**
+	 * Handle a fatal error thrown while asynchronously invoking the specified
+	 * {@link Method}.
+	 * <p>If the return type of the method is a {@link Future} object, the original
+	 * exception can be propagated by just throwing it at the higher level. However,
+	 * for all other cases, the exception will not be transmitted back to the client
+	 * and is logged instead.
+	 */
+	protected void handleError(Throwable ex, Method method) throws Exception {
+		if (Future.class.isAssignableFrom(method.getReturnType())) {
+			if (ex instanceof Exception) {
+				throw (Exception) ex;
+			}
+			throw new ExecutionException(ex);
+		}
+		logger.error("Unexpected error occurred invoking async method '" + method + "'", ex);
+	}
+
+	/**
+	 * Determine the specific executor to use when executing the given method.
+	 * @return the executor to use (never {@code null})
+	 */
+	protected Executor determineAsyncExecutor(Method method) {
+		Executor executor = this.executors.get(method);
+		if (executor == null) {
+			String qualifier = getExecutorQualifier(method);
+			if (StringUtils.hasLength(qualifier)) {
+				if (this.beanFactory == null) {
+					throw new IllegalStateException("BeanFactory must be set on " + getClass().getSimpleName() +
+							" to access qualified executor '" + qualifier + "'");
+				}
+				executor = this.beanFactory.getBean(qualifier, Executor.class);
+			}
+			else {
+				executor = getDefaultExecutor();
+			}
+			this.executors.put(method, executor);
+		}
+		return executor;
+	}
+
+	/**
+	 * Return the qualifier or bean name of the executor to be used when executing the
+	 * given async method, typically specified in the form of an annotation attribute.
+	 * Returning an empty string or {@code null} indicates that no specific executor has
+	 * been specified and that the default executor should be used.
+	 * @param method the method to inspect for executor qualifier metadata
+	 * @return the qualifier if specified, otherwise empty String or {@code null}
+	 */
+	protected String getExecutorQualifier(Method method) {
+		Async async = AnnotationUtils.findAnnotation(method, Async.class);
+		if (async == null) {
+			async = AnnotationUtils.findAnnotation(method.getDeclaringClass(), Async.class);
+		}
+		return (async != null ? async.value() : null);
+	}
+
+	private Executor getDefaultExecutor() {
+		Executor executor = this.defaultExecutor;
+		if (executor == null) {
+			if (this.beanFactory != null) {
+				try {
+					executor = this.beanFactory.getBean(TaskExecutor.class);
+				}
+				catch (NoSuchBeanDefinitionException ex) {
+					logger.debug("Could not find unique TaskExecutor bean - using local SimpleAsyncTaskExecutor");
+				}
+			}
+			if (executor == null) {
+				executor = new SimpleAsyncTaskExecutor();
+			}
+			this.defaultExecutor = executor;
+		}
+		return executor;
+	}
+
+}
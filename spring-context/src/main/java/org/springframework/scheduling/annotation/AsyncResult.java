@@ -0,0 +1,82 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.scheduling.annotation;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.util.concurrent.FailureCallback;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureCallback;
+import org.springframework.util.concurrent.SuccessCallback;
+
+/**
+ * A pass-through {@code Future} handle that can be used for method signatures
+ * which are declared with a {@code Future} return type for asynchronous execution.
+ *
+ * @see Async
+ */
+public class AsyncResult<V> implements ListenableFuture<V> {
+
+	private final V value;
+
+
+	/**
+	 * Create a new AsyncResult holder.
+	 * @param value the value to pass through
+	 */
+	public AsyncResult(V value) {
+		this.value = value;
+	}
+
+
+	@Override
+	public boolean cancel(boolean mayInterruptIfRunning) {
+		return false;
+	}
+
+	@Override
+	public boolean isCancelled() {
+		return false;
+	}
+
+	@Override
+	public boolean isDone() {
+		return true;
+	}
+
+	@Override
+	public V get() {
+		return this.value;
+	}
+
+	@Override
+	public V get(long timeout, TimeUnit unit) {
+		return this.value;
+	}
+
+	@Override
+	public void addCallback(ListenableFutureCallback<? super V> callback) {
+		addCallback(callback, callback);
+	}
+
+	@Override
+	public void addCallback(SuccessCallback<? super V> successCallback, FailureCallback failureCallback) {
+		successCallback.onSuccess(this.value);
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.scheduling.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation that marks a method to be scheduled. Exactly one of the
+ * {@link #cron()}, {@link #fixedDelay()}, or {@link #fixedRate()}
+ * attributes must be specified.
+ *
+ * <p>The annotated method must expect no arguments. It will typically have
+ * a {@code void} return type; if not, the returned value will be ignored
+ * when called through the scheduler.
+ *
+ * <p>Processing of {@code @Scheduled} annotations is performed by
+ * registering a {@link ScheduledAnnotationBeanPostProcessor}.
+ *
+ * @see ScheduledAnnotationBeanPostProcessor
+ */
+@Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Scheduled {
+
+	/**
+	 * A cron-like expression, extending the usual UN*X definition to include
+	 * triggers on the second as well as minute, hour, day of month, month
+	 * and day of week.  e.g. {@code "0 * * * * MON-FRI"} means once per minute on
+	 * weekdays (at the top of the minute - the 0th second).
+	 * @return an expression that can be parsed to a cron schedule
+	 * @see org.springframework.scheduling.support.CronSequenceGenerator
+	 */
+	String cron() default "";
+
+	/**
+	 * A time zone for which the cron expression will be resolved. By default, this
+	 * attribute is the empty String (i.e. the server's local time zone will be used).
+	 * @return a zone id accepted by {@link java.util.TimeZone#getTimeZone(String)},
+	 * or an empty String to indicate the server's default time zone
+	 */
+	String zone() default "";
+
+	/**
+	 * Execute the annotated method with a fixed period in milliseconds between the
+	 * end of the last invocation and the start of the next.
+	 * @return the delay in milliseconds
+	 */
+	long fixedDelay() default -1;
+
+	/**
+	 * Execute the annotated method with a fixed period in milliseconds between the
+	 * end of the last invocation and the start of the next.
+	 * @return the delay in milliseconds as a String value, e.g. a placeholder
+	 */
+	String fixedDelayString() default "";
+
+	/**
+	 * Execute the annotated method with a fixed period in milliseconds between
+	 * invocations.
+	 * @return the period in milliseconds
+	 */
+	long fixedRate() default -1;
+
+	/**
+	 * Execute the annotated method with a fixed period in milliseconds between
+	 * invocations.
+	 * @return the period in milliseconds as a String value, e.g. a placeholder
+	 */
+	String fixedRateString() default "";
+
+	/**
+	 * Number of milliseconds to delay before the first execution of a
+	 * {@link #fixedRate()} or {@link #fixedDelay()} task.
+	 * @return the initial delay in milliseconds
+	 */
+	long initialDelay() default -1;
+
+	/**
+	 * Number of milliseconds to delay before the first execution of a
+	 * {@link #fixedRate()} or {@link #fixedDelay()} task.
+	 * @return the initial delay in milliseconds as a String value, e.g. a placeholder
+	 */
+	String initialDelayString() default "";
+
+}
@@ -0,0 +1,366 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.scheduling.annotation;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EmbeddedValueResolverAware;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.util.StringValueResolver;
+
+/**
+ * Bean post-processor that registers methods annotated with {@link Scheduled @Scheduled}
+ * to be invoked by a {@link TaskScheduler} according to the "fixedRate", "fixedDelay",
+ * or "cron" expression provided via the annotation.
+ *
+ * <p>Tasks are collected while the singletons of the containing bean factory are being
+ * created and only get scheduled once all of them have been instantiated; beans created
+ * later on (e.g. lazy-init singletons) get their tasks scheduled right away.
+ *
+ * <p>The scheduler is the one set explicitly, else the unique {@link TaskScheduler}
+ * bean of the containing bean factory, else a local single-threaded
+ * {@link ThreadPoolTaskScheduler} that is shut down along with this post-processor.
+ * Placeholders in String-valued attributes are resolved against the
+ * {@link EmbeddedValueResolverAware embedded value resolver}.
+ *
+ * @see Scheduled
+ * @see org.springframework.scheduling.TaskScheduler
+ */
+public class ScheduledAnnotationBeanPostProcessor implements BeanPostProcessor, Ordered,
+		EmbeddedValueResolverAware, BeanFactoryAware, SmartInitializingSingleton, DisposableBean {
+
+	protected final Log logger = LogFactory.getLog(getClass());
+
+	private TaskScheduler scheduler;
+
+	private StringValueResolver embeddedValueResolver;
+
+	private BeanFactory beanFactory;
+
+	private ThreadPoolTaskScheduler localScheduler;
+
+	private boolean started = false;
+
+	private final List<Task> pendingTasks = new ArrayList<Task>();
+
+	private final Set<ScheduledFuture<?>> scheduledFutures = new LinkedHashSet<ScheduledFuture<?>>();
+
+	private final Set<Class<?>> nonAnnotatedClasses =
+			Collections.newSetFromMap(new ConcurrentHashMap<Class<?>, Boolean>(64));
+
+
+	@Override
+	public int getOrder() {
+		return LOWEST_PRECEDENCE;
+	}
+
+	/**
+	 * Set the {@link TaskScheduler} that will invoke the scheduled methods.
+	 * <p>Default is the unique {@code TaskScheduler} bean in the containing bean factory.
+	 */
+	public void setScheduler(TaskScheduler scheduler) {
+		this.scheduler = scheduler;
+	}
+
+	@Override
+	public void setEmbeddedValueResolver(StringValueResolver resolver) {
+		this.embeddedValueResolver = resolver;
+	}
+
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) {
+		this.beanFactory = beanFactory;
+	}
+
+
+	@Override
+	public Object postProcessBeforeInitialization(Object bean, String beanName) {
+		return bean;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(final Object bean, String beanName) {
+		Class<?> targetClass = AopUtils.getTargetClass(bean);
+		if (this.nonAnnotatedClasses.contains(targetClass)) {
+			return bean;
+		}
+		final List<Method> annotatedMethods = new ArrayList<Method>();
+		ReflectionUtils.doWithMethods(targetClass, new ReflectionUtils.MethodCallback() {
+			@Override
+			public void doWith(Method method) {
+				if (AnnotationUtils.getAnnotation(method, Scheduled.class) != null) {
+					annotatedMethods.add(method);
+				}
+			}
+		});
+		if (annotatedMethods.isEmpty()) {
+			this.nonAnnotatedClasses.add(targetClass);
+			if (logger.isTraceEnabled()) {
+				logger.trace("No @Scheduled annotations found on bean class: " + targetClass);
+			}
+			return bean;
+		}
+		for (Method method : annotatedMethods) {
+			processScheduled(AnnotationUtils.getAnnotation(method, Scheduled.class), method, bean);
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug(annotatedMethods.size() + " @Scheduled methods processed on bean '" + beanName +
+					"': " + annotatedMethods);
+		}
+		return bean;
+	}
+
+	/**
+	 * Build the task for the given {@code @Scheduled} method and schedule it,
+	 * or keep it pending until all singletons have been instantiated.
+	 */
+	protected void processScheduled(Scheduled scheduled, Method method, Object bean) {
+		try {
+			Assert.isTrue(method.getParameterTypes().length == 0,
+					"Only no-arg methods may be annotated with @Scheduled");
+			Assert.isTrue(!Modifier.isStatic(method.getModifiers()),
+					"Only instance methods may be annotated with @Scheduled");
+			Runnable runnable = new ScheduledMethodRunnable(bean, selectInvocableMethod(method, bean));
+			Task task = buildTask(scheduled, runnable);
+			synchronized (this.pendingTasks) {
+				if (this.started) {
+					scheduleTask(task);
+				}
+				else {
+					this.pendingTasks.add(task);
+				}
+			}
+		}
+		catch (IllegalArgumentException ex) {
+			throw new IllegalStateException(
+					"Encountered invalid @Scheduled method '" + method.getName() + "': " + ex.getMessage());
+		}
+	}
+
+	private Task buildTask(Scheduled scheduled, Runnable runnable) {
+		String errorMessage =
+				"Exactly one of the 'cron', 'fixedDelay(String)', or 'fixedRate(String)' attributes is required";
+
+		long initialDelay = scheduled.initialDelay();
+		String initialDelayString = resolve(scheduled.initialDelayString());
+		if (StringUtils.hasText(initialDelayString)) {
+			Assert.isTrue(initialDelay < 0, "Specify 'initialDelay' or 'initialDelayString', not both");
+			initialDelay = parseMillis(initialDelayString, "initialDelayString");
+		}
+
+		Task task = null;
+		String cron = resolve(scheduled.cron());
+		if (StringUtils.hasText(cron)) {
+			Assert.isTrue(initialDelay < 0, "'initialDelay' not supported for cron triggers");
+			String zone = resolve(scheduled.zone());
+			TimeZone timeZone = (StringUtils.hasText(zone) ? TimeZone.getTimeZone(zone) : TimeZone.getDefault());
+			task = new Task(runnable, new CronTrigger(cron, timeZone));
+		}
+
+		long fixedDelay = scheduled.fixedDelay();
+		String fixedDelayString = resolve(scheduled.fixedDelayString());
+		if (StringUtils.hasText(fixedDelayString)) {
+			Assert.isTrue(fixedDelay < 0, "Specify 'fixedDelay' or 'fixedDelayString', not both");
+			fixedDelay = parseMillis(fixedDelayString, "fixedDelayString");
+		}
+		if (fixedDelay >= 0) {
+			Assert.isTrue(task == null, errorMessage);
+			task = new Task(runnable, fixedDelay, Math.max(initialDelay, 0), false);
+		}
+
+		long fixedRate = scheduled.fixedRate();
+		String fixedRateString = resolve(scheduled.fixedRateString());
+		if (StringUtils.hasText(fixedRateString)) {
+			Assert.isTrue(fixedRate < 0, "Specify 'fixedRate' or 'fixedRateString', not both");
+			fixedRate = parseMillis(fixedRateString, "fixedRateString");
+		}
+		if (fixedRate >= 0) {
+			Assert.isTrue(task == null, errorMessage);
+			task = new Task(runnable, fixedRate, Math.max(initialDelay, 0), true);
+		}
+
+		Assert.isTrue(task != null, errorMessage);
+		return task;
+	}
+
+	private String resolve(String value) {
+		return (this.embeddedValueResolver != null && StringUtils.hasLength(value) ?
+				this.embeddedValueResolver.resolveStringValue(value) : value);
+	}
+
+	private static long parseMillis(String value, String attributeName) {
+		try {
+			return Long.parseLong(value.trim());
+		}
+		catch (NumberFormatException ex) {
+			throw new IllegalArgumentException(
+					"Invalid " + attributeName + " value \"" + value + "\" - cannot parse into long");
+		}
+	}
+
+	/**
+	 * Select the method to invoke on the given bean: for a JDK proxy,
+	 * the corresponding interface method exposed by the proxy.
+	 */
+	private static Method selectInvocableMethod(Method method, Object bean) {
+		if (!AopUtils.isJdkDynamicProxy(bean)) {
+			return method;
+		}
+		try {
+			return bean.getClass().getMethod(method.getName(), method.getParameterTypes());
+		}
+		catch (NoSuchMethodException ex) {
+			throw new IllegalArgumentException(String.format(
+					"@Scheduled method '%s' found on bean target class '%s' but not " +
+					"found in any interface(s) for a dynamic proxy. Either pull the " +
+					"method up to an interface or switch to subclass (CGLIB) " +
+					"proxies by setting proxy-target-class/proxyTargetClass to 'true'",
+					method.getName(), method.getDeclaringClass().getSimpleName()));
+		}
+	}
+
+
+	/**
+	 * Schedule all tasks collected so far, once all singletons are available.
+	 */
+	@Override
+	public void afterSingletonsInstantiated() {
+		synchronized (this.pendingTasks) {
+			this.started = true;
+			for (Task task : this.pendingTasks) {
+				scheduleTask(task);
+			}
+			this.pendingTasks.clear();
+		}
+	}
+
+	private void scheduleTask(Task task) {
+		TaskScheduler scheduler = getScheduler();
+		ScheduledFuture<?> future;
+		if (task.trigger != null) {
+			future = scheduler.schedule(task.runnable, task.trigger);
+		}
+		else {
+			Date startTime = new Date(System.currentTimeMillis() + task.initialDelay);
+			future = (task.fixedRate ? scheduler.scheduleAtFixedRate(task.runnable, startTime, task.interval) :
+					scheduler.scheduleWithFixedDelay(task.runnable, startTime, task.interval));
+		}
+		if (future != null) {
+			this.scheduledFutures.add(future);
+		}
+	}
+
+	private TaskScheduler getScheduler() {
+		if (this.scheduler == null) {
+			if (this.beanFactory != null) {
+				try {
+					this.scheduler = this.beanFactory.getBean(TaskScheduler.class);
+				}
+				catch (NoSuchBeanDefinitionException ex) {
+					logger.debug("Could not find unique TaskScheduler bean - using local single-threaded scheduler");
+				}
+			}
+			if (this.scheduler == null) {
+				this.localScheduler = new ThreadPoolTaskScheduler();
+				this.localScheduler.setThreadNamePrefix("scheduling-");
+				this.localScheduler.initialize();
+				this.scheduler = this.localScheduler;
+			}
+		}
+		return this.scheduler;
+	}
+
+
+	@Override
+	public void destroy() {
+		synchronized (this.pendingTasks) {
+			for (ScheduledFuture<?> future : this.scheduledFutures) {
+				future.cancel(true);
+			}
+			this.scheduledFutures.clear();
+			this.pendingTasks.clear();
+			if (this.localScheduler != null) {
+				this.localScheduler.destroy();
+				this.localScheduler = null;
+			}
+		}
+	}
+
+
+	/**
+	 * Holder for a scheduled method: either trigger-based or periodic.
+	 */
+	private static class Task {
+
+		final Runnable runnable;
+
+		final Trigger trigger;
+
+		final long interval;
+
+		final long initialDelay;
+
+		final boolean fixedRate;
+
+		Task(Runnable runnable, Trigger trigger) {
+			this.runnable = runnable;
+			this.trigger = trigger;
+			this.interval = 0;
+			this.initialDelay = 0;
+			this.fixedRate = false;
+		}
+
+		Task(Runnable runnable, long interval, long initialDelay, boolean fixedRate) {
+			this.runnable = runnable;
+			this.trigger = null;
+			this.interval = interval;
+			this.initialDelay = initialDelay;
+			this.fixedRate = fixedRate;
+		}
+	}
+
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.BeanNameAware;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * Base class for classes that are setting up a
+ * {@code java.util.concurrent.ThreadPoolExecutor}
+ * (typically a {@link ThreadPoolTaskExecutor} or {@link ThreadPoolTaskScheduler}).
+ * Defines common configuration settings and common lifecycle handling.
+ *
+ * <p>Also keeps per-pool usage statistics: all tasks passed to the pool are
+ * decorated for recording their wait and execution times, and rejected tasks
+ * are counted.
+ *
+ * @see #getStatistics()
+ */
+@SuppressWarnings("serial")
+public abstract class ExecutorConfigurationSupport extends CustomizableThreadFactory
+		implements BeanNameAware, InitializingBean, DisposableBean {
+
+	protected final Log logger = LogFactory.getLog(getClass());
+
+	private ThreadFactory threadFactory = this;
+
+	private boolean threadNamePrefixSet = false;
+
+	private RejectedExecutionHandler rejectedExecutionHandler = new ThreadPoolExecutor.AbortPolicy();
+
+	private boolean waitForTasksToCompleteOnShutdown = false;
+
+	private int awaitTerminationSeconds = 0;
+
+	private String beanName;
+
+	private final TaskExecutionMetrics metrics = new TaskExecutionMetrics();
+
+	private ThreadPoolExecutor executor;
+
+
+	/**
+	 * Set the ThreadFactory to use for the ExecutorService's thread pool.
+	 * Default is the underlying ExecutorService's default thread factory.
+	 * <p>In a Java EE 7 or other managed environment with JSR-236 support,
+	 * consider specifying a JNDI-located ManagedThreadFactory.
+	 * @see java.util.concurrent.Executors#defaultThreadFactory()
+	 */
+	public void setThreadFactory(ThreadFactory threadFactory) {
+		this.threadFactory = (threadFactory != null ? threadFactory : this);
+	}
+
+	@Override
+	public void setThreadNamePrefix(String threadNamePrefix) {
+		super.setThreadNamePrefix(threadNamePrefix);
+		this.threadNamePrefixSet = true;
+	}
+
+	/**
+	 * Set the RejectedExecutionHandler to use for the ExecutorService.
+	 * Default is the ExecutorService's default abort policy.
+	 * @see java.util.concurrent.ThreadPoolExecutor.AbortPolicy
+	 * @see java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy
+	 * @see java.util.concurrent.ThreadPoolExecutor.DiscardPolicy
+	 * @see java.util.concurrent.ThreadPoolExecutor.DiscardOldestPolicy
+	 */
+	public void setRejectedExecutionHandler(RejectedExecutionHandler rejectedExecutionHandler) {
+		this.rejectedExecutionHandler =
+				(rejectedExecutionHandler != null ? rejectedExecutionHandler : new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	/**
+	 * Set whether to wait for scheduled tasks to complete on shutdown,
+	 * not interrupting running tasks and executing all tasks in the queue.
+	 * <p>Default is "false", shutting down immediately through interrupting
+	 * ongoing tasks and clearing the queue. Switch this flag to "true" if you
+	 * prefer fully completed tasks at the expense of a longer shutdown phase.
+	 * @see java.util.concurrent.ExecutorService#shutdown()
+	 * @see java.util.concurrent.ExecutorService#shutdownNow()
+	 */
+	public void setWaitForTasksToCompleteOnShutdown(boolean waitForJobsToCompleteOnShutdown) {
+		this.waitForTasksToCompleteOnShutdown = waitForJobsToCompleteOnShutdown;
+	}
+
+	/**
+	 * Set the maximum number of seconds that this executor is supposed to block
+	 * on shutdown in order to wait for remaining tasks to complete their execution
+	 * before the rest of the container continues to shut down.
+	 * <p>By default, this executor won't wait for the termination of tasks at all.
+	 * @see java.util.concurrent.ExecutorService#awaitTermination
+	 */
+	public void setAwaitTerminationSeconds(int awaitTerminationSeconds) {
+		this.awaitTerminationSeconds = awaitTerminationSeconds;
+	}
+
+	@Override
+	public void setBeanName(String name) {
+		this.beanName = name;
+	}
+
+
+	/**
+	 * Calls {@code initialize()} after the container applied all property values.
+	 * @see #initialize()
+	 */
+	@Override
+	public void afterPropertiesSet() {
+		initialize();
+	}
+
+	/**
+	 * Set up the ExecutorService.
+	 */
+	public void initialize() {
+		if (logger.isInfoEnabled()) {
+			logger.info("Initializing ExecutorService" + (this.beanName != null ? " '" + this.beanName + "'" : ""));
+		}
+		if (!this.threadNamePrefixSet && this.beanName != null) {
+			setThreadNamePrefix(this.beanName + "-");
+		}
+		this.executor = initializeExecutor(this.threadFactory,
+				this.metrics.countRejections(this.rejectedExecutionHandler));
+	}
+
+	/**
+	 * Create the target {@link java.util.concurrent.ThreadPoolExecutor} instance.
+	 * Called on {@code afterPropertiesSet}.
+	 * @param threadFactory the ThreadFactory to use
+	 * @param rejectedExecutionHandler the RejectedExecutionHandler to use
+	 * @return a new ThreadPoolExecutor instance
+	 * @see #afterPropertiesSet()
+	 */
+	protected abstract ThreadPoolExecutor initializeExecutor(
+			ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler);
+
+
+	/**
+	 * Decorate the given task for recording its wait and execution times.
+	 * @param task the task to decorate
+	 * @param expectedStart the {@link System#nanoTime()} at which the task is
+	 * supposed to start, i.e. the submission time for immediate executions
+	 * @param period a positive value for a fixed rate, a negative value for
+	 * a fixed delay, 0 for a one-shot task (all in nanoseconds)
+	 */
+	protected Runnable decorateTask(Runnable task, long expectedStart, long period) {
+		return this.metrics.decorate(task, expectedStart, period);
+	}
+
+	/**
+	 * Return the metrics of this pool, for decorating tasks that are
+	 * passed to the executor in other ways.
+	 */
+	TaskExecutionMetrics getMetrics() {
+		return this.metrics;
+	}
+
+	/**
+	 * Return a snapshot of the state and usage statistics of the thread pool:
+	 * pool size, active count, queue depth and task latency.
+	 */
+	public ExecutorStatistics getStatistics() {
+		return this.metrics.getStatistics(this.executor);
+	}
+
+
+	/**
+	 * Calls {@code shutdown} when the BeanFactory destroys
+	 * the task executor instance.
+	 * @see #shutdown()
+	 */
+	@Override
+	public void destroy() {
+		shutdown();
+	}
+
+	/**
+	 * Perform a shutdown on the underlying ExecutorService.
+	 * @see java.util.concurrent.ExecutorService#shutdown()
+	 * @see java.util.concurrent.ExecutorService#shutdownNow()
+	 * @see #awaitTerminationIfNecessary()
+	 */
+	public void shutdown() {
+		if (logger.isInfoEnabled()) {
+			logger.info("Shutting down ExecutorService" + (this.beanName != null ? " '" + this.beanName + "'" : ""));
+		}
+		if (this.executor == null) {
+			return;
+		}
+		if (this.waitForTasksToCompleteOnShutdown) {
+			this.executor.shutdown();
+		}
+		else {
+			for (Runnable remainingTask : this.executor.shutdownNow()) {
+				remainingTask = this.metrics.undecorate(remainingTask);
+				if (remainingTask instanceof Future) {
+					((Future<?>) remainingTask).cancel(true);
+				}
+			}
+		}
+		awaitTerminationIfNecessary(this.executor);
+	}
+
+	/**
+	 * Wait for the executor to terminate, according to the value of the
+	 * {@link #setAwaitTerminationSeconds "awaitTerminationSeconds"} property.
+	 */
+	private void awaitTerminationIfNecessary(ExecutorService executor) {
+		if (this.awaitTerminationSeconds > 0) {
+			try {
+				if (!executor.awaitTermination(this.awaitTerminationSeconds, TimeUnit.SECONDS)) {
+					if (logger.isWarnEnabled()) {
+						logger.warn("Timed out while waiting for executor" +
+								(this.beanName != null ? " '" + this.beanName + "'" : "") + " to terminate");
+					}
+				}
+			}
+			catch (InterruptedException ex) {
+				if (logger.isWarnEnabled()) {
+					logger.warn("Interrupted while waiting for executor" +
+							(this.beanName != null ? " '" + this.beanName + "'" : "") + " to terminate");
+				}
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable snapshot of the state and usage statistics of a thread pool.
+ *
+ * <p>The latency figures cover the time that tasks spent waiting for a thread:
+ * from submission to start for plain executions, and from the intended to the
+ * actual start for scheduled executions.
+ *
+ * @see ThreadPoolTaskExecutor#getStatistics()
+ * @see ThreadPoolTaskScheduler#getStatistics()
+ */
+public final class ExecutorStatistics {
+
+	private final int poolSize;
+
+	private final int largestPoolSize;
+
+	private final int activeCount;
+
+	private final int queueSize;
+
+	private final long startedTaskCount;
+
+	private final long completedTaskCount;
+
+	private final long rejectedTaskCount;
+
+	private final long totalWaitNanos;
+
+	private final long maxWaitNanos;
+
+	private final long totalExecutionNanos;
+
+
+	public ExecutorStatistics(int poolSize, int largestPoolSize, int activeCount, int queueSize,
+			long startedTaskCount, long completedTaskCount, long rejectedTaskCount,
+			long totalWaitNanos, long maxWaitNanos, long totalExecutionNanos) {
+
+		this.poolSize = poolSize;
+		this.largestPoolSize = largestPoolSize;
+		this.activeCount = activeCount;
+		this.queueSize = queueSize;
+		this.startedTaskCount = startedTaskCount;
+		this.completedTaskCount = completedTaskCount;
+		this.rejectedTaskCount = rejectedTaskCount;
+		this.totalWaitNanos = totalWaitNanos;
+		this.maxWaitNanos = maxWaitNanos;
+		this.totalExecutionNanos = totalExecutionNanos;
+	}
+
+
+	/**
+	 * Return the current number of threads in the pool.
+	 */
+	public int getPoolSize() {
+		return this.poolSize;
+	}
+
+	/**
+	 * Return the largest number of threads that have ever simultaneously been in the pool.
+	 */
+	public int getLargestPoolSize() {
+		return this.largestPoolSize;
+	}
+
+	/**
+	 * Return the approximate number of threads that are actively executing tasks.
+	 */
+	public int getActiveCount() {
+		return this.activeCount;
+	}
+
+	/**
+	 * Return the number of tasks waiting in the queue (including scheduled
+	 * tasks that are not due yet, in case of a scheduler).
+	 */
+	public int getQueueSize() {
+		return this.queueSize;
+	}
+
+	/**
+	 * Return the number of task executions that have been started.
+	 */
+	public long getStartedTaskCount() {
+		return this.startedTaskCount;
+	}
+
+	/**
+	 * Return the number of task executions that have completed, normally or not.
+	 */
+	public long getCompletedTaskCount() {
+		return this.completedTaskCount;
+	}
+
+	/**
+	 * Return the number of tasks that have been rejected by the pool.
+	 */
+	public long getRejectedTaskCount() {
+		return this.rejectedTaskCount;
+	}
+
+	/**
+	 * Return the average time in milliseconds that a task waited for a thread.
+	 */
+	public double getAverageWaitTime() {
+		return average(this.totalWaitNanos, this.startedTaskCount);
+	}
+
+	/**
+	 * Return the longest time in milliseconds that a task waited for a thread.
+	 */
+	public double getMaxWaitTime() {
+		return (double) this.maxWaitNanos / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	/**
+	 * Return the average execution time of a task in milliseconds.
+	 */
+	public double getAverageExecutionTime() {
+		return average(this.totalExecutionNanos, this.completedTaskCount);
+	}
+
+	private static double average(long totalNanos, long count) {
+		return (count == 0 ? 0.0 : (double) totalNanos / count / TimeUnit.MILLISECONDS.toNanos(1));
+	}
+
+
+	@Override
+	public String toString() {
+		return "ExecutorStatistics [poolSize=" + this.poolSize + ", largestPoolSize=" + this.largestPoolSize +
+				", activeCount=" + this.activeCount + ", queueSize=" + this.queueSize +
+				", started=" + this.startedTaskCount + ", completed=" + this.completedTaskCount +
+				", rejected=" + this.rejectedTaskCount + ", averageWaitTime=" + getAverageWaitTime() +
+				"ms, maxWaitTime=" + getMaxWaitTime() + "ms, averageExecutionTime=" +
+				getAverageExecutionTime() + "ms]";
+	}
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters behind {@link ExecutorStatistics}, updated lock-free by the
+ * {@link #decorate decorated} tasks of a pool.
+ */
+class TaskExecutionMetrics {
+
+	private final AtomicLong startedCount = new AtomicLong();
+
+	private final AtomicLong completedCount = new AtomicLong();
+
+	private final AtomicLong rejectedCount = new AtomicLong();
+
+	private final AtomicLong totalWaitNanos = new AtomicLong();
+
+	private final AtomicLong maxWaitNanos = new AtomicLong();
+
+	private final AtomicLong totalExecutionNanos = new AtomicLong();
+
+
+	/**
+	 * Decorate the given task for recording its wait and execution times.
+	 * @param task the task to decorate
+	 * @param expectedStart the {@link System#nanoTime()} at which the task
+	 * is supposed to start, i.e. the submission time for immediate executions
+	 * @param period follows the {@code ScheduledThreadPoolExecutor} convention:
+	 * a positive value is a fixed rate, a negative value a fixed delay and 0
+	 * indicates a one-shot task (all in nanoseconds)
+	 */
+	Runnable decorate(Runnable task, long expectedStart, long period) {
+		return new TimedRunnable(task, expectedStart, period);
+	}
+
+	/**
+	 * Return the original task behind the given (possibly decorated) task.
+	 */
+	Runnable undecorate(Runnable task) {
+		return (task instanceof TimedRunnable ? ((TimedRunnable) task).task : task);
+	}
+
+	/**
+	 * Wrap the given handler for counting rejected tasks. The handler receives
+	 * the originally submitted task rather than its timing decorator.
+	 */
+	RejectedExecutionHandler countRejections(final RejectedExecutionHandler handler) {
+		return new RejectedExecutionHandler() {
+			@Override
+			public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+				rejectedCount.incrementAndGet();
+				handler.rejectedExecution(undecorate(task), executor);
+			}
+		};
+	}
+
+	ExecutorStatistics getStatistics(ThreadPoolExecutor executor) {
+		if (executor == null) {
+			return new ExecutorStatistics(0, 0, 0, 0, this.startedCount.get(), this.completedCount.get(),
+					this.rejectedCount.get(), this.totalWaitNanos.get(), this.maxWaitNanos.get(),
+					this.totalExecutionNanos.get());
+		}
+		return new ExecutorStatistics(executor.getPoolSize(), executor.getLargestPoolSize(),
+				executor.getActiveCount(), executor.getQueue().size(), this.startedCount.get(),
+				this.completedCount.get(), this.rejectedCount.get(), this.totalWaitNanos.get(),
+				this.maxWaitNanos.get(), this.totalExecutionNanos.get());
+	}
+
+	private void taskStarted(long waitNanos) {
+		this.startedCount.incrementAndGet();
+		this.totalWaitNanos.addAndGet(waitNanos);
+		long max = this.maxWaitNanos.get();
+		while (waitNanos > max && !this.maxWaitNanos.compareAndSet(max, waitNanos)) {
+			max = this.maxWaitNanos.get();
+		}
+	}
+
+	private void taskCompleted(long executionNanos) {
+		this.completedCount.incrementAndGet();
+		this.totalExecutionNanos.addAndGet(executionNanos);
+	}
+
+
+	private class TimedRunnable implements Runnable {
+
+		private final Runnable task;
+
+		private final long period;
+
+		private long expectedStart;
+
+		public TimedRunnable(Runnable task, long expectedStart, long period) {
+			this.task = task;
+			this.expectedStart = expectedStart;
+			this.period = period;
+		}
+
+		@Override
+		public void run() {
+			long start = System.nanoTime();
+			taskStarted(Math.max(start - this.expectedStart, 0));
+			try {
+				this.task.run();
+			}
+			finally {
+				long end = System.nanoTime();
+				taskCompleted(end - start);
+				if (this.period > 0) {
+					this.expectedStart += this.period;
+				}
+				else if (this.period < 0) {
+					this.expectedStart = end - this.period;
+				}
+			}
+		}
+
+		@Override
+		public String toString() {
+			return this.task.toString();
+		}
+	}
+
+}
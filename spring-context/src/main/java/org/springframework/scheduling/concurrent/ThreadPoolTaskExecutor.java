@@ -0,0 +1,295 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.core.task.AsyncListenableTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.util.Assert;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureTask;
+
+/**
+ * JavaBean that allows for configuring a {@link java.util.concurrent.ThreadPoolExecutor}
+ * in bean style (through its "corePoolSize", "maxPoolSize", "keepAliveSeconds", "queueCapacity"
+ * properties) and exposing it as a Spring {@link org.springframework.core.task.TaskExecutor}.
+ *
+ * <p>Unlike {@link org.springframework.core.task.SimpleAsyncTaskExecutor}, threads are
+ * reused across tasks: the pool grows up to the core size, then queues tasks up to the
+ * queue capacity, and only then grows further up to the maximum size. Tasks that do not
+ * fit into the pool anymore are handed to the configured
+ * {@link #setRejectedExecutionHandler rejection policy}.
+ *
+ * <p>The pool's queue depth, active count and task latency are available through
+ * {@link #getStatistics()}.
+ *
+ * @see org.springframework.core.task.TaskExecutor
+ * @see java.util.concurrent.ThreadPoolExecutor
+ * @see ThreadPoolTaskScheduler
+ */
+@SuppressWarnings("serial")
+public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport implements AsyncListenableTaskExecutor {
+
+	private final Object poolSizeMonitor = new Object();
+
+	private int corePoolSize = 1;
+
+	private int maxPoolSize = Integer.MAX_VALUE;
+
+	private int keepAliveSeconds = 60;
+
+	private int queueCapacity = Integer.MAX_VALUE;
+
+	private boolean allowCoreThreadTimeOut = false;
+
+	private ThreadPoolExecutor threadPoolExecutor;
+
+
+	/**
+	 * Set the ThreadPoolExecutor's core pool size.
+	 * Default is 1.
+	 * <p><b>This setting can be modified at runtime.</b>
+	 */
+	public void setCorePoolSize(int corePoolSize) {
+		synchronized (this.poolSizeMonitor) {
+			this.corePoolSize = corePoolSize;
+			if (this.threadPoolExecutor != null) {
+				this.threadPoolExecutor.setCorePoolSize(corePoolSize);
+			}
+		}
+	}
+
+	/**
+	 * Return the ThreadPoolExecutor's core pool size.
+	 */
+	public int getCorePoolSize() {
+		synchronized (this.poolSizeMonitor) {
+			return this.corePoolSize;
+		}
+	}
+
+	/**
+	 * Set the ThreadPoolExecutor's maximum pool size.
+	 * Default is {@code Integer.MAX_VALUE}.
+	 * <p><b>This setting can be modified at runtime.</b>
+	 */
+	public void setMaxPoolSize(int maxPoolSize) {
+		synchronized (this.poolSizeMonitor) {
+			this.maxPoolSize = maxPoolSize;
+			if (this.threadPoolExecutor != null) {
+				this.threadPoolExecutor.setMaximumPoolSize(maxPoolSize);
+			}
+		}
+	}
+
+	/**
+	 * Return the ThreadPoolExecutor's maximum pool size.
+	 */
+	public int getMaxPoolSize() {
+		synchronized (this.poolSizeMonitor) {
+			return this.maxPoolSize;
+		}
+	}
+
+	/**
+	 * Set the ThreadPoolExecutor's keep-alive seconds.
+	 * Default is 60.
+	 * <p><b>This setting can be modified at runtime.</b>
+	 */
+	public void setKeepAliveSeconds(int keepAliveSeconds) {
+		synchronized (this.poolSizeMonitor) {
+			this.keepAliveSeconds = keepAliveSeconds;
+			if (this.threadPoolExecutor != null) {
+				this.threadPoolExecutor.setKeepAliveTime(keepAliveSeconds, TimeUnit.SECONDS);
+			}
+		}
+	}
+
+	/**
+	 * Return the ThreadPoolExecutor's keep-alive seconds.
+	 */
+	public int getKeepAliveSeconds() {
+		synchronized (this.poolSizeMonitor) {
+			return this.keepAliveSeconds;
+		}
+	}
+
+	/**
+	 * Set the capacity for the ThreadPoolExecutor's BlockingQueue.
+	 * Default is {@code Integer.MAX_VALUE}.
+	 * <p>Any positive value will lead to a LinkedBlockingQueue instance;
+	 * any other value will lead to a SynchronousQueue instance.
+	 * <p>Note that the pool only grows beyond its core size once the
+	 * queue is full, i.e. never with the default unbounded queue.
+	 * @see java.util.concurrent.LinkedBlockingQueue
+	 * @see java.util.concurrent.SynchronousQueue
+	 */
+	public void setQueueCapacity(int queueCapacity) {
+		this.queueCapacity = queueCapacity;
+	}
+
+	/**
+	 * Specify whether to allow core threads to time out. This enables dynamic
+	 * growing and shrinking even in combination with a non-zero queue (since
+	 * the max pool size will only grow once the queue is full).
+	 * <p>Default is "false".
+	 * @see java.util.concurrent.ThreadPoolExecutor#allowCoreThreadTimeOut(boolean)
+	 */
+	public void setAllowCoreThreadTimeOut(boolean allowCoreThreadTimeOut) {
+		this.allowCoreThreadTimeOut = allowCoreThreadTimeOut;
+	}
+
+
+	@Override
+	protected ThreadPoolExecutor initializeExecutor(
+			ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler) {
+
+		BlockingQueue<Runnable> queue = createQueue(this.queueCapacity);
+		ThreadPoolExecutor executor;
+		synchronized (this.poolSizeMonitor) {
+			executor = new ThreadPoolExecutor(this.corePoolSize, this.maxPoolSize, this.keepAliveSeconds,
+					TimeUnit.SECONDS, queue, threadFactory, rejectedExecutionHandler);
+			if (this.allowCoreThreadTimeOut) {
+				executor.allowCoreThreadTimeOut(true);
+			}
+			this.threadPoolExecutor = executor;
+		}
+		return executor;
+	}
+
+	/**
+	 * Create the BlockingQueue to use for the ThreadPoolExecutor.
+	 * <p>A LinkedBlockingQueue instance will be created for a positive
+	 * capacity value; a SynchronousQueue else.
+	 * @param queueCapacity the specified queue capacity
+	 * @return the BlockingQueue instance
+	 * @see java.util.concurrent.LinkedBlockingQueue
+	 * @see java.util.concurrent.SynchronousQueue
+	 */
+	protected BlockingQueue<Runnable> createQueue(int queueCapacity) {
+		if (queueCapacity > 0) {
+			return new LinkedBlockingQueue<Runnable>(queueCapacity);
+		}
+		else {
+			return new SynchronousQueue<Runnable>();
+		}
+	}
+
+	/**
+	 * Return the underlying ThreadPoolExecutor for native access.
+	 * @return the underlying ThreadPoolExecutor (never {@code null})
+	 * @throws IllegalStateException if the ThreadPoolTaskExecutor hasn't been initialized yet
+	 */
+	public ThreadPoolExecutor getThreadPoolExecutor() throws IllegalStateException {
+		Assert.state(this.threadPoolExecutor != null, "ThreadPoolTaskExecutor not initialized");
+		return this.threadPoolExecutor;
+	}
+
+	/**
+	 * Return the current pool size.
+	 * @see java.util.concurrent.ThreadPoolExecutor#getPoolSize()
+	 */
+	public int getPoolSize() {
+		if (this.threadPoolExecutor == null) {
+			// Not initialized yet: assume core pool size.
+			return this.corePoolSize;
+		}
+		return this.threadPoolExecutor.getPoolSize();
+	}
+
+	/**
+	 * Return the number of currently active threads.
+	 * @see java.util.concurrent.ThreadPoolExecutor#getActiveCount()
+	 */
+	public int getActiveCount() {
+		if (this.threadPoolExecutor == null) {
+			// Not initialized yet: assume no active threads.
+			return 0;
+		}
+		return this.threadPoolExecutor.getActiveCount();
+	}
+
+	/**
+	 * Return the number of tasks currently waiting in the queue.
+	 * @see java.util.concurrent.ThreadPoolExecutor#getQueue()
+	 */
+	public int getQueueSize() {
+		if (this.threadPoolExecutor == null) {
+			return 0;
+		}
+		return this.threadPoolExecutor.getQueue().size();
+	}
+
+
+	@Override
+	public void execute(Runnable task) {
+		Assert.notNull(task, "Runnable must not be null");
+		ThreadPoolExecutor executor = getThreadPoolExecutor();
+		try {
+			executor.execute(decorateTask(task, System.nanoTime(), 0));
+		}
+		catch (RejectedExecutionException ex) {
+			throw new TaskRejectedException("Executor [" + executor + "] did not accept task: " + task, ex);
+		}
+	}
+
+	@Override
+	public void execute(Runnable task, long startTimeout) {
+		execute(task);
+	}
+
+	@Override
+	public Future<?> submit(Runnable task) {
+		FutureTask<Object> future = new FutureTask<Object>(task, null);
+		execute(future);
+		return future;
+	}
+
+	@Override
+	public <T> Future<T> submit(Callable<T> task) {
+		FutureTask<T> future = new FutureTask<T>(task);
+		execute(future);
+		return future;
+	}
+
+	@Override
+	public ListenableFuture<?> submitListenable(Runnable task) {
+		ListenableFutureTask<Object> future = new ListenableFutureTask<Object>(task, null);
+		execute(future);
+		return future;
+	}
+
+	@Override
+	public <T> ListenableFuture<T> submitListenable(Callable<T> task) {
+		ListenableFutureTask<T> future = new ListenableFutureTask<T>(task);
+		execute(future);
+		return future;
+	}
+
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.Date;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.core.task.AsyncListenableTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.TaskUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ErrorHandler;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureTask;
+
+/**
+ * Implementation of Spring's {@link TaskScheduler} interface, wrapping
+ * a native {@link java.util.concurrent.ScheduledThreadPoolExecutor}.
+ *
+ * <p>Fixed-rate and fixed-delay tasks map onto the corresponding executor
+ * methods; {@link Trigger}-based tasks (e.g. cron expressions) are rescheduled
+ * after each execution according to the trigger's next execution time.
+ *
+ * <p>The pool's queue depth (i.e. pending scheduled tasks), active count and
+ * task latency (the delay between the intended and the actual start of each
+ * execution) are available through {@link #getStatistics()}.
+ *
+ * @see #setPoolSize
+ * @see #setRemoveOnCancelPolicy
+ * @see #setErrorHandler
+ */
+@SuppressWarnings("serial")
+public class ThreadPoolTaskScheduler extends ExecutorConfigurationSupport
+		implements AsyncListenableTaskExecutor, TaskScheduler {
+
+	private volatile int poolSize = 1;
+
+	private volatile boolean removeOnCancelPolicy = false;
+
+	private volatile ErrorHandler errorHandler;
+
+	private volatile ScheduledThreadPoolExecutor scheduledExecutor;
+
+
+	/**
+	 * Set the ScheduledExecutorService's pool size.
+	 * Default is 1.
+	 * <p><b>This setting can be modified at runtime.</b>
+	 */
+	public void setPoolSize(int poolSize) {
+		Assert.isTrue(poolSize > 0, "'poolSize' must be 1 or higher");
+		this.poolSize = poolSize;
+		if (this.scheduledExecutor != null) {
+			this.scheduledExecutor.setCorePoolSize(poolSize);
+		}
+	}
+
+	/**
+	 * Set the remove-on-cancel mode on {@link ScheduledThreadPoolExecutor}.
+	 * <p>Default is {@code false}. If set to {@code true}, the target executor will be
+	 * switched into remove-on-cancel mode, keeping cancelled tasks from piling up
+	 * in the queue.
+	 * <p><b>This setting can be modified at runtime.</b>
+	 */
+	public void setRemoveOnCancelPolicy(boolean removeOnCancelPolicy) {
+		this.removeOnCancelPolicy = removeOnCancelPolicy;
+		if (this.scheduledExecutor != null) {
+			this.scheduledExecutor.setRemoveOnCancelPolicy(removeOnCancelPolicy);
+		}
+	}
+
+	/**
+	 * Set a custom {@link ErrorHandler} strategy.
+	 * <p>By default, errors thrown from repeating tasks are logged and
+	 * suppressed, whereas errors from one-shot tasks are logged and propagated.
+	 * @see TaskUtils#getDefaultErrorHandler(boolean)
+	 */
+	public void setErrorHandler(ErrorHandler errorHandler) {
+		this.errorHandler = errorHandler;
+	}
+
+
+	@Override
+	protected ThreadPoolExecutor initializeExecutor(
+			ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler) {
+
+		ScheduledThreadPoolExecutor executor =
+				new ScheduledThreadPoolExecutor(this.poolSize, threadFactory, rejectedExecutionHandler);
+		if (this.removeOnCancelPolicy) {
+			executor.setRemoveOnCancelPolicy(true);
+		}
+		this.scheduledExecutor = executor;
+		return executor;
+	}
+
+	/**
+	 * Return the underlying ScheduledThreadPoolExecutor for native access.
+	 * @return the underlying ScheduledThreadPoolExecutor (never {@code null})
+	 * @throws IllegalStateException if the ThreadPoolTaskScheduler hasn't been initialized yet
+	 */
+	public ScheduledThreadPoolExecutor getScheduledThreadPoolExecutor() throws IllegalStateException {
+		Assert.state(this.scheduledExecutor != null, "ThreadPoolTaskScheduler not initialized");
+		return this.scheduledExecutor;
+	}
+
+	/**
+	 * Return the current pool size.
+	 * @see java.util.concurrent.ScheduledThreadPoolExecutor#getPoolSize()
+	 */
+	public int getPoolSize() {
+		if (this.scheduledExecutor == null) {
+			// Not initialized yet: assume initial pool size.
+			return this.poolSize;
+		}
+		return this.scheduledExecutor.getPoolSize();
+	}
+
+	/**
+	 * Return the number of currently active threads.
+	 * @see java.util.concurrent.ScheduledThreadPoolExecutor#getActiveCount()
+	 */
+	public int getActiveCount() {
+		if (this.scheduledExecutor == null) {
+			// Not initialized yet: assume no active threads.
+			return 0;
+		}
+		return this.scheduledExecutor.getActiveCount();
+	}
+
+
+	// AsyncListenableTaskExecutor implementation
+
+	@Override
+	public void execute(Runnable task) {
+		ScheduledThreadPoolExecutor executor = getScheduledThreadPoolExecutor();
+		try {
+			executor.execute(decorateTask(errorHandlingTask(task, false), System.nanoTime(), 0));
+		}
+		catch (RejectedExecutionException ex) {
+			throw new TaskRejectedException("Executor [" + executor + "] did not accept task: " + task, ex);
+		}
+	}
+
+	@Override
+	public void execute(Runnable task, long startTimeout) {
+		execute(task);
+	}
+
+	@Override
+	public Future<?> submit(Runnable task) {
+		FutureTask<Object> future = new FutureTask<Object>(task, null);
+		execute(future);
+		return future;
+	}
+
+	@Override
+	public <T> Future<T> submit(Callable<T> task) {
+		FutureTask<T> future = new FutureTask<T>(task);
+		execute(future);
+		return future;
+	}
+
+	@Override
+	public ListenableFuture<?> submitListenable(Runnable task) {
+		ListenableFutureTask<Object> future = new ListenableFutureTask<Object>(task, null);
+		execute(future);
+		return future;
+	}
+
+	@Override
+	public <T> ListenableFuture<T> submitListenable(Callable<T> task) {
+		ListenableFutureTask<T> future = new ListenableFutureTask<T>(task);
+		execute(future);
+		return future;
+	}
+
+
+	// TaskScheduler implementation
+
+	@Override
+	public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+		ScheduledThreadPoolExecutor executor = getScheduledThreadPoolExecutor();
+		try {
+			ErrorHandler errorHandler =
+					(this.errorHandler != null ? this.errorHandler : TaskUtils.getDefaultErrorHandler(true));
+			return new ReschedulingRunnable(task, trigger, executor, errorHandler, getMetrics()).schedule();
+		}
+		catch (RejectedExecutionException ex) {
+			throw new TaskRejectedException("Executor [" + executor + "] did not accept task: " + task, ex);
+		}
+	}
+
+	@Override
+	public ScheduledFuture<?> schedule(Runnable task, Date startTime) {
+		ScheduledThreadPoolExecutor executor = getScheduledThreadPoolExecutor();
+		long initialDelay = startTime.getTime() - System.currentTimeMillis();
+		try {
+			return executor.schedule(decorateTask(errorHandlingTask(task, false), expectedStart(initialDelay), 0),
+					initialDelay, TimeUnit.MILLISECONDS);
+		}
+		catch (RejectedExecutionException ex) {
+			throw new TaskRejectedException("Executor [" + executor + "] did not accept task: " + task, ex);
+		}
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Date startTime, long period) {
+		ScheduledThreadPoolExecutor executor = getScheduledThreadPoolExecutor();
+		long initialDelay = startTime.getTime() - System.currentTimeMillis();
+		try {
+			return executor.scheduleAtFixedRate(decorateTask(errorHandlingTask(task, true),
+					expectedStart(initialDelay), TimeUnit.MILLISECONDS.toNanos(period)),
+					initialDelay, period, TimeUnit.MILLISECONDS);
+		}
+		catch (RejectedExecutionException ex) {
+			throw new TaskRejectedException("Executor [" + executor + "] did not accept task: " + task, ex);
+		}
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period) {
+		ScheduledThreadPoolExecutor executor = getScheduledThreadPoolExecutor();
+		try {
+			return executor.scheduleAtFixedRate(decorateTask(errorHandlingTask(task, true),
+					expectedStart(0), TimeUnit.MILLISECONDS.toNanos(period)),
+					0, period, TimeUnit.MILLISECONDS);
+		}
+		catch (RejectedExecutionException ex) {
+			throw new TaskRejectedException("Executor [" + executor + "] did not accept task: " + task, ex);
+		}
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Date startTime, long delay) {
+		ScheduledThreadPoolExecutor executor = getScheduledThreadPoolExecutor();
+		long initialDelay = startTime.getTime() - System.currentTimeMillis();
+		try {
+			return executor.scheduleWithFixedDelay(decorateTask(errorHandlingTask(task, true),
+					expectedStart(initialDelay), -TimeUnit.MILLISECONDS.toNanos(delay)),
+					initialDelay, delay, TimeUnit.MILLISECONDS);
+		}
+		catch (RejectedExecutionException ex) {
+			throw new TaskRejectedException("Executor [" + executor + "] did not accept task: " + task, ex);
+		}
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long delay) {
+		ScheduledThreadPoolExecutor executor = getScheduledThreadPoolExecutor();
+		try {
+			return executor.scheduleWithFixedDelay(decorateTask(errorHandlingTask(task, true),
+					expectedStart(0), -TimeUnit.MILLISECONDS.toNanos(delay)),
+					0, delay, TimeUnit.MILLISECONDS);
+		}
+		catch (RejectedExecutionException ex) {
+			throw new TaskRejectedException("Executor [" + executor + "] did not accept task: " + task, ex);
+		}
+	}
+
+
+	private Runnable errorHandlingTask(Runnable task, boolean isRepeatingTask) {
+		return TaskUtils.decorateTaskWithErrorHandler(task, this.errorHandler, isRepeatingTask);
+	}
+
+	private static long expectedStart(long initialDelay) {
+		return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(initialDelay, 0));
+	}
+
+}
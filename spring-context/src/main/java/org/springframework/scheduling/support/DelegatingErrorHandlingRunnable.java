@@ -0,0 +1,63 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.scheduling.support;
+
+import org.springframework.util.Assert;
+import org.springframework.util.ErrorHandler;
+
+/**
+ * Runnable wrapper that catches any exception or error thrown from its
+ * delegate Runnable and allows an {@link ErrorHandler} to handle it.
+ *
+ * @see TaskUtils#decorateTaskWithErrorHandler
+ */
+public class DelegatingErrorHandlingRunnable implements Runnable {
+
+	private final Runnable delegate;
+
+	private final ErrorHandler errorHandler;
+
+
+	/**
+	 * Create a new DelegatingErrorHandlingRunnable.
+	 * @param delegate the Runnable implementation to delegate to
+	 * @param errorHandler the ErrorHandler for handling any exceptions
+	 */
+	public DelegatingErrorHandlingRunnable(Runnable delegate, ErrorHandler errorHandler) {
+		Assert.notNull(delegate, "Delegate must not be null");
+		Assert.notNull(errorHandler, "ErrorHandler must not be null");
+		this.delegate = delegate;
+		this.errorHandler = errorHandler;
+	}
+
+	@Override
+	public void run() {
+		try {
+			this.delegate.run();
+		}
+		catch (Throwable ex) {
+			this.errorHandler.handleError(ex);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "DelegatingErrorHandlingRunnable for " + this.delegate;
+	}
+
+}
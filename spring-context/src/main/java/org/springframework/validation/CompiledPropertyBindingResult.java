@@ -0,0 +1,94 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.validation;
+
+import org.springframework.beans.ConfigurablePropertyAccessor;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Special implementation of the Errors and BindingResult interfaces,
+ * supporting registration and evaluation of binding errors on JavaBean objects.
+ * Binds through a {@link org.springframework.beans.CompiledPropertyAccessor},
+ * i.e. through getter/setter chains compiled once per bean class and path.
+ *
+ * @see DataBinder#getBindingResult()
+ * @see DataBinder#initCompiledPropertyAccess()
+ * @see BeanPropertyBindingResult
+ */
+@SuppressWarnings("serial")
+public class CompiledPropertyBindingResult extends AbstractPropertyBindingResult {
+
+	private final Object target;
+
+	private final boolean autoGrowNestedPaths;
+
+	private transient ConfigurablePropertyAccessor propertyAccessor;
+
+
+	/**
+	 * Create a new CompiledPropertyBindingResult instance.
+	 * @param target the target object to bind onto
+	 * @param objectName the name of the target object
+	 */
+	public CompiledPropertyBindingResult(Object target, String objectName) {
+		this(target, objectName, true);
+	}
+
+	/**
+	 * Create a new CompiledPropertyBindingResult instance.
+	 * @param target the target object to bind onto
+	 * @param objectName the name of the target object
+	 * @param autoGrowNestedPaths whether to "auto-grow" a nested path that contains a null value
+	 */
+	public CompiledPropertyBindingResult(Object target, String objectName, boolean autoGrowNestedPaths) {
+		super(objectName);
+		this.target = target;
+		this.autoGrowNestedPaths = autoGrowNestedPaths;
+	}
+
+
+	@Override
+	public final Object getTarget() {
+		return this.target;
+	}
+
+	/**
+	 * Returns the CompiledPropertyAccessor that this instance uses.
+	 * Creates a new one if none existed before.
+	 * @see #createCompiledPropertyAccessor()
+	 */
+	@Override
+	public final ConfigurablePropertyAccessor getPropertyAccessor() {
+		if (this.propertyAccessor == null) {
+			this.propertyAccessor = createCompiledPropertyAccessor();
+			this.propertyAccessor.setExtractOldValueForEditor(true);
+			this.propertyAccessor.setAutoGrowNestedPaths(this.autoGrowNestedPaths);
+		}
+		return this.propertyAccessor;
+	}
+
+	/**
+	 * Create a new CompiledPropertyAccessor for the underlying target object.
+	 * @see #getTarget()
+	 */
+	protected ConfigurablePropertyAccessor createCompiledPropertyAccessor() {
+		Assert.state(this.target != null, "Cannot access properties on null target instance '" + getObjectName() + "'!");
+		return PropertyAccessorFactory.forCompiledPropertyAccess(this.target);
+	}
+
+}
@@ -299,6 +299,33 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 		return result;
 	}
 
+	/**
+	 * Initialize compiled JavaBean property access for this DataBinder,
+	 * as alternative to the default bean property access. Dotted property
+	 * paths get bound through cached getter/setter chains, converting values
+	 * through the ConversionService rather than default PropertyEditors.
+	 * @see #initBeanPropertyAccess()
+	 * @see #createCompiledPropertyBindingResult()
+	 */
+	public void initCompiledPropertyAccess() {
+		Assert.state(this.bindingResult == null,
+				"DataBinder is already initialized - call initCompiledPropertyAccess before other configuration methods");
+		this.bindingResult = createCompiledPropertyBindingResult();
+	}
+
+	/**
+	 * Create the {@link AbstractPropertyBindingResult} instance using compiled
+	 * JavaBean property access.
+	 */
+	protected AbstractPropertyBindingResult createCompiledPropertyBindingResult() {
+		CompiledPropertyBindingResult result = new CompiledPropertyBindingResult(getTarget(),
+				getObjectName(), isAutoGrowNestedPaths());
+		if (this.conversionService != null) {
+			result.initConversion(this.conversionService);
+		}
+		return result;
+	}
+
 	/**
 	 * Return the internal BindingResult held by this DataBinder,
 	 * as an AbstractPropertyBindingResult.
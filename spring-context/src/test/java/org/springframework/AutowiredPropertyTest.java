@@ -0,0 +1,63 @@
+package org.springframework;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+/**
+ * Beans without explicit property values that autowire a property of the same
+ * name must each get it injected.
+ */
+public class AutowiredPropertyTest {
+
+    public static void main(String[] args) {
+        DefaultListableBeanFactory bf = new DefaultListableBeanFactory();
+        AutowiredAnnotationBeanPostProcessor bpp = new AutowiredAnnotationBeanPostProcessor();
+        bpp.setBeanFactory(bf);
+        bf.addBeanPostProcessor(bpp);
+        bf.registerBeanDefinition("dependency", new RootBeanDefinition(Dependency.class));
+        bf.registerBeanDefinition("a", new RootBeanDefinition(First.class));
+        bf.registerBeanDefinition("b", new RootBeanDefinition(Second.class));
+
+        First a = bf.getBean("a", First.class);
+        Second b = bf.getBean("b", Second.class);
+        check(a.dep != null, "first bean injected");
+        check(b.dep != null, "second bean with the same property name injected");
+        check(!bf.getMergedBeanDefinition("a").hasPropertyValues(), "no property values created in the definition");
+        System.out.println("AutowiredPropertyTest passed");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException("Failed: " + message);
+        }
+    }
+
+
+    public static class Dependency {
+    }
+
+
+    public static class First {
+
+        Dependency dep;
+
+        @Autowired
+        public void setDep(Dependency dep) {
+            this.dep = dep;
+        }
+    }
+
+
+    public static class Second {
+
+        Dependency dep;
+
+        @Autowired
+        public void setDep(Dependency dep) {
+            this.dep = dep;
+        }
+    }
+
+}
@@ -0,0 +1,163 @@
+package org.springframework;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.cache.concurrent.BoundedConcurrentCache;
+import org.springframework.cache.support.CacheStatistics;
+
+/**
+ * Loading, size eviction and expiration of a {@link BoundedConcurrentCache}.
+ */
+public class BoundedConcurrentCacheTest {
+
+    public static void main(String[] args) throws Exception {
+        loaderRunsOncePerMiss();
+        loadCountsOneMiss();
+        sizeEviction();
+        expiration();
+        updatesSurviveEviction();
+        System.out.println("BoundedConcurrentCacheTest passed");
+    }
+
+    private static void loaderRunsOncePerMiss() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 200; round++) {
+                final BoundedConcurrentCache cache = new BoundedConcurrentCache("test", 0, 0);
+                final AtomicInteger loads = new AtomicInteger();
+                final CountDownLatch start = new CountDownLatch(1);
+                Future<?>[] results = new Future<?>[threads];
+                for (int i = 0; i < threads; i++) {
+                    results[i] = executor.submit(new Callable<String>() {
+                        @Override
+                        public String call() throws Exception {
+                            start.await();
+                            return cache.get("key", new Callable<String>() {
+                                @Override
+                                public String call() {
+                                    loads.incrementAndGet();
+                                    return "value";
+                                }
+                            });
+                        }
+                    });
+                }
+                start.countDown();
+                for (Future<?> result : results) {
+                    check("value".equals(result.get()), "every caller gets the loaded value");
+                }
+                check(loads.get() == 1, "loader invoked once, but was invoked " + loads.get() + " times");
+                CacheStatistics statistics = cache.getStatistics();
+                check(statistics.getHitCount() + statistics.getMissCount() == threads,
+                        "one lookup counted per caller, but counted " + statistics.getHitCount() + " hits and " +
+                        statistics.getMissCount() + " misses");
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void loadCountsOneMiss() {
+        BoundedConcurrentCache cache = new BoundedConcurrentCache("test", 0, 0);
+        cache.get("key", new Callable<String>() {
+            @Override
+            public String call() {
+                return "value";
+            }
+        });
+        CacheStatistics statistics = cache.getStatistics();
+        check(statistics.getMissCount() == 1 && statistics.getHitCount() == 0, "loading miss counted once");
+        check("value".equals(cache.get("key", String.class)), "loaded value cached");
+        check(cache.getStatistics().getHitCount() == 1, "subsequent hit counted");
+    }
+
+    private static void sizeEviction() {
+        BoundedConcurrentCache cache = new BoundedConcurrentCache("test", 3, 0);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        // "a" is used and gets a second chance, "b" is the oldest unused entry
+        check(cache.get("a") != null, "entry present before eviction");
+        cache.put("d", 4);
+        check(cache.getStatistics().getSize() == 3, "size bounded to maximum");
+        check(cache.get("a") != null, "recently used entry kept");
+        check(cache.get("b") == null, "least recently used entry evicted");
+        check(cache.get("d") != null, "new entry present");
+        for (int i = 0; i < 1000; i++) {
+            cache.put("key" + i, i);
+        }
+        CacheStatistics statistics = cache.getStatistics();
+        check(statistics.getSize() == 3, "size bounded after many puts");
+        check(statistics.getEvictionCount() >= 1000, "evictions counted");
+    }
+
+    private static void expiration() throws InterruptedException {
+        BoundedConcurrentCache cache = new BoundedConcurrentCache("test", 0, 50);
+        cache.put("a", 1);
+        check(Integer.valueOf(1).equals(cache.get("a", Integer.class)), "value present before expiry");
+        TimeUnit.MILLISECONDS.sleep(100);
+        check(cache.get("a") == null, "value expired");
+        check(cache.getStatistics().getExpirationCount() == 1, "expiration counted");
+
+        cache.put("b", 1);
+        TimeUnit.MILLISECONDS.sleep(30);
+        cache.put("b", 2);
+        TimeUnit.MILLISECONDS.sleep(30);
+        check(Integer.valueOf(2).equals(cache.get("b", Integer.class)), "update restarts time-to-live");
+
+        cache.put("c", 1);
+        TimeUnit.MILLISECONDS.sleep(100);
+        cache.cleanUp();
+        check(cache.getStatistics().getSize() == 0, "clean-up removes expired entries");
+        check(cache.putIfAbsent("c", 2) == null, "expired entry replaced by putIfAbsent");
+    }
+
+    private static void updatesSurviveEviction() throws Exception {
+        final BoundedConcurrentCache cache = new BoundedConcurrentCache("test", 16, 0);
+        final int updates = 20000;
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> writer = executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    for (int i = 0; i < updates; i++) {
+                        cache.put("hot", i);
+                    }
+                    return null;
+                }
+            });
+            Future<?> churn = executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    for (int i = 0; i < updates; i++) {
+                        cache.put("cold" + (i % 64), i);
+                    }
+                    return null;
+                }
+            });
+            writer.get();
+            churn.get();
+        }
+        finally {
+            executor.shutdownNow();
+        }
+        Integer value = cache.get("hot", Integer.class);
+        check(value == null || value == updates - 1, "last update not lost, found " + value);
+        check(cache.getStatistics().getSize() <= 16, "size bounded under concurrent updates");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException("Failed: " + message);
+        }
+    }
+
+}
@@ -0,0 +1,240 @@
+package org.springframework;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.ConfigurablePropertyAccessor;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.TypeMismatchException;
+
+/**
+ * Compares the results of a {@link PropertyAccessorFactory#forCompiledPropertyAccess
+ * compiled property accessor} with those of a {@link BeanWrapperImpl}.
+ */
+public class CompiledPropertyAccessorTest {
+
+    public static void main(String[] args) {
+        compare("age", "42");
+        compare("age", "not a number");
+        compare("age", null);
+        compare("boxedAge", "");
+        compare("boxedAge", null);
+        compare("active", "true");
+        compare("active", "maybe");
+        compare("type", "java.lang.String");
+        compare("type", "no.such.Type");
+        compare("locale", "de_DE");
+        compare("file", "/tmp");
+        compare("unit", "SECONDS");
+        compare("unit", "FORTNIGHTS");
+        compare("names", "a,b,c");
+        compare("names", new String[] {"a,b"});
+        compare("numbers", new String[] {"1", "2"});
+        compare("numbers", "1,2");
+        compare("numbers", "1");
+        compare("units", "SECONDS,DAYS");
+        compare("codes", "1,2");
+        compare("codes", "1");
+        compare("address.city", "Berlin");
+        compare("address.zip", "10115");
+        compare("address.zip", "zip");
+        compare("missing", "value");
+        compare("address.missing", "value");
+        System.out.println("CompiledPropertyAccessorTest passed");
+    }
+
+    private static void compare(String propertyName, Object value) {
+        BeanWrapperImpl beanWrapper = new BeanWrapperImpl(new Person());
+        beanWrapper.setAutoGrowNestedPaths(true);
+        ConfigurablePropertyAccessor compiled = PropertyAccessorFactory.forCompiledPropertyAccess(new Person());
+        compiled.setAutoGrowNestedPaths(true);
+        String expected = apply(beanWrapper, propertyName, value);
+        String actual = apply(compiled, propertyName, value);
+        check(expected.equals(actual), "'" + propertyName + "' set to " + describe(value) +
+                ": BeanWrapperImpl gave " + expected + " but compiled accessor gave " + actual);
+    }
+
+    private static String apply(ConfigurablePropertyAccessor accessor, String propertyName, Object value) {
+        try {
+            accessor.setPropertyValue(propertyName, value);
+            return "value " + describe(accessor.getPropertyValue(propertyName));
+        }
+        catch (TypeMismatchException ex) {
+            // Includes ConversionNotSupportedException, reported by BeanWrapperImpl for
+            // values that its PropertyEditors reject, e.g. unknown enum constants
+            return "TypeMismatchException";
+        }
+        catch (RuntimeException ex) {
+            return ex.getClass().getSimpleName();
+        }
+    }
+
+    private static String describe(Object value) {
+        if (value instanceof Object[]) {
+            return Arrays.toString((Object[]) value);
+        }
+        if (value instanceof int[]) {
+            return Arrays.toString((int[]) value);
+        }
+        return (value instanceof String ? "'" + value + "'" : String.valueOf(value));
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException("Failed: " + message);
+        }
+    }
+
+
+    public static class Person {
+
+        private int age;
+
+        private Integer boxedAge;
+
+        private boolean active;
+
+        private Class<?> type;
+
+        private Locale locale;
+
+        private File file;
+
+        private TimeUnit unit;
+
+        private TimeUnit[] units;
+
+        private String[] names;
+
+        private int[] codes;
+
+        private List<Integer> numbers;
+
+        private Address address;
+
+        public int getAge() {
+            return this.age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public Integer getBoxedAge() {
+            return this.boxedAge;
+        }
+
+        public void setBoxedAge(Integer boxedAge) {
+            this.boxedAge = boxedAge;
+        }
+
+        public boolean isActive() {
+            return this.active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public Class<?> getType() {
+            return this.type;
+        }
+
+        public void setType(Class<?> type) {
+            this.type = type;
+        }
+
+        public Locale getLocale() {
+            return this.locale;
+        }
+
+        public void setLocale(Locale locale) {
+            this.locale = locale;
+        }
+
+        public File getFile() {
+            return this.file;
+        }
+
+        public void setFile(File file) {
+            this.file = file;
+        }
+
+        public TimeUnit getUnit() {
+            return this.unit;
+        }
+
+        public void setUnit(TimeUnit unit) {
+            this.unit = unit;
+        }
+
+        public TimeUnit[] getUnits() {
+            return this.units;
+        }
+
+        public void setUnits(TimeUnit[] units) {
+            this.units = units;
+        }
+
+        public String[] getNames() {
+            return this.names;
+        }
+
+        public void setNames(String[] names) {
+            this.names = names;
+        }
+
+        public int[] getCodes() {
+            return this.codes;
+        }
+
+        public void setCodes(int[] codes) {
+            this.codes = codes;
+        }
+
+        public List<Integer> getNumbers() {
+            return this.numbers;
+        }
+
+        public void setNumbers(List<Integer> numbers) {
+            this.numbers = numbers;
+        }
+
+        public Address getAddress() {
+            return this.address;
+        }
+
+        public void setAddress(Address address) {
+            this.address = address;
+        }
+    }
+
+
+    public static class Address {
+
+        private String city;
+
+        private int zip;
+
+        public String getCity() {
+            return this.city;
+        }
+
+        public void setCity(String city) {
+            this.city = city;
+        }
+
+        public int getZip() {
+            return this.zip;
+        }
+
+        public void setZip(int zip) {
+            this.zip = zip;
+        }
+    }
+
+}
@@ -0,0 +1,103 @@
+package org.springframework;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.event.ApplicationEventMulticaster;
+import org.springframework.context.event.BatchApplicationListener;
+import org.springframework.context.event.QueuingApplicationEventMulticaster;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+
+/**
+ * Throughput comparison of the synchronous, executor-based and queuing event multicasters.
+ */
+public class EventMulticasterThroughputTest {
+
+    private static final int LISTENERS = 4;
+
+    private static final int EVENTS = 500000;
+
+    public static void main(String[] args) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(LISTENERS);
+        try {
+            for (int round = 0; round < 3; round++) {
+                run("sync", new SimpleApplicationEventMulticaster(), false);
+
+                SimpleApplicationEventMulticaster perTask = new SimpleApplicationEventMulticaster();
+                perTask.setTaskExecutor(executor);
+                run("executor per listener call", perTask, false);
+
+                QueuingApplicationEventMulticaster queuing = new QueuingApplicationEventMulticaster();
+                queuing.setTaskExecutor(executor);
+                run("queuing", queuing, false);
+
+                QueuingApplicationEventMulticaster batching = new QueuingApplicationEventMulticaster();
+                batching.setTaskExecutor(executor);
+                batching.setMaxBatchSize(256);
+                run("queuing with batch listeners", batching, true);
+                System.out.println();
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void run(String name, ApplicationEventMulticaster multicaster, boolean batch) throws Exception {
+        CountDownLatch latch = new CountDownLatch(LISTENERS * EVENTS);
+        for (int i = 0; i < LISTENERS; i++) {
+            multicaster.addApplicationListener(batch ? new CountingBatchListener(latch) : new CountingListener(latch));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < EVENTS; i++) {
+            multicaster.multicastEvent(new TestEvent(i));
+        }
+        latch.await();
+        long millis = (System.nanoTime() - start) / 1000000;
+        System.out.println(name + ": " + EVENTS + " events to " + LISTENERS + " listeners in " + millis + " ms (" +
+                (EVENTS * 1000L / Math.max(millis, 1)) + " events/s)");
+    }
+
+
+    @SuppressWarnings("serial")
+    private static class TestEvent extends ApplicationEvent {
+
+        public TestEvent(Object source) {
+            super(source);
+        }
+    }
+
+
+    private static class CountingListener implements org.springframework.context.ApplicationListener<TestEvent> {
+
+        private final CountDownLatch latch;
+
+        public CountingListener(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void onApplicationEvent(TestEvent event) {
+            this.latch.countDown();
+        }
+    }
+
+
+    private static class CountingBatchListener extends CountingListener implements BatchApplicationListener<TestEvent> {
+
+        public CountingBatchListener(CountDownLatch latch) {
+            super(latch);
+        }
+
+        @Override
+        public void onApplicationEvents(List<TestEvent> events) {
+            for (TestEvent event : events) {
+                onApplicationEvent(event);
+            }
+        }
+    }
+
+}
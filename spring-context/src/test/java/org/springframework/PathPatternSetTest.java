@@ -0,0 +1,118 @@
+package org.springframework;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathPatternSet;
+
+/**
+ * Compares the matches and URI template variables of a {@link PathPatternSet}
+ * with those of an {@link AntPathMatcher} matching each pattern in turn.
+ */
+public class PathPatternSetTest {
+
+    private static final String[] PATTERNS = {
+            "/hotels",
+            "/hotels/",
+            "/hotels/*",
+            "/hotels/{hotel}",
+            "/hotels/{hotel:\\d+}",
+            "/hotels/{hotel}/bookings/{booking}",
+            "/hotels/{hotel:[a-z]+}-{suffix:\\d+}",
+            "/hotels/**",
+            "/hotels/**/{booking}",
+            "/hotels/**/bookings/{booking:\\d+}",
+            "/**/*.html",
+            "/**/{name}.{extension:[a-z]+}",
+            "/**",
+            "/**/a/**/{y}",
+            "/{first}/**/{last}",
+            "/static/?ss/*",
+            "relative/{id}",
+    };
+
+    private static final String[] PATHS = {
+            "/hotels",
+            "/hotels/",
+            "/hotels/1",
+            "/hotels/abc",
+            "/hotels/abc-12",
+            "/hotels/1/bookings/2",
+            "/hotels/1/bookings/x",
+            "/hotels/1/2/3/bookings/42",
+            "/12/a/1",
+            "/x/a/b/a/c",
+            "/docs/index.html",
+            "/docs/INDEX.HTML",
+            "/static/css/site.css",
+            "/static/css/",
+            "/",
+            "",
+            "relative/7",
+            "relative/7/8",
+    };
+
+    public static void main(String[] args) {
+        AntPathMatcher matcher = new AntPathMatcher();
+        PathPatternSet set = new PathPatternSet();
+        for (String pattern : PATTERNS) {
+            check(set.add(pattern), "pattern " + pattern + " added");
+        }
+        check(!set.add("/hotels"), "duplicate pattern ignored");
+        check(set.size() == PATTERNS.length, "all patterns registered");
+
+        for (String path : PATHS) {
+            Set<String> expected = new HashSet<String>();
+            for (String pattern : PATTERNS) {
+                if (matcher.match(pattern, path)) {
+                    expected.add(pattern);
+                }
+            }
+            List<PathPatternSet.Match> matches = set.match(path);
+            Set<String> actual = new HashSet<String>();
+            for (PathPatternSet.Match match : matches) {
+                actual.add(match.getPattern());
+                Map<String, String> variables = matcher.extractUriTemplateVariables(match.getPattern(), path);
+                check(variables.equals(match.getUriVariables()), "variables of " + match.getPattern() + " for '" +
+                        path + "': AntPathMatcher gave " + variables + " but PathPatternSet gave " + match.getUriVariables());
+            }
+            check(expected.equals(actual), "matches for '" + path + "': AntPathMatcher gave " + expected +
+                    " but PathPatternSet gave " + actual);
+            if (!matches.isEmpty()) {
+                String best = Collections.min(expected, matcher.getPatternComparator(path));
+                check(matcher.getPatternComparator(path).compare(best, matches.get(0).getPattern()) == 0,
+                        "best match for '" + path + "' is as specific as " + best);
+            }
+        }
+
+        repeatedVariables();
+        System.out.println("PathPatternSetTest passed");
+    }
+
+    private static void repeatedVariables() {
+        PathPatternSet set = new PathPatternSet();
+        String[] patterns = {"/**/{y}/{y}", "/{y}/{y:\\d+}", "/files/{y}-{y}", "/{y}/**/{y}.html"};
+        for (String pattern : patterns) {
+            try {
+                set.add(pattern);
+                check(false, "pattern " + pattern + " with a repeated variable rejected");
+            }
+            catch (IllegalArgumentException expected) {
+            }
+        }
+        check(set.size() == 0, "rejected patterns not registered");
+        check(set.match("/12/a/1").isEmpty(), "rejected patterns never match");
+        check(set.add("/{x}/{y}/{z}"), "distinct variables accepted");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException("Failed: " + message);
+        }
+    }
+
+}
@@ -0,0 +1,117 @@
+package org.springframework;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.springframework.util.ConcurrentReferenceHashMap.ReferenceType;
+import org.springframework.util.ReadMostlyReferenceHashMap;
+
+/**
+ * Basic operations of {@link ReadMostlyReferenceHashMap}, including entries whose
+ * references have been cleared by the garbage collector.
+ */
+public class ReadMostlyReferenceHashMapTest {
+
+    public static void main(String[] args) throws Exception {
+        putAndGet();
+        removeAndReplace();
+        resizeAndIterate();
+        clearedReferences();
+        System.out.println("ReadMostlyReferenceHashMapTest passed");
+    }
+
+    private static void putAndGet() {
+        ReadMostlyReferenceHashMap<String, String> map = new ReadMostlyReferenceHashMap<String, String>();
+        check(map.put("a", "1") == null, "put returns null for new key");
+        check(map.put("a", "2").equals("1"), "put returns previous value");
+        check(map.putIfAbsent("a", "3").equals("2"), "putIfAbsent returns existing value");
+        check(map.get("a").equals("2"), "putIfAbsent does not overwrite");
+        check(map.putIfAbsent("b", "1") == null, "putIfAbsent adds new key");
+        map.put(null, "null key");
+        map.put("c", null);
+        check("null key".equals(map.get(null)), "null key supported");
+        check(map.containsKey("c") && map.get("c") == null, "null value supported");
+        check(map.size() == 4, "size counts entries");
+        check(map.get("missing") == null && !map.containsKey("missing"), "missing key");
+    }
+
+    private static void removeAndReplace() {
+        ReadMostlyReferenceHashMap<String, String> map = new ReadMostlyReferenceHashMap<String, String>();
+        map.put("a", "1");
+        map.put("b", "2");
+        check(!map.remove("a", "2"), "remove with other value does nothing");
+        check(map.remove("a", "1"), "remove with matching value");
+        check(!map.containsKey("a"), "entry removed");
+        check(map.remove("b").equals("2"), "remove returns value");
+        check(map.remove("b") == null, "second remove returns null");
+        check(map.isEmpty(), "map empty");
+
+        map.put("c", "1");
+        check(!map.replace("c", "2", "3"), "replace with other value does nothing");
+        check(map.replace("c", "1", "3"), "replace with matching value");
+        check(map.replace("c", "4").equals("3"), "replace returns previous value");
+        check(map.replace("missing", "1") == null && !map.containsKey("missing"), "replace does not add");
+        check(!map.replace("missing", "1", "2"), "conditional replace does not add");
+        check(map.get("c").equals("4"), "replaced value visible");
+    }
+
+    private static void resizeAndIterate() {
+        ReadMostlyReferenceHashMap<Integer, Integer> map = new ReadMostlyReferenceHashMap<Integer, Integer>(4);
+        Map<Integer, Integer> expected = new HashMap<Integer, Integer>();
+        for (int i = 0; i < 5000; i++) {
+            map.put(i, i * 2);
+            expected.put(i, i * 2);
+        }
+        for (int i = 0; i < 5000; i += 3) {
+            map.remove(i);
+            expected.remove(i);
+        }
+        for (int i = 0; i < 5000; i++) {
+            check(equal(expected.get(i), map.get(i)), "value for key " + i);
+        }
+        check(map.size() == expected.size(), "size after removals");
+        check(map.equals(expected), "map equals reference map");
+        for (Iterator<Map.Entry<Integer, Integer>> it = map.entrySet().iterator(); it.hasNext();) {
+            if (it.next().getKey() % 2 == 0) {
+                it.remove();
+            }
+        }
+        for (Integer key : map.keySet()) {
+            check(key % 2 != 0, "even keys removed through iterator");
+        }
+    }
+
+    private static void clearedReferences() throws InterruptedException {
+        // Weak entry references are cleared by the next collection, even with live keys
+        ReadMostlyReferenceHashMap<String, String> map =
+                new ReadMostlyReferenceHashMap<String, String>(16, ReferenceType.WEAK);
+        for (int i = 0; i < 100; i++) {
+            map.put("key" + i, "value" + i);
+        }
+        for (int i = 0; i < 10 && map.get("key0") != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        check(map.get("key0") == null, "weakly referenced entry cleared");
+        check(map.remove("key1") == null, "remove of cleared entry");
+        check(!map.remove("key2", "value2"), "conditional remove of cleared entry");
+        check(map.replace("key3", "other") == null, "replace of cleared entry");
+        check(!map.replace("key4", "value4", "other"), "conditional replace of cleared entry");
+        check(!map.containsKey("key4"), "replace does not resurrect entry");
+        map.purgeUnreferencedEntries();
+        check(map.size() == 0, "cleared entries purged, size " + map.size());
+        check(map.put("key5", "again") == null, "put after clearing");
+    }
+
+    private static boolean equal(Object a, Object b) {
+        return (a == null ? b == null : a.equals(b));
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException("Failed: " + message);
+        }
+    }
+
+}
@@ -0,0 +1,167 @@
+package org.springframework;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.expression.BeanResolver;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+/**
+ * Interpreted versus compiled evaluation time of SpEL expressions, one per compilable node type.
+ */
+public class SpelCompilerBenchmarkTest {
+
+    private static final int ITERATIONS = 200000;
+
+    private static final String[] EXPRESSIONS = {
+            "orders.?[amount > 100.0].![id]",
+            "orders.^[amount > 100.0]",
+            "orders.$[amount > 100.0]",
+            "orders.![name]",
+            "orders.?[values[idx] > 0].![id]",
+            "orders.![values[idx]]",
+            "{1,2,3,4,5,6,7,8}.?[#this > 4]",
+            "{name:'orders', limit:100}",
+            "{name:name, age:age}",
+            "age between {18, 65}",
+            "name between {'A', 'K'}",
+            "name matches '[A-Z][a-z]+'",
+            "ratio ^ 2",
+            "#counter++",
+            "#total = ratio * age",
+            "@pricing.discount(age)",
+    };
+
+    public static void main(String[] args) {
+        SpelExpressionParser parser = new SpelExpressionParser();
+        Customer customer = new Customer();
+        EvaluationContext context = createContext(customer);
+        for (int round = 0; round < 3; round++) {
+            for (String expressionString : EXPRESSIONS) {
+                SpelExpression interpreted = (SpelExpression) parser.parseExpression(expressionString);
+                SpelExpression compiled = (SpelExpression) parser.parseExpression(expressionString);
+                compiled.getValue(context);
+                if (!compiled.compileExpression()) {
+                    System.out.println(expressionString + ": not compilable");
+                    continue;
+                }
+                context.setVariable("counter", 0);
+                Object interpretedResult = interpreted.getValue(context);
+                context.setVariable("counter", 0);
+                Object compiledResult = compiled.getValue(context);
+                if (!String.valueOf(interpretedResult).equals(String.valueOf(compiledResult))) {
+                    throw new IllegalStateException(expressionString + ": interpreted " + interpretedResult +
+                            " but compiled " + compiledResult);
+                }
+                long interpretedNanos = time(interpreted, context);
+                long compiledNanos = time(compiled, context);
+                System.out.println(expressionString + ": interpreted " + interpretedNanos + " ns, compiled " +
+                        compiledNanos + " ns (" + (interpretedNanos / Math.max(compiledNanos, 1)) + "x)");
+            }
+            System.out.println();
+        }
+    }
+
+    private static long time(SpelExpression expression, EvaluationContext context) {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            expression.getValue(context);
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+    private static EvaluationContext createContext(Customer customer) {
+        StandardEvaluationContext context = new StandardEvaluationContext(customer);
+        context.setVariable("counter", 0);
+        final Pricing pricing = new Pricing();
+        context.setBeanResolver(new BeanResolver() {
+            @Override
+            public Object resolve(EvaluationContext context, String beanName) {
+                return pricing;
+            }
+        });
+        return context;
+    }
+
+
+    public static class Customer {
+
+        private final List<Order> orders = new ArrayList<Order>();
+
+        public Customer() {
+            for (int i = 0; i < 20; i++) {
+                this.orders.add(new Order(i, i * 15.0, "order" + i));
+            }
+        }
+
+        public List<Order> getOrders() {
+            return this.orders;
+        }
+
+        public String getName() {
+            return "Juergen";
+        }
+
+        public int getAge() {
+            return 42;
+        }
+
+        public double getRatio() {
+            return 1.5;
+        }
+
+        // Indexes within selection criteria are evaluated against the root object,
+        // so this must differ from Order#getIdx()
+        public int getIdx() {
+            return 0;
+        }
+    }
+
+
+    public static class Order {
+
+        private final int id;
+
+        private final double amount;
+
+        private final String name;
+
+        public Order(int id, double amount, String name) {
+            this.id = id;
+            this.amount = amount;
+            this.name = name;
+        }
+
+        public int getId() {
+            return this.id;
+        }
+
+        public double getAmount() {
+            return this.amount;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public int getIdx() {
+            return 1;
+        }
+
+        public int[] getValues() {
+            return new int[] {this.id % 2, 1};
+        }
+    }
+
+
+    public static class Pricing {
+
+        public double discount(int age) {
+            return (age > 60 ? 0.2 : 0.05);
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+package org.springframework;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.expression.spel.standard.SpelExpressionCache;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+/**
+ * Parsers sharing a {@link SpelExpressionCache} share parsed and compiled
+ * expressions, but not the default evaluation context of an expression.
+ */
+public class SpelExpressionCacheTest {
+
+    private static final ParserContext TEMPLATE = new ParserContext() {
+        @Override
+        public boolean isTemplate() {
+            return true;
+        }
+        @Override
+        public String getExpressionPrefix() {
+            return "#{";
+        }
+        @Override
+        public String getExpressionSuffix() {
+            return "}";
+        }
+    };
+
+    public static void main(String[] args) {
+        SpelParserConfiguration configuration = new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, null);
+        SpelExpressionCache cache = new SpelExpressionCache();
+        SpelExpressionParser parser1 = new SpelExpressionParser(configuration);
+        parser1.setExpressionCache(cache);
+        SpelExpressionParser parser2 = new SpelExpressionParser(configuration);
+        parser2.setExpressionCache(cache);
+
+        SpelExpression expression1 = (SpelExpression) parser1.parseExpression("#name");
+        SpelExpression expression2 = (SpelExpression) parser2.parseExpression("#name");
+        check(expression1 != expression2, "each parse request returns its own expression");
+        check(expression1.getAST() == expression2.getAST(), "syntax tree is shared");
+        check(cache.getHitCount() == 1 && cache.getMissCount() == 1, "second parse served from cache");
+
+        expression1.getEvaluationContext().setVariable("name", "first");
+        expression2.getEvaluationContext().setVariable("name", "second");
+        check("first".equals(expression1.getValue()), "first caller sees its own variables");
+        check("second".equals(expression2.getValue()), "second caller sees its own variables");
+        check(expression1.getEvaluationContext() != expression2.getEvaluationContext(), "contexts are not shared");
+
+        StandardEvaluationContext context = new StandardEvaluationContext(new Person("Ann"));
+        SpelExpression name1 = (SpelExpression) parser1.parseExpression("name");
+        name1.getValue(context);
+        name1.getValue(context);
+        check(name1.compileExpression(), "expression compiles");
+        SpelExpression name2 = (SpelExpression) parser2.parseExpression("name");
+        check("Ann".equals(name2.getValue(context)), "copy evaluates with the shared compiled form");
+        name2.revertToInterpreted();
+        check("Ann".equals(name1.getValue(context)), "reverting is visible to all copies");
+
+        Expression template1 = parser1.parseExpression("Hello #{name}!", TEMPLATE);
+        Expression template2 = parser2.parseExpression("Hello #{name}!", TEMPLATE);
+        check(template1 != template2, "template expressions are copied");
+        check("Hello Ann!".equals(template2.getValue(context)), "template copy evaluates");
+
+        System.out.println("SpelExpressionCacheTest passed");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException("Failed: " + message);
+        }
+    }
+
+
+    public static class Person {
+
+        private final String name;
+
+        public Person(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+    }
+
+}
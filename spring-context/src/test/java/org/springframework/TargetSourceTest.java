@@ -0,0 +1,179 @@
+package org.springframework;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.aop.framework.autoproxy.InfrastructureAdvisorAutoProxyCreator;
+import org.springframework.aop.framework.autoproxy.target.QuickTargetSourceCreator;
+import org.springframework.aop.target.AbstractBeanFactoryBasedTargetSource;
+import org.springframework.aop.target.ConcurrentPoolTargetSource;
+import org.springframework.aop.target.ThreadLocalTargetSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+/**
+ * Pooled and thread-bound targets, and their release when the TargetSource
+ * or the auto-proxy creator that created it is destroyed.
+ */
+public class TargetSourceTest {
+
+    public static void main(String[] args) throws Exception {
+        poolBounds();
+        poolTimeout();
+        threadLocalTargets();
+        autoProxyCreatorDestroysCreators();
+        System.out.println("TargetSourceTest passed");
+    }
+
+    private static void poolBounds() throws Exception {
+        ConcurrentPoolTargetSource pool = new ConcurrentPoolTargetSource();
+        pool.setMaxSize(2);
+        pool.setMaxIdle(1);
+        pool.setMinIdle(1);
+        initTargetSource(pool, prototypeFactory());
+        check(pool.getIdleCount() == 1 && pool.getCreateCount() == 1, "minIdle instances created up front");
+
+        Object first = pool.getTarget();
+        Object second = pool.getTarget();
+        check(first != second, "borrowers get distinct instances");
+        check(pool.getActiveCount() == 2 && pool.getIdleCount() == 0, "both instances active");
+        pool.releaseTarget(first);
+        pool.releaseTarget(second);
+        check(pool.getIdleCount() == 1, "idle instances bounded by maxIdle");
+        check(pool.getDestroyCount() == 1, "instance beyond maxIdle destroyed");
+        check(pool.getTarget() == first, "idle instance reused");
+
+        int destroyedBefore = Target.destroyed.get();
+        pool.releaseTarget(first);
+        pool.destroy();
+        check(pool.getIdleCount() == 0, "idle instances released on destroy");
+        check(Target.destroyed.get() == destroyedBefore + 1, "idle instance destroyed on close");
+        try {
+            pool.getTarget();
+            check(false, "closed pool hands out no instances");
+        }
+        catch (IllegalStateException expected) {
+        }
+    }
+
+    private static void poolTimeout() throws Exception {
+        ConcurrentPoolTargetSource pool = new ConcurrentPoolTargetSource();
+        pool.setMaxSize(1);
+        pool.setMaxWait(50);
+        initTargetSource(pool, prototypeFactory());
+        Object target = pool.getTarget();
+        long start = System.currentTimeMillis();
+        try {
+            pool.getTarget();
+            check(false, "exhausted pool times out");
+        }
+        catch (NoSuchElementException expected) {
+        }
+        check(System.currentTimeMillis() - start >= 40, "borrower waited for maxWait");
+        check(pool.getWaitCount() == 1 && pool.getTimeoutCount() == 1, "wait and timeout counted");
+        pool.releaseTarget(target);
+        check(pool.getTarget() == target, "released instance available again");
+        pool.destroy();
+    }
+
+    private static void threadLocalTargets() throws Exception {
+        final ThreadLocalTargetSource source = new ThreadLocalTargetSource();
+        initTargetSource(source, prototypeFactory());
+        Object local = source.getTarget();
+        check(source.getTarget() == local, "same instance within a thread");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Object other;
+        try {
+            other = executor.submit(new Callable<Object>() {
+                @Override
+                public Object call() throws Exception {
+                    return source.getTarget();
+                }
+            }).get();
+        }
+        finally {
+            executor.shutdownNow();
+        }
+        check(other != local, "distinct instance per thread");
+        check(source.getObjectCount() == 2 && source.getHitCount() == 1, "thread-bound instances counted");
+
+        int destroyedBefore = Target.destroyed.get();
+        source.destroy();
+        check(Target.destroyed.get() == destroyedBefore + 2, "all thread-bound instances destroyed");
+        check(source.getObjectCount() == 0, "no instances tracked after destroy");
+    }
+
+    private static void autoProxyCreatorDestroysCreators() throws Exception {
+        DefaultListableBeanFactory bf = new DefaultListableBeanFactory();
+        bf.registerBeanDefinition(QuickTargetSourceCreator.PREFIX_POOL + "pooled", new RootBeanDefinition(Target.class));
+        bf.registerBeanDefinition(QuickTargetSourceCreator.PREFIX_THREAD_LOCAL + "local", new RootBeanDefinition(Target.class));
+        QuickTargetSourceCreator creator = new QuickTargetSourceCreator();
+        creator.setBeanFactory(bf);
+        InfrastructureAdvisorAutoProxyCreator autoProxyCreator = new InfrastructureAdvisorAutoProxyCreator();
+        autoProxyCreator.setBeanFactory(bf);
+        autoProxyCreator.setCustomTargetSourceCreators(creator);
+        bf.addBeanPostProcessor(autoProxyCreator);
+
+        Service pooled = (Service) bf.getBean(QuickTargetSourceCreator.PREFIX_POOL + "pooled");
+        Service local = (Service) bf.getBean(QuickTargetSourceCreator.PREFIX_THREAD_LOCAL + "local");
+        check(pooled.getId() > 0 && local.getId() > 0, "proxies delegate to targets");
+        check(local.getId() == local.getId(), "thread-local proxy keeps its target");
+
+        int destroyedBefore = Target.destroyed.get();
+        autoProxyCreator.destroy();
+        check(Target.destroyed.get() == destroyedBefore + 2, "pooled and thread-bound targets destroyed");
+        creator.destroy();
+        check(Target.destroyed.get() == destroyedBefore + 2, "destroying the creator again is a no-op");
+    }
+
+    private static DefaultListableBeanFactory prototypeFactory() {
+        DefaultListableBeanFactory bf = new DefaultListableBeanFactory();
+        RootBeanDefinition bd = new RootBeanDefinition(Target.class);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        bf.registerBeanDefinition("target", bd);
+        return bf;
+    }
+
+    private static void initTargetSource(AbstractBeanFactoryBasedTargetSource source, DefaultListableBeanFactory bf) {
+        source.setTargetBeanName("target");
+        source.setBeanFactory(bf);
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException("Failed: " + message);
+        }
+    }
+
+
+    public interface Service {
+
+        int getId();
+    }
+
+
+    public static class Target implements Service, DisposableBean {
+
+        private static final AtomicInteger instances = new AtomicInteger();
+
+        static final AtomicInteger destroyed = new AtomicInteger();
+
+        private final int id = instances.incrementAndGet();
+
+        @Override
+        public int getId() {
+            return this.id;
+        }
+
+        @Override
+        public void destroy() {
+            destroyed.incrementAndGet();
+        }
+    }
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2014 the original author or authors.
+ * Copyright 2002-2015 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package org.springframework.core;
 
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ReflectionUtils;
 
 import java.lang.reflect.Method;
@@ -24,6 +25,7 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -47,6 +49,10 @@ import java.util.List;
  */
 public abstract class BridgeMethodResolver {
 
+    private static final Map<Method, Method> bridgedMethodCache =
+            new ConcurrentReferenceHashMap<Method, Method>();
+
+
     /**
      * Find the original method for the supplied {@link Method bridge Method}.
      * <p>It is safe to call this method passing in a non-bridge {@link Method} instance.
@@ -61,6 +67,15 @@ public abstract class BridgeMethodResolver {
         if (bridgeMethod == null || !bridgeMethod.isBridge()) {
             return bridgeMethod;
         }
+        Method bridgedMethod = bridgedMethodCache.get(bridgeMethod);
+        if (bridgedMethod == null) {
+            bridgedMethod = resolveBridgedMethod(bridgeMethod);
+            bridgedMethodCache.put(bridgeMethod, bridgedMethod);
+        }
+        return bridgedMethod;
+    }
+
+    private static Method resolveBridgedMethod(Method bridgeMethod) {
         // Gather all methods with matching name and parameter size.
         List<Method> candidateMethods = new ArrayList<Method>();
         Method[] methods = ReflectionUtils.getAllDeclaredMethods(bridgeMethod.getDeclaringClass());
@@ -218,4 +233,13 @@ public abstract class BridgeMethodResolver {
                 bridgeMethod.getReturnType().equals(bridgedMethod.getReturnType()));
     }
 
+    /**
+     * Clear the internal bridged method cache, releasing the cached
+     * {@code Method} instances and thereby their ClassLoaders.
+     * @see org.springframework.util.ReflectionUtils#clearCache()
+     */
+    public static void clearCache() {
+        bridgedMethodCache.clear();
+    }
+
 }
@@ -36,8 +36,8 @@ import org.springframework.core.SerializableTypeWrapper.MethodParameterTypeProvi
 import org.springframework.core.SerializableTypeWrapper.TypeProvider;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
-import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ObjectUtils;
+import org.springframework.util.ReadMostlyReferenceHashMap;
 import org.springframework.util.StringUtils;
 
 /**
@@ -89,8 +89,8 @@ public class ResolvableType implements Serializable {
 
     private static final ResolvableType[] EMPTY_TYPES_ARRAY = new ResolvableType[0];
 
-    private static final ConcurrentReferenceHashMap<ResolvableType, ResolvableType> cache =
-            new ConcurrentReferenceHashMap<ResolvableType, ResolvableType>(256);
+    private static final ReadMostlyReferenceHashMap<ResolvableType, ResolvableType> cache =
+            new ReadMostlyReferenceHashMap<ResolvableType, ResolvableType>(256);
 
 
     /**
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2014 the original author or authors.
+ * Copyright 2002-2015 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,7 +17,7 @@
 package org.springframework.core;
 
 import org.springframework.util.Assert;
-import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReadMostlyReferenceHashMap;
 import org.springframework.util.ReflectionUtils;
 
 import java.io.IOException;
@@ -65,8 +65,8 @@ abstract class SerializableTypeWrapper {
     private static final Method GET_TYPE_PROVIDER_METHOD = ReflectionUtils.findMethod(
             SerializableTypeProxy.class, "getTypeProvider");
 
-    private static final ConcurrentReferenceHashMap<Type, Type> cache =
-            new ConcurrentReferenceHashMap<Type, Type>(256);
+    private static final ReadMostlyReferenceHashMap<Type, Type> cache =
+            new ReadMostlyReferenceHashMap<Type, Type>(256);
 
     /**
      * Return a {@link Serializable} variant of {@link Field#getGenericType()}.
@@ -115,25 +115,25 @@ public abstract class AnnotationUtils {
     private static final Object DEFAULT_VALUE_PLACEHOLDER = new String("<SPRING DEFAULT VALUE PLACEHOLDER>");
 
     private static final Map<AnnotationCacheKey, Annotation> findAnnotationCache =
-            new ConcurrentReferenceHashMap<AnnotationCacheKey, Annotation>(256);
+            new ReadMostlyReferenceHashMap<AnnotationCacheKey, Annotation>(256);
 
     private static final Map<Class<?>, Boolean> annotatedInterfaceCache =
-            new ConcurrentReferenceHashMap<Class<?>, Boolean>(256);
+            new ReadMostlyReferenceHashMap<Class<?>, Boolean>(256);
 
     private static final Map<AnnotationCacheKey, Boolean> metaPresentCache =
-            new ConcurrentReferenceHashMap<AnnotationCacheKey, Boolean>(256);
+            new ReadMostlyReferenceHashMap<AnnotationCacheKey, Boolean>(256);
 
     private static final Map<Class<? extends Annotation>, Boolean> synthesizableCache =
-            new ConcurrentReferenceHashMap<Class<? extends Annotation>, Boolean>(256);
+            new ReadMostlyReferenceHashMap<Class<? extends Annotation>, Boolean>(256);
 
     private static final Map<Class<? extends Annotation>, Map<String, List<String>>> attributeAliasesCache =
-            new ConcurrentReferenceHashMap<Class<? extends Annotation>, Map<String, List<String>>>(256);
+            new ReadMostlyReferenceHashMap<Class<? extends Annotation>, Map<String, List<String>>>(256);
 
     private static final Map<Class<? extends Annotation>, List<Method>> attributeMethodsCache =
-            new ConcurrentReferenceHashMap<Class<? extends Annotation>, List<Method>>(256);
+            new ReadMostlyReferenceHashMap<Class<? extends Annotation>, List<Method>>(256);
 
     private static final Map<Method, AliasDescriptor> aliasDescriptorCache =
-            new ConcurrentReferenceHashMap<Method, AliasDescriptor>(256);
+            new ReadMostlyReferenceHashMap<Method, AliasDescriptor>(256);
 
     private static transient Log logger;
 
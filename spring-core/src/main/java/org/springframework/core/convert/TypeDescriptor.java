@@ -31,6 +31,7 @@ import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.lang.UsesJava8;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ObjectUtils;
 
 /**
@@ -65,6 +66,12 @@ public class TypeDescriptor implements Serializable {
         }
     }
 
+    private static final Map<Field, TypeDescriptor> fieldTypeCache =
+            new ConcurrentReferenceHashMap<Field, TypeDescriptor>(256);
+
+    private static final Map<MethodParameter, TypeDescriptor> methodParameterTypeCache =
+            new ConcurrentReferenceHashMap<MethodParameter, TypeDescriptor>(256);
+
 
     private final Class<?> type;
 
@@ -696,6 +703,52 @@ public class TypeDescriptor implements Serializable {
         return (source != null ? valueOf(source.getClass()) : null);
     }
 
+    /**
+     * Return a shared type descriptor for the given {@link Field}.
+     * <p>Equivalent to {@link #TypeDescriptor(Field)} but caches the introspected
+     * descriptor, avoiding repeated generic type and annotation resolution for
+     * conversion points that get hit on every invocation (e.g. data binding).
+     *
+     * @param field the field
+     * @return the (potentially cached) type descriptor
+     * @see #TypeDescriptor(Field)
+     */
+    public static TypeDescriptor forField(Field field) {
+        Assert.notNull(field, "Field must not be null");
+        TypeDescriptor desc = fieldTypeCache.get(field);
+        if (desc == null) {
+            desc = new TypeDescriptor(field);
+            fieldTypeCache.put(field, desc);
+        }
+        return desc;
+    }
+
+    /**
+     * Return a shared type descriptor for the given {@link MethodParameter}.
+     * <p>Equivalent to {@link #TypeDescriptor(MethodParameter)} but caches the
+     * introspected descriptor for plain (non-nested) parameters as declared
+     * by their method or constructor. Nested or re-targeted parameters are
+     * always introspected freshly since {@code MethodParameter} equality does
+     * not cover their nesting state.
+     *
+     * @param methodParameter the method parameter
+     * @return the (potentially cached) type descriptor
+     * @see #TypeDescriptor(MethodParameter)
+     */
+    public static TypeDescriptor forMethodParameter(MethodParameter methodParameter) {
+        Assert.notNull(methodParameter, "MethodParameter must not be null");
+        if (methodParameter.getNestingLevel() != 1 || methodParameter.getTypeIndexForCurrentLevel() != null ||
+                methodParameter.getContainingClass() != methodParameter.getDeclaringClass()) {
+            return new TypeDescriptor(methodParameter);
+        }
+        TypeDescriptor desc = methodParameterTypeCache.get(methodParameter);
+        if (desc == null) {
+            desc = new TypeDescriptor(methodParameter);
+            methodParameterTypeCache.put(methodParameter, desc);
+        }
+        return desc;
+    }
+
     private static TypeDescriptor nested(TypeDescriptor typeDescriptor, int nestingLevel) {
         ResolvableType nested = typeDescriptor.resolvableType;
         for (int i = 0; i < nestingLevel; i++) {
@@ -26,6 +26,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 
 import org.springframework.core.ResolvableType;
 import org.springframework.core.convert.ConversionException;
@@ -92,6 +93,13 @@ public class GenericConversionService implements ConfigurableConversionService {
     private final Map<ConverterCacheKey, GenericConverter> converterCache =
             new ConcurrentReferenceHashMap<ConverterCacheKey, GenericConverter>(64);
 
+    /**
+     * Pre-linked converters for plain class pairs, keyed by source class first
+     * and target class second, so that lookups do not need to allocate a key.
+     */
+    private final ConcurrentMap<Class<?>, Map<Class<?>, ConverterHandle>> converterHandleCache =
+            new ConcurrentReferenceHashMap<Class<?>, Map<Class<?>, ConverterHandle>>(64);
+
 
     // ConverterRegistry implementation
 
@@ -175,6 +183,12 @@ public class GenericConversionService implements ConfigurableConversionService {
     @SuppressWarnings("unchecked")
     public <T> T convert(Object source, Class<T> targetType) {
         Assert.notNull(targetType, "targetType to convert to cannot be null");
+        if (source != null) {
+            ConverterHandle handle = getConverterHandle(source.getClass(), targetType);
+            if (handle != null && handle.converter != NO_MATCH) {
+                return (T) handle.convert(source);
+            }
+        }
         return (T) convert(source, TypeDescriptor.forObject(source), TypeDescriptor.valueOf(targetType));
     }
 
@@ -254,24 +268,24 @@ public class GenericConversionService implements ConfigurableConversionService {
      * @see #getDefaultConverter(TypeDescriptor, TypeDescriptor)
      */
     protected GenericConverter getConverter(TypeDescriptor sourceType, TypeDescriptor targetType) {
+        if (isPlainType(sourceType) && isPlainType(targetType)) {
+            ConverterHandle handle = getConverterHandle(sourceType.getType(), targetType.getType());
+            if (handle == null) {
+                handle = new ConverterHandle(sourceType, targetType, findConverter(sourceType, targetType));
+                addConverterHandle(handle);
+            }
+            return (handle.converter != NO_MATCH ? handle.converter : null);
+        }
+
         ConverterCacheKey key = new ConverterCacheKey(sourceType, targetType);
         GenericConverter converter = this.converterCache.get(key);
         if (converter != null) {
             return (converter != NO_MATCH ? converter : null);
         }
 
-        converter = this.converters.find(sourceType, targetType);
-        if (converter == null) {
-            converter = getDefaultConverter(sourceType, targetType);
-        }
-
-        if (converter != null) {
-            this.converterCache.put(key, converter);
-            return converter;
-        }
-
-        this.converterCache.put(key, NO_MATCH);
-        return null;
+        converter = findConverter(sourceType, targetType);
+        this.converterCache.put(key, converter);
+        return (converter != NO_MATCH ? converter : null);
     }
 
     /**
@@ -290,6 +304,47 @@ public class GenericConversionService implements ConfigurableConversionService {
 
     // Internal helpers
 
+    /**
+     * Perform an exhaustive search for a converter, falling back to the default converter.
+     * @return the converter, or {@link #NO_MATCH} if none found
+     */
+    private GenericConverter findConverter(TypeDescriptor sourceType, TypeDescriptor targetType) {
+        GenericConverter converter = this.converters.find(sourceType, targetType);
+        if (converter == null) {
+            converter = getDefaultConverter(sourceType, targetType);
+        }
+        return (converter != null ? converter : NO_MATCH);
+    }
+
+    /**
+     * Determine whether the given type descriptor carries no context beyond its class,
+     * i.e. is equivalent to {@link TypeDescriptor#valueOf} for the same class, so that
+     * its converter may be cached per exact class pair.
+     */
+    private boolean isPlainType(TypeDescriptor typeDescriptor) {
+        Class<?> type = typeDescriptor.getType();
+        return (typeDescriptor.getAnnotations().length == 0 && !type.isArray() &&
+                type.getTypeParameters().length == 0 && typeDescriptor.getResolvableType().getType() == type);
+    }
+
+    private ConverterHandle getConverterHandle(Class<?> sourceType, Class<?> targetType) {
+        Map<Class<?>, ConverterHandle> handles = this.converterHandleCache.get(sourceType);
+        return (handles != null ? handles.get(targetType) : null);
+    }
+
+    private void addConverterHandle(ConverterHandle handle) {
+        Class<?> sourceType = handle.sourceType.getType();
+        Map<Class<?>, ConverterHandle> handles = this.converterHandleCache.get(sourceType);
+        if (handles == null) {
+            handles = new ConcurrentReferenceHashMap<Class<?>, ConverterHandle>(16);
+            Map<Class<?>, ConverterHandle> existing = this.converterHandleCache.putIfAbsent(sourceType, handles);
+            if (existing != null) {
+                handles = existing;
+            }
+        }
+        handles.put(handle.targetType.getType(), handle);
+    }
+
     private ResolvableType[] getRequiredTypeInfo(Object converter, Class<?> genericIfc) {
         ResolvableType resolvableType = ResolvableType.forClass(converter.getClass()).as(genericIfc);
         ResolvableType[] generics = resolvableType.getGenerics();
@@ -306,6 +361,7 @@ public class GenericConversionService implements ConfigurableConversionService {
 
     private void invalidateCache() {
         this.converterCache.clear();
+        this.converterHandleCache.clear();
     }
 
     private Object handleConverterNotFound(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
@@ -334,6 +390,30 @@ public class GenericConversionService implements ConfigurableConversionService {
     }
 
 
+    /**
+     * A converter pre-linked to the exact source and target class it was resolved for.
+     */
+    private final class ConverterHandle {
+
+        private final TypeDescriptor sourceType;
+
+        private final TypeDescriptor targetType;
+
+        private final GenericConverter converter;
+
+        public ConverterHandle(TypeDescriptor sourceType, TypeDescriptor targetType, GenericConverter converter) {
+            this.sourceType = sourceType;
+            this.targetType = targetType;
+            this.converter = converter;
+        }
+
+        public Object convert(Object source) {
+            Object result = ConversionUtils.invokeConverter(this.converter, source, this.sourceType, this.targetType);
+            return handleResult(this.sourceType, this.targetType, result);
+        }
+    }
+
+
     /**
      * Adapts a {@link Converter} to a {@link GenericConverter}.
      */
@@ -16,10 +16,13 @@
 
 package org.springframework.core.convert.support;
 
+import java.util.Map;
+
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.convert.converter.ConditionalConverter;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.core.convert.converter.ConverterFactory;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.NumberUtils;
 
 /**
@@ -43,9 +46,18 @@ import org.springframework.util.NumberUtils;
 final class NumberToNumberConverterFactory implements ConverterFactory<Number, Number>,
         ConditionalConverter {
 
+    private final Map<Class<?>, Converter<Number, ?>> converterCache =
+            new ConcurrentReferenceHashMap<Class<?>, Converter<Number, ?>>(16);
+
     @Override
+    @SuppressWarnings("unchecked")
     public <T extends Number> Converter<Number, T> getConverter(Class<T> targetType) {
-        return new NumberToNumber<T>(targetType);
+        Converter<Number, ?> converter = this.converterCache.get(targetType);
+        if (converter == null) {
+            converter = new NumberToNumber<T>(targetType);
+            this.converterCache.put(targetType, converter);
+        }
+        return (Converter<Number, T>) converter;
     }
 
     @Override
@@ -16,8 +16,11 @@
 
 package org.springframework.core.convert.support;
 
+import java.util.Map;
+
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.core.convert.converter.ConverterFactory;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.NumberUtils;
 
 /**
@@ -40,9 +43,18 @@ import org.springframework.util.NumberUtils;
  */
 final class StringToNumberConverterFactory implements ConverterFactory<String, Number> {
 
+    private final Map<Class<?>, Converter<String, ?>> converterCache =
+            new ConcurrentReferenceHashMap<Class<?>, Converter<String, ?>>(16);
+
     @Override
+    @SuppressWarnings("unchecked")
     public <T extends Number> Converter<String, T> getConverter(Class<T> targetType) {
-        return new StringToNumber<T>(targetType);
+        Converter<String, ?> converter = this.converterCache.get(targetType);
+        if (converter == null) {
+            converter = new StringToNumber<T>(targetType);
+            this.converterCache.put(targetType, converter);
+        }
+        return (Converter<String, T>) converter;
     }
 
     private static final class StringToNumber<T extends Number> implements Converter<String, T> {
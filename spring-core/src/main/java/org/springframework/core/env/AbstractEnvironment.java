@@ -114,8 +114,8 @@ public abstract class AbstractEnvironment implements ConfigurableEnvironment {
 
     private final MutablePropertySources propertySources = new MutablePropertySources(this.logger);
 
-    private final ConfigurablePropertyResolver propertyResolver =
-            new PropertySourcesPropertyResolver(this.propertySources);
+    private final CachingPropertySourcesPropertyResolver propertyResolver =
+            new CachingPropertySourcesPropertyResolver(this.propertySources);
 
 
     /**
@@ -385,6 +385,27 @@ public abstract class AbstractEnvironment implements ConfigurableEnvironment {
         return this.propertySources;
     }
 
+    /**
+     * Specify whether resolved property values should be cached until the
+     * {@linkplain #getPropertySources() property sources} change.
+     * <p>The default is "false". Consider switching this flag to "true" if
+     * properties are read on hot code paths; changes to the contents of a
+     * property source then need to be signalled through
+     * {@link MutablePropertySources#propertySourceChanged}.
+     *
+     * @see CachingPropertySourcesPropertyResolver
+     */
+    public void setPropertyCachingEnabled(boolean propertyCachingEnabled) {
+        this.propertyResolver.setCacheEnabled(propertyCachingEnabled);
+    }
+
+    /**
+     * Return whether resolved property values are being cached.
+     */
+    public boolean isPropertyCachingEnabled() {
+        return this.propertyResolver.isCacheEnabled();
+    }
+
     @Override
     @SuppressWarnings({"unchecked", "rawtypes"})
     public Map<String, Object> getSystemEnvironment() {
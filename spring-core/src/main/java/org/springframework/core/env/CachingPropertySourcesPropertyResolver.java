@@ -0,0 +1,365 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.core.env;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.core.convert.support.ConfigurableConversionService;
+
+/**
+ * {@link PropertySourcesPropertyResolver} variant that caches resolved property
+ * values, for code that reads configuration on hot paths (e.g. feature flags
+ * checked per request).
+ *
+ * <p>Three levels of work are memoized:
+ * <ul>
+ * <li>a flattened index of all keys of the {@link MapPropertySource map-based} sources,
+ * pointing at the source with the highest precedence for each key, so that a lookup
+ * only consults that source plus any non-indexable sources ranked above it;</li>
+ * <li>raw and placeholder-resolved values per key, including misses, as well as
+ * conversion results of immutable target types such as numbers and booleans;</li>
+ * <li>the results of {@link #resolvePlaceholders} and {@link #resolveRequiredPlaceholders}.</li>
+ * </ul>
+ *
+ * <p>All cached state is discarded as soon as the {@link MutablePropertySources#getVersion()
+ * version} of the underlying property sources changes, i.e. when a source is added, removed
+ * or replaced, or when a change to the contents of a source has been signalled through
+ * {@link MutablePropertySources#propertySourceChanged}. Changes that are not signalled,
+ * e.g. {@link System#setProperty} calls against the system properties source, will not
+ * be seen until the next such change or {@link #clearCache()} call.
+ *
+ * <p>Caching is switched off by default, in which case this resolver behaves exactly
+ * like a plain {@link PropertySourcesPropertyResolver}.
+ *
+ * @see AbstractEnvironment#setPropertyCachingEnabled
+ */
+public class CachingPropertySourcesPropertyResolver extends PropertySourcesPropertyResolver {
+
+    /**
+     * Maximum number of entries per cache, protecting against unbounded growth
+     * when arbitrary keys or texts are being resolved.
+     */
+    private static final int MAX_CACHE_SIZE = 4096;
+
+    private static final Object NO_VALUE = new Object();
+
+
+    private final MutablePropertySources propertySources;
+
+    private volatile boolean cacheEnabled = false;
+
+    private volatile CacheState cacheState;
+
+
+    /**
+     * Create a new resolver against the given property sources.
+     *
+     * @param propertySources the set of {@link PropertySource} objects to use
+     */
+    public CachingPropertySourcesPropertyResolver(MutablePropertySources propertySources) {
+        super(propertySources);
+        this.propertySources = propertySources;
+    }
+
+
+    /**
+     * Set whether resolved property values should be cached.
+     * <p>Default is "false".
+     */
+    public void setCacheEnabled(boolean cacheEnabled) {
+        this.cacheEnabled = cacheEnabled;
+        this.cacheState = null;
+    }
+
+    /**
+     * Return whether resolved property values are being cached.
+     */
+    public boolean isCacheEnabled() {
+        return this.cacheEnabled;
+    }
+
+    /**
+     * Discard all cached state, e.g. after a property source changed without
+     * having been signalled through {@link MutablePropertySources#propertySourceChanged}.
+     */
+    public void clearCache() {
+        this.cacheState = null;
+    }
+
+
+    // Settings that affect resolved values invalidate the cache
+
+    @Override
+    public void setConversionService(ConfigurableConversionService conversionService) {
+        super.setConversionService(conversionService);
+        clearCache();
+    }
+
+    @Override
+    public void setPlaceholderPrefix(String placeholderPrefix) {
+        super.setPlaceholderPrefix(placeholderPrefix);
+        clearCache();
+    }
+
+    @Override
+    public void setPlaceholderSuffix(String placeholderSuffix) {
+        super.setPlaceholderSuffix(placeholderSuffix);
+        clearCache();
+    }
+
+    @Override
+    public void setValueSeparator(String valueSeparator) {
+        super.setValueSeparator(valueSeparator);
+        clearCache();
+    }
+
+    @Override
+    public void setIgnoreUnresolvableNestedPlaceholders(boolean ignoreUnresolvableNestedPlaceholders) {
+        super.setIgnoreUnresolvableNestedPlaceholders(ignoreUnresolvableNestedPlaceholders);
+        clearCache();
+    }
+
+
+    @Override
+    protected <T> T getProperty(String key, Class<T> targetValueType, boolean resolveNestedPlaceholders) {
+        if (!this.cacheEnabled) {
+            return super.getProperty(key, targetValueType, resolveNestedPlaceholders);
+        }
+        CacheState state = getCacheState();
+        ConcurrentMap<String, Object> values = (resolveNestedPlaceholders ? state.resolvedValues : state.rawValues);
+        Object value = values.get(key);
+        if (value == null) {
+            value = state.findValue(key);
+            if (value == null) {
+                value = NO_VALUE;
+            }
+            else if (resolveNestedPlaceholders && value instanceof String) {
+                value = resolveNestedPlaceholders((String) value);
+            }
+            state.put(values, key, value);
+        }
+        if (value == NO_VALUE) {
+            return null;
+        }
+        return convertValue(state, key, resolveNestedPlaceholders, value, targetValueType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T convertValue(CacheState state, String key, boolean resolveNestedPlaceholders,
+            Object value, Class<T> targetValueType) {
+
+        if (targetValueType.isInstance(value)) {
+            return (T) value;
+        }
+        ConvertedValueKey cacheKey = new ConvertedValueKey(key, resolveNestedPlaceholders, targetValueType);
+        Object converted = state.convertedValues.get(cacheKey);
+        if (converted != null) {
+            return (T) converted;
+        }
+        if (!this.conversionService.canConvert(value.getClass(), targetValueType)) {
+            throw new IllegalArgumentException(String.format(
+                    "Cannot convert value [%s] from source type [%s] to target type [%s]",
+                    value, value.getClass().getSimpleName(), targetValueType.getSimpleName()));
+        }
+        T result = this.conversionService.convert(value, targetValueType);
+        if (result != null && isImmutable(result)) {
+            state.put(state.convertedValues, cacheKey, result);
+        }
+        return result;
+    }
+
+    /**
+     * Only conversion results that callers cannot modify are shared.
+     */
+    private static boolean isImmutable(Object value) {
+        return (value instanceof String || value instanceof Number || value instanceof Boolean ||
+                value instanceof Character || value instanceof Enum || value instanceof Class);
+    }
+
+    @Override
+    public String resolvePlaceholders(String text) {
+        if (!this.cacheEnabled) {
+            return super.resolvePlaceholders(text);
+        }
+        CacheState state = getCacheState();
+        String resolved = state.lenientPlaceholders.get(text);
+        if (resolved == null) {
+            resolved = super.resolvePlaceholders(text);
+            state.put(state.lenientPlaceholders, text, resolved);
+        }
+        return resolved;
+    }
+
+    @Override
+    public String resolveRequiredPlaceholders(String text) throws IllegalArgumentException {
+        if (!this.cacheEnabled) {
+            return super.resolveRequiredPlaceholders(text);
+        }
+        CacheState state = getCacheState();
+        String resolved = state.strictPlaceholders.get(text);
+        if (resolved == null) {
+            resolved = super.resolveRequiredPlaceholders(text);
+            state.put(state.strictPlaceholders, text, resolved);
+        }
+        return resolved;
+    }
+
+    /**
+     * Return the cache state for the current version of the property sources,
+     * building a new one if the sources changed in the meantime.
+     */
+    private CacheState getCacheState() {
+        CacheState state = this.cacheState;
+        long version = this.propertySources.getVersion();
+        if (state == null || state.version != version) {
+            // Read the version before the sources: a concurrent change leads to another rebuild
+            state = new CacheState(version, this.propertySources);
+            this.cacheState = state;
+            if (logger.isDebugEnabled()) {
+                logger.debug(String.format("Indexed %d property keys across %s",
+                        state.keyIndex.size(), this.propertySources));
+            }
+        }
+        return state;
+    }
+
+
+    /**
+     * Snapshot of the property sources at a given version, plus the values
+     * resolved against it.
+     */
+    private static class CacheState {
+
+        final long version;
+
+        final PropertySource<?>[] sources;
+
+        final boolean[] indexed;
+
+        final Map<String, Integer> keyIndex = new HashMap<String, Integer>();
+
+        final ConcurrentMap<String, Object> rawValues = new ConcurrentHashMap<String, Object>(64);
+
+        final ConcurrentMap<String, Object> resolvedValues = new ConcurrentHashMap<String, Object>(64);
+
+        final ConcurrentMap<ConvertedValueKey, Object> convertedValues =
+                new ConcurrentHashMap<ConvertedValueKey, Object>(64);
+
+        final ConcurrentMap<String, String> lenientPlaceholders = new ConcurrentHashMap<String, String>(64);
+
+        final ConcurrentMap<String, String> strictPlaceholders = new ConcurrentHashMap<String, String>(64);
+
+        CacheState(long version, MutablePropertySources propertySources) {
+            this.version = version;
+            int count = propertySources.size();
+            PropertySource<?>[] sources = new PropertySource<?>[count];
+            int i = 0;
+            for (PropertySource<?> source : propertySources) {
+                if (i == sources.length) {
+                    // Added concurrently: the next lookup will see a new version anyway
+                    break;
+                }
+                sources[i++] = source;
+            }
+            this.sources = sources;
+            this.indexed = new boolean[i];
+            for (int j = i - 1; j >= 0; j--) {
+                // Lower precedence first, so that keys end up pointing at the highest precedence source
+                if (isIndexable(sources[j])) {
+                    this.indexed[j] = true;
+                    for (String name : ((MapPropertySource) sources[j]).getPropertyNames()) {
+                        this.keyIndex.put(name, j);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Only plain map-based sources expose exactly the keys they contain; other
+         * enumerable sources may accept further (e.g. relaxed or special) keys.
+         */
+        private static boolean isIndexable(PropertySource<?> source) {
+            return (source instanceof MapPropertySource && !(source instanceof SystemEnvironmentPropertySource));
+        }
+
+        Object findValue(String key) {
+            Integer index = this.keyIndex.get(key);
+            int candidate = (index != null ? index : this.sources.length);
+            for (int i = 0; i < this.indexed.length; i++) {
+                // Sources from the candidate on are consulted in case it holds a null value
+                if (!this.indexed[i] || i >= candidate) {
+                    Object value = this.sources[i].getProperty(key);
+                    if (value != null) {
+                        return value;
+                    }
+                }
+            }
+            return null;
+        }
+
+        <K, V> void put(ConcurrentMap<K, V> cache, K key, V value) {
+            if (cache.size() < MAX_CACHE_SIZE) {
+                cache.putIfAbsent(key, value);
+            }
+        }
+    }
+
+
+    /**
+     * Cache key for conversion results: a property key, whether its value had
+     * nested placeholders resolved, plus target type.
+     */
+    private static final class ConvertedValueKey {
+
+        private final String key;
+
+        private final boolean resolveNestedPlaceholders;
+
+        private final Class<?> targetType;
+
+        public ConvertedValueKey(String key, boolean resolveNestedPlaceholders, Class<?> targetType) {
+            this.key = key;
+            this.resolveNestedPlaceholders = resolveNestedPlaceholders;
+            this.targetType = targetType;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof ConvertedValueKey)) {
+                return false;
+            }
+            ConvertedValueKey otherKey = (ConvertedValueKey) other;
+            return (this.key.equals(otherKey.key) &&
+                    this.resolveNestedPlaceholders == otherKey.resolveNestedPlaceholders &&
+                    this.targetType == otherKey.targetType);
+        }
+
+        @Override
+        public int hashCode() {
+            return (this.key.hashCode() * 31 + (this.resolveNestedPlaceholders ? 1 : 0)) * 31 +
+                    this.targetType.hashCode();
+        }
+    }
+
+}
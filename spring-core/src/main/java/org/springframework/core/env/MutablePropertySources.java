@@ -19,6 +19,7 @@ package org.springframework.core.env;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -34,6 +35,11 @@ import org.springframework.util.StringUtils;
  * and {@link #addLast}, this is with regard to the order in which property sources
  * will be searched when resolving a given property with a {@link PropertyResolver}.
  *
+ * <p>Every change to the set of property sources, as well as every change to the
+ * contents of a contained source that is signalled through {@link #propertySourceChanged},
+ * increments the {@link #getVersion() version}, allowing resolvers to cache property
+ * values until the next change.
+ *
  * @author Chris Beams
  * @author Juergen Hoeller
  * @see PropertySourcesPropertyResolver
@@ -45,6 +51,8 @@ public class MutablePropertySources implements PropertySources {
 
     private final List<PropertySource<?>> propertySourceList = new CopyOnWriteArrayList<PropertySource<?>>();
 
+    private final AtomicLong version = new AtomicLong();
+
 
     /**
      * Create a new {@link MutablePropertySources} object.
@@ -99,6 +107,7 @@ public class MutablePropertySources implements PropertySources {
         }
         removeIfPresent(propertySource);
         this.propertySourceList.add(0, propertySource);
+        this.version.incrementAndGet();
     }
 
     /**
@@ -111,6 +120,7 @@ public class MutablePropertySources implements PropertySources {
         }
         removeIfPresent(propertySource);
         this.propertySourceList.add(propertySource);
+        this.version.incrementAndGet();
     }
 
     /**
@@ -160,7 +170,12 @@ public class MutablePropertySources implements PropertySources {
             logger.debug(String.format("Removing [%s] PropertySource", name));
         }
         int index = this.propertySourceList.indexOf(PropertySource.named(name));
-        return (index != -1 ? this.propertySourceList.remove(index) : null);
+        if (index == -1) {
+            return null;
+        }
+        PropertySource<?> removed = this.propertySourceList.remove(index);
+        this.version.incrementAndGet();
+        return removed;
     }
 
     /**
@@ -178,6 +193,34 @@ public class MutablePropertySources implements PropertySources {
         }
         int index = assertPresentAndGetIndex(name);
         this.propertySourceList.set(index, propertySource);
+        this.version.incrementAndGet();
+    }
+
+    /**
+     * Signal that the contents of the property source with the given name have
+     * changed, e.g. after its underlying file has been reloaded, so that resolvers
+     * caching its values pick up the new ones.
+     *
+     * @param name the name of the changed property source
+     * @throws IllegalArgumentException if no property source with the given name is present
+     * @see CachingPropertySourcesPropertyResolver
+     */
+    public void propertySourceChanged(String name) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(String.format("Contents of [%s] PropertySource changed", name));
+        }
+        assertPresentAndGetIndex(name);
+        this.version.incrementAndGet();
+    }
+
+    /**
+     * Return the current version of this set of property sources, incremented
+     * on every change to the set or to the signalled contents of its sources.
+     *
+     * @see #propertySourceChanged
+     */
+    public long getVersion() {
+        return this.version.get();
     }
 
     /**
@@ -220,6 +263,7 @@ public class MutablePropertySources implements PropertySources {
     private void addAtIndex(int index, PropertySource<?> propertySource) {
         removeIfPresent(propertySource);
         this.propertySourceList.add(index, propertySource);
+        this.version.incrementAndGet();
     }
 
     /**
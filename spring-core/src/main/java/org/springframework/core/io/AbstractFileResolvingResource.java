@@ -17,12 +17,14 @@
 package org.springframework.core.io;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.channels.ReadableByteChannel;
 
 import org.springframework.util.ResourceUtils;
 
@@ -141,6 +143,19 @@ public abstract class AbstractFileResolvingResource extends AbstractResource {
         }
     }
 
+    /**
+     * This implementation opens a FileChannel for the underlying file if the
+     * resource resolves to a file in the file system, falling back to adapting
+     * the InputStream otherwise (e.g. for a resource in a jar).
+     */
+    @Override
+    public ReadableByteChannel readableChannel() throws IOException {
+        if (ResourceUtils.isFileURL(getURL())) {
+            return new FileInputStream(getFile()).getChannel();
+        }
+        return super.readableChannel();
+    }
+
     @Override
     public long contentLength() throws IOException {
         URL url = getURL();
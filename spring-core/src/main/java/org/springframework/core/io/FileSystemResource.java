@@ -24,6 +24,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
 import java.net.URL;
+import java.nio.channels.ReadableByteChannel;
 
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
@@ -120,6 +121,16 @@ public class FileSystemResource extends AbstractResource implements WritableReso
         return new FileInputStream(this.file);
     }
 
+    /**
+     * This implementation opens a FileChannel for the underlying file.
+     *
+     * @see FileInputStream#getChannel()
+     */
+    @Override
+    public ReadableByteChannel readableChannel() throws IOException {
+        return new FileInputStream(this.file).getChannel();
+    }
+
     /**
      * This implementation checks whether the underlying file is marked as writable
      * (and corresponds to an actual file with content, not to a directory).
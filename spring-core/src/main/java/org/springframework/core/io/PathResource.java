@@ -23,10 +23,13 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
 import java.net.URL;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 
 import org.springframework.lang.UsesJava7;
 import org.springframework.util.Assert;
@@ -137,6 +140,22 @@ public class PathResource extends AbstractResource implements WritableResource {
         return Files.newInputStream(this.path);
     }
 
+    /**
+     * This implementation opens a FileChannel for the underlying file.
+     *
+     * @see FileChannel#open(Path, OpenOption...)
+     */
+    @Override
+    public ReadableByteChannel readableChannel() throws IOException {
+        if (!exists()) {
+            throw new FileNotFoundException(getPath() + " (no such file or directory)");
+        }
+        if (Files.isDirectory(this.path)) {
+            throw new FileNotFoundException(getPath() + " (is a directory)");
+        }
+        return FileChannel.open(this.path, StandardOpenOption.READ);
+    }
+
     /**
      * This implementation checks whether the underlying file is marked as writable
      * (and corresponds to an actual file with content, not to a directory).
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2012 the original author or authors.
+ * Copyright 2002-2015 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,11 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+import org.springframework.util.StreamUtils;
 
 /**
  * Interface for a resource descriptor that abstracts from the actual
@@ -74,6 +79,45 @@ public interface Resource extends InputStreamSource {
      */
     boolean isOpen();
 
+    /**
+     * Return a {@link ReadableByteChannel} for the content of this resource.
+     * <p>It is expected that each call creates a <i>fresh</i> channel, and
+     * the caller is responsible for closing it.
+     * <p>The default implementation adapts the {@link #getInputStream() InputStream};
+     * file-backed resources return a {@link java.nio.channels.FileChannel} instead.
+     *
+     * @throws java.io.FileNotFoundException if the underlying resource doesn't exist
+     * @throws IOException if the content channel could not be opened
+     * @see #getInputStream()
+     */
+    default ReadableByteChannel readableChannel() throws IOException {
+        return Channels.newChannel(getInputStream());
+    }
+
+    /**
+     * Write the content of this resource to the given channel, leaving
+     * the target channel open when done.
+     * <p>The default implementation copies the content of {@link #readableChannel()},
+     * closing that channel when done. For file-backed resources the copy goes
+     * through {@link java.nio.channels.FileChannel#transferTo}, which allows the
+     * operating system to copy the content without passing through the Java heap.
+     *
+     * @param target the channel to write to
+     * @return the number of bytes written
+     * @throws java.io.FileNotFoundException if the underlying resource doesn't exist
+     * @throws IOException in case of I/O errors
+     * @see StreamUtils#copy(ReadableByteChannel, WritableByteChannel)
+     */
+    default long transferTo(WritableByteChannel target) throws IOException {
+        ReadableByteChannel channel = readableChannel();
+        try {
+            return StreamUtils.copy(channel, target);
+        }
+        finally {
+            channel.close();
+        }
+    }
+
     /**
      * Return a URL handle for this resource.
      *
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.core.task;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Exception thrown when a {@link TaskExecutor} rejects to accept
+ * a given task for execution, e.g. since its queue is full.
+ *
+ * @see TaskExecutor#execute(Runnable)
+ */
+@SuppressWarnings("serial")
+public class TaskRejectedException extends RejectedExecutionException {
+
+	/**
+	 * Create a new {@code TaskRejectedException}
+	 * with the specified detail message and no root cause.
+	 * @param msg the detail message
+	 */
+	public TaskRejectedException(String msg) {
+		super(msg);
+	}
+
+	/**
+	 * Create a new {@code TaskRejectedException}
+	 * with the specified detail message and the given root cause.
+	 * @param msg the detail message
+	 * @param cause the root cause (usually from using an underlying
+	 * API such as the {@code java.util.concurrent} package)
+	 */
+	public TaskRejectedException(String msg, Throwable cause) {
+		super(msg, cause);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2012 the original author or authors.
+ * Copyright 2002-2015 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,6 +28,11 @@ import org.springframework.core.io.ResourceLoader;
  * caching {@link MetadataReader} per Spring {@link Resource} handle
  * (i.e. per ".class" file).
  *
+ * <p>By default, each factory keeps its own bounded cache. Alternatively, factories
+ * may {@link #setShareCache share} the {@link SharedMetadataReaderCache} of their
+ * class loader, which outlives individual application contexts and can persist
+ * metadata across application restarts.
+ *
  * @author Juergen Hoeller
  * @author Costin Leau
  * @since 2.5
@@ -42,6 +47,8 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 
     private volatile int cacheLimit = DEFAULT_CACHE_LIMIT;
 
+    private volatile SharedMetadataReaderCache sharedCache;
+
     @SuppressWarnings("serial")
     private final Map<Resource, MetadataReader> metadataReaderCache =
             new LinkedHashMap<Resource, MetadataReader>(DEFAULT_CACHE_LIMIT, 0.75f, true) {
@@ -57,6 +64,7 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
      */
     public CachingMetadataReaderFactory() {
         super();
+        setShareCache(SharedMetadataReaderCache.isSharedByDefault());
     }
 
     /**
@@ -67,6 +75,7 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
      */
     public CachingMetadataReaderFactory(ResourceLoader resourceLoader) {
         super(resourceLoader);
+        setShareCache(SharedMetadataReaderCache.isSharedByDefault());
     }
 
     /**
@@ -76,6 +85,7 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
      */
     public CachingMetadataReaderFactory(ClassLoader classLoader) {
         super(classLoader);
+        setShareCache(SharedMetadataReaderCache.isSharedByDefault());
     }
 
 
@@ -95,8 +105,32 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
     }
 
 
+    /**
+     * Specify whether to use the {@link SharedMetadataReaderCache} for the class
+     * loader of this factory instead of a cache local to this factory.
+     * <p>Default is "false", unless enabled through the
+     * {@value SharedMetadataReaderCache#SHARED_PROPERTY_NAME} system property.
+     * The {@link #setCacheLimit cache limit} does not apply to the shared cache.
+     */
+    public void setShareCache(boolean shareCache) {
+        this.sharedCache = (shareCache ?
+                SharedMetadataReaderCache.forClassLoader(getResourceLoader().getClassLoader()) : null);
+    }
+
+    /**
+     * Return whether this factory uses the shared cache for its class loader.
+     */
+    public boolean isShareCache() {
+        return (this.sharedCache != null);
+    }
+
+
     @Override
     public MetadataReader getMetadataReader(Resource resource) throws IOException {
+        SharedMetadataReaderCache sharedCache = this.sharedCache;
+        if (sharedCache != null) {
+            return sharedCache.getMetadataReader(resource);
+        }
         if (getCacheLimit() <= 0) {
             return super.getMetadataReader(resource);
         }
@@ -113,8 +147,16 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 
     /**
      * Clear the entire MetadataReader cache, removing all cached class metadata.
+     * <p>If the cache is {@link #setShareCache shared}, it is left intact for use by
+     * other factories, and newly parsed metadata gets persisted if configured.
+     * @see SharedMetadataReaderCache#flush()
      */
     public void clearCache() {
+        SharedMetadataReaderCache sharedCache = this.sharedCache;
+        if (sharedCache != null) {
+            sharedCache.flush();
+            return;
+        }
         synchronized (this.metadataReaderCache) {
             this.metadataReaderCache.clear();
         }
@@ -0,0 +1,351 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.core.type.classreading;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.asm.AnnotationVisitor;
+import org.springframework.asm.Attribute;
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.FieldVisitor;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.SpringAsmInfo;
+import org.springframework.asm.TypePath;
+import org.springframework.core.io.Resource;
+import org.springframework.util.ResourceUtils;
+
+/**
+ * On-disk store for the class metadata of classes contained in jar files,
+ * keeping one file per jar in a given directory.
+ *
+ * <p>Classes are stored as stripped-down class files which only retain what
+ * {@link AnnotationMetadataReadingVisitor} looks at: the class header, inner class
+ * entries, class and method annotations, and method signatures. Parsing those is
+ * much cheaper than inflating and parsing the original class file. The stored
+ * metadata of a jar is discarded as soon as the jar's size or timestamp changes.
+ *
+ * <p>Failures to read or write the store are logged and otherwise ignored,
+ * falling back to reading the original class files.
+ *
+ * @see SharedMetadataReaderCache#setCacheDirectory
+ */
+class PersistentMetadataStore {
+
+    private static final int MAGIC = 0x534d4443;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final String FILE_SUFFIX = ".metadata";
+
+
+    private static final Log logger = LogFactory.getLog(PersistentMetadataStore.class);
+
+    private final File directory;
+
+    private final ConcurrentMap<String, Archive> archives = new ConcurrentHashMap<String, Archive>();
+
+
+    PersistentMetadataStore(File directory) {
+        this.directory = directory;
+    }
+
+
+    /**
+     * Determine the store key for the given class file resource.
+     * @return the key, or {@code null} if the resource is not contained in a jar file
+     */
+    Key getKey(Resource resource) {
+        try {
+            URL url = resource.getURL();
+            if (!ResourceUtils.isJarURL(url)) {
+                return null;
+            }
+            String urlString = url.toString();
+            int separatorIndex = urlString.indexOf(ResourceUtils.JAR_URL_SEPARATOR);
+            URL jarFileUrl = ResourceUtils.extractJarFileURL(url);
+            if (separatorIndex == -1 || !ResourceUtils.URL_PROTOCOL_FILE.equals(jarFileUrl.getProtocol())) {
+                return null;
+            }
+            String entryName = urlString.substring(separatorIndex + ResourceUtils.JAR_URL_SEPARATOR.length());
+            return new Key(getArchive(ResourceUtils.getFile(jarFileUrl)), entryName);
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Return the stripped class file stored for the given key, if any.
+     */
+    byte[] get(Key key) {
+        return key.archive.classFiles.get(key.entryName);
+    }
+
+    /**
+     * Store the given class file for the given key, in stripped form.
+     */
+    void put(Key key, byte[] classFile) {
+        byte[] stripped;
+        try {
+            stripped = strip(classFile);
+        } catch (RuntimeException ex) {
+            logger.debug("Failed to strip class file for metadata store: " + key.entryName, ex);
+            return;
+        }
+        if (key.archive.classFiles.put(key.entryName, stripped) == null) {
+            key.archive.dirty = true;
+        }
+    }
+
+    /**
+     * Write the metadata of all jars which received new entries since they
+     * were loaded or last written.
+     */
+    void flush() {
+        for (Archive archive : this.archives.values()) {
+            if (archive.dirty) {
+                synchronized (archive) {
+                    if (archive.dirty) {
+                        archive.dirty = false;
+                        write(archive);
+                    }
+                }
+            }
+        }
+    }
+
+
+    private Archive getArchive(File jarFile) {
+        String path = jarFile.getAbsolutePath();
+        Archive archive = this.archives.get(path);
+        if (archive == null) {
+            archive = new Archive(path, jarFile.length(), jarFile.lastModified(),
+                    new File(this.directory, jarFile.getName() + "-" + Integer.toHexString(path.hashCode()) + FILE_SUFFIX));
+            read(archive);
+            Archive existing = this.archives.putIfAbsent(path, archive);
+            if (existing != null) {
+                archive = existing;
+            }
+        }
+        return archive;
+    }
+
+    private void read(Archive archive) {
+        if (!archive.file.isFile()) {
+            return;
+        }
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(archive.file)));
+            try {
+                if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !archive.path.equals(in.readUTF()) ||
+                        in.readLong() != archive.length || in.readLong() != archive.lastModified) {
+                    // Jar has changed since: entries will be rewritten on the next flush
+                    return;
+                }
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    String entryName = in.readUTF();
+                    byte[] classFile = new byte[in.readInt()];
+                    in.readFully(classFile);
+                    archive.classFiles.put(entryName, classFile);
+                }
+            } finally {
+                in.close();
+            }
+        } catch (IOException ex) {
+            logger.debug("Failed to read class metadata from " + archive.file, ex);
+            archive.classFiles.clear();
+        }
+    }
+
+    private void write(Archive archive) {
+        File tempFile = new File(archive.file.getPath() + ".tmp");
+        try {
+            if (!this.directory.isDirectory() && !this.directory.mkdirs()) {
+                throw new IOException("Could not create directory " + this.directory);
+            }
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+            try {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(archive.path);
+                out.writeLong(archive.length);
+                out.writeLong(archive.lastModified);
+                Map<String, byte[]> classFiles = new LinkedHashMap<String, byte[]>(archive.classFiles);
+                out.writeInt(classFiles.size());
+                for (Map.Entry<String, byte[]> entry : classFiles.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue().length);
+                    out.write(entry.getValue());
+                }
+            } finally {
+                out.close();
+            }
+            if (!tempFile.renameTo(archive.file)) {
+                archive.file.delete();
+                if (!tempFile.renameTo(archive.file)) {
+                    throw new IOException("Could not rename " + tempFile + " to " + archive.file);
+                }
+            }
+        } catch (IOException ex) {
+            logger.debug("Failed to write class metadata to " + archive.file, ex);
+            tempFile.delete();
+        }
+    }
+
+
+    /**
+     * Reduce the given class file to the parts read by {@link AnnotationMetadataReadingVisitor}.
+     */
+    static byte[] strip(byte[] classFile) {
+        ClassWriter writer = new ClassWriter(0);
+        new ClassReader(classFile).accept(new StrippingClassVisitor(writer),
+                ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        return writer.toByteArray();
+    }
+
+
+    /**
+     * Location of a class file within a jar.
+     */
+    static final class Key {
+
+        private final Archive archive;
+
+        private final String entryName;
+
+        Key(Archive archive, String entryName) {
+            this.archive = archive;
+            this.entryName = entryName;
+        }
+    }
+
+
+    /**
+     * The stored class files of a single jar.
+     */
+    private static final class Archive {
+
+        final String path;
+
+        final long length;
+
+        final long lastModified;
+
+        final File file;
+
+        final ConcurrentMap<String, byte[]> classFiles = new ConcurrentHashMap<String, byte[]>();
+
+        volatile boolean dirty;
+
+        Archive(String path, long length, long lastModified, File file) {
+            this.path = path;
+            this.length = length;
+            this.lastModified = lastModified;
+            this.file = file;
+        }
+    }
+
+
+    private static class StrippingClassVisitor extends ClassVisitor {
+
+        public StrippingClassVisitor(ClassVisitor cv) {
+            super(SpringAsmInfo.ASM_VERSION, cv);
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            super.visit(version, access, name, null, superName, interfaces);
+        }
+
+        @Override
+        public void visitSource(String source, String debug) {
+        }
+
+        @Override
+        public AnnotationVisitor visitTypeAnnotation(int typeRef, TypePath typePath, String desc, boolean visible) {
+            return null;
+        }
+
+        @Override
+        public void visitAttribute(Attribute attr) {
+        }
+
+        @Override
+        public FieldVisitor visitField(int access, String name, String desc, String signature, Object value) {
+            return null;
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions) {
+            if ((access & Opcodes.ACC_BRIDGE) != 0) {
+                return null;
+            }
+            return new StrippingMethodVisitor(super.visitMethod(access, name, desc, null, null));
+        }
+    }
+
+
+    private static class StrippingMethodVisitor extends MethodVisitor {
+
+        public StrippingMethodVisitor(MethodVisitor mv) {
+            super(SpringAsmInfo.ASM_VERSION, mv);
+        }
+
+        @Override
+        public void visitParameter(String name, int access) {
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotationDefault() {
+            return null;
+        }
+
+        @Override
+        public AnnotationVisitor visitTypeAnnotation(int typeRef, TypePath typePath, String desc, boolean visible) {
+            return null;
+        }
+
+        @Override
+        public AnnotationVisitor visitParameterAnnotation(int parameter, String desc, boolean visible) {
+            return null;
+        }
+
+        @Override
+        public void visitAttribute(Attribute attr) {
+        }
+    }
+
+}
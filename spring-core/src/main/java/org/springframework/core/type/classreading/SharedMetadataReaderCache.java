@@ -0,0 +1,253 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.core.type.classreading;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.core.SpringProperties;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Concurrent {@link MetadataReader} cache shared by all
+ * {@link CachingMetadataReaderFactory} instances for the same class loader,
+ * so that class metadata survives the refresh and close of individual
+ * application contexts, e.g. in a test suite creating many contexts.
+ *
+ * <p>The cache is bounded by the total size of the parsed class files rather
+ * than by a number of entries; arbitrary entries are evicted once the
+ * {@link #setMaximumWeight maximum weight} is exceeded. Caches for a class
+ * loader are softly referenced and may be reclaimed under memory pressure.
+ *
+ * <p>Optionally, the metadata of classes contained in jar files is persisted to a
+ * {@link #setCacheDirectory cache directory}, keyed by jar path, size and timestamp,
+ * to be reused on subsequent startups of the application.
+ *
+ * <p>Sharing is enabled for all {@link CachingMetadataReaderFactory} instances
+ * through the {@value #SHARED_PROPERTY_NAME} system property, with the
+ * {@value #DIRECTORY_PROPERTY_NAME} property specifying the default cache directory.
+ *
+ * @see CachingMetadataReaderFactory#setShareCache
+ */
+public class SharedMetadataReaderCache {
+
+    /**
+     * System property that instructs all {@link CachingMetadataReaderFactory}
+     * instances to use the shared cache for their class loader: "spring.metadata.cache.shared".
+     * @see SpringProperties
+     */
+    public static final String SHARED_PROPERTY_NAME = "spring.metadata.cache.shared";
+
+    /**
+     * System property that specifies the default cache directory: "spring.metadata.cache.dir".
+     * Implies {@value #SHARED_PROPERTY_NAME}.
+     * @see SpringProperties
+     */
+    public static final String DIRECTORY_PROPERTY_NAME = "spring.metadata.cache.dir";
+
+    /**
+     * Default maximum weight: 64 MB of class files.
+     */
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 64 * 1024 * 1024;
+
+
+    private static final ConcurrentReferenceHashMap<ClassLoader, SharedMetadataReaderCache> sharedCaches =
+            new ConcurrentReferenceHashMap<ClassLoader, SharedMetadataReaderCache>(4);
+
+
+    private final ClassLoader classLoader;
+
+    private final ConcurrentMap<Resource, Entry> entries = new ConcurrentHashMap<Resource, Entry>(256);
+
+    private final AtomicLong weight = new AtomicLong();
+
+    private volatile long maximumWeight = DEFAULT_MAXIMUM_WEIGHT;
+
+    private volatile PersistentMetadataStore persistentStore;
+
+
+    /**
+     * Create a new standalone cache for the given class loader.
+     * @param classLoader the ClassLoader to resolve annotation types with
+     * @see #forClassLoader
+     */
+    public SharedMetadataReaderCache(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+        String directory = SpringProperties.getProperty(DIRECTORY_PROPERTY_NAME);
+        if (directory != null) {
+            setCacheDirectory(new File(directory));
+        }
+    }
+
+
+    /**
+     * Return the shared cache for the given class loader, creating it if necessary.
+     * @param classLoader the ClassLoader to resolve annotation types with
+     */
+    public static SharedMetadataReaderCache forClassLoader(ClassLoader classLoader) {
+        SharedMetadataReaderCache cache = sharedCaches.get(classLoader);
+        if (cache == null) {
+            cache = new SharedMetadataReaderCache(classLoader);
+            SharedMetadataReaderCache existing = sharedCaches.putIfAbsent(classLoader, cache);
+            if (existing != null) {
+                cache = existing;
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Return whether {@link CachingMetadataReaderFactory} instances
+     * should use the shared cache by default.
+     * @see #SHARED_PROPERTY_NAME
+     * @see #DIRECTORY_PROPERTY_NAME
+     */
+    static boolean isSharedByDefault() {
+        return (SpringProperties.getFlag(SHARED_PROPERTY_NAME) ||
+                SpringProperties.getProperty(DIRECTORY_PROPERTY_NAME) != null);
+    }
+
+
+    /**
+     * Specify the maximum total size of the class files whose metadata is cached.
+     * <p>Default is 64 MB.
+     */
+    public void setMaximumWeight(long maximumWeight) {
+        Assert.isTrue(maximumWeight > 0, "Maximum weight must be positive");
+        this.maximumWeight = maximumWeight;
+        evictIfNecessary();
+    }
+
+    /**
+     * Return the maximum total size of the class files whose metadata is cached.
+     */
+    public long getMaximumWeight() {
+        return this.maximumWeight;
+    }
+
+    /**
+     * Return the total size of the class files whose metadata is currently cached.
+     */
+    public long getWeight() {
+        return this.weight.get();
+    }
+
+    /**
+     * Specify a directory to persist the metadata of classes in jar files to,
+     * or {@code null} to keep metadata in memory only (the default, unless the
+     * {@value #DIRECTORY_PROPERTY_NAME} system property is set).
+     * @see #flush()
+     */
+    public void setCacheDirectory(File cacheDirectory) {
+        this.persistentStore = (cacheDirectory != null ? new PersistentMetadataStore(cacheDirectory) : null);
+    }
+
+
+    /**
+     * Obtain a MetadataReader for the given resource, parsing its class file
+     * (or its persisted metadata) only if not cached yet.
+     * @param resource the resource (pointing to a ".class" file)
+     * @return a holder for the ClassReader instance (never {@code null})
+     * @throws IOException in case of I/O failure
+     */
+    public MetadataReader getMetadataReader(Resource resource) throws IOException {
+        Entry entry = this.entries.get(resource);
+        if (entry != null) {
+            return entry.metadataReader;
+        }
+        entry = createEntry(resource);
+        Entry existing = this.entries.putIfAbsent(resource, entry);
+        if (existing != null) {
+            return existing.metadataReader;
+        }
+        if (this.weight.addAndGet(entry.weight) > this.maximumWeight) {
+            evictIfNecessary();
+        }
+        return entry.metadataReader;
+    }
+
+    /**
+     * Write newly parsed metadata to the cache directory, if any.
+     */
+    public void flush() {
+        PersistentMetadataStore store = this.persistentStore;
+        if (store != null) {
+            store.flush();
+        }
+    }
+
+    /**
+     * Remove all cached metadata from memory; persisted metadata remains.
+     */
+    public void clear() {
+        for (Iterator<Entry> it = this.entries.values().iterator(); it.hasNext();) {
+            Entry entry = it.next();
+            it.remove();
+            this.weight.addAndGet(-entry.weight);
+        }
+    }
+
+
+    private Entry createEntry(Resource resource) throws IOException {
+        PersistentMetadataStore store = this.persistentStore;
+        PersistentMetadataStore.Key key = (store != null ? store.getKey(resource) : null);
+        if (key != null) {
+            byte[] stripped = store.get(key);
+            if (stripped != null) {
+                return new Entry(new SimpleMetadataReader(resource, stripped, this.classLoader), stripped.length);
+            }
+        }
+        byte[] classFile = SimpleMetadataReader.readClassFile(resource);
+        SimpleMetadataReader metadataReader = new SimpleMetadataReader(resource, classFile, this.classLoader);
+        if (key != null) {
+            store.put(key, classFile);
+        }
+        return new Entry(metadataReader, classFile.length);
+    }
+
+    private void evictIfNecessary() {
+        Iterator<Map.Entry<Resource, Entry>> it = this.entries.entrySet().iterator();
+        while (this.weight.get() > this.maximumWeight && it.hasNext()) {
+            Map.Entry<Resource, Entry> candidate = it.next();
+            if (this.entries.remove(candidate.getKey(), candidate.getValue())) {
+                this.weight.addAndGet(-candidate.getValue().weight);
+            }
+        }
+    }
+
+
+    private static final class Entry {
+
+        final MetadataReader metadataReader;
+
+        final int weight;
+
+        Entry(MetadataReader metadataReader, int weight) {
+            this.metadataReader = metadataReader;
+            this.weight = weight;
+        }
+    }
+
+}
@@ -16,7 +16,6 @@
 
 package org.springframework.core.type.classreading;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
@@ -25,6 +24,7 @@ import org.springframework.core.NestedIOException;
 import org.springframework.core.io.Resource;
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.core.type.ClassMetadata;
+import org.springframework.util.StreamUtils;
 
 /**
  * {@link MetadataReader} implementation based on an ASM
@@ -47,16 +47,20 @@ final class SimpleMetadataReader implements MetadataReader {
 
 
     SimpleMetadataReader(Resource resource, ClassLoader classLoader) throws IOException {
-        // 加载.class文件
-        InputStream is = new BufferedInputStream(resource.getInputStream());
+        this(resource, readClassFile(resource), classLoader);
+    }
+
+    /**
+     * Create a reader for the given class file content, e.g. as read by
+     * {@link #readClassFile} or as stripped by {@link PersistentMetadataStore}.
+     */
+    SimpleMetadataReader(Resource resource, byte[] classFile, ClassLoader classLoader) throws IOException {
         ClassReader classReader;
         try {
-            classReader = new ClassReader(is);
+            classReader = new ClassReader(classFile);
         } catch (IllegalArgumentException ex) {
             throw new NestedIOException("ASM ClassReader failed to parse class file - " +
                     "probably due to a new Java class file version that isn't supported yet: " + resource, ex);
-        } finally {
-            is.close();
         }
 
         AnnotationMetadataReadingVisitor visitor = new AnnotationMetadataReadingVisitor(classLoader);
@@ -85,4 +89,15 @@ final class SimpleMetadataReader implements MetadataReader {
         return this.annotationMetadata;
     }
 
+
+    static byte[] readClassFile(Resource resource) throws IOException {
+        // 加载.class文件
+        InputStream is = resource.getInputStream();
+        try {
+            return StreamUtils.copyToByteArray(is);
+        } finally {
+            is.close();
+        }
+    }
+
 }
@@ -610,6 +610,13 @@ public class AntPathMatcher implements PathMatcher {
                     Pattern.compile(patternBuilder.toString(), Pattern.CASE_INSENSITIVE));
         }
 
+        /**
+         * Return the names of the URI template variables in this pattern, in declaration order.
+         */
+        List<String> getVariableNames() {
+            return this.variableNames;
+        }
+
         private String quote(String s, int start, int end) {
             if (start == end) {
                 return "";
@@ -788,25 +788,36 @@ public abstract class ClassUtils {
     public static Method getMostSpecificMethod(Method method, Class<?> targetClass) {
         if (method != null && isOverridable(method, targetClass) &&
                 targetClass != null && !targetClass.equals(method.getDeclaringClass())) {
-            try {
-                if (Modifier.isPublic(method.getModifiers())) {
-                    try {
-                        return targetClass.getMethod(method.getName(), method.getParameterTypes());
-                    } catch (NoSuchMethodException ex) {
-                        return method;
-                    }
-                } else {
-                    Method specificMethod =
-                            ReflectionUtils.findMethod(targetClass, method.getName(), method.getParameterTypes());
-                    return (specificMethod != null ? specificMethod : method);
-                }
-            } catch (SecurityException ex) {
-                // Security settings are disallowing reflective access; fall back to 'method' below.
+            Map<Method, Method> cache = ReflectionUtils.getMostSpecificMethodCache(targetClass);
+            Method specificMethod = cache.get(method);
+            if (specificMethod == null) {
+                specificMethod = findMostSpecificMethod(method, targetClass);
+                cache.put(method, specificMethod);
             }
+            return specificMethod;
         }
         return method;
     }
 
+    private static Method findMostSpecificMethod(Method method, Class<?> targetClass) {
+        try {
+            if (Modifier.isPublic(method.getModifiers())) {
+                try {
+                    return targetClass.getMethod(method.getName(), method.getParameterTypes());
+                } catch (NoSuchMethodException ex) {
+                    return method;
+                }
+            } else {
+                Method specificMethod =
+                        ReflectionUtils.findMethod(targetClass, method.getName(), method.getParameterTypes());
+                return (specificMethod != null ? specificMethod : method);
+            }
+        } catch (SecurityException ex) {
+            // Security settings are disallowing reflective access; fall back to 'method'.
+            return method;
+        }
+    }
+
     /**
      * Determine whether the given method is declared by the user or at least pointing to
      * a user-declared method.
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.springframework.lang.UsesJava7;
+
+/**
+ * Invokes a given {@link Method} through a {@link MethodHandle}, as a drop-in
+ * replacement for {@link Method#invoke}: same arguments, same exceptions.
+ *
+ * <p>The method handle is adapted once to a generic {@code (Object, Object[])Object}
+ * shape, so that each call is a single {@code invokeExact} without the per-call
+ * access checks of reflection. Arguments which would need a conversion that method
+ * handles do not apply (such as widening an {@code Integer} to a {@code long}
+ * parameter), as well as invalid targets or arguments, are passed on to
+ * {@code Method.invoke} to get its exact behavior.
+ *
+ * <p>Creating an invoker is considerably more expensive than a single reflective
+ * call: callers are expected to obtain it once per method and keep it around.
+ * Note that per call, an invoker is not faster than {@code Method.invoke} once the
+ * latter has been inflated into a generated accessor which the JIT compiler can
+ * inline, whereas a method handle that is not a constant cannot be inlined.
+ * The framework's own reflective call sites therefore keep using reflection.
+ *
+ * @see ReflectionUtils#invokeMethod(Method, Object, Object...)
+ */
+@UsesJava7
+public final class MethodHandleInvoker {
+
+    private static final Object[] EMPTY_ARGUMENTS = new Object[0];
+
+
+    private final Method method;
+
+    private final boolean isStatic;
+
+    private final Class<?>[] parameterTypes;
+
+    /** Parameter types with primitives replaced by their wrapper types */
+    private final Class<?>[] argumentTypes;
+
+    private final MethodHandle methodHandle;
+
+
+    private MethodHandleInvoker(Method method) {
+        this.method = method;
+        this.isStatic = Modifier.isStatic(method.getModifiers());
+        this.parameterTypes = method.getParameterTypes();
+        this.argumentTypes = new Class<?>[this.parameterTypes.length];
+        for (int i = 0; i < this.parameterTypes.length; i++) {
+            this.argumentTypes[i] = ClassUtils.resolvePrimitiveIfNecessary(this.parameterTypes[i]);
+        }
+        this.methodHandle = createMethodHandle(method, this.isStatic, this.parameterTypes.length);
+    }
+
+
+    /**
+     * Create an invoker for the given method, making it accessible if necessary.
+     * @param method the method to invoke
+     * @return the invoker (never {@code null})
+     * @see ReflectionUtils#makeAccessible(Method)
+     */
+    public static MethodHandleInvoker forMethod(Method method) {
+        Assert.notNull(method, "Method must not be null");
+        ReflectionUtils.makeAccessible(method);
+        return new MethodHandleInvoker(method);
+    }
+
+    private static MethodHandle createMethodHandle(Method method, boolean isStatic, int parameterCount) {
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflect(method).asFixedArity();
+            if (isStatic) {
+                // Accept and ignore a target object, as Method.invoke does
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asType(MethodType.genericMethodType(parameterCount + 1))
+                    .asSpreader(Object[].class, parameterCount);
+        } catch (IllegalAccessException ex) {
+            // Not accessible for method handles: stick to reflection
+            return null;
+        }
+    }
+
+
+    /**
+     * Return the method that this invoker calls.
+     */
+    public Method getMethod() {
+        return this.method;
+    }
+
+    /**
+     * Invoke the method on the given target object with the given arguments.
+     * @param target the target object, or {@code null} for a static method
+     * @param args the arguments (may be {@code null} if the method has no parameters)
+     * @return the result of the invocation, or {@code null} for a {@code void} method
+     * @throws IllegalAccessException if the method is not accessible
+     * @throws IllegalArgumentException if the target or arguments are not valid for the method
+     * @throws InvocationTargetException if the method threw an exception
+     * @see Method#invoke(Object, Object...)
+     */
+    public Object invoke(Object target, Object... args) throws IllegalAccessException, InvocationTargetException {
+        Object[] argsToUse = (args != null ? args : EMPTY_ARGUMENTS);
+        if (this.methodHandle == null || !isInvocable(target, argsToUse)) {
+            return this.method.invoke(target, args);
+        }
+        try {
+            return (Object) this.methodHandle.invokeExact(target, argsToUse);
+        } catch (Throwable ex) {
+            throw new InvocationTargetException(ex);
+        }
+    }
+
+    private boolean isInvocable(Object target, Object[] args) {
+        if (!this.isStatic && !this.method.getDeclaringClass().isInstance(target)) {
+            return false;
+        }
+        if (args.length != this.parameterTypes.length) {
+            return false;
+        }
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            if (arg != null ? !this.argumentTypes[i].isInstance(arg) : this.parameterTypes[i].isPrimitive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    @Override
+    public String toString() {
+        return "MethodHandleInvoker for " + this.method;
+    }
+
+}
@@ -174,7 +174,8 @@ public abstract class NumberUtils {
     public static <T extends Number> T parseNumber(String text, Class<T> targetClass) {
         Assert.notNull(text, "Text must not be null");
         Assert.notNull(targetClass, "Target class must not be null");
-        String trimmed = StringUtils.trimAllWhitespace(text);
+        // Only copy the text if there actually is whitespace to strip
+        String trimmed = (StringUtils.containsWhitespace(text) ? StringUtils.trimAllWhitespace(text) : text);
 
         if (Byte.class == targetClass) {
             return (T) (isHexNumber(trimmed) ? Byte.decode(trimmed) : Byte.valueOf(trimmed));
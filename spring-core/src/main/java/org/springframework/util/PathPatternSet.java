@@ -0,0 +1,534 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A set of Ant-style path patterns, compiled into a single segment trie so that
+ * all patterns matching a given path are found in one pass over the path, instead
+ * of matching the path against every pattern in turn.
+ *
+ * <p>Patterns follow the {@link AntPathMatcher} syntax and semantics: a path matches
+ * a pattern in this set exactly if {@link AntPathMatcher#match} returns {@code true}
+ * for it, given the same path separator, case sensitivity and token trimming. Whole
+ * segments consisting of a literal, {@code *}, <code>&#42;&#42;</code> or a plain
+ * <code>{var}</code> are matched without regular expressions; only segments mixing
+ * text with wildcards (e.g. {@code *.html}) or declaring a variable regex fall back
+ * to an {@code AntPathMatcher}-style segment pattern.
+ *
+ * <p>Matches are returned in {@link AntPathMatcher#getPatternComparator specificity order},
+ * most specific first, along with the URI template variables extracted from the path.
+ * Patterns declaring the same variable more than once (e.g. <code>/&#42;&#42;/{id}/{id}</code>)
+ * are rejected, since {@code AntPathMatcher} resolves such patterns in an order that
+ * depends on where <code>&#42;&#42;</code> occurs.
+ *
+ * <p>Patterns are meant to be registered up front, e.g. when a handler mapping is
+ * initialized; once populated, a {@code PathPatternSet} can be matched against
+ * concurrently, but additions must not overlap with matching.
+ *
+ * @see AntPathMatcher
+ */
+public class PathPatternSet {
+
+    private final String pathSeparator;
+
+    private boolean caseSensitive = true;
+
+    private boolean trimTokens = true;
+
+    private final Node absoluteRoot = new Node();
+
+    private final Node relativeRoot = new Node();
+
+    private final Set<String> patterns = new LinkedHashSet<String>();
+
+
+    /**
+     * Create a new {@code PathPatternSet} with the
+     * {@link AntPathMatcher#DEFAULT_PATH_SEPARATOR default path separator}.
+     */
+    public PathPatternSet() {
+        this(AntPathMatcher.DEFAULT_PATH_SEPARATOR);
+    }
+
+    /**
+     * Create a new {@code PathPatternSet} with the given path separator.
+     *
+     * @param pathSeparator the path separator to use, must not be {@code null}
+     */
+    public PathPatternSet(String pathSeparator) {
+        Assert.notNull(pathSeparator, "'pathSeparator' is required");
+        this.pathSeparator = pathSeparator;
+    }
+
+
+    /**
+     * Specify whether to perform pattern matching in a case-sensitive fashion.
+     * <p>Default is {@code true}. Must be set before any pattern is added.
+     *
+     * @see AntPathMatcher#setCaseSensitive
+     */
+    public void setCaseSensitive(boolean caseSensitive) {
+        Assert.state(this.patterns.isEmpty(), "Cannot change case sensitivity after patterns have been added");
+        this.caseSensitive = caseSensitive;
+    }
+
+    /**
+     * Specify whether to trim tokenized paths and patterns.
+     * <p>Default is {@code true}. Must be set before any pattern is added.
+     *
+     * @see AntPathMatcher#setTrimTokens
+     */
+    public void setTrimTokens(boolean trimTokens) {
+        Assert.state(this.patterns.isEmpty(), "Cannot change token trimming after patterns have been added");
+        this.trimTokens = trimTokens;
+    }
+
+
+    /**
+     * Add the given pattern to this set.
+     *
+     * @param pattern the Ant-style path pattern
+     * @return {@code true} if the pattern was added, {@code false} if it was already present
+     * @throws IllegalArgumentException if the pattern declares a URI template variable more than once
+     */
+    public boolean add(String pattern) {
+        Assert.notNull(pattern, "Pattern must not be null");
+        if (this.patterns.contains(pattern)) {
+            return false;
+        }
+        String[] segments = tokenize(pattern);
+        assertUniqueVariableNames(pattern, segments);
+        this.patterns.add(pattern);
+        Node node = (pattern.startsWith(this.pathSeparator) ? this.absoluteRoot : this.relativeRoot);
+        boolean hasDoubleWildcard = false;
+        String previous = null;
+        for (String segment : segments) {
+            if ("**".equals(segment)) {
+                hasDoubleWildcard = true;
+                if ("**".equals(previous)) {
+                    // "**/**" matches exactly what a single "**" matches
+                    continue;
+                }
+            }
+            node = node.getOrCreateChild(segment, this.caseSensitive);
+            previous = segment;
+        }
+        if (node.terminals == null) {
+            node.terminals = new ArrayList<Terminal>(1);
+        }
+        node.terminals.add(new Terminal(pattern, pattern.endsWith(this.pathSeparator), hasDoubleWildcard));
+        return true;
+    }
+
+    /**
+     * Return whether the given pattern is contained in this set.
+     */
+    public boolean contains(String pattern) {
+        return this.patterns.contains(pattern);
+    }
+
+    /**
+     * Return all patterns in this set, in registration order.
+     */
+    public Set<String> getPatterns() {
+        return Collections.unmodifiableSet(this.patterns);
+    }
+
+    /**
+     * Return the number of patterns in this set.
+     */
+    public int size() {
+        return this.patterns.size();
+    }
+
+
+    /**
+     * Find all patterns matching the given path.
+     *
+     * @param path the path to match
+     * @return the matches, most specific pattern first (never {@code null})
+     */
+    public List<Match> match(String path) {
+        Node root = (path.startsWith(this.pathSeparator) ? this.absoluteRoot : this.relativeRoot);
+        MatchState state = new MatchState(tokenize(path), path.endsWith(this.pathSeparator));
+        collect(root, 0, false, state);
+        if (state.matches == null) {
+            return Collections.emptyList();
+        }
+        List<Match> result = new ArrayList<Match>(state.matches.values());
+        if (result.size() > 1) {
+            sortBySpecificity(result, new AntPathMatcher.AntPatternComparator(path));
+        }
+        return result;
+    }
+
+    /**
+     * Find the most specific pattern matching the given path.
+     *
+     * @param path the path to match
+     * @return the best match, or {@code null} if no pattern matches
+     */
+    public Match getBestMatch(String path) {
+        List<Match> matches = match(path);
+        return (!matches.isEmpty() ? matches.get(0) : null);
+    }
+
+
+    /**
+     * Insertion sort: the pattern comparator is not guaranteed to be transitive
+     * for arbitrary pattern combinations, which {@code Collections.sort} may reject,
+     * and the number of matches for a path is usually small.
+     */
+    private static void sortBySpecificity(List<Match> matches, Comparator<String> comparator) {
+        for (int i = 1; i < matches.size(); i++) {
+            Match match = matches.get(i);
+            int j = i - 1;
+            while (j >= 0 && comparator.compare(matches.get(j).getPattern(), match.getPattern()) > 0) {
+                matches.set(j + 1, matches.get(j));
+                j--;
+            }
+            matches.set(j + 1, match);
+        }
+    }
+
+    /**
+     * {@code AntPathMatcher} keeps whichever binding of a repeated variable its matching
+     * algorithm visits last, which a single pass over the trie cannot reproduce.
+     */
+    private void assertUniqueVariableNames(String pattern, String[] segments) {
+        Set<String> variableNames = null;
+        for (String segment : segments) {
+            if (segment.indexOf('{') == -1) {
+                continue;
+            }
+            String variableName = Node.getPlainVariableName(segment);
+            List<String> segmentVariableNames = (variableName != null ? Collections.singletonList(variableName) :
+                    new AntPathMatcher.AntPathStringMatcher(segment, this.caseSensitive).getVariableNames());
+            for (String name : segmentVariableNames) {
+                if (variableNames == null) {
+                    variableNames = new HashSet<String>(4);
+                }
+                if (!variableNames.add(name)) {
+                    throw new IllegalArgumentException(
+                            "Pattern '" + pattern + "' declares URI template variable '" + name + "' more than once");
+                }
+            }
+        }
+    }
+
+    private String[] tokenize(String path) {
+        return StringUtils.tokenizeToStringArray(path, this.pathSeparator, this.trimTokens, true);
+    }
+
+    /**
+     * Depth-first traversal of the trie along the path segments from the given index.
+     */
+    private void collect(Node node, int index, boolean afterDoubleWildcard, MatchState state) {
+        String[] segments = state.segments;
+        if (index == segments.length) {
+            collectTerminals(node, state, false);
+            if (node.doubleWildcard != null) {
+                // Trailing "**" matches zero segments
+                collectTerminals(node.doubleWildcard, state, false);
+            }
+            if (!afterDoubleWildcard && state.endsWithSeparator && node.anySegment != null) {
+                // AntPathMatcher lets "/a/*" match "/a/"
+                collectTerminals(node.anySegment, state, true);
+            }
+            return;
+        }
+        String segment = segments[index];
+        if (node.literals != null) {
+            Node child = node.literals.get(this.caseSensitive ? segment : segment.toLowerCase(Locale.ENGLISH));
+            if (child != null) {
+                collect(child, index + 1, afterDoubleWildcard, state);
+            }
+        }
+        if (node.anySegment != null) {
+            collect(node.anySegment, index + 1, afterDoubleWildcard, state);
+        }
+        if (node.captures != null) {
+            for (Map.Entry<String, Node> entry : node.captures.entrySet()) {
+                int mark = state.pushVariable(entry.getKey(), segment);
+                collect(entry.getValue(), index + 1, afterDoubleWildcard, state);
+                state.popVariables(mark);
+            }
+        }
+        if (node.segmentPatterns != null) {
+            for (SegmentPattern segmentPattern : node.segmentPatterns) {
+                Map<String, String> variables = new LinkedHashMap<String, String>();
+                if (segmentPattern.matcher.matchStrings(segment, variables)) {
+                    int mark = state.pushVariables(variables);
+                    collect(segmentPattern.node, index + 1, afterDoubleWildcard, state);
+                    state.popVariables(mark);
+                }
+            }
+        }
+        if (node.doubleWildcard != null) {
+            for (int next = index; next <= segments.length; next++) {
+                collect(node.doubleWildcard, next, true, state);
+            }
+        }
+    }
+
+    private void collectTerminals(Node node, MatchState state, boolean ignoreTrailingSeparator) {
+        if (node.terminals != null) {
+            for (Terminal terminal : node.terminals) {
+                // Like AntPathMatcher, only patterns without "**" need to agree on a trailing separator
+                if (ignoreTrailingSeparator || terminal.hasDoubleWildcard ||
+                        terminal.endsWithSeparator == state.endsWithSeparator) {
+                    state.addMatch(terminal.pattern);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * A pattern in this set that matched a path.
+     */
+    public static final class Match {
+
+        private final String pattern;
+
+        private final Map<String, String> uriVariables;
+
+        Match(String pattern, Map<String, String> uriVariables) {
+            this.pattern = pattern;
+            this.uriVariables = uriVariables;
+        }
+
+        /**
+         * Return the matching pattern.
+         */
+        public String getPattern() {
+            return this.pattern;
+        }
+
+        /**
+         * Return the URI template variables extracted from the path
+         * (never {@code null}).
+         */
+        public Map<String, String> getUriVariables() {
+            return this.uriVariables;
+        }
+
+        @Override
+        public String toString() {
+            return this.pattern + (this.uriVariables.isEmpty() ? "" : " " + this.uriVariables);
+        }
+    }
+
+
+    /**
+     * Trie node for a pattern segment.
+     */
+    private static class Node {
+
+        Map<String, Node> literals;
+
+        Node anySegment;
+
+        Map<String, Node> captures;
+
+        List<SegmentPattern> segmentPatterns;
+
+        Node doubleWildcard;
+
+        List<Terminal> terminals;
+
+        Node getOrCreateChild(String segment, boolean caseSensitive) {
+            if ("**".equals(segment)) {
+                if (this.doubleWildcard == null) {
+                    this.doubleWildcard = new Node();
+                }
+                return this.doubleWildcard;
+            }
+            if ("*".equals(segment)) {
+                if (this.anySegment == null) {
+                    this.anySegment = new Node();
+                }
+                return this.anySegment;
+            }
+            String variableName = getPlainVariableName(segment);
+            if (variableName != null) {
+                if (this.captures == null) {
+                    this.captures = new LinkedHashMap<String, Node>(4);
+                }
+                Node child = this.captures.get(variableName);
+                if (child == null) {
+                    child = new Node();
+                    this.captures.put(variableName, child);
+                }
+                return child;
+            }
+            if (segment.indexOf('*') != -1 || segment.indexOf('?') != -1 || segment.indexOf('{') != -1) {
+                if (this.segmentPatterns == null) {
+                    this.segmentPatterns = new ArrayList<SegmentPattern>(2);
+                }
+                for (SegmentPattern segmentPattern : this.segmentPatterns) {
+                    if (segmentPattern.segment.equals(segment)) {
+                        return segmentPattern.node;
+                    }
+                }
+                SegmentPattern segmentPattern = new SegmentPattern(segment, caseSensitive);
+                this.segmentPatterns.add(segmentPattern);
+                return segmentPattern.node;
+            }
+            if (this.literals == null) {
+                this.literals = new HashMap<String, Node>(4);
+            }
+            String key = (caseSensitive ? segment : segment.toLowerCase(Locale.ENGLISH));
+            Node child = this.literals.get(key);
+            if (child == null) {
+                child = new Node();
+                this.literals.put(key, child);
+            }
+            return child;
+        }
+
+        /**
+         * Return the variable name if the segment is a plain <code>{var}</code>
+         * placeholder without a regex, {@code null} otherwise.
+         */
+        private static String getPlainVariableName(String segment) {
+            int length = segment.length();
+            if (length < 3 || segment.charAt(0) != '{' || segment.charAt(length - 1) != '}') {
+                return null;
+            }
+            for (int i = 1; i < length - 1; i++) {
+                char c = segment.charAt(i);
+                if (c == '{' || c == '}' || c == ':' || c == '\\') {
+                    return null;
+                }
+            }
+            return segment.substring(1, length - 1);
+        }
+    }
+
+
+    /**
+     * Segment mixing text with wildcards or variables, matched like in {@link AntPathMatcher}.
+     */
+    private static class SegmentPattern {
+
+        final String segment;
+
+        final AntPathMatcher.AntPathStringMatcher matcher;
+
+        final Node node = new Node();
+
+        SegmentPattern(String segment, boolean caseSensitive) {
+            this.segment = segment;
+            this.matcher = new AntPathMatcher.AntPathStringMatcher(segment, caseSensitive);
+        }
+    }
+
+
+    private static class Terminal {
+
+        final String pattern;
+
+        final boolean endsWithSeparator;
+
+        final boolean hasDoubleWildcard;
+
+        Terminal(String pattern, boolean endsWithSeparator, boolean hasDoubleWildcard) {
+            this.pattern = pattern;
+            this.endsWithSeparator = endsWithSeparator;
+            this.hasDoubleWildcard = hasDoubleWildcard;
+        }
+    }
+
+
+    /**
+     * Per-call state: the path segments, the variables captured along the
+     * current trie branch, and the matches found so far.
+     */
+    private static class MatchState {
+
+        final String[] segments;
+
+        final boolean endsWithSeparator;
+
+        final List<String> variables = new ArrayList<String>();
+
+        Map<String, Match> matches;
+
+        MatchState(String[] segments, boolean endsWithSeparator) {
+            this.segments = segments;
+            this.endsWithSeparator = endsWithSeparator;
+        }
+
+        int pushVariable(String name, String value) {
+            int mark = this.variables.size();
+            this.variables.add(name);
+            this.variables.add(value);
+            return mark;
+        }
+
+        int pushVariables(Map<String, String> variables) {
+            int mark = this.variables.size();
+            for (Map.Entry<String, String> entry : variables.entrySet()) {
+                this.variables.add(entry.getKey());
+                this.variables.add(entry.getValue());
+            }
+            return mark;
+        }
+
+        void popVariables(int mark) {
+            for (int i = this.variables.size() - 1; i >= mark; i--) {
+                this.variables.remove(i);
+            }
+        }
+
+        void addMatch(String pattern) {
+            if (this.matches == null) {
+                this.matches = new LinkedHashMap<String, Match>(4);
+            }
+            else if (this.matches.containsKey(pattern)) {
+                // Already matched along another "**" expansion
+                return;
+            }
+            Map<String, String> uriVariables;
+            if (this.variables.isEmpty()) {
+                uriVariables = Collections.emptyMap();
+            }
+            else {
+                uriVariables = new LinkedHashMap<String, String>();
+                for (int i = 0; i < this.variables.size(); i += 2) {
+                    uriVariables.put(this.variables.get(i), this.variables.get(i + 1));
+                }
+            }
+            this.matches.put(pattern, new Match(pattern, uriVariables));
+        }
+    }
+
+}
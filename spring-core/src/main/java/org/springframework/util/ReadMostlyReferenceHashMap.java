@@ -0,0 +1,757 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.util.ConcurrentReferenceHashMap.ReferenceType;
+
+/**
+ * A lower-overhead alternative to {@link ConcurrentReferenceHashMap} for
+ * read-mostly caches, with the same {@link ReferenceType soft or weak} entry
+ * semantics and the same support for {@code null} keys and values.
+ *
+ * <p>Each segment stores its entry references in an open-addressing table
+ * (linear probing) instead of in chains, so a reference does not carry a link
+ * to the next one, and references are never copied when the table is purged or
+ * resized. Reads never lock and never purge. Every segment has its own reference
+ * queue which is drained in one batch by the next write to that segment, under
+ * the lock that the write holds anyway; {@link #purgeUnreferencedEntries()}
+ * triggers the same for read-only phases.
+ *
+ * <p>As with {@link ConcurrentReferenceHashMap}, there is no guarantee that items
+ * placed into the map will be subsequently available: the garbage collector may
+ * discard references at any time.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ * @see ConcurrentReferenceHashMap
+ */
+public class ReadMostlyReferenceHashMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    private static final int MAXIMUM_CONCURRENCY_LEVEL = 1 << 16;
+
+    private static final int MAXIMUM_SEGMENT_SIZE = 1 << 30;
+
+    /**
+     * Marker for a slot whose entry has been removed: probing continues past it.
+     */
+    private static final Object REMOVED = new Object();
+
+
+    private final Segment[] segments;
+
+    private final ReferenceType referenceType;
+
+    private final int shift;
+
+    private Set<Map.Entry<K, V>> entrySet;
+
+
+    /**
+     * Create a new {@code ReadMostlyReferenceHashMap} instance
+     * using soft entry references.
+     */
+    public ReadMostlyReferenceHashMap() {
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_CONCURRENCY_LEVEL, ReferenceType.SOFT);
+    }
+
+    /**
+     * Create a new {@code ReadMostlyReferenceHashMap} instance
+     * using soft entry references.
+     * @param initialCapacity the initial capacity of the map
+     */
+    public ReadMostlyReferenceHashMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_CONCURRENCY_LEVEL, ReferenceType.SOFT);
+    }
+
+    /**
+     * Create a new {@code ReadMostlyReferenceHashMap} instance.
+     * @param initialCapacity the initial capacity of the map
+     * @param referenceType the reference type used for entries (soft or weak)
+     */
+    public ReadMostlyReferenceHashMap(int initialCapacity, ReferenceType referenceType) {
+        this(initialCapacity, DEFAULT_CONCURRENCY_LEVEL, referenceType);
+    }
+
+    /**
+     * Create a new {@code ReadMostlyReferenceHashMap} instance.
+     * @param initialCapacity the initial capacity of the map
+     * @param concurrencyLevel the expected number of threads that will concurrently
+     * write to the map
+     * @param referenceType the reference type used for entries (soft or weak)
+     */
+    @SuppressWarnings("unchecked")
+    public ReadMostlyReferenceHashMap(int initialCapacity, int concurrencyLevel, ReferenceType referenceType) {
+        Assert.isTrue(initialCapacity >= 0, "Initial capacity must not be negative");
+        Assert.isTrue(concurrencyLevel > 0, "Concurrency level must be positive");
+        Assert.notNull(referenceType, "Reference type must not be null");
+        this.referenceType = referenceType;
+        this.shift = ConcurrentReferenceHashMap.calculateShift(concurrencyLevel, MAXIMUM_CONCURRENCY_LEVEL);
+        int size = 1 << this.shift;
+        int roundedUpSegmentCapacity = (int) ((initialCapacity + size - 1L) / size);
+        this.segments = (Segment[]) Array.newInstance(Segment.class, size);
+        for (int i = 0; i < this.segments.length; i++) {
+            this.segments[i] = new Segment(roundedUpSegmentCapacity);
+        }
+    }
+
+
+    /**
+     * Get the hash for a given object, applying the same supplemental hash
+     * function as {@link ConcurrentReferenceHashMap#getHash}.
+     * @param o the object to hash (may be null)
+     * @return the resulting hash code
+     */
+    protected int getHash(Object o) {
+        int hash = o == null ? 0 : o.hashCode();
+        hash += (hash << 15) ^ 0xffffcd7d;
+        hash ^= (hash >>> 10);
+        hash += (hash << 3);
+        hash ^= (hash >>> 6);
+        hash += (hash << 2) + (hash << 14);
+        hash ^= (hash >>> 16);
+        return hash;
+    }
+
+    @Override
+    public V get(Object key) {
+        int hash = getHash(key);
+        Entry<K, V> entry = getSegmentForHash(hash).getEntry(key, hash);
+        return (entry != null ? entry.getValue() : null);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        int hash = getHash(key);
+        return (getSegmentForHash(hash).getEntry(key, hash) != null);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        int hash = getHash(key);
+        return getSegmentForHash(hash).put(key, hash, value, true);
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        int hash = getHash(key);
+        return getSegmentForHash(hash).put(key, hash, value, false);
+    }
+
+    @Override
+    public V remove(Object key) {
+        int hash = getHash(key);
+        Entry<K, V> removed = getSegmentForHash(hash).remove(key, hash, null, false);
+        return (removed != null ? removed.getValue() : null);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        int hash = getHash(key);
+        return (getSegmentForHash(hash).remove(key, hash, value, true) != null);
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        int hash = getHash(key);
+        return getSegmentForHash(hash).replace(key, hash, oldValue, true, newValue);
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        int hash = getHash(key);
+        Segment segment = getSegmentForHash(hash);
+        segment.lock();
+        try {
+            Entry<K, V> entry = segment.getEntry(key, hash);
+            if (entry != null) {
+                V previousValue = entry.getValue();
+                entry.setValue(value);
+                return previousValue;
+            }
+            return null;
+        }
+        finally {
+            segment.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (Segment segment : this.segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Remove any entries that have been garbage collected and are no longer referenced.
+     * Garbage collected entries are otherwise purged with the next write to their segment;
+     * this method is useful when the map is read frequently but updated less often.
+     */
+    public void purgeUnreferencedEntries() {
+        for (Segment segment : this.segments) {
+            segment.purgeIfNecessary();
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Segment segment : this.segments) {
+            size += segment.count;
+        }
+        return size;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        if (this.entrySet == null) {
+            this.entrySet = new EntrySet();
+        }
+        return this.entrySet;
+    }
+
+    private Segment getSegmentForHash(int hash) {
+        return this.segments[(hash >>> (32 - this.shift)) & (this.segments.length - 1)];
+    }
+
+
+    /**
+     * A single segment, holding an open-addressing table of entry references.
+     * Slots are {@code null} (free), {@link #REMOVED}, or an {@link EntryReference}.
+     */
+    @SuppressWarnings("serial")
+    private final class Segment extends ReentrantLock {
+
+        private final ReferenceQueue<Entry<K, V>> queue = new ReferenceQueue<Entry<K, V>>();
+
+        private final int initialSize;
+
+        /**
+         * Only modified while holding the lock. Readers check {@link #count} first,
+         * whose volatile write follows every slot update.
+         */
+        private volatile Object[] table;
+
+        /**
+         * The number of references in the table, including garbage collected
+         * ones that have not been purged yet.
+         */
+        private volatile int count;
+
+        /**
+         * The number of {@link #REMOVED} slots.
+         */
+        private int removedCount;
+
+        private int resizeThreshold;
+
+        public Segment(int initialCapacity) {
+            this.initialSize = 1 << ConcurrentReferenceHashMap.calculateShift(
+                    Math.max(initialCapacity * 4 / 3, 2), MAXIMUM_SEGMENT_SIZE);
+            setTable(new Object[this.initialSize]);
+        }
+
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> getEntry(Object key, int hash) {
+            if (this.count == 0) {
+                return null;
+            }
+            Object[] table = this.table;
+            int mask = table.length - 1;
+            int index = hash & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                Object slot = table[index];
+                if (slot == null) {
+                    return null;
+                }
+                if (slot != REMOVED) {
+                    EntryReference<K, V> reference = (EntryReference<K, V>) slot;
+                    if (reference.getHash() == hash) {
+                        Entry<K, V> entry = reference.get();
+                        if (entry != null && (entry.key == key || (entry.key != null && entry.key.equals(key)))) {
+                            return entry;
+                        }
+                    }
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        public V put(K key, int hash, V value, boolean overwriteExisting) {
+            lock();
+            try {
+                purge();
+                Object[] table = this.table;
+                int mask = table.length - 1;
+                int index = hash & mask;
+                int freeIndex = -1;
+                for (int probes = 0; probes <= mask; probes++) {
+                    Object slot = table[index];
+                    if (slot == null) {
+                        if (freeIndex < 0) {
+                            freeIndex = index;
+                        }
+                        break;
+                    }
+                    if (slot == REMOVED) {
+                        if (freeIndex < 0) {
+                            freeIndex = index;
+                        }
+                    }
+                    else {
+                        Entry<K, V> entry = matchingEntry(slot, key, hash);
+                        if (entry != null) {
+                            V previousValue = entry.getValue();
+                            if (overwriteExisting) {
+                                entry.setValue(value);
+                            }
+                            return previousValue;
+                        }
+                    }
+                    index = (index + 1) & mask;
+                }
+                if (table[freeIndex] == REMOVED) {
+                    this.removedCount--;
+                }
+                table[freeIndex] = createReference(new Entry<K, V>(key, value), hash);
+                this.count++;
+                if (this.count + this.removedCount > this.resizeThreshold) {
+                    rehash();
+                }
+                return null;
+            }
+            finally {
+                unlock();
+            }
+        }
+
+        public Entry<K, V> remove(Object key, int hash, Object value, boolean matchValue) {
+            if (this.count == 0) {
+                return null;
+            }
+            lock();
+            try {
+                purge();
+                Slot<K, V> slot = findSlot(key, hash);
+                if (slot == null || (matchValue && !ObjectUtils.nullSafeEquals(slot.entry.getValue(), value))) {
+                    return null;
+                }
+                this.table[slot.index] = REMOVED;
+                this.removedCount++;
+                this.count--;
+                return slot.entry;
+            }
+            finally {
+                unlock();
+            }
+        }
+
+        public boolean replace(Object key, int hash, V oldValue, boolean matchValue, V newValue) {
+            if (this.count == 0) {
+                return false;
+            }
+            lock();
+            try {
+                purge();
+                Slot<K, V> slot = findSlot(key, hash);
+                if (slot == null || (matchValue && !ObjectUtils.nullSafeEquals(slot.entry.getValue(), oldValue))) {
+                    return false;
+                }
+                slot.entry.setValue(newValue);
+                return true;
+            }
+            finally {
+                unlock();
+            }
+        }
+
+        public void clear() {
+            lock();
+            try {
+                while (this.queue.poll() != null) {
+                    // discard: the references are dropped along with the table
+                }
+                setTable(new Object[this.initialSize]);
+                this.removedCount = 0;
+                this.count = 0;
+            }
+            finally {
+                unlock();
+            }
+        }
+
+        public void purgeIfNecessary() {
+            // ReferenceQueue.poll() returns without locking if the queue is empty
+            java.lang.ref.Reference<? extends Entry<K, V>> reference = this.queue.poll();
+            if (reference != null) {
+                lock();
+                try {
+                    removeReference(reference);
+                    purge();
+                }
+                finally {
+                    unlock();
+                }
+            }
+        }
+
+        /**
+         * Remove all garbage collected references in one batch. Called with the lock held.
+         */
+        private void purge() {
+            java.lang.ref.Reference<? extends Entry<K, V>> reference;
+            while ((reference = this.queue.poll()) != null) {
+                removeReference(reference);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void removeReference(java.lang.ref.Reference<? extends Entry<K, V>> reference) {
+            Object[] table = this.table;
+            int mask = table.length - 1;
+            int index = ((EntryReference<K, V>) reference).getHash() & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                Object slot = table[index];
+                if (slot == null) {
+                    // Already dropped by a rehash
+                    return;
+                }
+                if (slot == reference) {
+                    table[index] = REMOVED;
+                    this.removedCount++;
+                    this.count--;
+                    return;
+                }
+                index = (index + 1) & mask;
+            }
+        }
+
+        /**
+         * Find the slot holding the entry for the given key. The entry is resolved
+         * once and returned along with its index, so that it cannot be garbage
+         * collected while the caller works with it. Called with the lock held.
+         */
+        private Slot<K, V> findSlot(Object key, int hash) {
+            Object[] table = this.table;
+            int mask = table.length - 1;
+            int index = hash & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                Object slot = table[index];
+                if (slot == null) {
+                    return null;
+                }
+                if (slot != REMOVED) {
+                    Entry<K, V> entry = matchingEntry(slot, key, hash);
+                    if (entry != null) {
+                        return new Slot<K, V>(index, entry);
+                    }
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Entry<K, V> matchingEntry(Object slot, Object key, int hash) {
+            EntryReference<K, V> reference = (EntryReference<K, V>) slot;
+            if (reference.getHash() == hash) {
+                Entry<K, V> entry = reference.get();
+                if (entry != null && (entry.key == key || (entry.key != null && entry.key.equals(key)))) {
+                    return entry;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Copy all live references into a fresh table, dropping removed slots
+         * and garbage collected references. The table grows if it is more than
+         * half full with live references. Called with the lock held.
+         */
+        @SuppressWarnings("unchecked")
+        private void rehash() {
+            Object[] oldTable = this.table;
+            int newSize = oldTable.length;
+            if (this.count >= newSize / 2 && newSize < MAXIMUM_SEGMENT_SIZE) {
+                newSize <<= 1;
+            }
+            Object[] newTable = new Object[newSize];
+            int mask = newSize - 1;
+            int newCount = 0;
+            for (Object slot : oldTable) {
+                if (slot != null && slot != REMOVED && ((EntryReference<K, V>) slot).get() != null) {
+                    int index = ((EntryReference<K, V>) slot).getHash() & mask;
+                    while (newTable[index] != null) {
+                        index = (index + 1) & mask;
+                    }
+                    newTable[index] = slot;
+                    newCount++;
+                }
+            }
+            setTable(newTable);
+            this.removedCount = 0;
+            this.count = newCount;
+        }
+
+        private void setTable(Object[] table) {
+            this.table = table;
+            this.resizeThreshold = table.length * 3 / 4;
+        }
+
+        private EntryReference<K, V> createReference(Entry<K, V> entry, int hash) {
+            if (referenceType == ReferenceType.WEAK) {
+                return new WeakEntryReference<K, V>(entry, hash, this.queue);
+            }
+            return new SoftEntryReference<K, V>(entry, hash, this.queue);
+        }
+    }
+
+
+    /**
+     * The table index of an entry, along with the entry itself.
+     */
+    private static final class Slot<K, V> {
+
+        final int index;
+
+        final Entry<K, V> entry;
+
+        Slot(int index, Entry<K, V> entry) {
+            this.index = index;
+            this.entry = entry;
+        }
+    }
+
+
+    /**
+     * A reference to an {@link Entry} contained in the map.
+     */
+    private interface EntryReference<K, V> {
+
+        Entry<K, V> get();
+
+        int getHash();
+    }
+
+
+    private static final class SoftEntryReference<K, V> extends SoftReference<Entry<K, V>> implements EntryReference<K, V> {
+
+        private final int hash;
+
+        public SoftEntryReference(Entry<K, V> entry, int hash, ReferenceQueue<Entry<K, V>> queue) {
+            super(entry, queue);
+            this.hash = hash;
+        }
+
+        @Override
+        public int getHash() {
+            return this.hash;
+        }
+    }
+
+
+    private static final class WeakEntryReference<K, V> extends WeakReference<Entry<K, V>> implements EntryReference<K, V> {
+
+        private final int hash;
+
+        public WeakEntryReference(Entry<K, V> entry, int hash, ReferenceQueue<Entry<K, V>> queue) {
+            super(entry, queue);
+            this.hash = hash;
+        }
+
+        @Override
+        public int getHash() {
+            return this.hash;
+        }
+    }
+
+
+    /**
+     * A single map entry.
+     */
+    private static final class Entry<K, V> implements Map.Entry<K, V> {
+
+        private final K key;
+
+        private volatile V value;
+
+        public Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return this.key;
+        }
+
+        @Override
+        public V getValue() {
+            return this.value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V previous = this.value;
+            this.value = value;
+            return previous;
+        }
+
+        @Override
+        public String toString() {
+            return (this.key + "=" + this.value);
+        }
+
+        @Override
+        public final boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> otherEntry = (Map.Entry<?, ?>) other;
+            return (ObjectUtils.nullSafeEquals(getKey(), otherEntry.getKey()) &&
+                    ObjectUtils.nullSafeEquals(getValue(), otherEntry.getValue()));
+        }
+
+        @Override
+        public final int hashCode() {
+            return (ObjectUtils.nullSafeHashCode(this.key) ^ ObjectUtils.nullSafeHashCode(this.value));
+        }
+    }
+
+
+    private class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (o instanceof Map.Entry<?, ?>) {
+                Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+                int hash = getHash(entry.getKey());
+                Entry<K, V> other = getSegmentForHash(hash).getEntry(entry.getKey(), hash);
+                if (other != null) {
+                    return ObjectUtils.nullSafeEquals(entry.getValue(), other.getValue());
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (o instanceof Map.Entry<?, ?>) {
+                Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+                return ReadMostlyReferenceHashMap.this.remove(entry.getKey(), entry.getValue());
+            }
+            return false;
+        }
+
+        @Override
+        public int size() {
+            return ReadMostlyReferenceHashMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            ReadMostlyReferenceHashMap.this.clear();
+        }
+    }
+
+
+    /**
+     * Weakly consistent iterator over the tables of all segments.
+     */
+    private class EntryIterator implements Iterator<Map.Entry<K, V>> {
+
+        private int segmentIndex;
+
+        private Object[] table;
+
+        private int slotIndex;
+
+        private Entry<K, V> next;
+
+        private Entry<K, V> last;
+
+        @Override
+        public boolean hasNext() {
+            getNextIfNecessary();
+            return (this.next != null);
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            getNextIfNecessary();
+            if (this.next == null) {
+                throw new NoSuchElementException();
+            }
+            this.last = this.next;
+            this.next = null;
+            return this.last;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void getNextIfNecessary() {
+            while (this.next == null) {
+                if (this.table == null || this.slotIndex >= this.table.length) {
+                    if (this.segmentIndex >= segments.length) {
+                        return;
+                    }
+                    Segment segment = segments[this.segmentIndex++];
+                    this.table = (segment.count > 0 ? segment.table : null);
+                    this.slotIndex = 0;
+                    continue;
+                }
+                Object slot = this.table[this.slotIndex++];
+                if (slot != null && slot != REMOVED) {
+                    this.next = ((EntryReference<K, V>) slot).get();
+                }
+            }
+        }
+
+        @Override
+        public void remove() {
+            Assert.state(this.last != null);
+            ReadMostlyReferenceHashMap.this.remove(this.last.getKey());
+            this.last = null;
+        }
+    }
+
+}
@@ -28,6 +28,7 @@ import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Simple utility class for working with the reflection API and handling
@@ -53,17 +54,13 @@ public abstract class ReflectionUtils {
     private static final String CGLIB_RENAMED_METHOD_PREFIX = "CGLIB$";
 
     /**
-     * Cache for {@link Class#getDeclaredMethods()} plus equivalent default methods
-     * from Java 8 based interfaces, allowing for fast iteration.
+     * Cache of reflective metadata per class: declared methods (plus equivalent
+     * default methods from Java 8 based interfaces) and fields, the methods of
+     * the class hierarchy and most specific method resolutions, allowing for
+     * fast iteration and lookup.
      */
-    private static final Map<Class<?>, Method[]> declaredMethodsCache =
-            new ConcurrentReferenceHashMap<Class<?>, Method[]>(256);
-
-    /**
-     * Cache for {@link Class#getDeclaredFields()}, allowing for fast iteration.
-     */
-    private static final Map<Class<?>, Field[]> declaredFieldsCache =
-            new ConcurrentReferenceHashMap<Class<?>, Field[]>(256);
+    private static final Map<Class<?>, ReflectionData> reflectionDataCache =
+            new ConcurrentReferenceHashMap<Class<?>, ReflectionData>(256);
 
 
     /**
@@ -562,6 +559,16 @@ public abstract class ReflectionUtils {
      * @param leafClass the class to introspect
      */
     public static Method[] getAllDeclaredMethods(Class<?> leafClass) {
+        ReflectionData data = getReflectionData(leafClass);
+        Method[] result = data.allDeclaredMethods;
+        if (result == null) {
+            result = findAllDeclaredMethods(leafClass);
+            data.allDeclaredMethods = result;
+        }
+        return result.clone();
+    }
+
+    private static Method[] findAllDeclaredMethods(Class<?> leafClass) {
         final List<Method> methods = new ArrayList<Method>(32);
         doWithMethods(leafClass, new MethodCallback() {
             @Override
@@ -580,6 +587,16 @@ public abstract class ReflectionUtils {
      * @param leafClass the class to introspect
      */
     public static Method[] getUniqueDeclaredMethods(Class<?> leafClass) {
+        ReflectionData data = getReflectionData(leafClass);
+        Method[] result = data.uniqueDeclaredMethods;
+        if (result == null) {
+            result = findUniqueDeclaredMethods(leafClass);
+            data.uniqueDeclaredMethods = result;
+        }
+        return result.clone();
+    }
+
+    private static Method[] findUniqueDeclaredMethods(Class<?> leafClass) {
         final List<Method> methods = new ArrayList<Method>(32);
         doWithMethods(leafClass, new MethodCallback() {
             @Override
@@ -621,7 +638,8 @@ public abstract class ReflectionUtils {
      * @see Class#getDeclaredMethods()
      */
     private static Method[] getDeclaredMethods(Class<?> clazz) {
-        Method[] result = declaredMethodsCache.get(clazz);
+        ReflectionData data = getReflectionData(clazz);
+        Method[] result = data.declaredMethods;
         if (result == null) {
             Method[] declaredMethods = clazz.getDeclaredMethods();
             List<Method> defaultMethods = findConcreteMethodsOnInterfaces(clazz);
@@ -636,7 +654,7 @@ public abstract class ReflectionUtils {
             } else {
                 result = declaredMethods;
             }
-            declaredMethodsCache.put(clazz, result);
+            data.declaredMethods = result;
         }
         return result;
     }
@@ -723,14 +741,38 @@ public abstract class ReflectionUtils {
      * @see Class#getDeclaredFields()
      */
     private static Field[] getDeclaredFields(Class<?> clazz) {
-        Field[] result = declaredFieldsCache.get(clazz);
+        ReflectionData data = getReflectionData(clazz);
+        Field[] result = data.declaredFields;
         if (result == null) {
             result = clazz.getDeclaredFields();
-            declaredFieldsCache.put(clazz, result);
+            data.declaredFields = result;
         }
         return result;
     }
 
+    /**
+     * Return the cache of most specific methods on the given target class,
+     * as resolved by {@link ClassUtils#getMostSpecificMethod}.
+     */
+    static Map<Method, Method> getMostSpecificMethodCache(Class<?> targetClass) {
+        ReflectionData data = getReflectionData(targetClass);
+        Map<Method, Method> result = data.mostSpecificMethods;
+        if (result == null) {
+            result = new ConcurrentHashMap<Method, Method>(4);
+            data.mostSpecificMethods = result;
+        }
+        return result;
+    }
+
+    private static ReflectionData getReflectionData(Class<?> clazz) {
+        ReflectionData data = reflectionDataCache.get(clazz);
+        if (data == null) {
+            data = new ReflectionData();
+            reflectionDataCache.put(clazz, data);
+        }
+        return data;
+    }
+
     /**
      * Given the source object and the destination, which must be the same class
      * or a subclass, copy all fields, including inherited fields. Designed to
@@ -759,11 +801,12 @@ public abstract class ReflectionUtils {
 
     /**
      * Clear the internal method/field cache.
+     * <p>Bridge method resolutions are cached separately and need to be cleared
+     * through {@link org.springframework.core.BridgeMethodResolver#clearCache()}.
      * @since 4.2.4
      */
     public static void clearCache() {
-        declaredMethodsCache.clear();
-        declaredFieldsCache.clear();
+        reflectionDataCache.clear();
     }
 
     /**
@@ -858,4 +901,22 @@ public abstract class ReflectionUtils {
         }
     };
 
+
+    /**
+     * Lazily populated reflective metadata of a class. Concurrent population
+     * may compute the same values more than once, which is harmless.
+     */
+    private static final class ReflectionData {
+
+        volatile Method[] declaredMethods;
+
+        volatile Field[] declaredFields;
+
+        volatile Method[] allDeclaredMethods;
+
+        volatile Method[] uniqueDeclaredMethods;
+
+        volatile Map<Method, Method> mostSpecificMethods;
+    }
+
 }
@@ -18,6 +18,8 @@ package org.springframework.util;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.FilterInputStream;
 import java.io.FilterOutputStream;
 import java.io.IOException;
@@ -26,12 +28,26 @@ import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Simple utility methods for dealing with streams. The copy methods of this class are
  * similar to those defined in {@link FileCopyUtils} except that all affected streams are
- * left open when done. All copy methods use a block size of 4096 bytes.
+ * left open when done. Stream copy methods use a block size of 4096 bytes.
+ *
+ * <p>Channel copies go through direct buffers of 64 KB which are pooled and reused
+ * across calls, or through {@link FileChannel#transferTo} when copying a file to a
+ * file or socket channel, so that copying large content does not allocate per call.
+ * Copies from a {@code FileInputStream} to a {@code FileOutputStream} of up to 2 GB
+ * use their channels as well.
  *
  * <p>Mainly for use within the framework, but also useful for application code.
  *
@@ -46,6 +62,14 @@ public abstract class StreamUtils {
 
 	private static final byte[] EMPTY_CONTENT = new byte[0];
 
+	private static final int DIRECT_BUFFER_SIZE = 64 * 1024;
+
+	private static final int MAX_POOLED_DIRECT_BUFFERS = 16;
+
+	private static final Queue<ByteBuffer> directBufferPool = new ConcurrentLinkedQueue<ByteBuffer>();
+
+	private static final AtomicInteger pooledDirectBufferCount = new AtomicInteger();
+
 
 	/**
 	 * Copy the contents of the given InputStream into a new byte array.
@@ -120,6 +144,13 @@ public abstract class StreamUtils {
 	public static int copy(InputStream in, OutputStream out) throws IOException {
 		Assert.notNull(in, "No InputStream specified");
 		Assert.notNull(out, "No OutputStream specified");
+		if (in.getClass() == FileInputStream.class && out.getClass() == FileOutputStream.class) {
+			FileChannel inChannel = ((FileInputStream) in).getChannel();
+			// The byte count has to fit the int return value
+			if (inChannel.size() - inChannel.position() <= Integer.MAX_VALUE) {
+				return (int) copy(inChannel, ((FileOutputStream) out).getChannel());
+			}
+		}
 		int byteCount = 0;
 		byte[] buffer = new byte[BUFFER_SIZE];
 		int bytesRead = -1;
@@ -131,6 +162,84 @@ public abstract class StreamUtils {
 		return byteCount;
 	}
 
+	/**
+	 * Copy the remaining contents of the given ReadableByteChannel to the given
+	 * WritableByteChannel. Leaves both channels open when done.
+	 * <p>A {@link FileChannel} source is transferred to a file or socket channel
+	 * through {@link FileChannel#transferTo}. Other sources and targets are copied
+	 * through a pooled direct buffer.
+	 * <p>Both channels are expected to be in blocking mode.
+	 * @param in the channel to copy from
+	 * @param out the channel to copy to
+	 * @return the number of bytes copied
+	 * @throws IOException in case of I/O errors
+	 */
+	public static long copy(ReadableByteChannel in, WritableByteChannel out) throws IOException {
+		Assert.notNull(in, "No ReadableByteChannel specified");
+		Assert.notNull(out, "No WritableByteChannel specified");
+		long byteCount = 0;
+		if (in instanceof FileChannel && (out instanceof FileChannel || out instanceof SelectableChannel)) {
+			byteCount = transfer((FileChannel) in, out);
+		}
+		// Copy whatever transferTo did not, or everything for other channels
+		// (for which transferTo would use a small temporary heap buffer)
+		ByteBuffer buffer = obtainDirectBuffer();
+		try {
+			while (in.read(buffer) != -1) {
+				buffer.flip();
+				while (buffer.hasRemaining()) {
+					byteCount += out.write(buffer);
+				}
+				buffer.clear();
+			}
+		}
+		finally {
+			releaseDirectBuffer(buffer);
+		}
+		return byteCount;
+	}
+
+	/**
+	 * Transfer the given file channel from its current position up to its current
+	 * size, stopping early if {@link FileChannel#transferTo} makes no progress.
+	 * The position of the file channel is advanced by the number of bytes transferred.
+	 */
+	private static long transfer(FileChannel in, WritableByteChannel out) throws IOException {
+		long position = in.position();
+		long size = in.size();
+		long byteCount = 0;
+		while (position < size) {
+			long transferred = in.transferTo(position, size - position, out);
+			if (transferred <= 0) {
+				break;
+			}
+			position += transferred;
+			byteCount += transferred;
+		}
+		in.position(position);
+		return byteCount;
+	}
+
+	private static ByteBuffer obtainDirectBuffer() {
+		ByteBuffer buffer = directBufferPool.poll();
+		if (buffer == null) {
+			return ByteBuffer.allocateDirect(DIRECT_BUFFER_SIZE);
+		}
+		pooledDirectBufferCount.decrementAndGet();
+		buffer.clear();
+		return buffer;
+	}
+
+	private static void releaseDirectBuffer(ByteBuffer buffer) {
+		// Surplus buffers are left to the garbage collector
+		if (pooledDirectBufferCount.incrementAndGet() <= MAX_POOLED_DIRECT_BUFFERS) {
+			directBufferPool.offer(buffer);
+		}
+		else {
+			pooledDirectBufferCount.decrementAndGet();
+		}
+	}
+
 	/**
 	 * Return an efficient empty {@link InputStream}.
 	 * @return a {@link ByteArrayInputStream} based on an empty byte array
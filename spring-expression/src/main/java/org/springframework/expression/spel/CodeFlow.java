@@ -26,6 +26,7 @@ import org.springframework.asm.ClassWriter;
 import org.springframework.asm.MethodVisitor;
 import org.springframework.asm.Opcodes;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
  * Manages the class being generated by the compilation process. It records
@@ -37,6 +38,13 @@ import org.springframework.util.Assert;
  */
 public class CodeFlow implements Opcodes {
 
+	/**
+	 * Descriptors of the runtime classes of operand values, which operators record
+	 * on every interpreted evaluation.
+	 */
+	private static final ConcurrentReferenceHashMap<Class<?>, String> descriptorCache =
+			new ConcurrentReferenceHashMap<Class<?>, String>(64);
+
 	/**
 	 * Record the type of what is on top of the bytecode stack (i.e. the type of the
 	 * output from the previous expression component). New scopes are used to evaluate
@@ -79,9 +87,17 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * When code generation requires an intermediate variable within a method,
-	 * this method records the next available variable (variable 0 is 'this').
+	 * this method records the next available variable (variable 0 is 'this',
+	 * variables 1 and 2 are the target and the evaluation context).
+	 */
+	private int nextFreeVariableId = 3;
+
+	/**
+	 * Local variables holding the active context object for nested evaluations,
+	 * e.g. the current element whilst evaluating the criteria of a selection.
+	 * When empty, the active context object is the target.
 	 */
-	private int nextFreeVariableId = 1;
+	private final Stack<Integer> contextObjectVariables = new Stack<Integer>();
 
 	public CodeFlow(String clazzName, ClassWriter cw) {
 		this.compilationScopes = new Stack<ArrayList<String>>();
@@ -92,11 +108,46 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * Push the byte code to load the target (i.e. what was passed as the first argument
-	 * to CompiledExpression.getValue(target, context))
+	 * to CompiledExpression.getValue(target, context)), or the active context object
+	 * if a nested evaluation has entered a context object scope.
 	 * @param mv the visitor into which the load instruction should be inserted
+	 * @see #enterContextObjectScope(int)
 	 */
 	public void loadTarget(MethodVisitor mv) {
-		mv.visitVarInsn(ALOAD, 1);
+		if (this.contextObjectVariables.isEmpty()) {
+			mv.visitVarInsn(ALOAD, 1);
+		}
+		else {
+			mv.visitVarInsn(ALOAD, this.contextObjectVariables.peek());
+		}
+	}
+
+	/**
+	 * Enter a scope in which the active context object is held in the given local
+	 * variable, for example the current element whilst the criteria of a selection
+	 * are being evaluated. Until the scope is exited, {@link #loadTarget} loads that
+	 * variable instead of the target.
+	 * @param variableId the local variable holding the active context object
+	 */
+	public void enterContextObjectScope(int variableId) {
+		this.contextObjectVariables.push(variableId);
+	}
+
+	/**
+	 * Enter a scope in which the target is the active context object again, for
+	 * example whilst an indexer's index, which is always evaluated against the
+	 * root object, is nested in the criteria of a selection. Exited through
+	 * {@link #exitContextObjectScope()}.
+	 */
+	public void enterRootObjectScope() {
+		this.contextObjectVariables.push(1);
+	}
+
+	/**
+	 * Exit the most recently entered context object scope.
+	 */
+	public void exitContextObjectScope() {
+		this.contextObjectVariables.pop();
 	}
 
 	/**
@@ -432,9 +483,13 @@ public class CodeFlow implements Opcodes {
 		if (value == null) {
 			return "Ljava/lang/Object";
 		}
-		else {
-			return toDescriptor(value.getClass());
+		Class<?> type = value.getClass();
+		String descriptor = descriptorCache.get(type);
+		if (descriptor == null) {
+			descriptor = toDescriptor(type);
+			descriptorCache.put(type, descriptor);
 		}
+		return descriptor;
 	}
 
 	/**
@@ -16,11 +16,11 @@
 
 package org.springframework.expression.spel;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Stack;
 
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.expression.EvaluationContext;
@@ -41,6 +41,9 @@ import org.springframework.util.Assert;
  * any changes to it will be seen by other expressions or any code that chooses to ask
  * questions of the context.
  *
+ * <p>Its scope stacks are only allocated once needed and, since an ExpressionState is
+ * confined to a single evaluation, are not synchronized.
+ *
  * <p>It also acts as a place for to define common utility routines that the various AST
  * nodes might need.
  *
@@ -49,6 +52,8 @@ import org.springframework.util.Assert;
  */
 public class ExpressionState {
 
+	private static final SpelParserConfiguration DEFAULT_CONFIGURATION = new SpelParserConfiguration(false, false);
+
 	private final EvaluationContext relatedContext;
 
 	private final TypedValue rootObject;
@@ -60,17 +65,17 @@ public class ExpressionState {
 	// #list1.?[#list2.contains(#this)]
 	// On entering the selection we enter a new scope, and #this is now the
 	// element from list1
-	private Stack<TypedValue> scopeRootObjects;
+	private List<TypedValue> scopeRootObjects;
 
 	private final SpelParserConfiguration configuration;
 
-	private Stack<VariableScope> variableScopes;
+	private List<VariableScope> variableScopes;
 
-	private Stack<TypedValue> contextObjects;
+	private List<TypedValue> contextObjects;
 
 
 	public ExpressionState(EvaluationContext context) {
-		this(context, context.getRootObject(), new SpelParserConfiguration(false, false));
+		this(context, context.getRootObject(), DEFAULT_CONFIGURATION);
 	}
 
 	public ExpressionState(EvaluationContext context, SpelParserConfiguration configuration) {
@@ -78,7 +83,7 @@ public class ExpressionState {
 	}
 
 	public ExpressionState(EvaluationContext context, TypedValue rootObject) {
-		this(context, rootObject, new SpelParserConfiguration(false, false));
+		this(context, rootObject, DEFAULT_CONFIGURATION);
 	}
 
 	public ExpressionState(EvaluationContext context, TypedValue rootObject, SpelParserConfiguration configuration) {
@@ -92,12 +97,12 @@ public class ExpressionState {
 
 	private void ensureVariableScopesInitialized() {
 		if (this.variableScopes == null) {
-			this.variableScopes = new Stack<VariableScope>();
+			this.variableScopes = new ArrayList<VariableScope>();
 			// top level empty variable scope
 			this.variableScopes.add(new VariableScope());
 		}
 		if (this.scopeRootObjects == null) {
-			this.scopeRootObjects = new Stack<TypedValue>();
+			this.scopeRootObjects = new ArrayList<TypedValue>();
 		}
 	}
 
@@ -108,21 +113,21 @@ public class ExpressionState {
 		if (this.contextObjects == null || this.contextObjects.isEmpty()) {
 			return this.rootObject;
 		}
-		return this.contextObjects.peek();
+		return this.contextObjects.get(this.contextObjects.size() - 1);
 	}
 
 	public void pushActiveContextObject(TypedValue obj) {
 		if (this.contextObjects == null) {
-			this.contextObjects = new Stack<TypedValue>();
+			this.contextObjects = new ArrayList<TypedValue>();
 		}
-		this.contextObjects.push(obj);
+		this.contextObjects.add(obj);
 	}
 
 	public void popActiveContextObject() {
-		if (this.contextObjects == null) {
-			this.contextObjects = new Stack<TypedValue>();
+		if (this.contextObjects == null || this.contextObjects.isEmpty()) {
+			throw new IllegalStateException("No active context object to pop");
 		}
-		this.contextObjects.pop();
+		this.contextObjects.remove(this.contextObjects.size() - 1);
 	}
 
 	public TypedValue getRootContextObject() {
@@ -133,7 +138,7 @@ public class ExpressionState {
 		if (this.scopeRootObjects == null || this.scopeRootObjects.isEmpty()) {
 			return this.rootObject;
 		}
-		return this.scopeRootObjects.peek();
+		return this.scopeRootObjects.get(this.scopeRootObjects.size() - 1);
 	}
 
 	public void setVariable(String name, Object value) {
@@ -177,31 +182,31 @@ public class ExpressionState {
 	 */
 	public void enterScope(Map<String, Object> argMap) {
 		ensureVariableScopesInitialized();
-		this.variableScopes.push(new VariableScope(argMap));
-		this.scopeRootObjects.push(getActiveContextObject());
+		this.variableScopes.add(new VariableScope(argMap));
+		this.scopeRootObjects.add(getActiveContextObject());
 	}
 
 	public void enterScope() {
 		ensureVariableScopesInitialized();
-		this.variableScopes.push(new VariableScope(Collections.<String,Object>emptyMap()));
-		this.scopeRootObjects.push(getActiveContextObject());
+		this.variableScopes.add(new VariableScope(Collections.<String,Object>emptyMap()));
+		this.scopeRootObjects.add(getActiveContextObject());
 	}
 
 	public void enterScope(String name, Object value) {
 		ensureVariableScopesInitialized();
-		this.variableScopes.push(new VariableScope(name, value));
-		this.scopeRootObjects.push(getActiveContextObject());
+		this.variableScopes.add(new VariableScope(name, value));
+		this.scopeRootObjects.add(getActiveContextObject());
 	}
 
 	public void exitScope() {
 		ensureVariableScopesInitialized();
-		this.variableScopes.pop();
-		this.scopeRootObjects.pop();
+		this.variableScopes.remove(this.variableScopes.size() - 1);
+		this.scopeRootObjects.remove(this.scopeRootObjects.size() - 1);
 	}
 
 	public void setLocalVariable(String name, Object value) {
 		ensureVariableScopesInitialized();
-		this.variableScopes.peek().setVariable(name, value);
+		this.variableScopes.get(this.variableScopes.size() - 1).setVariable(name, value);
 	}
 
 	public Object lookupLocalVariable(String name) {
@@ -16,8 +16,10 @@
 
 package org.springframework.expression.spel;
 
-import org.springframework.core.SpringProperties;
+import java.util.concurrent.Executor;
 
+import org.springframework.core.SpringProperties;
+import org.springframework.util.ObjectUtils;
 
 /**
  * Configuration object for the SpEL expression parser.
@@ -49,6 +51,8 @@ public class SpelParserConfiguration {
 
 	private final int maximumAutoGrowSize;
 
+	private final Executor compilerExecutor;
+
 
 	/**
 	 * Create a new {@code SpelParserConfiguration} instance with default settings.
@@ -97,11 +101,29 @@ public class SpelParserConfiguration {
 	public SpelParserConfiguration(SpelCompilerMode compilerMode, ClassLoader compilerClassLoader,
 			boolean autoGrowNullReferences, boolean autoGrowCollections, int maximumAutoGrowSize) {
 
+		this(compilerMode, compilerClassLoader, autoGrowNullReferences, autoGrowCollections, maximumAutoGrowSize, null);
+	}
+
+	/**
+	 * Create a new {@code SpelParserConfiguration} instance.
+	 * @param compilerMode the compiler mode that parsers using this configuration object should use
+	 * @param compilerClassLoader the ClassLoader to use as the basis for expression compilation
+	 * @param autoGrowNullReferences if null references should automatically grow
+	 * @param autoGrowCollections if collections should automatically grow
+	 * @param maximumAutoGrowSize the maximum size that the collection can auto grow
+	 * @param compilerExecutor the Executor to compile expressions with, once they have been
+	 * interpreted often enough, or {@code null} to compile them on the evaluating thread
+	 */
+	public SpelParserConfiguration(SpelCompilerMode compilerMode, ClassLoader compilerClassLoader,
+			boolean autoGrowNullReferences, boolean autoGrowCollections, int maximumAutoGrowSize,
+			Executor compilerExecutor) {
+
 		this.compilerMode = (compilerMode != null ? compilerMode : defaultCompilerMode);
 		this.compilerClassLoader = compilerClassLoader;
 		this.autoGrowNullReferences = autoGrowNullReferences;
 		this.autoGrowCollections = autoGrowCollections;
 		this.maximumAutoGrowSize = maximumAutoGrowSize;
+		this.compilerExecutor = compilerExecutor;
 	}
 
 
@@ -140,4 +162,41 @@ public class SpelParserConfiguration {
 		return this.maximumAutoGrowSize;
 	}
 
+	/**
+	 * @return the Executor to compile expressions with, or {@code null} if expressions
+	 * are compiled on the evaluating thread (unless background compilation is enabled
+	 * through the "spring.expression.compiler.background" property)
+	 */
+	public Executor getCompilerExecutor() {
+		return this.compilerExecutor;
+	}
+
+
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof SpelParserConfiguration)) {
+			return false;
+		}
+		SpelParserConfiguration otherConfig = (SpelParserConfiguration) other;
+		return (this.compilerMode == otherConfig.compilerMode &&
+				this.compilerClassLoader == otherConfig.compilerClassLoader &&
+				this.autoGrowNullReferences == otherConfig.autoGrowNullReferences &&
+				this.autoGrowCollections == otherConfig.autoGrowCollections &&
+				this.maximumAutoGrowSize == otherConfig.maximumAutoGrowSize &&
+				this.compilerExecutor == otherConfig.compilerExecutor);
+	}
+
+	@Override
+	public int hashCode() {
+		int hashCode = this.compilerMode.hashCode();
+		hashCode = 29 * hashCode + ObjectUtils.nullSafeHashCode(this.compilerClassLoader);
+		hashCode = 29 * hashCode + (this.autoGrowNullReferences ? 1 : 0);
+		hashCode = 29 * hashCode + (this.autoGrowCollections ? 1 : 0);
+		hashCode = 29 * hashCode + this.maximumAutoGrowSize;
+		return hashCode;
+	}
+
 }
@@ -16,8 +16,10 @@
 
 package org.springframework.expression.spel.ast;
 
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 
 /**
@@ -40,6 +42,7 @@ public class Assign extends SpelNodeImpl {
 	public TypedValue getValueInternal(ExpressionState state) throws EvaluationException {
 		TypedValue newValue = this.children[1].getValueInternal(state);
 		getChild(0).setValue(state, newValue.getValue());
+		this.exitTypeDescriptor = this.children[1].exitTypeDescriptor;
 		return newValue;
 	}
 
@@ -48,4 +51,24 @@ public class Assign extends SpelNodeImpl {
 		return getChild(0).toStringAST() + "=" + getChild(1).toStringAST();
 	}
 
+	/**
+	 * Compilable for an assignment to a variable, e.g. {@code #total=#total+price}.
+	 */
+	@Override
+	public boolean isCompilable() {
+		SpelNodeImpl target = this.children[0];
+		return (target instanceof VariableReference &&
+				((VariableReference) target).isAssignableFromCompiledCode() &&
+				this.children[1].isCompilable() && this.exitTypeDescriptor != null);
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		cf.enterCompilationScope();
+		this.children[1].generateCode(mv, cf);
+		cf.exitCompilationScope();
+		((VariableReference) this.children[0]).generateAssignmentCode(mv, this.exitTypeDescriptor);
+		cf.pushDescriptor(this.exitTypeDescriptor);
+	}
+
 }
@@ -16,13 +16,19 @@
 
 package org.springframework.expression.spel.ast;
 
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.AccessException;
 import org.springframework.expression.BeanResolver;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
+import org.springframework.util.ClassUtils;
 
 /**
  * Represents a bean reference to a type, for example "@foo" or "@'foo.bar'"
@@ -49,7 +55,9 @@ public class BeanReference extends SpelNodeImpl {
 		}
 
 		try {
-			return new TypedValue(beanResolver.resolve(state.getEvaluationContext(), this.beanName));
+			Object bean = beanResolver.resolve(state.getEvaluationContext(), this.beanName);
+			this.exitTypeDescriptor = determineExitTypeDescriptor(bean);
+			return new TypedValue(bean);
 		}
 		catch (AccessException ex) {
 			throw new SpelEvaluationException(getStartPosition(), ex, SpelMessage.EXCEPTION_DURING_BEAN_RESOLUTION,
@@ -57,6 +65,21 @@ public class BeanReference extends SpelNodeImpl {
 		}
 	}
 
+	/**
+	 * Determine the type to cast the bean to in compiled code: the user-level class
+	 * of the bean if public, otherwise {@code Object}.
+	 */
+	private String determineExitTypeDescriptor(Object bean) {
+		if (bean == null || Proxy.isProxyClass(bean.getClass())) {
+			return "Ljava/lang/Object";
+		}
+		Class<?> beanClass = ClassUtils.getUserClass(bean);
+		if (!Modifier.isPublic(beanClass.getModifiers())) {
+			return "Ljava/lang/Object";
+		}
+		return CodeFlow.toDescriptor(beanClass);
+	}
+
 	@Override
 	public String toStringAST() {
 		StringBuilder sb = new StringBuilder("@");
@@ -69,4 +92,22 @@ public class BeanReference extends SpelNodeImpl {
 		return sb.toString();
 	}
 
+	@Override
+	public boolean isCompilable() {
+		return (this.exitTypeDescriptor != null);
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		mv.visitVarInsn(ALOAD, 2);
+		mv.visitMethodInsn(INVOKEINTERFACE, "org/springframework/expression/EvaluationContext", "getBeanResolver",
+				"()Lorg/springframework/expression/BeanResolver;", true);
+		mv.visitVarInsn(ALOAD, 2);
+		mv.visitLdcInsn(this.beanName);
+		mv.visitMethodInsn(INVOKEINTERFACE, "org/springframework/expression/BeanResolver", "resolve",
+				"(Lorg/springframework/expression/EvaluationContext;Ljava/lang/String;)Ljava/lang/Object;", true);
+		CodeFlow.insertCheckCast(mv, this.exitTypeDescriptor);
+		cf.pushDescriptor(this.exitTypeDescriptor);
+	}
+
 }
@@ -20,8 +20,11 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelNode;
 
@@ -40,6 +43,7 @@ public class InlineMap extends SpelNodeImpl {
 	public InlineMap(int pos, SpelNodeImpl... args) {
 		super(pos, args);
 		checkIfConstant();
+		this.exitTypeDescriptor = "Ljava/util/Map";
 	}
 
 
@@ -159,4 +163,105 @@ public class InlineMap extends SpelNodeImpl {
 		return (Map<Object,Object>) this.constant.getValue();
 	}
 
+	@Override
+	public boolean isCompilable() {
+		if (isConstant()) {
+			return true;
+		}
+		for (int c = 0; c < this.children.length; c++) {
+			SpelNodeImpl child = this.children[c];
+			if (!((c % 2) == 0 && child instanceof PropertyOrFieldReference) && !child.isCompilable()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow codeflow) {
+		if (isConstant()) {
+			final String constantFieldName = "inlineMap$" + codeflow.nextFieldId();
+			final String clazzname = codeflow.getClassname();
+
+			codeflow.registerNewField(new CodeFlow.FieldAdder() {
+				public void generateField(ClassWriter cw, CodeFlow codeflow) {
+					cw.visitField(ACC_PRIVATE|ACC_STATIC|ACC_FINAL, constantFieldName, "Ljava/util/Map;", null, null);
+				}
+			});
+
+			codeflow.registerNewClinit(new CodeFlow.ClinitAdder() {
+				public void generateCode(MethodVisitor mv, CodeFlow codeflow) {
+					generateClinitCode(clazzname, constantFieldName, mv, codeflow, false);
+				}
+			});
+
+			mv.visitFieldInsn(GETSTATIC, clazzname, constantFieldName, "Ljava/util/Map;");
+		}
+		else {
+			mv.visitTypeInsn(NEW, "java/util/LinkedHashMap");
+			mv.visitInsn(DUP);
+			mv.visitMethodInsn(INVOKESPECIAL, "java/util/LinkedHashMap", "<init>", "()V", false);
+			for (int c = 0; c < this.children.length; c++) {
+				mv.visitInsn(DUP);
+				SpelNodeImpl keyChild = this.children[c++];
+				if (keyChild instanceof PropertyOrFieldReference) {
+					mv.visitLdcInsn(((PropertyOrFieldReference) keyChild).getName());
+				}
+				else {
+					generateEntryPart(mv, codeflow, keyChild);
+				}
+				generateEntryPart(mv, codeflow, this.children[c]);
+				mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "put",
+						"(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", true);
+				mv.visitInsn(POP);
+			}
+		}
+		codeflow.pushDescriptor(this.exitTypeDescriptor);
+	}
+
+	private void generateEntryPart(MethodVisitor mv, CodeFlow codeflow, SpelNodeImpl child) {
+		codeflow.enterCompilationScope();
+		child.generateCode(mv, codeflow);
+		if (CodeFlow.isPrimitive(codeflow.lastDescriptor())) {
+			CodeFlow.insertBoxIfNecessary(mv, codeflow.lastDescriptor().charAt(0));
+		}
+		codeflow.exitCompilationScope();
+	}
+
+	void generateClinitCode(String clazzname, String constantFieldName, MethodVisitor mv, CodeFlow codeflow, boolean nested) {
+		mv.visitTypeInsn(NEW, "java/util/LinkedHashMap");
+		mv.visitInsn(DUP);
+		mv.visitMethodInsn(INVOKESPECIAL, "java/util/LinkedHashMap", "<init>", "()V", false);
+		for (int c = 0; c < this.children.length; c++) {
+			mv.visitInsn(DUP);
+			SpelNodeImpl keyChild = this.children[c++];
+			if (keyChild instanceof PropertyOrFieldReference) {
+				mv.visitLdcInsn(((PropertyOrFieldReference) keyChild).getName());
+			}
+			else {
+				generateEntryPart(mv, codeflow, keyChild);
+			}
+			// As for inline lists, nested constants are built directly here rather
+			// than through generateCode(), which would register another clinit adder
+			SpelNodeImpl valueChild = this.children[c];
+			if (valueChild instanceof InlineList) {
+				((InlineList) valueChild).generateClinitCode(clazzname, constantFieldName, mv, codeflow, true);
+			}
+			else if (valueChild instanceof InlineMap) {
+				((InlineMap) valueChild).generateClinitCode(clazzname, constantFieldName, mv, codeflow, true);
+			}
+			else {
+				generateEntryPart(mv, codeflow, valueChild);
+			}
+			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "put",
+					"(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", true);
+			mv.visitInsn(POP);
+		}
+		mv.visitMethodInsn(INVOKESTATIC, "java/util/Collections", "unmodifiableMap",
+				"(Ljava/util/Map;)Ljava/util/Map;", false);
+		if (!nested) {
+			mv.visitFieldInsn(PUTSTATIC, clazzname, constantFieldName, "Ljava/util/Map;");
+		}
+	}
+
 }
@@ -80,23 +80,21 @@ public class MethodReference extends SpelNodeImpl {
 	public TypedValue getValueInternal(ExpressionState state) throws EvaluationException {
 		EvaluationContext evaluationContext = state.getEvaluationContext();
 		Object value = state.getActiveContextObject().getValue();
-		TypeDescriptor targetType = state.getActiveContextObject().getTypeDescriptor();
 		Object[] arguments = getArguments(state);
-		TypedValue result = getValueInternal(evaluationContext, value, targetType, arguments);
+		TypedValue result = getValueInternal(evaluationContext, value, arguments);
 		updateExitTypeDescriptor();
 		return result;
 	}
 
-	private TypedValue getValueInternal(EvaluationContext evaluationContext,
-			Object value, TypeDescriptor targetType, Object[] arguments) {
-
-		List<TypeDescriptor> argumentTypes = getArgumentTypes(arguments);
+	private TypedValue getValueInternal(EvaluationContext evaluationContext, Object value, Object[] arguments) {
 		if (value == null) {
-			throwIfNotNullSafe(argumentTypes);
+			throwIfNotNullSafe(getArgumentTypes(arguments));
 			return TypedValue.NULL;
 		}
 
-		MethodExecutor executorToUse = getCachedExecutor(evaluationContext, value, targetType, argumentTypes);
+		// Argument type descriptors are only needed for resolving the method:
+		// the cached executor is guarded by the classes of target and arguments
+		MethodExecutor executorToUse = getCachedExecutor(evaluationContext, value, arguments);
 		if (executorToUse != null) {
 			try {
 				return executorToUse.execute(evaluationContext, value, arguments);
@@ -122,9 +120,8 @@ public class MethodReference extends SpelNodeImpl {
 		}
 
 		// either there was no accessor or it no longer existed
-		executorToUse = findAccessorForMethod(this.name, argumentTypes, value, evaluationContext);
-		this.cachedExecutor = new CachedMethodExecutor(
-				executorToUse, (value instanceof Class ? (Class<?>) value : null), targetType, argumentTypes);
+		executorToUse = findAccessorForMethod(this.name, getArgumentTypes(arguments), value, evaluationContext);
+		this.cachedExecutor = new CachedMethodExecutor(executorToUse, value, arguments);
 		try {
 			return executorToUse.execute(evaluationContext, value, arguments);
 		}
@@ -168,8 +165,7 @@ public class MethodReference extends SpelNodeImpl {
 		return Collections.unmodifiableList(descriptors);
 	}
 
-	private MethodExecutor getCachedExecutor(EvaluationContext evaluationContext, Object value,
-			TypeDescriptor target, List<TypeDescriptor> argumentTypes) {
+	private MethodExecutor getCachedExecutor(EvaluationContext evaluationContext, Object value, Object[] arguments) {
 
 		List<MethodResolver> methodResolvers = evaluationContext.getMethodResolvers();
 		if (methodResolvers == null || methodResolvers.size() != 1 ||
@@ -179,7 +175,7 @@ public class MethodReference extends SpelNodeImpl {
 		}
 
 		CachedMethodExecutor executorToCheck = this.cachedExecutor;
-		if (executorToCheck != null && executorToCheck.isSuitable(value, target, argumentTypes)) {
+		if (executorToCheck != null && executorToCheck.isSuitable(value, arguments)) {
 			return executorToCheck.get();
 		}
 		this.cachedExecutor = null;
@@ -230,9 +226,8 @@ public class MethodReference extends SpelNodeImpl {
 
 	private void updateExitTypeDescriptor() {
 		CachedMethodExecutor executorToCheck = this.cachedExecutor;
-		if (executorToCheck != null && executorToCheck.get() instanceof ReflectiveMethodExecutor) {
-			Method method = ((ReflectiveMethodExecutor) executorToCheck.get()).getMethod();
-			this.exitTypeDescriptor = CodeFlow.toDescriptor(method.getReturnType());
+		if (executorToCheck != null && executorToCheck.getReturnTypeDescriptor() != null) {
+			this.exitTypeDescriptor = executorToCheck.getReturnTypeDescriptor();
 		}
 	}
 
@@ -326,21 +321,18 @@ public class MethodReference extends SpelNodeImpl {
 
 		private final Object value;
 
-		private final TypeDescriptor targetType;
-
 		private final Object[] arguments;
 
 		public MethodValueRef(ExpressionState state, Object[] arguments) {
 			this.evaluationContext = state.getEvaluationContext();
 			this.value = state.getActiveContextObject().getValue();
-			this.targetType = state.getActiveContextObject().getTypeDescriptor();
 			this.arguments = arguments;
 		}
 
 		@Override
 		public TypedValue getValue() {
 			TypedValue result = MethodReference.this.getValueInternal(
-					this.evaluationContext, this.value, this.targetType, this.arguments);
+					this.evaluationContext, this.value, this.arguments);
 			updateExitTypeDescriptor();
 			return result;
 		}
@@ -357,32 +349,57 @@ public class MethodReference extends SpelNodeImpl {
 	}
 
 
+	/**
+	 * Executor resolved for a particular target class and argument classes:
+	 * the same classes lead to the same resolution, so comparing them is
+	 * all it takes to reuse the executor.
+	 */
 	private static class CachedMethodExecutor {
 
 		private final MethodExecutor methodExecutor;
 
 		private final Class<?> staticClass;
 
-		private final TypeDescriptor target;
+		private final Class<?> targetClass;
+
+		private final Class<?>[] argumentClasses;
 
-		private final List<TypeDescriptor> argumentTypes;
+		private final String returnTypeDescriptor;
 
-		public CachedMethodExecutor(MethodExecutor methodExecutor, Class<?> staticClass,
-				TypeDescriptor target, List<TypeDescriptor> argumentTypes) {
+		public CachedMethodExecutor(MethodExecutor methodExecutor, Object value, Object[] arguments) {
 			this.methodExecutor = methodExecutor;
-			this.staticClass = staticClass;
-			this.target = target;
-			this.argumentTypes = argumentTypes;
+			this.staticClass = (value instanceof Class ? (Class<?>) value : null);
+			this.targetClass = value.getClass();
+			this.argumentClasses = new Class<?>[arguments.length];
+			for (int i = 0; i < arguments.length; i++) {
+				this.argumentClasses[i] = (arguments[i] != null ? arguments[i].getClass() : null);
+			}
+			this.returnTypeDescriptor = (methodExecutor instanceof ReflectiveMethodExecutor ?
+					CodeFlow.toDescriptor(((ReflectiveMethodExecutor) methodExecutor).getMethod().getReturnType()) : null);
 		}
 
-		public boolean isSuitable(Object value, TypeDescriptor target, List<TypeDescriptor> argumentTypes) {
-			return ((this.staticClass == null || this.staticClass.equals(value)) &&
-					this.target.equals(target) && this.argumentTypes.equals(argumentTypes));
+		public boolean isSuitable(Object value, Object[] arguments) {
+			if (value.getClass() != this.targetClass ||
+					(this.staticClass != null && !this.staticClass.equals(value)) ||
+					arguments.length != this.argumentClasses.length) {
+				return false;
+			}
+			for (int i = 0; i < arguments.length; i++) {
+				Class<?> argumentClass = (arguments[i] != null ? arguments[i].getClass() : null);
+				if (argumentClass != this.argumentClasses[i]) {
+					return false;
+				}
+			}
+			return true;
 		}
 
 		public MethodExecutor get() {
 			return this.methodExecutor;
 		}
+
+		public String getReturnTypeDescriptor() {
+			return this.returnTypeDescriptor;
+		}
 	}
 
 }
@@ -19,9 +19,11 @@ package org.springframework.expression.spel.ast;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.Operation;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
@@ -123,6 +125,17 @@ public class OpDec extends Operator {
 			}
 		}
 
+		// Only compilable for variables holding numbers the compiler supports
+		if (operand instanceof VariableReference && ((VariableReference) operand).isAssignableFromCompiledCode() &&
+				(operandValue instanceof Integer || operandValue instanceof Long ||
+						operandValue instanceof Float || operandValue instanceof Double)) {
+			this.exitTypeDescriptor =
+					String.valueOf(CodeFlow.toPrimitiveTargetDesc(CodeFlow.toDescriptorFromObject(operandValue)));
+		}
+		else {
+			this.exitTypeDescriptor = null;
+		}
+
 		if (!this.postfix) {
 			// the return value is the new value, not the original value
 			returnValue = newValue;
@@ -141,4 +154,16 @@ public class OpDec extends Operator {
 		return null;
 	}
 
+	@Override
+	public boolean isCompilable() {
+		return (this.exitTypeDescriptor != null);
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		((VariableReference) getLeftOperand()).generateIncrementCode(
+				mv, this.exitTypeDescriptor.charAt(0), true, this.postfix);
+		cf.pushDescriptor(this.exitTypeDescriptor);
+	}
+
 }
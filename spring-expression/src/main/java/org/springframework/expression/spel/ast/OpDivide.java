@@ -52,7 +52,12 @@ public class OpDivide extends Operator {
 			Number leftNumber = (Number) leftOperand;
 			Number rightNumber = (Number) rightOperand;
 
-			if (leftNumber instanceof BigDecimal || rightNumber instanceof BigDecimal) {
+			if (leftNumber instanceof Integer && rightNumber instanceof Integer) {
+				// Fast path for the common case of two ints, skipping the promotion checks
+				this.exitTypeDescriptor = "I";
+				return intResult(leftNumber.intValue() / rightNumber.intValue());
+			}
+			else if (leftNumber instanceof BigDecimal || rightNumber instanceof BigDecimal) {
 				BigDecimal leftBigDecimal = NumberUtils.convertNumberToTargetClass(leftNumber, BigDecimal.class);
 				BigDecimal rightBigDecimal = NumberUtils.convertNumberToTargetClass(rightNumber, BigDecimal.class);
 				int scale = Math.max(leftBigDecimal.scale(), rightBigDecimal.scale());
@@ -77,7 +82,7 @@ public class OpDivide extends Operator {
 			}
 			else if (CodeFlow.isIntegerForNumericOp(leftNumber) || CodeFlow.isIntegerForNumericOp(rightNumber)) {
 				this.exitTypeDescriptor = "I";
-				return new TypedValue(leftNumber.intValue() / rightNumber.intValue());
+				return intResult(leftNumber.intValue() / rightNumber.intValue());
 			}
 			else {
 				// Unknown Number subtypes -> best guess is double division
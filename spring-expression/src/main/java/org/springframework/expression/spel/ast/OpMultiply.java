@@ -75,7 +75,12 @@ public class OpMultiply extends Operator {
 			Number leftNumber = (Number) leftOperand;
 			Number rightNumber = (Number) rightOperand;
 
-			if (leftNumber instanceof BigDecimal || rightNumber instanceof BigDecimal) {
+			if (leftNumber instanceof Integer && rightNumber instanceof Integer) {
+				// Fast path for the common case of two ints, skipping the promotion checks
+				this.exitTypeDescriptor = "I";
+				return intResult(leftNumber.intValue() * rightNumber.intValue());
+			}
+			else if (leftNumber instanceof BigDecimal || rightNumber instanceof BigDecimal) {
 				BigDecimal leftBigDecimal = NumberUtils.convertNumberToTargetClass(leftNumber, BigDecimal.class);
 				BigDecimal rightBigDecimal = NumberUtils.convertNumberToTargetClass(rightNumber, BigDecimal.class);
 				return new TypedValue(leftBigDecimal.multiply(rightBigDecimal));
@@ -99,7 +104,7 @@ public class OpMultiply extends Operator {
 			}
 			else if (CodeFlow.isIntegerForNumericOp(leftNumber) || CodeFlow.isIntegerForNumericOp(rightNumber)) {
 				this.exitTypeDescriptor = "I";
-				return new TypedValue(leftNumber.intValue() * rightNumber.intValue());
+				return intResult(leftNumber.intValue() * rightNumber.intValue());
 			}
 			else {
 				// Unknown Number subtypes -> best guess is double multiplication
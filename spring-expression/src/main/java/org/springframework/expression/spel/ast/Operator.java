@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2014 the original author or authors.
+ * Copyright 2002-2015 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,8 @@ import java.math.BigInteger;
 
 import org.springframework.asm.Label;
 import org.springframework.asm.MethodVisitor;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.expression.TypedValue;
 import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.util.ClassUtils;
@@ -39,6 +41,17 @@ import org.springframework.util.ObjectUtils;
  */
 public abstract class Operator extends SpelNodeImpl {
 
+	// Shared results for the int values that Integer.valueOf(int) caches as well
+	private static final TypedValue[] smallIntResults = new TypedValue[256];
+
+	static {
+		TypeDescriptor intType = TypeDescriptor.valueOf(Integer.class);
+		for (int i = 0; i < smallIntResults.length; i++) {
+			smallIntResults[i] = new TypedValue(i - 128, intType);
+		}
+	}
+
+
 	private final String operatorName;
 	
 	// The descriptors of the runtime operand values are used if the discovered declared
@@ -84,6 +97,17 @@ public abstract class Operator extends SpelNodeImpl {
 		return sb.toString();
 	}
 
+	/**
+	 * Return the result of an int operation, sharing the {@link TypedValue}
+	 * instances for small results rather than allocating one per evaluation.
+	 */
+	protected static TypedValue intResult(int value) {
+		if (value >= -128 && value <= 127) {
+			return smallIntResults[value + 128];
+		}
+		return new TypedValue(value);
+	}
+
 	protected boolean isCompilableOperatorUsingNumerics() {
 		SpelNodeImpl left = getLeftOperand();
 		SpelNodeImpl right= getRightOperand();
@@ -18,8 +18,11 @@ package org.springframework.expression.spel.ast;
 
 import java.util.List;
 
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypeComparator;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
@@ -38,6 +41,7 @@ public class OperatorBetween extends Operator {
 
 	public OperatorBetween(int pos, SpelNodeImpl... operands) {
 		super("between", pos, operands);
+		this.exitTypeDescriptor = "Z";
 	}
 
 
@@ -53,6 +57,7 @@ public class OperatorBetween extends Operator {
 	public BooleanTypedValue getValueInternal(ExpressionState state) throws EvaluationException {
 		Object left = getLeftOperand().getValueInternal(state).getValue();
 		Object right = getRightOperand().getValueInternal(state).getValue();
+		this.leftActualDescriptor = CodeFlow.toDescriptorFromObject(left);
 		if (!(right instanceof List) || ((List<?>) right).size() != 2) {
 			throw new SpelEvaluationException(getRightOperand().getStartPosition(),
 					SpelMessage.BETWEEN_RIGHT_OPERAND_MUST_BE_TWO_ELEMENT_LIST);
@@ -71,4 +76,142 @@ public class OperatorBetween extends Operator {
 		}
 	}
 
+	/**
+	 * Compilable when the bounds are literals, e.g. {@code age between {18, 65}}.
+	 */
+	@Override
+	public boolean isCompilable() {
+		return (getLeftOperand().isCompilable() && getLowerBound() != null &&
+				getLowerBound().isCompilable() && getUpperBound().isCompilable());
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		char numericType = getNumericComparisonType();
+		SpelNodeImpl left = getLeftOperand();
+		String leftDesc = left.exitTypeDescriptor;
+		Label outOfRange = new Label();
+		Label endOfIf = new Label();
+
+		left.generateCode(mv, cf);
+		if (numericType != ' ') {
+			if (!CodeFlow.isPrimitive(leftDesc)) {
+				CodeFlow.insertUnboxInsns(mv, numericType, leftDesc);
+			}
+			int leftVariable = cf.nextFreeVariableId();
+			if (numericType == 'J' || numericType == 'D') {
+				// wide values take up two variable slots
+				cf.nextFreeVariableId();
+			}
+			mv.visitVarInsn(loadOrStoreInsn(numericType, false), leftVariable);
+			generateNumericBoundCheck(mv, cf, numericType, leftVariable, getLowerBound(), IFLT, IF_ICMPLT, outOfRange);
+			generateNumericBoundCheck(mv, cf, numericType, leftVariable, getUpperBound(), IFGT, IF_ICMPGT, outOfRange);
+		}
+		else {
+			CodeFlow.insertBoxIfNecessary(mv, leftDesc);
+			int leftVariable = cf.nextFreeVariableId();
+			mv.visitVarInsn(ASTORE, leftVariable);
+			generateBoundCheck(mv, cf, leftVariable, getLowerBound(), IFLT, outOfRange);
+			generateBoundCheck(mv, cf, leftVariable, getUpperBound(), IFGT, outOfRange);
+		}
+		mv.visitInsn(ICONST_1);
+		mv.visitJumpInsn(GOTO, endOfIf);
+		mv.visitLabel(outOfRange);
+		mv.visitInsn(ICONST_0);
+		mv.visitLabel(endOfIf);
+		cf.pushDescriptor(this.exitTypeDescriptor);
+	}
+
+	/**
+	 * Return the lower bound if the right operand is an inline list of two literals.
+	 */
+	private Literal getLowerBound() {
+		SpelNodeImpl right = getRightOperand();
+		if (right instanceof InlineList && right.children.length == 2 &&
+				right.children[0] instanceof Literal && right.children[1] instanceof Literal) {
+			return (Literal) right.children[0];
+		}
+		return null;
+	}
+
+	private Literal getUpperBound() {
+		return (Literal) getRightOperand().children[1];
+	}
+
+	/**
+	 * Determine the primitive type to compare the left operand with the bounds as,
+	 * or ' ' if the type comparator has to be used.
+	 */
+	private char getNumericComparisonType() {
+		String leftDesc = getLeftOperand().exitTypeDescriptor;
+		String lowerDesc = getLowerBound().exitTypeDescriptor;
+		String upperDesc = getUpperBound().exitTypeDescriptor;
+		DescriptorComparison lowerDc = DescriptorComparison.checkNumericCompatibility(
+				leftDesc, lowerDesc, this.leftActualDescriptor, lowerDesc);
+		DescriptorComparison upperDc = DescriptorComparison.checkNumericCompatibility(
+				leftDesc, upperDesc, this.leftActualDescriptor, upperDesc);
+		if (lowerDc.areNumbers && lowerDc.areCompatible && upperDc.areNumbers && upperDc.areCompatible &&
+				lowerDc.compatibleType == upperDc.compatibleType && lowerDc.compatibleType != 'Z') {
+			return lowerDc.compatibleType;
+		}
+		return ' ';
+	}
+
+	private void generateNumericBoundCheck(MethodVisitor mv, CodeFlow cf, char numericType, int leftVariable,
+			Literal bound, int compInstruction1, int compInstruction2, Label outOfRange) {
+
+		mv.visitVarInsn(loadOrStoreInsn(numericType, true), leftVariable);
+		cf.enterCompilationScope();
+		bound.generateCode(mv, cf);
+		cf.exitCompilationScope();
+		if (!CodeFlow.isPrimitive(bound.exitTypeDescriptor)) {
+			CodeFlow.insertUnboxInsns(mv, numericType, bound.exitTypeDescriptor);
+		}
+		switch (numericType) {
+			case 'D':
+				mv.visitInsn(DCMPG);
+				mv.visitJumpInsn(compInstruction1, outOfRange);
+				break;
+			case 'F':
+				mv.visitInsn(FCMPG);
+				mv.visitJumpInsn(compInstruction1, outOfRange);
+				break;
+			case 'J':
+				mv.visitInsn(LCMP);
+				mv.visitJumpInsn(compInstruction1, outOfRange);
+				break;
+			default:
+				mv.visitJumpInsn(compInstruction2, outOfRange);
+		}
+	}
+
+	private void generateBoundCheck(MethodVisitor mv, CodeFlow cf, int leftVariable,
+			Literal bound, int compInstruction, Label outOfRange) {
+
+		mv.visitVarInsn(ALOAD, 2);
+		mv.visitMethodInsn(INVOKEINTERFACE, "org/springframework/expression/EvaluationContext",
+				"getTypeComparator", "()Lorg/springframework/expression/TypeComparator;", true);
+		mv.visitVarInsn(ALOAD, leftVariable);
+		cf.enterCompilationScope();
+		bound.generateCode(mv, cf);
+		CodeFlow.insertBoxIfNecessary(mv, cf.lastDescriptor());
+		cf.exitCompilationScope();
+		mv.visitMethodInsn(INVOKEINTERFACE, "org/springframework/expression/TypeComparator",
+				"compare", "(Ljava/lang/Object;Ljava/lang/Object;)I", true);
+		mv.visitJumpInsn(compInstruction, outOfRange);
+	}
+
+	private static int loadOrStoreInsn(char numericType, boolean load) {
+		switch (numericType) {
+			case 'D':
+				return (load ? DLOAD : DSTORE);
+			case 'F':
+				return (load ? FLOAD : FSTORE);
+			case 'J':
+				return (load ? LLOAD : LSTORE);
+			default:
+				return (load ? ILOAD : ISTORE);
+		}
+	}
+
 }
@@ -22,7 +22,10 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
@@ -45,6 +48,7 @@ public class OperatorMatches extends Operator {
 
 	public OperatorMatches(int pos, SpelNodeImpl... operands) {
 		super("matches", pos, operands);
+		this.exitTypeDescriptor = "Z";
 	}
 
 
@@ -88,4 +92,59 @@ public class OperatorMatches extends Operator {
 		}
 	}
 
+	/**
+	 * Compilable for a String left operand and a literal regex, which is
+	 * then compiled once into a static field of the generated class.
+	 */
+	@Override
+	public boolean isCompilable() {
+		SpelNodeImpl left = getLeftOperand();
+		if (!left.isCompilable() || !"Ljava/lang/String".equals(left.exitTypeDescriptor) ||
+				!(getRightOperand() instanceof StringLiteral)) {
+			return false;
+		}
+		try {
+			Pattern.compile(getRegex());
+			return true;
+		}
+		catch (PatternSyntaxException ex) {
+			return false;
+		}
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		final String patternFieldName = "pattern$" + cf.nextFieldId();
+		final String clazzname = cf.getClassname();
+		final String regex = getRegex();
+
+		cf.registerNewField(new CodeFlow.FieldAdder() {
+			public void generateField(ClassWriter cw, CodeFlow codeflow) {
+				cw.visitField(ACC_PRIVATE|ACC_STATIC|ACC_FINAL, patternFieldName, "Ljava/util/regex/Pattern;", null, null);
+			}
+		});
+
+		cf.registerNewClinit(new CodeFlow.ClinitAdder() {
+			public void generateCode(MethodVisitor mv, CodeFlow codeflow) {
+				mv.visitLdcInsn(regex);
+				mv.visitMethodInsn(INVOKESTATIC, "java/util/regex/Pattern", "compile",
+						"(Ljava/lang/String;)Ljava/util/regex/Pattern;", false);
+				mv.visitFieldInsn(PUTSTATIC, clazzname, patternFieldName, "Ljava/util/regex/Pattern;");
+			}
+		});
+
+		mv.visitFieldInsn(GETSTATIC, clazzname, patternFieldName, "Ljava/util/regex/Pattern;");
+		cf.enterCompilationScope();
+		getLeftOperand().generateCode(mv, cf);
+		cf.exitCompilationScope();
+		mv.visitMethodInsn(INVOKEVIRTUAL, "java/util/regex/Pattern", "matcher",
+				"(Ljava/lang/CharSequence;)Ljava/util/regex/Matcher;", false);
+		mv.visitMethodInsn(INVOKEVIRTUAL, "java/util/regex/Matcher", "matches", "()Z", false);
+		cf.pushDescriptor(this.exitTypeDescriptor);
+	}
+
+	private String getRegex() {
+		return (String) ((StringLiteral) getRightOperand()).getLiteralValue().getValue();
+	}
+
 }
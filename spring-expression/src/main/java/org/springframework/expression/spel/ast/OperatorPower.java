@@ -19,9 +19,11 @@ package org.springframework.expression.spel.ast;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.Operation;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.util.NumberUtils;
 
@@ -47,6 +49,11 @@ public class OperatorPower extends Operator {
 		Object leftOperand = leftOp.getValueInternal(state).getValue();
 		Object rightOperand = rightOp.getValueInternal(state).getValue();
 
+		this.leftActualDescriptor = CodeFlow.toDescriptorFromObject(leftOperand);
+		this.rightActualDescriptor = CodeFlow.toDescriptorFromObject(rightOperand);
+		// Only compilable if the result type does not depend on the operand values
+		this.exitTypeDescriptor = null;
+
 		if (leftOperand instanceof Number && rightOperand instanceof Number) {
 			Number leftNumber = (Number) leftOperand;
 			Number rightNumber = (Number) rightOperand;
@@ -60,13 +67,18 @@ public class OperatorPower extends Operator {
 				return new TypedValue(leftBigInteger.pow(rightNumber.intValue()));
 			}
 			else if (leftNumber instanceof Double || rightNumber instanceof Double) {
+				this.exitTypeDescriptor = "D";
 				return new TypedValue(Math.pow(leftNumber.doubleValue(), rightNumber.doubleValue()));
 			}
 			else if (leftNumber instanceof Float || rightNumber instanceof Float) {
+				this.exitTypeDescriptor = "D";
 				return new TypedValue(Math.pow(leftNumber.floatValue(), rightNumber.floatValue()));
 			}
 
 			double d = Math.pow(leftNumber.doubleValue(), rightNumber.doubleValue());
+			if (leftNumber instanceof Long || rightNumber instanceof Long) {
+				this.exitTypeDescriptor = "J";
+			}
 			if (d > Integer.MAX_VALUE || leftNumber instanceof Long || rightNumber instanceof Long) {
 				return new TypedValue((long) d);
 			}
@@ -78,4 +90,38 @@ public class OperatorPower extends Operator {
 		return state.operate(Operation.POWER, leftOperand, rightOperand);
 	}
 
+	@Override
+	public boolean isCompilable() {
+		return (getLeftOperand().isCompilable() && getRightOperand().isCompilable() &&
+				this.exitTypeDescriptor != null);
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		// Without a double operand, float operands are widened from their float values
+		boolean doubleOperand = ("Ljava/lang/Double".equals(this.leftActualDescriptor) ||
+				"Ljava/lang/Double".equals(this.rightActualDescriptor));
+		boolean floatOperand = ("Ljava/lang/Float".equals(this.leftActualDescriptor) ||
+				"Ljava/lang/Float".equals(this.rightActualDescriptor));
+		char operandType = (floatOperand && !doubleOperand ? 'F' : 'D');
+		getLeftOperand().generateCode(mv, cf);
+		generateOperandConversion(mv, getLeftOperand().exitTypeDescriptor, operandType);
+		cf.enterCompilationScope();
+		getRightOperand().generateCode(mv, cf);
+		cf.exitCompilationScope();
+		generateOperandConversion(mv, getRightOperand().exitTypeDescriptor, operandType);
+		mv.visitMethodInsn(INVOKESTATIC, "java/lang/Math", "pow", "(DD)D", false);
+		if (this.exitTypeDescriptor.equals("J")) {
+			mv.visitInsn(D2L);
+		}
+		cf.pushDescriptor(this.exitTypeDescriptor);
+	}
+
+	private void generateOperandConversion(MethodVisitor mv, String operandDescriptor, char operandType) {
+		CodeFlow.insertNumericUnboxOrPrimitiveTypeCoercion(mv, operandDescriptor, operandType);
+		if (operandType == 'F') {
+			mv.visitInsn(F2D);
+		}
+	}
+
 }
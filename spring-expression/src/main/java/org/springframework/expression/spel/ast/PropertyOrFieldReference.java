@@ -53,6 +53,8 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 
 	private volatile PropertyAccessor cachedWriteAccessor;
 
+	private volatile AccessorsToTry cachedAccessorsToTry;
+
 
 	public PropertyOrFieldReference(boolean nullSafe, String propertyOrFieldName, int pos) {
 		super(pos);
@@ -183,6 +185,12 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 		}
 
 		PropertyAccessor accessorToUse = this.cachedReadAccessor;
+		if (accessorToUse instanceof ReflectivePropertyAccessor.OptimalPropertyAccessor &&
+				!((ReflectivePropertyAccessor.OptimalPropertyAccessor) accessorToUse).isApplicableTo(targetObject)) {
+			// Type guard: a different kind of target object, resolve again below
+			// rather than failing the read through an exception
+			accessorToUse = null;
+		}
 		if (accessorToUse != null) {
 			try {
 				return accessorToUse.read(evalContext, contextObject.getValue(), name);
@@ -300,12 +308,19 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 	 * and resolvers that name a specific class but it is a supertype of the class we have.
 	 * These are put at the end of the specific resolvers set and will be tried after exactly
 	 * matching accessors but before generic accessors.
+	 * <p>The result is cached for the most recent target type, as long as the
+	 * context's accessors remain the same.
 	 * @param contextObject the object upon which property access is being attempted
 	 * @return a list of resolvers that should be tried in order to access the property
 	 */
 	private List<PropertyAccessor> getPropertyAccessorsToTry(Object contextObject, List<PropertyAccessor> propertyAccessors) {
 		Class<?> targetType = (contextObject != null ? contextObject.getClass() : null);
+		AccessorsToTry cached = this.cachedAccessorsToTry;
+		if (cached != null && cached.isFor(targetType, propertyAccessors)) {
+			return cached.accessors;
+		}
 
+		List<PropertyAccessor> exactAccessors = new ArrayList<PropertyAccessor>();
 		List<PropertyAccessor> specificAccessors = new ArrayList<PropertyAccessor>();
 		List<PropertyAccessor> generalAccessors = new ArrayList<PropertyAccessor>();
 		for (PropertyAccessor resolver : propertyAccessors) {
@@ -315,21 +330,31 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 				generalAccessors.add(resolver);
 			}
 			else if (targetType != null) {
+				boolean exactMatch = false;
+				boolean supertypeMatch = false;
 				for (Class<?> clazz : targets) {
 					if (clazz == targetType) {
-						specificAccessors.add(resolver);
+						exactMatch = true;
 						break;
 					}
 					else if (clazz.isAssignableFrom(targetType)) {
-						generalAccessors.add(resolver);
+						supertypeMatch = true;
 					}
 				}
+				if (exactMatch) {
+					exactAccessors.add(resolver);
+				}
+				else if (supertypeMatch) {
+					specificAccessors.add(resolver);
+				}
 			}
 		}
-		List<PropertyAccessor> resolvers = new ArrayList<PropertyAccessor>();
+		List<PropertyAccessor> resolvers = new ArrayList<PropertyAccessor>(
+				exactAccessors.size() + specificAccessors.size() + generalAccessors.size());
+		resolvers.addAll(exactAccessors);
 		resolvers.addAll(specificAccessors);
-		generalAccessors.removeAll(specificAccessors);
 		resolvers.addAll(generalAccessors);
+		this.cachedAccessorsToTry = new AccessorsToTry(targetType, propertyAccessors, resolvers);
 		return resolvers;
 	}
 	
@@ -390,4 +415,41 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 		}
 	}
 
+
+	/**
+	 * The ordered accessors for a target type, along with the context's
+	 * accessors they were derived from.
+	 */
+	private static class AccessorsToTry {
+
+		private final Class<?> targetType;
+
+		private final List<PropertyAccessor> source;
+
+		private final PropertyAccessor[] sourceAccessors;
+
+		final List<PropertyAccessor> accessors;
+
+		public AccessorsToTry(Class<?> targetType, List<PropertyAccessor> source, List<PropertyAccessor> accessors) {
+			this.targetType = targetType;
+			this.source = source;
+			this.sourceAccessors = source.toArray(new PropertyAccessor[source.size()]);
+			this.accessors = accessors;
+		}
+
+		public boolean isFor(Class<?> targetType, List<PropertyAccessor> source) {
+			if (this.targetType != targetType || this.source != source ||
+					this.sourceAccessors.length != source.size()) {
+				return false;
+			}
+			// The context's list may have been modified in place
+			for (int i = 0; i < this.sourceAccessors.length; i++) {
+				if (this.sourceAccessors[i] != source.get(i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
 }
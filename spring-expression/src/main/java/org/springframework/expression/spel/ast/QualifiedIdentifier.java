@@ -16,8 +16,10 @@
 
 package org.springframework.expression.spel.ast;
 
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 
 /**
@@ -53,6 +55,7 @@ public class QualifiedIdentifier extends SpelNodeImpl {
 				sb.append(value);
 			}
 			this.value = new TypedValue(sb.toString());
+			this.exitTypeDescriptor = "Ljava/lang/String";
 		}
 		return this.value;
 	}
@@ -74,4 +77,15 @@ public class QualifiedIdentifier extends SpelNodeImpl {
 		return sb.toString();
 	}
 
+	@Override
+	public boolean isCompilable() {
+		return (this.value != null);
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		mv.visitLdcInsn(this.value.getValue());
+		cf.pushDescriptor(this.exitTypeDescriptor);
+	}
+
 }
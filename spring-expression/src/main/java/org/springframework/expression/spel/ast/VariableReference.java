@@ -64,15 +64,13 @@ public class VariableReference extends SpelNodeImpl {
 
 	@Override
 	public TypedValue getValueInternal(ExpressionState state) throws SpelEvaluationException {
-		if (this.name.equals(THIS)) {
-			return state.getActiveContextObject();
-		}
 		if (this.name.equals(ROOT)) {
 			TypedValue result = state.getRootContextObject();
 			this.exitTypeDescriptor = CodeFlow.toDescriptorFromObject(result.getValue());
 			return result;
 		}
-		TypedValue result = state.lookupVariable(this.name);
+		TypedValue result = (this.name.equals(THIS) ?
+				state.getActiveContextObject() : state.lookupVariable(this.name));
 		Object value = result.getValue();
 		if (value == null || !Modifier.isPublic(value.getClass().getModifiers())) {
 			// If the type is not public then when generateCode produces a checkcast to it
@@ -147,6 +145,12 @@ public class VariableReference extends SpelNodeImpl {
 		if (this.name.equals(ROOT)) {
 			mv.visitVarInsn(ALOAD,1);
 		}
+		else if (this.name.equals(THIS)) {
+			// Within a compound expression the active context object is already on the stack
+			if (cf.lastDescriptor() == null) {
+				cf.loadTarget(mv);
+			}
+		}
 		else {
 			mv.visitVarInsn(ALOAD, 2);
 			mv.visitLdcInsn(name);
@@ -156,5 +160,87 @@ public class VariableReference extends SpelNodeImpl {
 		cf.pushDescriptor(this.exitTypeDescriptor);
 	}
 
+	/**
+	 * Return whether compiled code may assign to this variable,
+	 * i.e. whether it is neither {@code #this} nor {@code #root}.
+	 */
+	boolean isAssignableFromCompiledCode() {
+		return !(this.name.equals(THIS) || this.name.equals(ROOT));
+	}
+
+	/**
+	 * Generate code that stores the value on top of the stack in this variable,
+	 * leaving the value on the stack.
+	 * @param valueDescriptor the descriptor of the value on top of the stack
+	 */
+	void generateAssignmentCode(MethodVisitor mv, String valueDescriptor) {
+		boolean wide = ("J".equals(valueDescriptor) || "D".equals(valueDescriptor));
+		mv.visitInsn(wide ? DUP2 : DUP);
+		CodeFlow.insertBoxIfNecessary(mv, valueDescriptor);
+		mv.visitVarInsn(ALOAD, 2);
+		mv.visitInsn(SWAP);
+		mv.visitLdcInsn(this.name);
+		mv.visitInsn(SWAP);
+		mv.visitMethodInsn(INVOKEINTERFACE, "org/springframework/expression/EvaluationContext", "setVariable", "(Ljava/lang/String;Ljava/lang/Object;)V", true);
+	}
+
+	/**
+	 * Generate code that increments or decrements this variable by one. The variable
+	 * must hold a boxed number of the given primitive type ('I', 'J', 'F' or 'D').
+	 * @param type the primitive type of the number
+	 * @param decrement whether to decrement rather than increment
+	 * @param postfix whether to leave the original value rather than the new value
+	 * on the stack (either way as a primitive of the given type)
+	 */
+	void generateIncrementCode(MethodVisitor mv, char type, boolean decrement, boolean postfix) {
+		boolean wide = (type == 'J' || type == 'D');
+		mv.visitVarInsn(ALOAD, 2);
+		mv.visitLdcInsn(this.name);
+		mv.visitMethodInsn(INVOKEINTERFACE, "org/springframework/expression/EvaluationContext", "lookupVariable", "(Ljava/lang/String;)Ljava/lang/Object;",true);
+		CodeFlow.insertUnboxInsns(mv, type, "Ljava/lang/Object");
+		if (postfix) {
+			mv.visitInsn(wide ? DUP2 : DUP);
+		}
+		switch (type) {
+			case 'I':
+				mv.visitInsn(ICONST_1);
+				mv.visitInsn(decrement ? ISUB : IADD);
+				break;
+			case 'J':
+				mv.visitInsn(LCONST_1);
+				mv.visitInsn(decrement ? LSUB : LADD);
+				break;
+			case 'F':
+				mv.visitInsn(FCONST_1);
+				mv.visitInsn(decrement ? FSUB : FADD);
+				break;
+			case 'D':
+				mv.visitInsn(DCONST_1);
+				mv.visitInsn(decrement ? DSUB : DADD);
+				break;
+			default:
+				throw new IllegalStateException("Unsupported type for increment: " + type);
+		}
+		generateAssignmentCode(mv, String.valueOf(type));
+		if (postfix) {
+			mv.visitInsn(wide ? POP2 : POP);
+		}
+	}
+
+	/**
+	 * Return whether the given node, or any node below it, references the variable
+	 * with the given name.
+	 */
+	static boolean isReferencedIn(SpelNodeImpl node, String variableName) {
+		if (node instanceof VariableReference && ((VariableReference) node).name.equals(variableName)) {
+			return true;
+		}
+		for (SpelNodeImpl child : node.children) {
+			if (isReferencedIn(child, variableName)) {
+				return true;
+			}
+		}
+		return false;
+	}
 
 }
@@ -21,8 +21,14 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.net.URL;
 import java.net.URLClassLoader;
-import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -30,6 +36,7 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.asm.ClassWriter;
 import org.springframework.asm.MethodVisitor;
 import org.springframework.asm.Opcodes;
+import org.springframework.core.SpringProperties;
 import org.springframework.expression.Expression;
 import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.CompiledExpression;
@@ -62,27 +69,68 @@ import org.springframework.util.ConcurrentReferenceHashMap;
  *
  * <p>Individual expressions can be compiled by calling {@code SpelCompiler.compile(expression)}.
  *
+ * <p>Expressions are compiled on the thread that evaluates them once they have been
+ * interpreted often enough, unless a {@link SpelParserConfiguration#getCompilerExecutor()
+ * compiler executor} is configured, or the {@value #BACKGROUND_PROPERTY_NAME} property
+ * is set: expressions are then queued for compilation on a shared background thread.
+ *
+ * <p>Generated classes are defined in a child class loader of the compiler's class
+ * loader, which is replaced once it has defined {@value #CLASSES_DEFINED_LIMIT} classes,
+ * so that classes for expressions which are no longer used can be unloaded.
+ *
  * @author Andy Clement
  * @since 4.1
  */
 public class SpelCompiler implements Opcodes {
 
+	/**
+	 * System property that instructs expressions without a configured compiler executor
+	 * to be compiled on a shared background thread: "spring.expression.compiler.background".
+	 * @see SpringProperties
+	 */
+	public static final String BACKGROUND_PROPERTY_NAME = "spring.expression.compiler.background";
+
+	/**
+	 * Number of classes a child class loader defines before it is replaced.
+	 */
+	public static final int CLASSES_DEFINED_LIMIT = 100;
+
+	private static final int BACKGROUND_QUEUE_CAPACITY = 1000;
+
 	private static final Log logger = LogFactory.getLog(SpelCompiler.class);
 
 	// A compiler is created for each classloader, it manages a child class loader of that
 	// classloader and the child is used to load the compiled expressions.
-	private static final Map<ClassLoader, SpelCompiler> compilers =
+	private static final ConcurrentMap<ClassLoader, SpelCompiler> compilers =
 			new ConcurrentReferenceHashMap<ClassLoader, SpelCompiler>();
 
+	private static final boolean backgroundCompilation = SpringProperties.getFlag(BACKGROUND_PROPERTY_NAME);
+
+	private static volatile Executor backgroundExecutor;
+
+
+	// The class loader that child class loaders are created for
+	private final ClassLoader classloader;
 
 	// The child ClassLoader used to load the compiled expression classes
-	private final ChildClassLoader ccl;
+	private volatile ChildClassLoader ccl;
 
 	// Counter suffix for generated classes within this SpelCompiler instance
 	private final AtomicInteger suffixId = new AtomicInteger(1);
 
+	private final AtomicLong compilationCount = new AtomicLong();
+
+	private final AtomicLong failureCount = new AtomicLong();
+
+	private final AtomicLong compilationNanos = new AtomicLong();
+
+	private final AtomicLong generatedClassCount = new AtomicLong();
+
+	private final AtomicLong classLoaderCount = new AtomicLong(1);
+
 
 	private SpelCompiler(ClassLoader classloader) {
+		this.classloader = classloader;
 		this.ccl = new ChildClassLoader(classloader);
 	}
 
@@ -98,25 +146,46 @@ public class SpelCompiler implements Opcodes {
 	 * if compilation is not possible
 	 */
 	public CompiledExpression compile(SpelNodeImpl expression) {
-		if (expression.isCompilable()) {
-			if (logger.isDebugEnabled()) {
-				logger.debug("SpEL: compiling " + expression.toStringAST());
-			}
-			Class<? extends CompiledExpression> clazz = createExpressionClass(expression);
-			if (clazz != null) {
-				try {
-					return clazz.newInstance();
+		this.compilationCount.incrementAndGet();
+		long start = System.nanoTime();
+		boolean compiled = false;
+		try {
+			if (expression.isCompilable()) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("SpEL: compiling " + expression.toStringAST());
 				}
-				catch (Throwable ex) {
-					throw new IllegalStateException("Failed to instantiate CompiledExpression", ex);
+				Class<? extends CompiledExpression> clazz = createExpressionClass(expression);
+				if (clazz != null) {
+					try {
+						CompiledExpression compiledExpression = clazz.newInstance();
+						compiled = true;
+						return compiledExpression;
+					}
+					catch (Throwable ex) {
+						throw new IllegalStateException("Failed to instantiate CompiledExpression", ex);
+					}
 				}
 			}
-		}
 
-		if (logger.isDebugEnabled()) {
-			logger.debug("SpEL: unable to compile " + expression.toStringAST());
+			if (logger.isDebugEnabled()) {
+				logger.debug("SpEL: unable to compile " + expression.toStringAST());
+			}
+			return null;
 		}
-		return null;
+		finally {
+			this.compilationNanos.addAndGet(System.nanoTime() - start);
+			if (!compiled) {
+				this.failureCount.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Return a snapshot of the compilation statistics of this compiler.
+	 */
+	public SpelCompilerStatistics getStatistics() {
+		return new SpelCompilerStatistics(this.compilationCount.get(), this.failureCount.get(),
+				this.compilationNanos.get(), this.generatedClassCount.get(), this.classLoaderCount.get());
 	}
 
 	private int getNextSuffix() {
@@ -182,7 +251,29 @@ public class SpelCompiler implements Opcodes {
 		byte[] data = cw.toByteArray();
 		// need to make this conditionally occur based on a debug flag
 		// dump(expressionToCompile.toStringAST(), clazzName, data);
-		return (Class<? extends CompiledExpression>) this.ccl.defineClass(clazzName.replaceAll("/", "."), data);
+		Class<?> clazz = getChildClassLoader().defineClass(clazzName.replaceAll("/", "."), data);
+		this.generatedClassCount.incrementAndGet();
+		return (Class<? extends CompiledExpression>) clazz;
+	}
+
+	/**
+	 * Return the child class loader to define the next class with, replacing the current
+	 * one if it has reached its limit: the classes it defined can then be unloaded along
+	 * with it, once the expressions using them are gone.
+	 */
+	private ChildClassLoader getChildClassLoader() {
+		ChildClassLoader ccl = this.ccl;
+		if (ccl.getClassesDefinedCount() >= CLASSES_DEFINED_LIMIT) {
+			synchronized (this) {
+				ccl = this.ccl;
+				if (ccl.getClassesDefinedCount() >= CLASSES_DEFINED_LIMIT) {
+					ccl = new ChildClassLoader(this.classloader);
+					this.ccl = ccl;
+					this.classLoaderCount.incrementAndGet();
+				}
+			}
+		}
+		return ccl;
 	}
 
 
@@ -195,14 +286,45 @@ public class SpelCompiler implements Opcodes {
 	 */
 	public static SpelCompiler getCompiler(ClassLoader classLoader) {
 		ClassLoader clToUse = (classLoader != null ? classLoader : ClassUtils.getDefaultClassLoader());
-		synchronized (compilers) {
-			SpelCompiler compiler = compilers.get(clToUse);
-			if (compiler == null) {
-				compiler = new SpelCompiler(clToUse);
-				compilers.put(clToUse, compiler);
+		SpelCompiler compiler = compilers.get(clToUse);
+		if (compiler == null) {
+			compiler = new SpelCompiler(clToUse);
+			SpelCompiler existing = compilers.putIfAbsent(clToUse, compiler);
+			if (existing != null) {
+				compiler = existing;
 			}
-			return compiler;
 		}
+		return compiler;
+	}
+
+	/**
+	 * Return the shared executor that compiles expressions in the background, if enabled
+	 * through the {@value #BACKGROUND_PROPERTY_NAME} property. It runs a single daemon
+	 * thread with a bounded queue, rejecting compilation requests when the queue is full.
+	 * @return the shared executor, or {@code null} if background compilation is not enabled
+	 */
+	static Executor getBackgroundExecutor() {
+		if (!backgroundCompilation) {
+			return null;
+		}
+		if (backgroundExecutor == null) {
+			synchronized (SpelCompiler.class) {
+				if (backgroundExecutor == null) {
+					ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+							new ArrayBlockingQueue<Runnable>(BACKGROUND_QUEUE_CAPACITY), new ThreadFactory() {
+								@Override
+								public Thread newThread(Runnable runnable) {
+									Thread thread = new Thread(runnable, "spel-compiler");
+									thread.setDaemon(true);
+									return thread;
+								}
+							});
+					executor.allowCoreThreadTimeOut(true);
+					backgroundExecutor = executor;
+				}
+			}
+		}
+		return backgroundExecutor;
 	}
 
 	/**
@@ -268,12 +390,20 @@ public class SpelCompiler implements Opcodes {
 
 		private static final URL[] NO_URLS = new URL[0];
 
+		private final AtomicInteger classesDefinedCount = new AtomicInteger();
+
 		public ChildClassLoader(ClassLoader classloader) {
 			super(NO_URLS, classloader);
 		}
 
 		public Class<?> defineClass(String name, byte[] bytes) {
-			return super.defineClass(name, bytes, 0, bytes.length);
+			Class<?> clazz = super.defineClass(name, bytes, 0, bytes.length);
+			this.classesDefinedCount.incrementAndGet();
+			return clazz;
+		}
+
+		public int getClassesDefinedCount() {
+			return this.classesDefinedCount.get();
 		}
 	}
 
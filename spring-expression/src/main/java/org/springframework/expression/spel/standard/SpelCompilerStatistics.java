@@ -0,0 +1,101 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.expression.spel.standard;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot of the compilation statistics of a {@link SpelCompiler}, covering all
+ * expressions compiled for the compiler's class loader.
+ *
+ * <p>A failure count close to the compilation count typically indicates expressions
+ * that keep being retried although they are not compilable, e.g. because they deal
+ * with values of changing types.
+ *
+ * @see SpelCompiler#getStatistics()
+ */
+public final class SpelCompilerStatistics {
+
+	private final long compilationCount;
+
+	private final long failureCount;
+
+	private final long compilationTimeNanos;
+
+	private final long generatedClassCount;
+
+	private final long classLoaderCount;
+
+
+	SpelCompilerStatistics(long compilationCount, long failureCount, long compilationTimeNanos,
+			long generatedClassCount, long classLoaderCount) {
+
+		this.compilationCount = compilationCount;
+		this.failureCount = failureCount;
+		this.compilationTimeNanos = compilationTimeNanos;
+		this.generatedClassCount = generatedClassCount;
+		this.classLoaderCount = classLoaderCount;
+	}
+
+
+	/**
+	 * Return the number of compilation attempts so far.
+	 */
+	public long getCompilationCount() {
+		return this.compilationCount;
+	}
+
+	/**
+	 * Return the number of compilation attempts that did not produce a compiled
+	 * expression, e.g. because the expression was not compilable (yet).
+	 */
+	public long getFailureCount() {
+		return this.failureCount;
+	}
+
+	/**
+	 * Return the total time spent on compilation attempts, in milliseconds.
+	 */
+	public long getCompilationTime() {
+		return TimeUnit.NANOSECONDS.toMillis(this.compilationTimeNanos);
+	}
+
+	/**
+	 * Return the number of expression classes generated so far.
+	 */
+	public long getGeneratedClassCount() {
+		return this.generatedClassCount;
+	}
+
+	/**
+	 * Return the number of child class loaders created so far to define
+	 * expression classes in.
+	 * @see SpelCompiler#CLASSES_DEFINED_LIMIT
+	 */
+	public long getClassLoaderCount() {
+		return this.classLoaderCount;
+	}
+
+	@Override
+	public String toString() {
+		return "SpelCompilerStatistics: compilations=" + this.compilationCount + ", failures=" +
+				this.failureCount + ", compilation time=" + getCompilationTime() + "ms, generated classes=" +
+				this.generatedClassCount + ", class loaders=" + this.classLoaderCount;
+	}
+
+}
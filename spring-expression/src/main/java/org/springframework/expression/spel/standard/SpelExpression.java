@@ -16,6 +16,10 @@
 
 package org.springframework.expression.spel.standard;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.EvaluationException;
@@ -57,28 +61,27 @@ public class SpelExpression implements Expression {
 
 	private final SpelParserConfiguration configuration;
 
+	// Compilation state, shared by the copies of an expression handed out by a SpelExpressionCache
+	private final CompilationState state;
+
 	// The default context is used if no override is supplied by the user
 	private EvaluationContext evaluationContext;
 
-	// Holds the compiled form of the expression (if it has been compiled)
-	private CompiledExpression compiledAst;
-
-	// Count of many times as the expression been interpreted - can trigger compilation
-	// when certain limit reached
-	private volatile int interpretedCount = 0;
-
-	// The number of times compilation was attempted and failed - enables us to eventually
-	// give up trying to compile it when it just doesn't seem to be possible.
-	private volatile int failedAttempts = 0;
-
 
 	/**
 	 * Construct an expression, only used by the parser.
 	 */
 	public SpelExpression(String expression, SpelNodeImpl ast, SpelParserConfiguration configuration) {
+		this(expression, ast, configuration, new CompilationState());
+	}
+
+	private SpelExpression(String expression, SpelNodeImpl ast, SpelParserConfiguration configuration,
+			CompilationState state) {
+
 		this.expression = expression;
 		this.ast = ast;
 		this.configuration = configuration;
+		this.state = state;
 	}
 
 
@@ -107,16 +110,17 @@ public class SpelExpression implements Expression {
 	@Override
 	public Object getValue() throws EvaluationException {
 		Object result;
-		if (this.compiledAst != null) {
+		CompiledExpression compiledAst = this.state.compiledAst;
+		if (compiledAst != null) {
 			try {
 				TypedValue contextRoot = evaluationContext == null ? null : evaluationContext.getRootObject();
-				return this.compiledAst.getValue(contextRoot == null ? null : contextRoot.getValue(), evaluationContext);
+				return compiledAst.getValue(contextRoot == null ? null : contextRoot.getValue(), evaluationContext);
 			}
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.interpretedCount = 0;
-					this.compiledAst = null;
+					this.state.interpretedCount = 0;
+					this.state.compiledAst = null;
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -133,15 +137,16 @@ public class SpelExpression implements Expression {
 	@Override
 	public Object getValue(Object rootObject) throws EvaluationException {
 		Object result;
-		if (this.compiledAst != null) {
+		CompiledExpression compiledAst = this.state.compiledAst;
+		if (compiledAst != null) {
 			try {
-				return this.compiledAst.getValue(rootObject, evaluationContext);
+				return compiledAst.getValue(rootObject, evaluationContext);
 			}
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.interpretedCount = 0;
-					this.compiledAst = null;
+					this.state.interpretedCount = 0;
+					this.state.compiledAst = null;
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -158,10 +163,11 @@ public class SpelExpression implements Expression {
 	@SuppressWarnings("unchecked")
 	@Override
 	public <T> T getValue(Class<T> expectedResultType) throws EvaluationException {
-		if (this.compiledAst != null) {
+		CompiledExpression compiledAst = this.state.compiledAst;
+		if (compiledAst != null) {
 			try {
 				TypedValue contextRoot = evaluationContext == null ? null : evaluationContext.getRootObject();
-				Object result = this.compiledAst.getValue(contextRoot == null ? null : contextRoot.getValue(), evaluationContext);
+				Object result = compiledAst.getValue(contextRoot == null ? null : contextRoot.getValue(), evaluationContext);
 				if (expectedResultType == null) {
 					return (T)result;
 				}
@@ -172,8 +178,8 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.interpretedCount = 0;
-					this.compiledAst = null;
+					this.state.interpretedCount = 0;
+					this.state.compiledAst = null;
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -190,9 +196,10 @@ public class SpelExpression implements Expression {
 	@SuppressWarnings("unchecked")
 	@Override
 	public <T> T getValue(Object rootObject, Class<T> expectedResultType) throws EvaluationException {
-		if (this.compiledAst != null) {
+		CompiledExpression compiledAst = this.state.compiledAst;
+		if (compiledAst != null) {
 			try {
-				Object result = this.compiledAst.getValue(rootObject, null);
+				Object result = compiledAst.getValue(rootObject, null);
 				if (expectedResultType == null) {
 					return (T)result;
 				}
@@ -203,8 +210,8 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.interpretedCount = 0;
-					this.compiledAst = null;
+					this.state.interpretedCount = 0;
+					this.state.compiledAst = null;
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -221,16 +228,17 @@ public class SpelExpression implements Expression {
 	@Override
 	public Object getValue(EvaluationContext context) throws EvaluationException {
 		Assert.notNull(context, "EvaluationContext is required");
-		if (compiledAst!= null) {
+		CompiledExpression compiledAst = this.state.compiledAst;
+		if (compiledAst != null) {
 			try {
 				TypedValue contextRoot = context == null ? null : context.getRootObject();
-				return this.compiledAst.getValue(contextRoot != null ? contextRoot.getValue() : null, context);
+				return compiledAst.getValue(contextRoot != null ? contextRoot.getValue() : null, context);
 			}
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.interpretedCount = 0;
-					this.compiledAst = null;
+					this.state.interpretedCount = 0;
+					this.state.compiledAst = null;
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -247,15 +255,16 @@ public class SpelExpression implements Expression {
 	@Override
 	public Object getValue(EvaluationContext context, Object rootObject) throws EvaluationException {
 		Assert.notNull(context, "EvaluationContext is required");
-		if (this.compiledAst != null) {
+		CompiledExpression compiledAst = this.state.compiledAst;
+		if (compiledAst != null) {
 			try {
-				return this.compiledAst.getValue(rootObject,context);
+				return compiledAst.getValue(rootObject,context);
 			}
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.interpretedCount = 0;
-					this.compiledAst = null;
+					this.state.interpretedCount = 0;
+					this.state.compiledAst = null;
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -272,10 +281,11 @@ public class SpelExpression implements Expression {
 	@SuppressWarnings("unchecked")
 	@Override
 	public <T> T getValue(EvaluationContext context, Class<T> expectedResultType) throws EvaluationException {
-		if (this.compiledAst != null) {
+		CompiledExpression compiledAst = this.state.compiledAst;
+		if (compiledAst != null) {
 			try {
 				TypedValue contextRoot = context == null ? null : context.getRootObject();
-				Object result = this.compiledAst.getValue(contextRoot==null?null:contextRoot.getValue(),context);
+				Object result = compiledAst.getValue(contextRoot==null?null:contextRoot.getValue(),context);
 				if (expectedResultType != null) {
 					return ExpressionUtils.convertTypedValue(context, new TypedValue(result), expectedResultType);
 				}
@@ -286,8 +296,8 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.interpretedCount = 0;
-					this.compiledAst = null;
+					this.state.interpretedCount = 0;
+					this.state.compiledAst = null;
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -304,9 +314,10 @@ public class SpelExpression implements Expression {
 	@SuppressWarnings("unchecked")
 	@Override
 	public <T> T getValue(EvaluationContext context, Object rootObject, Class<T> expectedResultType) throws EvaluationException {
-		if (this.compiledAst != null) {
+		CompiledExpression compiledAst = this.state.compiledAst;
+		if (compiledAst != null) {
 			try {
-				Object result = this.compiledAst.getValue(rootObject,context);
+				Object result = compiledAst.getValue(rootObject,context);
 				if (expectedResultType != null) {
 					return ExpressionUtils.convertTypedValue(context, new TypedValue(result), expectedResultType);
 				}
@@ -317,8 +328,8 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.interpretedCount = 0;
-					this.compiledAst = null;
+					this.state.interpretedCount = 0;
+					this.state.compiledAst = null;
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -429,23 +440,63 @@ public class SpelExpression implements Expression {
 	 * @param expressionState the expression state used to determine compilation mode
 	 */
 	private void checkCompile(ExpressionState expressionState) {
-		this.interpretedCount++;
+		this.state.interpretedCount++;
 		SpelCompilerMode compilerMode = expressionState.getConfiguration().getCompilerMode();
 		if (compilerMode != SpelCompilerMode.OFF) {
 			if (compilerMode == SpelCompilerMode.IMMEDIATE) {
-				if (this.interpretedCount > 1) {
-					compileExpression();
+				if (this.state.interpretedCount > 1) {
+					triggerCompilation();
 				}
 			}
 			else {
 				// compilerMode = SpelCompilerMode.MIXED
-				if (this.interpretedCount > INTERPRETED_COUNT_THRESHOLD) {
-					compileExpression();
+				if (this.state.interpretedCount > INTERPRETED_COUNT_THRESHOLD) {
+					triggerCompilation();
 				}
 			}
 		}
 	}
 
+	/**
+	 * Compile the expression on the evaluating thread, or queue its compilation if a
+	 * compiler executor is available. The compiled form is used by evaluations from
+	 * the moment it is ready; until then, the expression keeps being interpreted.
+	 * @see SpelParserConfiguration#getCompilerExecutor()
+	 * @see SpelCompiler#BACKGROUND_PROPERTY_NAME
+	 */
+	private void triggerCompilation() {
+		Executor executor = this.configuration.getCompilerExecutor();
+		if (executor == null) {
+			executor = SpelCompiler.getBackgroundExecutor();
+		}
+		if (executor == null) {
+			compileExpression();
+		}
+		else if (this.state.failedAttempts <= FAILED_ATTEMPTS_THRESHOLD &&
+				this.state.compilationScheduled.compareAndSet(false, true)) {
+			try {
+				executor.execute(new Runnable() {
+					@Override
+					public void run() {
+						try {
+							compileExpression();
+						}
+						catch (Throwable ex) {
+							state.failedAttempts++;
+						}
+						finally {
+							state.compilationScheduled.set(false);
+						}
+					}
+				});
+			}
+			catch (RejectedExecutionException ex) {
+				// Queue full: try again on a later evaluation
+				this.state.compilationScheduled.set(false);
+			}
+		}
+	}
+
 
 	/**
 	 * Perform expression compilation. This will only succeed once exit descriptors for all nodes have
@@ -453,24 +504,25 @@ public class SpelExpression implements Expression {
 	 * no longer considered suitable for compilation.
 	 */
 	public boolean compileExpression() {
-		if (this.failedAttempts > FAILED_ATTEMPTS_THRESHOLD) {
+		if (this.state.failedAttempts > FAILED_ATTEMPTS_THRESHOLD) {
 			// Don't try again
 			return false;
 		}
-		if (this.compiledAst == null) {
-			synchronized (this.expression) {
+		if (this.state.compiledAst == null) {
+			synchronized (this.state) {
 				// Possibly compiled by another thread before this thread got into the sync block
-				if (this.compiledAst != null) {
+				if (this.state.compiledAst != null) {
 					return true;
 				}
 				SpelCompiler compiler = SpelCompiler.getCompiler(this.configuration.getCompilerClassLoader());
-				this.compiledAst = compiler.compile(this.ast);
-				if (this.compiledAst == null) {
-					this.failedAttempts++;
+				CompiledExpression compiledAst = compiler.compile(this.ast);
+				if (compiledAst == null) {
+					this.state.failedAttempts++;
 				}
+				this.state.compiledAst = compiledAst;
 			}
 		}
-		return (this.compiledAst != null);
+		return (this.state.compiledAst != null);
 	}
 
 	/**
@@ -479,9 +531,19 @@ public class SpelExpression implements Expression {
 	 * longer considered compilable if it cannot be compiled after 100 attempts).
 	 */
 	public void revertToInterpreted() {
-		this.compiledAst = null;
-		this.interpretedCount = 0;
-		this.failedAttempts = 0;
+		this.state.compiledAst = null;
+		this.state.interpretedCount = 0;
+		this.state.failedAttempts = 0;
+	}
+
+	/**
+	 * Create a copy of this expression that shares its Abstract Syntax Tree and its
+	 * compiled form, but not its {@link #setEvaluationContext default evaluation context}.
+	 * Used to hand out cached expressions to independent callers.
+	 * @see SpelExpressionCache
+	 */
+	SpelExpression copy() {
+		return new SpelExpression(this.expression, this.ast, this.configuration, this.state);
 	}
 
 	/**
@@ -510,4 +572,26 @@ public class SpelExpression implements Expression {
 		}
 	}
 
+
+
+	/**
+	 * Compiled form of an expression, along with the counters that decide when to compile it.
+	 */
+	private static class CompilationState {
+
+		// Holds the compiled form of the expression (if it has been compiled)
+		volatile CompiledExpression compiledAst;
+
+		// Whether a compilation of the expression has been queued and has not completed yet
+		final AtomicBoolean compilationScheduled = new AtomicBoolean();
+
+		// Count of many times as the expression been interpreted - can trigger compilation
+		// when certain limit reached
+		volatile int interpretedCount = 0;
+
+		// The number of times compilation was attempted and failed - enables us to eventually
+		// give up trying to compile it when it just doesn't seem to be possible.
+		volatile int failedAttempts = 0;
+	}
+
 }
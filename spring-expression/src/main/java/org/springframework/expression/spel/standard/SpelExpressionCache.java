@@ -0,0 +1,260 @@
+/*
+ * Copyright 2002-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.expression.spel.standard;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.core.SpringProperties;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.common.CompositeStringExpression;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Concurrent cache of parsed expressions, used by {@link SpelExpressionParser}
+ * instances so that each expression string is parsed once and its compiled form
+ * is shared, rather than every caller keeping a cache of its own.
+ *
+ * <p>Expressions are cached per expression string, parser context and
+ * {@link SpelParserConfiguration} (compared by value), so parsers with equal
+ * configurations share their expressions. Arbitrary entries are evicted once the
+ * {@link #setCacheLimit cache limit} is exceeded.
+ *
+ * <p>Every parse request returns a new {@link Expression} instance: callers share
+ * the parsed syntax tree and its compiled form, but each keeps its own default
+ * {@link SpelExpression#setEvaluationContext evaluation context}. Note that the
+ * shared compiled form is based on the types the expression encountered: only
+ * share a cache between callers that evaluate expressions against the same kind
+ * of root objects.
+ *
+ * <p>Caching is enabled for all {@link SpelExpressionParser} instances through the
+ * {@value #SHARED_PROPERTY_NAME} system property, using the shared cache for the
+ * configuration's compiler class loader.
+ *
+ * @see SpelExpressionParser#setExpressionCache
+ */
+public class SpelExpressionCache {
+
+	/**
+	 * System property that instructs all {@link SpelExpressionParser} instances
+	 * to use the shared cache for their class loader: "spring.expression.cache.shared".
+	 * @see SpringProperties
+	 */
+	public static final String SHARED_PROPERTY_NAME = "spring.expression.cache.shared";
+
+	/**
+	 * Default maximum number of cached expressions: 1024.
+	 */
+	public static final int DEFAULT_CACHE_LIMIT = 1024;
+
+
+	private static final ConcurrentReferenceHashMap<ClassLoader, SpelExpressionCache> sharedCaches =
+			new ConcurrentReferenceHashMap<ClassLoader, SpelExpressionCache>(4);
+
+
+	private final ConcurrentMap<ExpressionKey, Expression> expressions =
+			new ConcurrentHashMap<ExpressionKey, Expression>(256);
+
+	private volatile int cacheLimit = DEFAULT_CACHE_LIMIT;
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+
+	/**
+	 * Return the shared cache for the given class loader, creating it if necessary.
+	 * @param classLoader the compiler class loader of the parser configurations
+	 * (may be {@code null})
+	 */
+	public static SpelExpressionCache forClassLoader(ClassLoader classLoader) {
+		SpelExpressionCache cache = sharedCaches.get(classLoader);
+		if (cache == null) {
+			cache = new SpelExpressionCache();
+			SpelExpressionCache existing = sharedCaches.putIfAbsent(classLoader, cache);
+			if (existing != null) {
+				cache = existing;
+			}
+		}
+		return cache;
+	}
+
+	/**
+	 * Return whether {@link SpelExpressionParser} instances should use
+	 * the shared cache by default.
+	 * @see #SHARED_PROPERTY_NAME
+	 */
+	static boolean isSharedByDefault() {
+		return SpringProperties.getFlag(SHARED_PROPERTY_NAME);
+	}
+
+
+	/**
+	 * Specify the maximum number of cached expressions.
+	 * <p>Default is 1024.
+	 */
+	public void setCacheLimit(int cacheLimit) {
+		Assert.isTrue(cacheLimit > 0, "Cache limit must be positive");
+		this.cacheLimit = cacheLimit;
+		evictIfNecessary();
+	}
+
+	/**
+	 * Return the maximum number of cached expressions.
+	 */
+	public int getCacheLimit() {
+		return this.cacheLimit;
+	}
+
+	/**
+	 * Return the number of expressions currently cached.
+	 */
+	public int size() {
+		return this.expressions.size();
+	}
+
+	/**
+	 * Return the number of parse requests served from this cache.
+	 */
+	public long getHitCount() {
+		return this.hitCount.get();
+	}
+
+	/**
+	 * Return the number of parse requests that required parsing.
+	 */
+	public long getMissCount() {
+		return this.missCount.get();
+	}
+
+	/**
+	 * Remove all expressions from this cache.
+	 */
+	public void clear() {
+		this.expressions.clear();
+	}
+
+
+	/**
+	 * Return a copy of the cached expression for the given parse request, parsing it
+	 * with the given parser if not cached yet. If several threads parse the same
+	 * expression at the same time, all of them end up with copies of the expression
+	 * cached first.
+	 */
+	Expression getExpression(SpelExpressionParser parser, SpelParserConfiguration configuration,
+			String expressionString, ParserContext context) {
+
+		ExpressionKey key = new ExpressionKey(configuration, expressionString, context);
+		Expression expression = this.expressions.get(key);
+		if (expression != null) {
+			this.hitCount.incrementAndGet();
+			return copy(expression);
+		}
+		this.missCount.incrementAndGet();
+		expression = parser.parseExpressionUncached(expressionString, context);
+		Expression existing = this.expressions.putIfAbsent(key, expression);
+		if (existing != null) {
+			return copy(existing);
+		}
+		if (this.expressions.size() > this.cacheLimit) {
+			evictIfNecessary();
+		}
+		return copy(expression);
+	}
+
+	/**
+	 * Copy the given cached expression, sharing its parsed and compiled state but not
+	 * its default evaluation context. Literal expressions are immutable and returned as-is.
+	 */
+	private static Expression copy(Expression expression) {
+		if (expression instanceof SpelExpression) {
+			return ((SpelExpression) expression).copy();
+		}
+		if (expression instanceof CompositeStringExpression) {
+			CompositeStringExpression composite = (CompositeStringExpression) expression;
+			Expression[] expressions = composite.getExpressions();
+			Expression[] copies = new Expression[expressions.length];
+			for (int i = 0; i < expressions.length; i++) {
+				copies[i] = copy(expressions[i]);
+			}
+			return new CompositeStringExpression(composite.getExpressionString(), copies);
+		}
+		return expression;
+	}
+
+	private void evictIfNecessary() {
+		Iterator<ExpressionKey> it = this.expressions.keySet().iterator();
+		while (this.expressions.size() > this.cacheLimit && it.hasNext()) {
+			it.next();
+			it.remove();
+		}
+	}
+
+
+	/**
+	 * Key for a parse request.
+	 */
+	private static final class ExpressionKey {
+
+		private final SpelParserConfiguration configuration;
+
+		private final String expressionString;
+
+		private final boolean template;
+
+		private final String prefix;
+
+		private final String suffix;
+
+		public ExpressionKey(SpelParserConfiguration configuration, String expressionString, ParserContext context) {
+			this.configuration = configuration;
+			this.expressionString = expressionString;
+			this.template = (context != null && context.isTemplate());
+			this.prefix = (this.template ? context.getExpressionPrefix() : null);
+			this.suffix = (this.template ? context.getExpressionSuffix() : null);
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof ExpressionKey)) {
+				return false;
+			}
+			ExpressionKey otherKey = (ExpressionKey) other;
+			return (this.expressionString.equals(otherKey.expressionString) &&
+					this.template == otherKey.template &&
+					ObjectUtils.nullSafeEquals(this.prefix, otherKey.prefix) &&
+					ObjectUtils.nullSafeEquals(this.suffix, otherKey.suffix) &&
+					this.configuration.equals(otherKey.configuration));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.expressionString.hashCode() * 29 + this.configuration.hashCode();
+		}
+	}
+
+}
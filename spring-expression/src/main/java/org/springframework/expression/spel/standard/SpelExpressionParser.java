@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2014 the original author or authors.
+ * Copyright 2002-2015 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.springframework.expression.spel.standard;
 
+import org.springframework.expression.Expression;
 import org.springframework.expression.ParseException;
 import org.springframework.expression.ParserContext;
 import org.springframework.expression.common.TemplateAwareExpressionParser;
@@ -33,12 +34,14 @@ public class SpelExpressionParser extends TemplateAwareExpressionParser {
 
 	private final SpelParserConfiguration configuration;
 
+	private volatile SpelExpressionCache expressionCache;
+
 
 	/**
 	 * Create a parser with default settings.
 	 */
 	public SpelExpressionParser() {
-		this.configuration = new SpelParserConfiguration();
+		this(new SpelParserConfiguration());
 	}
 
 	/**
@@ -48,8 +51,44 @@ public class SpelExpressionParser extends TemplateAwareExpressionParser {
 	public SpelExpressionParser(SpelParserConfiguration configuration) {
 		Assert.notNull(configuration, "SpelParserConfiguration must not be null");
 		this.configuration = configuration;
+		if (SpelExpressionCache.isSharedByDefault()) {
+			this.expressionCache = SpelExpressionCache.forClassLoader(configuration.getCompilerClassLoader());
+		}
+	}
+
+
+	/**
+	 * Specify a cache for the expressions parsed through
+	 * {@link #parseExpression(String, ParserContext)}, typically the
+	 * {@link SpelExpressionCache#forClassLoader shared cache} for the
+	 * configuration's compiler class loader.
+	 * <p>Default is none, unless the {@value SpelExpressionCache#SHARED_PROPERTY_NAME}
+	 * system property is set, in which case the shared cache is used.
+	 */
+	public void setExpressionCache(SpelExpressionCache expressionCache) {
+		this.expressionCache = expressionCache;
 	}
 
+	/**
+	 * Return the cache for parsed expressions, if any.
+	 */
+	public SpelExpressionCache getExpressionCache() {
+		return this.expressionCache;
+	}
+
+
+	@Override
+	public Expression parseExpression(String expressionString, ParserContext context) throws ParseException {
+		SpelExpressionCache cache = this.expressionCache;
+		if (cache == null) {
+			return super.parseExpression(expressionString, context);
+		}
+		return cache.getExpression(this, this.configuration, expressionString, context);
+	}
+
+	Expression parseExpressionUncached(String expressionString, ParserContext context) throws ParseException {
+		return super.parseExpression(expressionString, context);
+	}
 
 	public SpelExpression parseRaw(String expressionString) throws ParseException {
 		return doParseExpression(expressionString, null);
@@ -44,6 +44,8 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
 
 	private boolean argumentConversionOccurred = false;
 
+	private volatile TypeDescriptor returnTypeDescriptor;
+
 	public ReflectiveMethodExecutor(Method method) {
 		this.method = method;
 		if (method.isVarArgs()) {
@@ -109,9 +111,14 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
 			if (this.method.isVarArgs()) {
 				arguments = ReflectionHelper.setupArgumentsForVarargsInvocation(this.method.getParameterTypes(), arguments);
 			}
-			ReflectionUtils.makeAccessible(this.method);
+			TypeDescriptor returnTypeDescriptor = this.returnTypeDescriptor;
+			if (returnTypeDescriptor == null) {
+				ReflectionUtils.makeAccessible(this.method);
+				returnTypeDescriptor = TypeDescriptor.forMethodParameter(new MethodParameter(this.method, -1));
+				this.returnTypeDescriptor = returnTypeDescriptor;
+			}
 			Object value = this.method.invoke(target, arguments);
-			return new TypedValue(value, new TypeDescriptor(new MethodParameter(this.method, -1)).narrow(value));
+			return new TypedValue(value, returnTypeDescriptor.narrow(value));
 		}
 		catch (Exception ex) {
 			throw new AccessException("Problem invoking method: " + this.method, ex);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2014 the original author or authors.
+ * Copyright 2002-2015 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -518,6 +518,22 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 	}
 
 
+	/**
+	 * A type descriptor narrowed to the class of a particular value.
+	 */
+	private static class NarrowedTypeDescriptor {
+
+		final Class<?> valueType;
+
+		final TypeDescriptor typeDescriptor;
+
+		NarrowedTypeDescriptor(Class<?> valueType, TypeDescriptor typeDescriptor) {
+			this.valueType = valueType;
+			this.typeDescriptor = typeDescriptor;
+		}
+	}
+
+
 	private static class CacheKey {
 
 		private final Class<?> clazz;
@@ -574,6 +590,9 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 
 		private final boolean needsToBeMadeAccessible;
 
+		// The type descriptor narrowed to the class of the most recently read value
+		private volatile NarrowedTypeDescriptor lastNarrowedType;
+
 		OptimalPropertyAccessor(InvokerPair target) {
 			this.member = target.member;
 			this.typeDescriptor = target.typeDescriptor;
@@ -626,7 +645,7 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 						ReflectionUtils.makeAccessible((Method) this.member);
 					}
 					Object value = ((Method) this.member).invoke(target);
-					return new TypedValue(value, this.typeDescriptor.narrow(value));
+					return new TypedValue(value, narrow(value));
 				}
 				catch (Exception ex) {
 					throw new AccessException("Unable to access property '" + name + "' through getter", ex);
@@ -638,7 +657,7 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 						ReflectionUtils.makeAccessible((Field) this.member);
 					}
 					Object value = ((Field) this.member).get(target);
-					return new TypedValue(value, this.typeDescriptor.narrow(value));
+					return new TypedValue(value, narrow(value));
 				}
 				catch (Exception ex) {
 					throw new AccessException("Unable to access field: " + name, ex);
@@ -647,6 +666,38 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 			throw new AccessException("Neither getter nor field found for property '" + name + "'");
 		}
 
+		/**
+		 * Return whether this accessor's member can be read from the given target,
+		 * allowing callers to check a cached accessor without attempting the read.
+		 * @param target the target object (may be a {@link Class} for static access)
+		 */
+		public boolean isApplicableTo(Object target) {
+			if (target == null) {
+				return false;
+			}
+			Class<?> declaringClass = this.member.getDeclaringClass();
+			if (target instanceof Class && Modifier.isStatic(this.member.getModifiers())) {
+				return declaringClass.isAssignableFrom((Class<?>) target);
+			}
+			return declaringClass.isInstance(target);
+		}
+
+		/**
+		 * Narrow the member's type descriptor to the given value, reusing the
+		 * previous result as long as values of the same class are read.
+		 */
+		private TypeDescriptor narrow(Object value) {
+			if (value == null) {
+				return this.typeDescriptor;
+			}
+			NarrowedTypeDescriptor narrowed = this.lastNarrowedType;
+			if (narrowed == null || narrowed.valueType != value.getClass()) {
+				narrowed = new NarrowedTypeDescriptor(value.getClass(), this.typeDescriptor.narrow(value));
+				this.lastNarrowedType = narrowed;
+			}
+			return narrowed.typeDescriptor;
+		}
+
 		/*@Override*/
 		public boolean canWrite(EvaluationContext context, Object target, String name) {
 			throw new UnsupportedOperationException("Should not be called on an OptimalPropertyAccessor");
@@ -2,6 +2,7 @@ package org.springframework.jdbc.core;
 
 import org.springframework.dao.DataAccessException;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -112,4 +113,43 @@ public interface JdbcOperations {
      * @throws DataAccessException if there is any problem issuing the update
      */
     int update(String sql, Object... args) throws DataAccessException;
+
+    /**
+     * Issue multiple update statements on a single PreparedStatement,
+     * using batch updates and a BatchPreparedStatementSetter to set values.
+     * <p>Will fall back to separate updates on a single PreparedStatement
+     * if the JDBC driver does not support batch updates.
+     * @param sql defining PreparedStatement that will be reused.
+     * All statements in the batch will use the same SQL.
+     * @param pss object to set parameters on the PreparedStatement
+     * created by this method
+     * @return an array of the number of rows affected by each statement
+     * @throws DataAccessException if there is any problem issuing the update
+     */
+    int[] batchUpdate(String sql, BatchPreparedStatementSetter pss) throws DataAccessException;
+
+    /**
+     * Execute a batch using the supplied SQL statement with the batch of supplied arguments.
+     * @param sql the SQL statement to execute
+     * @param batchArgs the List of Object arrays containing the batch of arguments for the query
+     * @return an array containing the numbers of rows affected by each update in the batch
+     * @throws DataAccessException if there is any problem issuing the update
+     */
+    int[] batchUpdate(String sql, List<Object[]> batchArgs) throws DataAccessException;
+
+    /**
+     * Execute multiple batches using the supplied SQL statement with the collection of supplied
+     * arguments. The arguments' values will be set using the ParameterizedPreparedStatementSetter.
+     * Each batch should be of size indicated in 'batchSize'.
+     * @param sql the SQL statement to execute
+     * @param batchArgs the List of Object arrays containing the batch of arguments for the query
+     * @param batchSize batch size
+     * @param pss ParameterizedPreparedStatementSetter to use
+     * @return an array containing for each batch another array containing the numbers of rows
+     * affected by each update in the batch
+     * @throws DataAccessException if there is any problem issuing the update
+     */
+    <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+            ParameterizedPreparedStatementSetter<T> pss) throws DataAccessException;
+
 }
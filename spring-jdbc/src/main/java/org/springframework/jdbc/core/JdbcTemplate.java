@@ -1,16 +1,26 @@
 package org.springframework.jdbc.core;
 
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.jdbc.SQLWarningException;
 import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.jdbc.support.JdbcAccessor;
 import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.jdbc.support.nativejdbc.NativeJdbcExtractor;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 
 import javax.sql.DataSource;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * <b>This is the central class in the JDBC core package.</b>
@@ -64,6 +74,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
     private int fetchSize = -1;
     private int maxRows = -1;
     private int queryTimeout = -1;
+    private Executor batchUpdateExecutor;
 
     public JdbcTemplate() {
     }
@@ -116,6 +127,28 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
     public void setQueryTimeout(int queryTimeout) {
         this.queryTimeout = queryTimeout;
     }
+
+    /**
+     * Set an Executor to flush the chunks of a chunked batch update in parallel,
+     * each chunk on a Connection of its own.
+     * <p>Only meant for non-transactional bulk loads: every chunk gets committed
+     * on its own, and a failing chunk does not undo the others. Within a transaction
+     * (or with transaction synchronization active), chunks are still executed in
+     * order on the current Connection.
+     * <p>Default is none, executing all chunks on a single PreparedStatement.
+     * @see #batchUpdate(String, Collection, int, ParameterizedPreparedStatementSetter)
+     */
+    public void setBatchUpdateExecutor(Executor batchUpdateExecutor) {
+        this.batchUpdateExecutor = batchUpdateExecutor;
+    }
+
+    /**
+     * Return the Executor for parallel chunked batch updates, if any.
+     */
+    public Executor getBatchUpdateExecutor() {
+        return this.batchUpdateExecutor;
+    }
+
     //-------------------------------------------------------------------------
     // Methods dealing with static SQL (java.sql.Statement)
     //-------------------------------------------------------------------------
@@ -289,6 +322,141 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
         return update(sql, newArgPreparedStatementSetter(args));
     }
 
+    @Override
+    public int[] batchUpdate(String sql, final BatchPreparedStatementSetter pss) throws DataAccessException {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Executing SQL batch update [" + sql + "]");
+        }
+        return execute(new SimplePreparedStatementCreator(sql), new PreparedStatementCallback<int[]>() {
+            @Override
+            public int[] doInPreparedStatement(PreparedStatement ps) throws SQLException {
+                try {
+                    int batchSize = pss.getBatchSize();
+                    if (JdbcUtils.supportsBatchUpdates(ps.getConnection())) {
+                        for (int i = 0; i < batchSize; i++) {
+                            pss.setValues(ps, i);
+                            ps.addBatch();
+                        }
+                        return ps.executeBatch();
+                    }
+                    else {
+                        // 驱动不支持批量更新时逐条执行
+                        int[] rowsAffected = new int[batchSize];
+                        for (int i = 0; i < batchSize; i++) {
+                            pss.setValues(ps, i);
+                            rowsAffected[i] = ps.executeUpdate();
+                        }
+                        return rowsAffected;
+                    }
+                }
+                finally {
+                    if (pss instanceof ParameterDisposer) {
+                        ((ParameterDisposer) pss).cleanupParameters();
+                    }
+                }
+            }
+        });
+    }
+
+    @Override
+    public int[] batchUpdate(String sql, List<Object[]> batchArgs) throws DataAccessException {
+        return batchUpdate(sql, new ArgumentBatchPreparedStatementSetter(batchArgs));
+    }
+
+    @Override
+    public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+            ParameterizedPreparedStatementSetter<T> pss) throws DataAccessException {
+
+        Assert.notNull(batchArgs, "Batch arguments must not be null");
+        Assert.notNull(pss, "ParameterizedPreparedStatementSetter must not be null");
+        Assert.isTrue(batchSize > 0, "Batch size must be positive");
+        List<List<T>> chunks = new ArrayList<List<T>>((batchArgs.size() + batchSize - 1) / batchSize);
+        List<T> chunk = null;
+        for (T arg : batchArgs) {
+            if (chunk == null || chunk.size() == batchSize) {
+                chunk = new ArrayList<T>(batchSize);
+                chunks.add(chunk);
+            }
+            chunk.add(arg);
+        }
+        if (chunks.isEmpty()) {
+            return new int[0][];
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Executing SQL batch update [" + sql + "] with a batch size of " + batchSize +
+                    " in " + chunks.size() + " chunks");
+        }
+
+        Executor executor = getBatchUpdateExecutor();
+        if (executor != null && chunks.size() > 1 && !isConnectionBoundToThread()) {
+            return batchUpdateInParallel(sql, chunks, pss, executor);
+        }
+        return execute(new SimplePreparedStatementCreator(sql), new BatchChunksStatementCallback<T>(chunks, pss));
+    }
+
+    /**
+     * Execute each chunk on a Connection of its own, through the given Executor,
+     * waiting for all of them to complete before reporting the first failure.
+     * <p>A chunk that the Executor rejects (saturated or shut down) runs on the
+     * calling thread instead, so that every chunk is executed and awaited.
+     */
+    private <T> int[][] batchUpdateInParallel(final String sql, List<List<T>> chunks,
+            final ParameterizedPreparedStatementSetter<T> pss, Executor executor) {
+
+        List<FutureTask<int[][]>> tasks = new ArrayList<FutureTask<int[][]>>(chunks.size());
+        for (final List<T> chunk : chunks) {
+            FutureTask<int[][]> task = new FutureTask<int[][]>(new Callable<int[][]>() {
+                @Override
+                public int[][] call() {
+                    return execute(new SimplePreparedStatementCreator(sql),
+                            new BatchChunksStatementCallback<T>(Collections.singletonList(chunk), pss));
+                }
+            });
+            try {
+                executor.execute(task);
+            }
+            catch (RejectedExecutionException ex) {
+                task.run();
+            }
+            tasks.add(task);
+        }
+
+        int[][] result = new int[chunks.size()][];
+        RuntimeException failure = null;
+        for (int i = 0; i < tasks.size(); i++) {
+            try {
+                result[i] = tasks.get(i).get()[0];
+            }
+            catch (ExecutionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                if (failure == null) {
+                    failure = (RuntimeException) cause;
+                }
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new DataAccessResourceFailureException(
+                        "Interrupted while waiting for parallel batch update [" + sql + "]", ex);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return result;
+    }
+
+    /**
+     * Return whether JDBC operations on the current thread take part in a
+     * transaction or synchronization, i.e. have to use the thread-bound Connection.
+     */
+    private boolean isConnectionBoundToThread() {
+        return (TransactionSynchronizationManager.isSynchronizationActive() ||
+                TransactionSynchronizationManager.hasResource(getDataSource()));
+    }
+
     /**
      * Prepare the given JDBC Statement (or PreparedStatement or CallableStatement),
      * applying statement settings such as fetch size, max rows, and query timeout.
@@ -351,6 +519,81 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
         }
     }
 
+    /**
+     * Adapter for BatchPreparedStatementSetter, applying an array of arguments per statement.
+     */
+    private class ArgumentBatchPreparedStatementSetter implements BatchPreparedStatementSetter, ParameterDisposer {
+
+        private final List<Object[]> batchArgs;
+
+        public ArgumentBatchPreparedStatementSetter(List<Object[]> batchArgs) {
+            Assert.notNull(batchArgs, "Batch arguments must not be null");
+            this.batchArgs = batchArgs;
+        }
+
+        @Override
+        public void setValues(PreparedStatement ps, int i) throws SQLException {
+            newArgPreparedStatementSetter(this.batchArgs.get(i)).setValues(ps);
+        }
+
+        @Override
+        public int getBatchSize() {
+            return this.batchArgs.size();
+        }
+
+        @Override
+        public void cleanupParameters() {
+            for (Object[] args : this.batchArgs) {
+                StatementCreatorUtils.cleanupParameters(args);
+            }
+        }
+    }
+
+    /**
+     * Callback executing chunks of batch arguments on a single PreparedStatement,
+     * one JDBC batch per chunk, or one update per argument if the driver does not
+     * support batch updates.
+     */
+    private class BatchChunksStatementCallback<T> implements PreparedStatementCallback<int[][]> {
+
+        private final List<List<T>> chunks;
+
+        private final ParameterizedPreparedStatementSetter<T> pss;
+
+        public BatchChunksStatementCallback(List<List<T>> chunks, ParameterizedPreparedStatementSetter<T> pss) {
+            this.chunks = chunks;
+            this.pss = pss;
+        }
+
+        @Override
+        public int[][] doInPreparedStatement(PreparedStatement ps) throws SQLException {
+            boolean batchSupported = JdbcUtils.supportsBatchUpdates(ps.getConnection());
+            int[][] result = new int[this.chunks.size()][];
+            for (int i = 0; i < result.length; i++) {
+                List<T> chunk = this.chunks.get(i);
+                if (batchSupported) {
+                    for (T arg : chunk) {
+                        this.pss.setValues(ps, arg);
+                        ps.addBatch();
+                    }
+                    result[i] = ps.executeBatch();
+                }
+                else {
+                    int[] rowsAffected = new int[chunk.size()];
+                    for (int j = 0; j < rowsAffected.length; j++) {
+                        this.pss.setValues(ps, chunk.get(j));
+                        rowsAffected[j] = ps.executeUpdate();
+                    }
+                    result[i] = rowsAffected;
+                }
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Executed batch update chunk of " + chunk.size() + " statements");
+                }
+            }
+            return result;
+        }
+    }
+
     /**
      * Simple adapter for PreparedStatementCreator, allowing to use a plain SQL statement.
      */
@@ -0,0 +1,94 @@
+package com.zhaojuan;
+
+import org.apache.commons.dbcp.BasicDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.StatementCallback;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Insert throughput of single-row updates versus the batch update variants, against in-memory H2.
+ */
+public class BatchUpdateBenchmarkTest {
+
+    private static final int ROWS = 50000;
+
+    private static final int BATCH_SIZE = 1000;
+
+    public static void main(String[] args) throws Exception {
+        BasicDataSource dataSource = new BasicDataSource();
+        dataSource.setDriverClassName("org.h2.Driver");
+        dataSource.setUrl("jdbc:h2:mem:batch;DB_CLOSE_DELAY=-1");
+        dataSource.setMaxActive(8);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        execute(jdbcTemplate, "create table tb_user (id int primary key, name varchar(50), age int)");
+
+        List<Object[]> batchArgs = new ArrayList<Object[]>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            batchArgs.add(new Object[] {i, "user" + i, i % 100});
+        }
+        ParameterizedPreparedStatementSetter<Object[]> pss = new ParameterizedPreparedStatementSetter<Object[]>() {
+            @Override
+            public void setValues(PreparedStatement ps, Object[] argument) throws SQLException {
+                ps.setInt(1, (Integer) argument[0]);
+                ps.setString(2, (String) argument[1]);
+                ps.setInt(3, (Integer) argument[2]);
+            }
+        };
+        String sql = "insert into tb_user (id, name, age) values (?, ?, ?)";
+
+        for (int round = 0; round < 3; round++) {
+            // 逐条插入
+            execute(jdbcTemplate, "delete from tb_user");
+            long start = System.nanoTime();
+            for (Object[] row : batchArgs) {
+                jdbcTemplate.update(sql, row);
+            }
+            report("update per row", start);
+
+            execute(jdbcTemplate, "delete from tb_user");
+            start = System.nanoTime();
+            jdbcTemplate.batchUpdate(sql, batchArgs);
+            report("batchUpdate(sql, List<Object[]>)", start);
+
+            execute(jdbcTemplate, "delete from tb_user");
+            start = System.nanoTime();
+            jdbcTemplate.batchUpdate(sql, batchArgs, BATCH_SIZE, pss);
+            report("chunked batchUpdate", start);
+
+            execute(jdbcTemplate, "delete from tb_user");
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            jdbcTemplate.setBatchUpdateExecutor(executor);
+            start = System.nanoTime();
+            jdbcTemplate.batchUpdate(sql, batchArgs, BATCH_SIZE, pss);
+            report("chunked batchUpdate, 4 connections", start);
+            jdbcTemplate.setBatchUpdateExecutor(null);
+            executor.shutdown();
+            System.out.println();
+        }
+        dataSource.close();
+    }
+
+    private static void execute(JdbcTemplate jdbcTemplate, final String sql) {
+        jdbcTemplate.execute(new StatementCallback<Object>() {
+            @Override
+            public Object doInStatement(Statement stmt) throws SQLException {
+                stmt.execute(sql);
+                return null;
+            }
+        });
+    }
+
+    private static void report(String variant, long start) {
+        long millis = (System.nanoTime() - start) / 1000000;
+        System.out.println(variant + ": " + millis + " ms (" + (ROWS * 1000L / Math.max(millis, 1)) + " rows/s)");
+    }
+
+}
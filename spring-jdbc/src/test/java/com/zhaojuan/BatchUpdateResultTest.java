@@ -0,0 +1,137 @@
+package com.zhaojuan;
+
+import org.apache.commons.dbcp.BasicDataSource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.StatementCallback;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Update counts and inserted rows of chunked batch updates, executed sequentially,
+ * in parallel and with an Executor that rejects chunks, against in-memory H2.
+ */
+public class BatchUpdateResultTest {
+
+    private static final int ROWS = 2500;
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String SQL = "insert into tb_user (id, name, age) values (?, ?, ?)";
+
+    private static final ParameterizedPreparedStatementSetter<Object[]> PSS =
+            new ParameterizedPreparedStatementSetter<Object[]>() {
+                @Override
+                public void setValues(PreparedStatement ps, Object[] argument) throws SQLException {
+                    ps.setInt(1, (Integer) argument[0]);
+                    ps.setString(2, (String) argument[1]);
+                    ps.setInt(3, (Integer) argument[2]);
+                }
+            };
+
+    public static void main(String[] args) throws Exception {
+        BasicDataSource dataSource = new BasicDataSource();
+        dataSource.setDriverClassName("org.h2.Driver");
+        dataSource.setUrl("jdbc:h2:mem:batchResult;DB_CLOSE_DELAY=-1");
+        dataSource.setMaxActive(8);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("create table tb_user (id int primary key, name varchar(50), age int)");
+        List<Object[]> batchArgs = new ArrayList<Object[]>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            batchArgs.add(new Object[] {i, "user" + i, i % 100});
+        }
+
+        // 单连接顺序执行
+        checkResult(jdbcTemplate, batchArgs, "sequential");
+
+        // 多连接并行执行
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        jdbcTemplate.setBatchUpdateExecutor(executor);
+        checkResult(jdbcTemplate, batchArgs, "parallel");
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // 线程池已满：被拒绝的分块在调用线程上执行
+        ThreadPoolExecutor saturated = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<Runnable>(), new ThreadPoolExecutor.AbortPolicy());
+        jdbcTemplate.setBatchUpdateExecutor(saturated);
+        checkResult(jdbcTemplate, batchArgs, "saturated executor");
+        saturated.shutdown();
+
+        // 线程池已关闭：所有分块都在调用线程上执行
+        checkResult(jdbcTemplate, batchArgs, "shut down executor");
+
+        // 失败的分块：其余分块执行完毕后抛出 DataAccessException
+        executor = Executors.newFixedThreadPool(4);
+        jdbcTemplate.setBatchUpdateExecutor(executor);
+        jdbcTemplate.update("delete from tb_user");
+        List<Object[]> duplicateArgs = new ArrayList<Object[]>(batchArgs);
+        duplicateArgs.set(ROWS - 1, batchArgs.get(0));
+        try {
+            jdbcTemplate.batchUpdate(SQL, duplicateArgs, BATCH_SIZE, PSS);
+            check(false, "duplicate key reported");
+        }
+        catch (DataAccessException expected) {
+        }
+        check(count(jdbcTemplate) >= BATCH_SIZE, "chunks without duplicates committed");
+        executor.shutdown();
+
+        dataSource.close();
+        System.out.println("BatchUpdateResultTest passed");
+    }
+
+    private static void checkResult(JdbcTemplate jdbcTemplate, List<Object[]> batchArgs, String variant) {
+        jdbcTemplate.update("delete from tb_user");
+        int[][] result = jdbcTemplate.batchUpdate(SQL, batchArgs, BATCH_SIZE, PSS);
+        int chunks = (ROWS + BATCH_SIZE - 1) / BATCH_SIZE;
+        check(result.length == chunks, variant + ": one update count array per chunk");
+        for (int i = 0; i < chunks; i++) {
+            int expected = Math.min(BATCH_SIZE, ROWS - i * BATCH_SIZE);
+            check(result[i].length == expected, variant + ": update counts of chunk " + i);
+            for (int updateCount : result[i]) {
+                check(updateCount == 1, variant + ": one row per statement in chunk " + i);
+            }
+        }
+        check(count(jdbcTemplate) == ROWS, variant + ": all rows inserted");
+        check(queryForLong(jdbcTemplate, "select sum(id) from tb_user") == (long) ROWS * (ROWS - 1) / 2,
+                variant + ": every row inserted once");
+    }
+
+    private static long count(JdbcTemplate jdbcTemplate) {
+        return queryForLong(jdbcTemplate, "select count(*) from tb_user");
+    }
+
+    private static long queryForLong(JdbcTemplate jdbcTemplate, final String sql) {
+        return jdbcTemplate.execute(new StatementCallback<Long>() {
+            @Override
+            public Long doInStatement(Statement stmt) throws SQLException {
+                ResultSet rs = stmt.executeQuery(sql);
+                try {
+                    rs.next();
+                    return rs.getLong(1);
+                }
+                finally {
+                    rs.close();
+                }
+            }
+        });
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException("Failed: " + message);
+        }
+    }
+
+}